@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Progress and metrics of a call to
+ * {@link DesignTools#copyImplementation(Design, Design, boolean, boolean, boolean, boolean, Map, java.util.function.Consumer)},
+ * reported to its callback after each phase completes.
+ */
+public class CopyImplementationMetrics {
+
+    /** The phases of copying an implementation, in order */
+    public enum Phase {
+        /** Black-boxing destination instances and copying logical cells */
+        NETLIST,
+        /** Copying placement and site routing of cells */
+        CELLS,
+        /** Copying routing of (non-static) nets */
+        NETS,
+        /** Copying routing of static nets */
+        STATIC_NETS
+    }
+
+    private Phase phase;
+
+    private final Map<Phase, Long> elapsedNanos = new EnumMap<>(Phase.class);
+
+    private int numCellsCopied;
+
+    private int numSiteInstsCreated;
+
+    private int numNetsCopied;
+
+    private int numPIPsCopied;
+
+    private int numPinsCopied;
+
+    /**
+     * Gets the phase that was last completed.
+     * @return The last completed phase.
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Gets the time taken by a completed phase.
+     * @param phase The phase in question.
+     * @return Elapsed time in nanoseconds, or 0 if the phase has not completed.
+     */
+    public long getElapsedNanos(Phase phase) {
+        return elapsedNanos.getOrDefault(phase, 0L);
+    }
+
+    public int getNumCellsCopied() {
+        return numCellsCopied;
+    }
+
+    public int getNumSiteInstsCreated() {
+        return numSiteInstsCreated;
+    }
+
+    public int getNumNetsCopied() {
+        return numNetsCopied;
+    }
+
+    public int getNumPIPsCopied() {
+        return numPIPsCopied;
+    }
+
+    public int getNumPinsCopied() {
+        return numPinsCopied;
+    }
+
+    void completePhase(Phase phase, long elapsedNanos) {
+        this.phase = phase;
+        this.elapsedNanos.put(phase, elapsedNanos);
+    }
+
+    void addCellsCopied(int n) {
+        numCellsCopied += n;
+    }
+
+    void addSiteInstsCreated(int n) {
+        numSiteInstsCreated += n;
+    }
+
+    void addNetsCopied(int n) {
+        numNetsCopied += n;
+    }
+
+    void addPIPsCopied(int n) {
+        numPIPsCopied += n;
+    }
+
+    void addPinsCopied(int n) {
+        numPinsCopied += n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("cells=").append(numCellsCopied)
+          .append(", siteInsts=").append(numSiteInstsCreated)
+          .append(", nets=").append(numNetsCopied)
+          .append(", pips=").append(numPIPsCopied)
+          .append(", pins=").append(numPinsCopied);
+        for (Entry<Phase, Long> e : elapsedNanos.entrySet()) {
+            sb.append(", ").append(e.getKey()).append("=")
+              .append(String.format("%.3fs", e.getValue() / 1e9));
+        }
+        return sb.toString();
+    }
+}
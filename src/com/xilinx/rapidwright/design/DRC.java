@@ -24,12 +24,28 @@
 package com.xilinx.rapidwright.design;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.xilinx.rapidwright.design.drc.DRCRule;
+import com.xilinx.rapidwright.design.drc.DRCViolation;
 import com.xilinx.rapidwright.design.drc.NetRoutesThruLutAtMostOnce;
+import com.xilinx.rapidwright.eco.ECOBatch;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * Parent DRC that executes a list of child DRCs, returning the sum of all failed checks.
+ *
+ * Additionally, per-object {@link DRCRule}s (see {@link #rules}) can be checked in parallel over all
+ * objects of a design using {@link #check(Design)}. An instance of this class then supports an
+ * incremental mode (see {@link #checkIncremental(Design)}) that only re-checks the objects reported
+ * as modified since its previous run, so that DRCs can be performed after every ECO without a
+ * full-design pass.
  */
 public class DRC {
     interface DrcTypeSignature {
@@ -42,6 +58,24 @@ public class DRC {
         add(NetRoutesThruLutAtMostOnce::run);
     }};
 
+    // Static list of all per-object DRC rules, as checked by check() and checkIncremental()
+    public static final List<DRCRule<?>> rules =
+            new ArrayList<DRCRule<?>>() {{
+        add(new NetRoutesThruLutAtMostOnce());
+    }};
+
+    /** Number of design objects to be checked by each parallel task */
+    private static final int OBJECTS_PER_TASK = 1024;
+
+    /** Design examined by the previous run of this instance */
+    private Design lastDesign;
+
+    /** Violations found by the previous run, keyed by the object in violation */
+    private Map<Object, List<DRCViolation>> violationsByObject;
+
+    /** Objects reported as modified since the previous run */
+    private final Set<Object> modifiedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+
     public int run(Design design, boolean strict) {
         // Each check's run() returns an int of how many checks failed,
         // sum those up
@@ -49,6 +83,186 @@ public class DRC {
                 .reduce(0, Integer::sum);
     }
 
+    /**
+     * Checks every object in the given design against all {@link #rules}.
+     * @param design Design to examine.
+     * @return List of all violations found.
+     */
+    public List<DRCViolation> check(Design design) {
+        violationsByObject = new IdentityHashMap<>();
+        modifiedObjects.clear();
+        lastDesign = design;
+
+        checkObjects(design, DRCRule.Kind.NET, new ArrayList<>(design.getNets()));
+        checkObjects(design, DRCRule.Kind.SITE_INST, new ArrayList<>(design.getSiteInsts()));
+        checkObjects(design, DRCRule.Kind.CELL, new ArrayList<>(design.getCells()));
+        return getViolations();
+    }
+
+    /**
+     * Checks the given design against all {@link #rules}, re-checking only the objects reported as
+     * modified since the previous call on the same design (falling back to {@link #check(Design)} for
+     * a different design). Violations of all other objects are reused from the previous call.
+     * Modifications are reported by {@link #markModified(Object)} and
+     * {@link #markModified(ECOBatch.ChangeLog)}; modifying a site instance also re-checks the
+     * nets connected to its site pins and the cells placed on it. Objects that have been removed from
+     * the design are dropped, whether they were reported or not.
+     * Since rules are expected to only depend on the object being checked (and objects directly attached
+     * to it), results are identical to {@link #check(Design)} as long as all modifications were reported.
+     * @param design Design to examine.
+     * @return List of all violations in the design.
+     */
+    public List<DRCViolation> checkIncremental(Design design) {
+        if (lastDesign != design) {
+            return check(design);
+        }
+
+        List<Net> nets = new ArrayList<>();
+        List<SiteInst> siteInsts = new ArrayList<>();
+        List<Cell> cells = new ArrayList<>();
+        Set<Object> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object o : modifiedObjects) {
+            addDirty(o, dirty, nets, siteInsts, cells);
+            if (o instanceof SiteInst) {
+                // Propagate to the nets and cells attached to the site instance
+                SiteInst si = (SiteInst) o;
+                for (SitePinInst spi : si.getSitePinInsts()) {
+                    if (spi.getNet() != null) {
+                        addDirty(spi.getNet(), dirty, nets, siteInsts, cells);
+                    }
+                }
+                for (Cell c : si.getCells()) {
+                    addDirty(c, dirty, nets, siteInsts, cells);
+                }
+            }
+        }
+        modifiedObjects.clear();
+
+        // Drop the violations of re-checked objects, and of objects no longer in the design
+        Iterator<Object> it = violationsByObject.keySet().iterator();
+        while (it.hasNext()) {
+            Object o = it.next();
+            if (dirty.contains(o) || !isInDesign(design, o)) {
+                it.remove();
+            }
+        }
+
+        nets.removeIf((n) -> !isInDesign(design, n));
+        siteInsts.removeIf((si) -> !isInDesign(design, si));
+        cells.removeIf((c) -> !isInDesign(design, c));
+        checkObjects(design, DRCRule.Kind.NET, nets);
+        checkObjects(design, DRCRule.Kind.SITE_INST, siteInsts);
+        checkObjects(design, DRCRule.Kind.CELL, cells);
+        return getViolations();
+    }
+
+    private static void addDirty(Object o, Set<Object> dirty, List<Net> nets, List<SiteInst> siteInsts,
+                                 List<Cell> cells) {
+        if (!dirty.add(o)) {
+            return;
+        }
+        if (o instanceof Net) {
+            nets.add((Net) o);
+        } else if (o instanceof SiteInst) {
+            siteInsts.add((SiteInst) o);
+        } else if (o instanceof Cell) {
+            cells.add((Cell) o);
+        } else {
+            throw new RuntimeException("ERROR: Unsupported DRC object type " + o.getClass().getName());
+        }
+    }
+
+    private static boolean isInDesign(Design design, Object o) {
+        if (o instanceof Net) {
+            return design.getNet(((Net) o).getName()) == o;
+        }
+        if (o instanceof SiteInst) {
+            return design.getSiteInst(((SiteInst) o).getName()) == o;
+        }
+        if (o instanceof Cell) {
+            return design.getCell(((Cell) o).getName()) == o;
+        }
+        return false;
+    }
+
+    /**
+     * Checks the given objects against all rules of the given kind in parallel, recording any
+     * violations found.
+     */
+    private void checkObjects(Design design, DRCRule.Kind kind, List<?> objects) {
+        List<DRCRule<?>> kindRules = new ArrayList<>();
+        for (DRCRule<?> rule : rules) {
+            if (rule.getKind() == kind) {
+                kindRules.add(rule);
+            }
+        }
+        if (kindRules.isEmpty() || objects.isEmpty()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<DRCViolation>[] results = new List[objects.size()];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i += OBJECTS_PER_TASK) {
+            final int start = i;
+            final int end = Math.min(i + OBJECTS_PER_TASK, objects.size());
+            tasks.add(() -> {
+                for (int j = start; j < end; j++) {
+                    results[j] = checkObject(design, kindRules, objects.get(j));
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                violationsByObject.put(objects.get(i), results[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<DRCViolation> checkObject(Design design, List<DRCRule<?>> rules, Object o) {
+        List<DRCViolation> violations = new ArrayList<>();
+        for (DRCRule<?> rule : rules) {
+            ((DRCRule<Object>) rule).check(design, o, violations);
+        }
+        return violations.isEmpty() ? null : violations;
+    }
+
+    private List<DRCViolation> getViolations() {
+        List<DRCViolation> violations = new ArrayList<>();
+        for (List<DRCViolation> l : violationsByObject.values()) {
+            violations.addAll(l);
+        }
+        return violations;
+    }
+
+    /**
+     * Marks a design object (a Net, SiteInst or Cell) as modified, so that it is
+     * re-checked by the next call to {@link #checkIncremental(Design)}.
+     * @param o The modified object.
+     */
+    public void markModified(Object o) {
+        modifiedObjects.add(o);
+    }
+
+    /**
+     * Marks a collection of design objects as modified, see {@link #markModified(Object)}.
+     * @param objects The modified objects.
+     */
+    public void markModified(Collection<?> objects) {
+        modifiedObjects.addAll(objects);
+    }
+
+    /**
+     * Marks all physical nets modified by a committed ECO as modified, see {@link #markModified(Object)}.
+     * @param log The change log returned by {@link ECOBatch#commit()}.
+     */
+    public void markModified(ECOBatch.ChangeLog log) {
+        modifiedObjects.addAll(log.getModifiedNets());
+    }
+
     private static void printUsageAndExit() {
         System.out.println("USAGE: <input.dcp> [--strict]");
         System.exit(1);
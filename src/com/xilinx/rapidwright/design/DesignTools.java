@@ -52,6 +52,7 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.python.google.common.collect.Lists;
@@ -1092,27 +1093,46 @@ public class DesignTools {
      * Examines the routing of a net and will remove all parts of the routing
      * that connect to the provided node.  This is most useful when attempting to
      * unroute parts of a static (VCC/GND) net that have multiple sources.
+     * The entire routing tree containing the node is removed: every PIP that can be
+     * reached from the node through the net's PIPs, both upstream and downstream of it,
+     * while disjoint routing trees of the net are kept. (Previously, only the PIPs
+     * starting or ending at the node itself were removed.)
      * @param net The net with potential disjoint routing trees
      * @param node Node belonging to the routing tree to remove.
      * @return True if PIPs were removed, false otherwise
      */
     public static boolean removeConnectedRouting(Net net, Node node) {
+        return removeConnectedRouting(new NetRouteIndex(net), node);
+    }
+
+    /**
+     * Examines the routing of a net and will remove all parts of the routing
+     * that connect to the provided node, see {@link #removeConnectedRouting(Net, Node)}.
+     * Only the routing connected to the node is visited.
+     * @param index An up-to-date routing index of the net, which will be updated.
+     * @param node Node belonging to the routing tree to remove.
+     * @return True if PIPs were removed, false otherwise
+     */
+    public static boolean removeConnectedRouting(NetRouteIndex index, Node node) {
+        index.validate();
         HashSet<PIP> toRemove = new HashSet<>();
-        Map<Node,ArrayList<PIP>> conns = getNodePIPMap(net.getPIPs());
 
         // Traverse the connected set of PIPs starting from the node
         Queue<Node> q = new LinkedList<>();
         q.add(node);
         while (!q.isEmpty()) {
             Node curr = q.poll();
-            ArrayList<PIP> pips = conns.get(curr);
-            if (pips == null) continue;
-            for (PIP p : pips) {
-                // Be careful to detect a cycle
-                if (!toRemove.contains(p)) {
-                    toRemove.add(p);
-                    Node startNode = p.getStartNode();
-                    q.add(curr.equals(startNode) ? startNode : p.getEndNode());
+            for (List<PIP> pips : Arrays.asList(index.getDriverPIPs(curr), index.getDrivenPIPs(curr))) {
+                if (pips == null) continue;
+                for (PIP p : pips) {
+                    // Be careful to detect a cycle
+                    if (toRemove.add(p)) {
+                        Node startNode = p.getStartNode();
+                        Node other = curr.equals(startNode) ? p.getEndNode() : startNode;
+                        if (other != null) {
+                            q.add(other);
+                        }
+                    }
                 }
             }
         }
@@ -1120,12 +1140,7 @@ public class DesignTools {
         if (toRemove.size() == 0) return false;
 
         // Update net with new PIPs
-        ArrayList<PIP> keep = new ArrayList<>();
-        for (PIP p : net.getPIPs()) {
-            if (toRemove.contains(p)) continue;
-            keep.add(p);
-        }
-        net.setPIPs(keep);
+        index.removePIPs(toRemove);
 
         return true;
     }
@@ -1142,6 +1157,19 @@ public class DesignTools {
      * Source pins are handled by {@link #unrouteSourcePin(SitePinInst)}.
      */
     public static void unroutePins(Net net, Collection<SitePinInst> pins) {
+        unroutePins(new NetRouteIndex(net), pins);
+    }
+
+    /**
+     * Unroutes pins from a specific net by only removing the routing (PIPs) that are essential
+     * for those pins, see {@link #unroutePins(Net, Collection)}. Only the routing upstream
+     * (for sink pins) or downstream (for source pins) of the given pins is visited.
+     * @param index An up-to-date routing index of the net, which will be updated.
+     * @param pins Pins that belong to the indexed net that should have their selective routing
+     * removed.
+     */
+    public static void unroutePins(NetRouteIndex index, Collection<SitePinInst> pins) {
+        index.validate();
         List<SitePinInst> sinkPins = new ArrayList<>(pins.size());
         List<SitePinInst> srcPins = new ArrayList<>();
         for (SitePinInst pin : pins) {
@@ -1151,23 +1179,13 @@ public class DesignTools {
                 sinkPins.add(pin);
             }
         }
-        DesignTools.unrouteSourcePins(srcPins);
-        removePIPsFromNet(net,getTrimmablePIPsFromPins(net, sinkPins));
+        DesignTools.unrouteSourcePins(index, srcPins);
+        index.removePIPs(getTrimmablePIPsFromPins(index, sinkPins, false));
         for (SitePinInst pin : sinkPins) {
             pin.setRouted(false);
         }
     }
 
-    private static void removePIPsFromNet(Net net, Set<PIP> pipsToRemove) {
-        if (pipsToRemove.size() > 0) {
-            List<PIP> updatedPIPs = new ArrayList<>();
-            for (PIP pip : net.getPIPs()) {
-                if (!pipsToRemove.contains(pip)) updatedPIPs.add(pip);
-            }
-            net.setPIPs(updatedPIPs);
-        }
-    }
-
     /**
      * Unroutes a SitePinInst of a net.  This is desirable when a net has multiple SitePinInst
      * source pins (multiple outputs of a Site) and only a particular branch is desired to be
@@ -1197,12 +1215,23 @@ public class DesignTools {
         if (net == null) {
             return Collections.emptySet();
         }
-        Map<Node, List<PIP>> pipMap = new HashMap<>();
-        for (PIP pip : net.getPIPs()) {
-            Node node = pip.isReversed() ? pip.getEndNode() : pip.getStartNode();
-            pipMap.computeIfAbsent(node, k -> new ArrayList<>()).add(pip);
-        }
+        return unrouteSourcePins(new NetRouteIndex(net), srcs);
+    }
 
+    /**
+     * Unroutes a list of source SitePinInst of a net, see {@link #unrouteSourcePins(List)}.
+     * Only the routing downstream of the given pins is visited.
+     * @param index An up-to-date routing index of the net, which will be updated.
+     * @param srcs The list of source pins of the net from which to remove the
+     *             routing
+     * @return The set of PIPs that were unrouted from the net.
+     */
+    public static Set<PIP> unrouteSourcePins(NetRouteIndex index, List<SitePinInst> srcs) {
+        if (srcs == null || srcs.size() == 0) {
+            return Collections.emptySet();
+        }
+        index.validate();
+        Net net = index.getNet();
         Map<Node,SitePinInst> sinkNodes = new HashMap<>();
         for (SitePinInst sinkPin : net.getSinkPins()) {
             sinkNodes.put(sinkPin.getConnectedNode(), sinkPin);
@@ -1215,12 +1244,18 @@ public class DesignTools {
             q.add(src.getConnectedNode());
             while (!q.isEmpty()) {
                 Node curr = q.poll();
-                List<PIP> pips = pipMap.get(curr);
+                List<PIP> pips = index.getDrivenPIPs(curr);
                 if (pips != null) {
                     for (PIP p : pips) {
+                        if (!pipsToRemove.add(p)) {
+                            // Already visited (routing loop)
+                            continue;
+                        }
                         Node endNode = p.isReversed() ? p.getStartNode() : p.getEndNode();
+                        if (endNode == null) {
+                            continue;
+                        }
                         q.add(endNode);
-                        pipsToRemove.add(p);
                         SitePinInst sink = sinkNodes.get(endNode);
                         if (sink != null) {
                             sink.setRouted(false);
@@ -1230,8 +1265,8 @@ public class DesignTools {
             }
 
             src.setRouted(false);
-            removePIPsFromNet(src.getNet(), pipsToRemove);
         }
+        index.removePIPs(pipsToRemove);
         return pipsToRemove;
     }
 
@@ -1263,26 +1298,59 @@ public class DesignTools {
      */
     public static Set<PIP> getTrimmablePIPsFromPins(Net net, Collection<SitePinInst> pins,
             boolean overrideNetPins) {
-        // Map listing the PIPs that drive a Node
-        Map<Node,ArrayList<PIP>> reverseConns = new HashMap<>();
-        Map<Node,Integer> fanout = new HashMap<>();
+        return getTrimmablePIPsFromPins(new NetRouteIndex(net), pins, overrideNetPins);
+    }
+
+    /**
+     * For the given set of pins, if they were removed, determine which PIPs could
+     * be trimmed as they no longer route to any specific sink, see
+     * {@link #getTrimmablePIPsFromPins(Net, Collection, boolean)}. Only the routing
+     * upstream of the given pins is visited. The index itself is not modified.
+     *
+     * @param index           An up-to-date routing index of the net.
+     * @param pins            The set of pins to remove.
+     * @param overrideNetPins If pins are attached to a different net, setting this
+     *                        flag will treat them as attached to this net.
+     * @return The set of redundant (trimmable) PIPs that cane safely be removed
+     *         when removing the set of provided pins from the net.
+     */
+    public static Set<PIP> getTrimmablePIPsFromPins(NetRouteIndex index, Collection<SitePinInst> pins,
+            boolean overrideNetPins) {
+        return getTrimmablePIPsFromPins(index, pins, overrideNetPins, null, null);
+    }
+
+    /**
+     * See {@link #getTrimmablePIPsFromPins(NetRouteIndex, Collection, boolean)}. Besides determining
+     * the trimmable PIPs, removing the pins may require clearing the logical driver flag of a PIP
+     * and unrouting the site net at a source site pin. If the given lists are null, these changes
+     * are applied immediately; otherwise they are only added to the lists (and nothing is modified),
+     * to be applied later with {@link #applyTrimmedPinsChanges(Net, List, List)}.
+     */
+    static Set<PIP> getTrimmablePIPsFromPins(NetRouteIndex index, Collection<SitePinInst> pins,
+            boolean overrideNetPins, List<PIP> clearLogicalDrivers, List<BELPin> unrouteSourceBELPins) {
+        index.validate();
+        Net net = index.getNet();
         Set<Node> nodeSinkPins = new HashSet<>();
         for (SitePinInst sinkPin : overrideNetPins ? pins : net.getSinkPins()) {
             nodeSinkPins.add(sinkPin.getConnectedNode());
         }
-        for (PIP pip : net.getPIPs()) {
-            Node endNode = pip.isReversed() ? pip.getStartNode() : pip.getEndNode();
-            Node startNode = pip.isReversed() ? pip.getEndNode() : pip.getStartNode();
-
-            ArrayList<PIP> rPips = reverseConns.computeIfAbsent(endNode, (n) -> new ArrayList<>());
-            rPips.add(pip);
-
-            fanout.merge(startNode, 1, Integer::sum);
-
-            if (nodeSinkPins.contains(endNode)) {
-                fanout.merge(endNode, 1, Integer::sum);
+        // The fanout of a node is the number of PIPs it drives, plus the number of PIPs driving it
+        // if it is a sink pin node, minus those removed by the pins processed so far
+        Map<Node,Integer> fanoutRemoved = new HashMap<>();
+        Function<Node,Integer> getFanout = (node) -> {
+            int fanout = index.getFanout(node) - fanoutRemoved.getOrDefault(node, 0);
+            if (nodeSinkPins.contains(node)) {
+                List<PIP> driverPIPs = index.getDriverPIPs(node);
+                if (driverPIPs != null) {
+                    fanout += driverPIPs.size();
+                }
             }
-        }
+            return fanout;
+        };
+        // Number of nodes whose fanout has been reduced to zero so far
+        int numNodesWithoutFanout = 0;
+        // Number of nodes with non-zero fanout before any pins were processed (-1 until needed)
+        int numNodesWithFanout = -1;
 
         HashSet<PIP> toRemove = new HashSet<>();
         ArrayList<Node> updateFanout = new ArrayList<>();
@@ -1291,8 +1359,8 @@ public class DesignTools {
             if (p.getSiteInst() == null || p.getSite() == null) continue;
             if (!overrideNetPins && p.getNet() != net) continue;
             Node sink = p.getConnectedNode();
-            Integer fanoutCount = fanout.get(sink);
-            if (fanoutCount == null) {
+            int fanoutCount = getFanout.apply(sink);
+            if (fanoutCount == 0) {
                 // Pin is not routed
             } else {
                 assert(fanoutCount >= 1);
@@ -1302,54 +1370,98 @@ public class DesignTools {
                     // This node is also used to connect another downstream pin, no more
                     // analysis necessary
                 } else {
-                    ArrayList<PIP> curr = reverseConns.get(sink);
+                    List<PIP> curr = index.getDriverPIPs(sink);
                     while (curr != null && curr.size() == 1 && fanoutCount < 2) {
                         PIP pip = curr.get(0);
                         toRemove.add(pip);
                         updateFanout.add(pip.isReversed() ? pip.getEndNode() : pip.getStartNode());
                         sink = new Node(pip.getTile(), pip.isReversed() ? pip.getEndWireIndex() :
                                 pip.getStartWireIndex());
-                        curr = reverseConns.get(sink);
-                        fanoutCount = fanout.getOrDefault(sink, 0);
+                        curr = index.getDriverPIPs(sink);
+                        fanoutCount = getFanout.apply(sink);
                     }
                     if (curr == null && !net.isStaticNet()) {
                         if (fanoutCount == 1 && net.getAlternateSource() != null && net.getSource() != null) {
                             // check if this is a dual-output net and if we just removed one of the outputs
                             // if so, remove the logical driver flag
                             for (PIP pip : net.getPIPs()) {
-                                if (pip.isLogicalDriver()) {
-                                    pip.setIsLogicalDriver(false);
+                                if (pip.isLogicalDriver() && (clearLogicalDrivers == null
+                                        || !clearLogicalDrivers.contains(pip))) {
+                                    if (clearLogicalDrivers == null) {
+                                        pip.setIsLogicalDriver(false);
+                                    } else {
+                                        clearLogicalDrivers.add(pip);
+                                    }
                                     break;
                                 }
                             }
                         }
 
-                        if (fanout.size() == 1) {
+                        if (numNodesWithFanout == -1) {
+                            // The index is not modified by this method, so this count does not change
+                            numNodesWithFanout = overrideNetPins ? getNumNodesWithFanout(index, nodeSinkPins)
+                                    : index.getNumNodesWithFanout();
+                        }
+                        if (numNodesWithFanout - numNodesWithoutFanout == 1) {
                             // We got all the way back to the source site. It is likely that
                             // the net is using dual exit points from the site as is common in
                             // SLICEs -- we should unroute the sitenet
                             SitePin sPin = sink.getSitePin();
                             if (net.getSource() != null) {
-                                SiteInst si = net.getSource().getSiteInst();
                                 BELPin belPin = sPin.getBELPin();
-                                si.unrouteIntraSiteNet(belPin, belPin);
+                                if (unrouteSourceBELPins == null) {
+                                    SiteInst si = net.getSource().getSiteInst();
+                                    si.unrouteIntraSiteNet(belPin, belPin);
+                                } else {
+                                    unrouteSourceBELPins.add(belPin);
+                                }
                             }
                         }
                     }
                 }
             }
             for (Node startNode : updateFanout) {
-                fanout.compute(startNode, (k,v) -> {
-                        if (v == null) throw new RuntimeException();
-                        assert(v > 0);
-                        return (--v == 0) ? null : v;
-                });
+                int fanout = getFanout.apply(startNode);
+                if (fanout <= 0) throw new RuntimeException();
+                fanoutRemoved.merge(startNode, 1, Integer::sum);
+                if (fanout == 1) {
+                    numNodesWithoutFanout++;
+                }
             }
             updateFanout.clear();
         }
         return toRemove;
     }
 
+    /**
+     * Applies the changes collected by
+     * {@link #getTrimmablePIPsFromPins(NetRouteIndex, Collection, boolean, List, List)}.
+     */
+    static void applyTrimmedPinsChanges(Net net, List<PIP> clearLogicalDrivers,
+                                                List<BELPin> unrouteSourceBELPins) {
+        for (PIP pip : clearLogicalDrivers) {
+            pip.setIsLogicalDriver(false);
+        }
+        for (BELPin belPin : unrouteSourceBELPins) {
+            net.getSource().getSiteInst().unrouteIntraSiteNet(belPin, belPin);
+        }
+    }
+
+    /**
+     * Counts the nodes of a net with a non-zero fanout, as defined by
+     * {@link #getTrimmablePIPsFromPins(NetRouteIndex, Collection, boolean)}, when the given sink pin
+     * nodes differ from those of the net (otherwise see {@link NetRouteIndex#getNumNodesWithFanout()}).
+     */
+    private static int getNumNodesWithFanout(NetRouteIndex index, Set<Node> nodeSinkPins) {
+        int numNodes = index.getNumDrivingNodes();
+        for (Node node : nodeSinkPins) {
+            if (index.getFanout(node) == 0 && index.getDriverPIPs(node) != null) {
+                numNodes++;
+            }
+        }
+        return numNodes;
+    }
+
     private static void fullyUnplaceCellHelper(Cell cell, Map<Net, Set<SitePinInst>> deferRemovals) {
         SiteInst siteInst = cell.getSiteInst();
         BEL bel = cell.getBEL();
@@ -2910,6 +3022,107 @@ public class DesignTools {
      */
     public static void copyImplementation(Design src, Design dest, boolean copyStaticNets, boolean copyOnlyInternalNets, boolean lockPlacement,
             boolean lockRouting, Map<String,String> srcToDestInstNames) {
+        copyImplementation(src, dest, copyStaticNets, copyOnlyInternalNets, lockPlacement, lockRouting,
+                srcToDestInstNames, null);
+    }
+
+    /** Number of source nets analyzed by each parallel task in copyImplementation() */
+    private static final int COPY_IMPLEMENTATION_CHUNK_SIZE = 256;
+
+    /**
+     * Routing of a source net to be copied by copyImplementation(), as determined by
+     * {@link #planNetCopy(Design, Net, Map, boolean)}.
+     */
+    private static class NetCopyPlan {
+        final Net net;
+        final Set<SitePinInst> pinsToRemove;
+        final Set<PIP> pipsToRemove;
+        /** PIPs of the source net whose logical driver flag is to be cleared */
+        final List<PIP> clearLogicalDrivers;
+        /** BEL pins of the source site at which the source net is to be unrouted */
+        final List<BELPin> unrouteSourceBELPins;
+
+        NetCopyPlan(Net net, Set<SitePinInst> pinsToRemove, Set<PIP> pipsToRemove,
+                    List<PIP> clearLogicalDrivers, List<BELPin> unrouteSourceBELPins) {
+            this.net = net;
+            this.pinsToRemove = pinsToRemove;
+            this.pipsToRemove = pipsToRemove;
+            this.clearLogicalDrivers = clearLogicalDrivers;
+            this.unrouteSourceBELPins = unrouteSourceBELPins;
+        }
+    }
+
+    /**
+     * Determines if (and which part of) the routing of a non-static source net should be copied.
+     * Does not modify anything (changes to the source net that trimming its routing requires are
+     * only recorded in the plan), so that it can be called on many nets concurrently.
+     * @return The plan for copying the net, or null if it is not to be copied.
+     */
+    private static NetCopyPlan planNetCopy(Design src, Net net, Map<String,String> prefixes,
+                                           boolean copyOnlyInternalNets) {
+        List<EDIFHierPortInst> pins = src.getNetlist().getPhysicalPins(net);
+        if (pins == null) return null;
+        // Identify the kinds of routes to preserve:
+        //  - Has the source in the preservation zone
+        //  - Has at least one sink inside preservation zone
+        boolean srcInside = false;
+        List<EDIFHierPortInst> outside = new ArrayList<EDIFHierPortInst>();
+        for (EDIFHierPortInst portInst : pins) {
+            String portInstName = portInst.getFullHierarchicalInstName();
+            String prefixMatch = StringTools.startsWithAny(portInstName, prefixes.keySet());
+            if (portInst.isOutput() && prefixMatch != null) {
+                srcInside = true;
+            }
+            if (prefixMatch == null) {
+                outside.add(portInst);
+            }
+        }
+        // Don't keep routing if source is not in preservation zone
+        if (!srcInside) return null;
+        if (copyOnlyInternalNets && outside.size() > 0) {
+            return null;
+        }
+        if ((outside.size() + 1) >= pins.size()) return null;
+
+        Set<SitePinInst> pinsToRemove = new HashSet<>();
+        // Net is partially inside, preserve only portions inside
+        for (EDIFHierPortInst removeMe : outside) {
+            pinsToRemove.addAll(removeMe.getAllRoutedSitePinInsts(src));
+        }
+        List<PIP> clearLogicalDrivers = new ArrayList<>();
+        List<BELPin> unrouteSourceBELPins = new ArrayList<>();
+        Set<PIP> pipsToRemove = pinsToRemove.isEmpty() ? Collections.emptySet()
+                : getTrimmablePIPsFromPins(new NetRouteIndex(net), pinsToRemove, false, clearLogicalDrivers,
+                        unrouteSourceBELPins);
+        return new NetCopyPlan(net, pinsToRemove, pipsToRemove, clearLogicalDrivers, unrouteSourceBELPins);
+    }
+
+    /**
+     * Copies the logic and implementation of a set of cells from one design to another with additional flags
+     * to control copying nets, see
+     * {@link #copyImplementation(Design, Design, boolean, boolean, boolean, boolean, Map)}.
+     * The (read-only) analysis of which source nets, and which parts of their routing, are to be copied is
+     * performed in parallel (when enabled by {@link ParallelismTools}); all objects are then created in the
+     * destination design on the calling thread, in the iteration order of the source design, such that the
+     * result is deterministic and identical to that of a serial copy.
+     * @param src The source design (with partial or full implementation)
+     * @param dest The destination design (with matching cell instance interfaces)
+     * @param copyStaticNets Flag indicating if static nets should be copied
+     * @param copyOnlyInternalNets Flag indicating if only nets with every terminal inside the cell should be copied
+     * @param lockPlacement Flag indicating if the destination implementation copy should have the
+     *     placement locked
+     * @param lockRouting Flag indicating if the destination implementation copy should have the
+     *     routing locked
+     * @param srcToDestInstNames A map of source (key) to destination (value) pairs of cell
+     * instances from which to copy the implementation
+     * @param callback If not null, called with the (cumulative) metrics after each phase completes.
+     */
+    public static void copyImplementation(Design src, Design dest, boolean copyStaticNets, boolean copyOnlyInternalNets, boolean lockPlacement,
+            boolean lockRouting, Map<String,String> srcToDestInstNames,
+            Consumer<CopyImplementationMetrics> callback) {
+        CopyImplementationMetrics metrics = new CopyImplementationMetrics();
+        long start = System.nanoTime();
+
         // Removing existing logic in target cells in destination design
         EDIFNetlist destNetlist = dest.getNetlist();
         for (Entry<String,String> e : srcToDestInstNames.entrySet()) {
@@ -2952,6 +3165,7 @@ public class DesignTools {
                     prefixes.put(srcPrefix + "/", srcPrefix);
             }
         }
+        start = completeCopyPhase(metrics, CopyImplementationMetrics.Phase.NETLIST, start, callback);
 
         // Identify cells to copy placement
         Set<SiteInst> siteInstsOfCells = new HashSet<>();
@@ -2966,57 +3180,54 @@ public class DesignTools {
                 if (dstSiteInst == null) {
                     dstSiteInst = dest.createSiteInst(srcSiteInst.getName(),
                                     srcSiteInst.getSiteTypeEnum(), srcSiteInst.getSite());
+                    metrics.addSiteInstsCreated(1);
                 }
                 String newCellName = getNewHierName(cellName, srcToDestInstNames, prefixes, prefixMatch);
                 Cell copy = cell.copyCell(newCellName, cell.getEDIFHierCellInst(), dstSiteInst);
                 dstSiteInst.addCell(copy);
                 copy.setBELFixed(lockPlacement);
                 copy.setSiteFixed(lockPlacement);
+                metrics.addCellsCopied(1);
 
                 // Preserve site routing from cell pins to site pins
                 copySiteRouting(copy, cell, srcToDestInstNames, prefixes);
             }
         }
+        start = completeCopyPhase(metrics, CopyImplementationMetrics.Phase.CELLS, start, callback);
 
         List<Net> staticNets = new ArrayList<Net>();
-
-        // Identify nets to copy routing
+        List<Net> srcNets = new ArrayList<>();
         for (Net net : src.getNets()) {
             if (net.isStaticNet()) {
                 staticNets.add(net);
-                continue;
+            } else {
+                srcNets.add(net);
             }
+        }
 
-            List<EDIFHierPortInst> pins = src.getNetlist().getPhysicalPins(net);
-            if (pins == null) continue;
-            // Identify the kinds of routes to preserve:
-            //  - Has the source in the preservation zone
-            //  - Has at least one sink inside preservation zone
-            boolean srcInside = false;
-            List<EDIFHierPortInst> outside = new ArrayList<EDIFHierPortInst>();
-            for (EDIFHierPortInst portInst : pins) {
-                String portInstName = portInst.getFullHierarchicalInstName();
-                String prefixMatch = StringTools.startsWithAny(portInstName, prefixes.keySet());
-                if (portInst.isOutput() && prefixMatch != null) {
-                    srcInside = true;
-                }
-                if (prefixMatch == null) {
-                    outside.add(portInst);
+        // Identify nets to copy routing, in parallel
+        // (build the lazily-computed physical net pin map up front)
+        src.getNetlist().getPhysicalNetPinMap();
+        NetCopyPlan[] plans = new NetCopyPlan[srcNets.size()];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < srcNets.size(); i += COPY_IMPLEMENTATION_CHUNK_SIZE) {
+            final int from = i;
+            final int to = Math.min(i + COPY_IMPLEMENTATION_CHUNK_SIZE, srcNets.size());
+            tasks.add(() -> {
+                for (int j = from; j < to; j++) {
+                    plans[j] = planNetCopy(src, srcNets.get(j), prefixes, copyOnlyInternalNets);
                 }
-            }
-            // Don't keep routing if source is not in preservation zone
-            if (!srcInside) continue;
-            if (copyOnlyInternalNets && outside.size() > 0) {
-                continue;
-            }
-            if ((outside.size() + 1) >= pins.size()) continue;
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
 
-            Set<SitePinInst> pinsToRemove = new HashSet<>();
-            // Net is partially inside, preserve only portions inside
-            for (EDIFHierPortInst removeMe : outside) {
-                pinsToRemove.addAll(removeMe.getAllRoutedSitePinInsts(src));
-            }
-            Set<PIP> pipsToRemove = getTrimmablePIPsFromPins(net, pinsToRemove);
+        // Copy routing into the destination design, in source order
+        for (NetCopyPlan plan : plans) {
+            if (plan == null) continue;
+            Net net = plan.net;
+            Set<SitePinInst> pinsToRemove = plan.pinsToRemove;
+            Set<PIP> pipsToRemove = plan.pipsToRemove;
+            applyTrimmedPinsChanges(net, plan.clearLogicalDrivers, plan.unrouteSourceBELPins);
 
             String newNetName = net.getName();
             String prefixMatch = null;
@@ -3024,28 +3235,48 @@ public class DesignTools {
                 newNetName = getNewHierName(newNetName, srcToDestInstNames, prefixes, prefixMatch);
             }
             Net copiedNet = dest.createNet(newNetName);
+            int numPIPsCopied = 0;
             for (PIP p : net.getPIPs()) {
                 if (pipsToRemove.contains(p)) continue;
                 copiedNet.addPIP(p);
+                numPIPsCopied++;
                 if (lockRouting) {
                     p.setIsPIPFixed(true);
                 }
             }
+            int numPinsCopied = 0;
             for (SitePinInst spi : net.getPins()) {
                 if (pinsToRemove.contains(spi)) continue;
                 SiteInst siteInst = dest.getSiteInstFromSite(spi.getSite());
                 if (siteInst == null) {
-                    dest.createSiteInst(spi.getSite());
+                    siteInst = dest.createSiteInst(spi.getSite());
+                    metrics.addSiteInstsCreated(1);
                 }
                 copiedNet.createPin(spi.getName(), siteInst);
+                numPinsCopied++;
             }
+            metrics.addNetsCopied(1);
+            metrics.addPIPsCopied(numPIPsCopied);
+            metrics.addPinsCopied(numPinsCopied);
         }
+        start = completeCopyPhase(metrics, CopyImplementationMetrics.Phase.NETS, start, callback);
 
         if (copyStaticNets) {
             copyStaticNets(dest, staticNets, siteInstsOfCells);
+            completeCopyPhase(metrics, CopyImplementationMetrics.Phase.STATIC_NETS, start, callback);
         }
     }
 
+    private static long completeCopyPhase(CopyImplementationMetrics metrics, CopyImplementationMetrics.Phase phase,
+                                          long start, Consumer<CopyImplementationMetrics> callback) {
+        long now = System.nanoTime();
+        metrics.completePhase(phase, now - start);
+        if (callback != null) {
+            callback.accept(metrics);
+        }
+        return now;
+    }
+
     /**
      * Copy the route of static nets feeding the sinks within the given SiteInst.
      * The route of static nets connecting to every site pin of the given site instances will be copied.
@@ -4770,6 +5001,62 @@ public class DesignTools {
         return numUnroutedSinkPins;
     }
 
+    /**
+     * Update the SitePinInst.isRouted() value of all pins on the indexed Net,
+     * with the same definition as {@link #updatePinsIsRouted(Net)}. Rather than walking all of
+     * the net's PIPs, the routing upstream of each sink pin is examined only until a source
+     * (or a node already known to be reachable from a source) is found.
+     * @param index An up-to-date routing index of the net.
+     * @return Number of unrouted sink pins on net.
+     */
+    public static int updatePinsIsRouted(NetRouteIndex index) {
+        index.validate();
+        Net net = index.getNet();
+        Set<Node> sourceNodes = new HashSet<>();
+        for (SitePinInst spi : net.getPins()) {
+            if (spi.isOutPin()) {
+                sourceNodes.add(spi.getConnectedNode());
+            }
+        }
+        int numUnroutedSinkPins = 0;
+        Set<Node> reachable = new HashSet<>();
+        for (SitePinInst spi : net.getPins()) {
+            Node node = spi.getConnectedNode();
+            if (spi.isOutPin()) {
+                spi.setRouted(index.drivesRouting(node));
+            } else {
+                boolean routed = node != null && index.isReachableFromSource(node, sourceNodes, reachable);
+                spi.setRouted(routed);
+                if (!routed) {
+                    numUnroutedSinkPins++;
+                }
+            }
+        }
+        index.setPinsUpdated(numUnroutedSinkPins);
+        return numUnroutedSinkPins;
+    }
+
+    /**
+     * Update the SitePinInst.isRouted() value of all sink pins in the given Design,
+     * reusing the routing indices held by the given cache. Only nets whose routing or pins
+     * have changed since the previous call with the same cache (see {@link NetRouteIndex#isDirty()})
+     * are re-examined; the routed state of all other nets' pins is assumed to be unchanged.
+     * @param design Design in which pins are to be updated.
+     * @param cache Cache of routing indices, to be reused across calls.
+     * @return Number of unrouted sink pins (not driven by hierarchical ports) across design.
+     */
+    public static int updatePinsIsRouted(Design design, NetRouteIndex.Cache cache) {
+        int totalUnroutedSinkPins = 0;
+        for (Net net : design.getNets()) {
+            NetRouteIndex index = cache.get(net);
+            int numUnroutedSinkPins = index.isDirty() ? updatePinsIsRouted(index) : index.getNumUnroutedSinkPins();
+            if (!DesignTools.isNetDrivenByHierPort(net)) {
+                totalUnroutedSinkPins += numUnroutedSinkPins;
+            }
+        }
+        return totalUnroutedSinkPins;
+    }
+
     /**
      * Update the SitePinInst.isRouted() value of all sink pins in the given
      * Design. See {@link #updatePinsIsRouted(Net)}.
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PIP;
+
+/**
+ * An index over the routing (PIPs) of a single {@link Net} that maps each node to the PIPs driving it
+ * and to the PIPs it drives. Once built, the index is maintained incrementally by
+ * {@link #addPIP(PIP)} and {@link #removePIPs(Collection)}, which also update the net itself, so that
+ * queries such as {@link DesignTools#updatePinsIsRouted(NetRouteIndex)} or
+ * {@link DesignTools#getTrimmablePIPsFromPins(NetRouteIndex, Collection, boolean)} take time proportional
+ * to the part of the routing they examine rather than to the size of the net.
+ *
+ * Replacing the net's PIP list (e.g. {@link Net#setPIPs(List)} or {@link Net#unroute()}) or changing its
+ * size is detected by {@link #isValid()}; any other modification of the net's PIPs made without going
+ * through this index must be followed by {@link #rebuild()}.
+ */
+public class NetRouteIndex {
+
+    private final Net net;
+
+    /** Map from each node to the PIPs driving it */
+    private final Map<Node, List<PIP>> drivers;
+
+    /** Map from each node to the PIPs it drives */
+    private final Map<Node, List<PIP>> driven;
+
+    /** PIP list of the net (and its size) when this index was last synchronized with it */
+    private List<PIP> pips;
+    private int numPIPs;
+
+    /** Pin list of the net (and its size) when pins' routed state was last updated */
+    private List<SitePinInst> pins;
+    private int numPins;
+
+    /** True if routing changed since pins' routed state was last updated */
+    private boolean dirty;
+
+    /** Number of unrouted sink pins, as of the last update of pins' routed state */
+    private int numUnroutedSinkPins;
+
+    /** Nodes of the net's sink pins, and the pin list (and its size) they were collected from */
+    private Set<Node> sinkPinNodes;
+    private List<SitePinInst> sinkPinNodesPins;
+    private int sinkPinNodesNumPins;
+
+    /** Number of sink pin nodes that are driven by, but do not drive, a PIP of the net */
+    private int numSinkLeafNodes;
+
+    public NetRouteIndex(Net net) {
+        this.net = net;
+        drivers = new HashMap<>();
+        driven = new HashMap<>();
+        rebuild();
+    }
+
+    /**
+     * Rebuilds this index from scratch from the net's current PIPs.
+     */
+    public void rebuild() {
+        drivers.clear();
+        driven.clear();
+        collectSinkPinNodes();
+        pips = net.getPIPs();
+        numPIPs = pips.size();
+        for (PIP pip : pips) {
+            index(pip);
+        }
+        dirty = true;
+    }
+
+    private void index(PIP pip) {
+        boolean isReversed = pip.isReversed();
+        Node startNode = isReversed ? pip.getEndNode() : pip.getStartNode();
+        Node endNode = isReversed ? pip.getStartNode() : pip.getEndNode();
+        if (startNode != null) {
+            boolean wasSinkLeaf = isSinkLeaf(startNode);
+            driven.computeIfAbsent(startNode, (k) -> new ArrayList<>(1)).add(pip);
+            updateNumSinkLeafNodes(startNode, wasSinkLeaf);
+        }
+        if (endNode != null) {
+            boolean wasSinkLeaf = isSinkLeaf(endNode);
+            drivers.computeIfAbsent(endNode, (k) -> new ArrayList<>(1)).add(pip);
+            updateNumSinkLeafNodes(endNode, wasSinkLeaf);
+        }
+    }
+
+    private void unindex(PIP pip) {
+        boolean isReversed = pip.isReversed();
+        Node startNode = isReversed ? pip.getEndNode() : pip.getStartNode();
+        Node endNode = isReversed ? pip.getStartNode() : pip.getEndNode();
+        if (startNode != null) {
+            boolean wasSinkLeaf = isSinkLeaf(startNode);
+            removeFrom(driven, startNode, pip);
+            updateNumSinkLeafNodes(startNode, wasSinkLeaf);
+        }
+        if (endNode != null) {
+            boolean wasSinkLeaf = isSinkLeaf(endNode);
+            removeFrom(drivers, endNode, pip);
+            updateNumSinkLeafNodes(endNode, wasSinkLeaf);
+        }
+    }
+
+    private boolean isSinkLeaf(Node node) {
+        return sinkPinNodes.contains(node) && drivers.containsKey(node) && !driven.containsKey(node);
+    }
+
+    private void updateNumSinkLeafNodes(Node node, boolean wasSinkLeaf) {
+        boolean isSinkLeaf = isSinkLeaf(node);
+        if (isSinkLeaf != wasSinkLeaf) {
+            numSinkLeafNodes += isSinkLeaf ? 1 : -1;
+        }
+    }
+
+    /**
+     * Collects the nodes of the net's sink pins and recounts those that are leaves of the routing.
+     */
+    private void collectSinkPinNodes() {
+        sinkPinNodesPins = net.getPins();
+        sinkPinNodesNumPins = sinkPinNodesPins.size();
+        sinkPinNodes = new HashSet<>();
+        numSinkLeafNodes = 0;
+        for (SitePinInst sinkPin : net.getSinkPins()) {
+            Node node = sinkPin.getConnectedNode();
+            if (node != null && sinkPinNodes.add(node) && isSinkLeaf(node)) {
+                numSinkLeafNodes++;
+            }
+        }
+    }
+
+    private static void removeFrom(Map<Node, List<PIP>> map, Node node, PIP pip) {
+        List<PIP> list = map.get(node);
+        if (list != null && list.remove(pip) && list.isEmpty()) {
+            map.remove(node);
+        }
+    }
+
+    public Net getNet() {
+        return net;
+    }
+
+    /**
+     * Checks that this index is still in sync with the net's PIPs, i.e. that the net's PIP list
+     * was neither replaced nor resized behind this index's back.
+     * @return True if the index is valid.
+     */
+    public boolean isValid() {
+        return net.getPIPs() == pips && pips.size() == numPIPs;
+    }
+
+    /**
+     * Rebuilds this index if it is no longer valid, see {@link #isValid()}.
+     * @return This index.
+     */
+    public NetRouteIndex validate() {
+        if (!isValid()) {
+            rebuild();
+        }
+        return this;
+    }
+
+    /**
+     * Adds a PIP to the net and to this index.
+     * @param pip The PIP to add.
+     */
+    public void addPIP(PIP pip) {
+        net.addPIP(pip);
+        pips = net.getPIPs();
+        numPIPs = pips.size();
+        index(pip);
+        dirty = true;
+    }
+
+    /**
+     * Removes a collection of PIPs from the net and from this index.
+     * @param pipsToRemove The PIPs to remove.
+     */
+    public void removePIPs(Collection<PIP> pipsToRemove) {
+        if (pipsToRemove.isEmpty()) {
+            return;
+        }
+        Set<PIP> toRemove = (pipsToRemove instanceof Set) ? (Set<PIP>) pipsToRemove : new HashSet<>(pipsToRemove);
+        List<PIP> updatedPIPs = new ArrayList<>(Math.max(0, pips.size() - toRemove.size()));
+        for (PIP pip : net.getPIPs()) {
+            if (toRemove.contains(pip)) {
+                unindex(pip);
+            } else {
+                updatedPIPs.add(pip);
+            }
+        }
+        net.setPIPs(updatedPIPs);
+        pips = net.getPIPs();
+        numPIPs = pips.size();
+        dirty = true;
+    }
+
+    /**
+     * Gets the PIPs of the net that drive the given node.
+     * @param node The node in question.
+     * @return List of driving PIPs (usually zero or one), or null if none.
+     */
+    public List<PIP> getDriverPIPs(Node node) {
+        return drivers.get(node);
+    }
+
+    /**
+     * Gets the PIPs of the net that are driven by the given node.
+     * @param node The node in question.
+     * @return List of driven PIPs, or null if none.
+     */
+    public List<PIP> getDrivenPIPs(Node node) {
+        return driven.get(node);
+    }
+
+    /**
+     * Gets the number of PIPs of the net driven by the given node.
+     * @param node The node in question.
+     * @return Fanout of the node.
+     */
+    public int getFanout(Node node) {
+        List<PIP> list = driven.get(node);
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * Gets the number of distinct nodes that drive at least one PIP of the net.
+     * @return Number of driving nodes.
+     */
+    public int getNumDrivingNodes() {
+        return driven.size();
+    }
+
+    /**
+     * Gets the number of distinct nodes of the net with a non-zero fanout, where the fanout of a node is
+     * the number of PIPs it drives plus, if it is the node of one of the net's sink pins, the number of PIPs
+     * driving it. This count is maintained incrementally as PIPs are added or removed through this index;
+     * the sink pin nodes are only recollected when pins are added to or removed from the net.
+     * @return Number of nodes with fanout.
+     */
+    public int getNumNodesWithFanout() {
+        if (net.getPins() != sinkPinNodesPins || sinkPinNodesPins.size() != sinkPinNodesNumPins) {
+            collectSinkPinNodes();
+        }
+        return driven.size() + numSinkLeafNodes;
+    }
+
+    /**
+     * Checks if the routed state of the net's pins may be out of date, i.e. if routing was changed
+     * or pins were added or removed since the last call to {@link DesignTools#updatePinsIsRouted(NetRouteIndex)}.
+     * @return True if pins need updating.
+     */
+    public boolean isDirty() {
+        return dirty || net.getPins() != pins || pins.size() != numPins;
+    }
+
+    /**
+     * Gets the number of unrouted sink pins computed by the last call to
+     * {@link DesignTools#updatePinsIsRouted(NetRouteIndex)}.
+     * @return Number of unrouted sink pins.
+     */
+    public int getNumUnroutedSinkPins() {
+        return numUnroutedSinkPins;
+    }
+
+    void setPinsUpdated(int numUnroutedSinkPins) {
+        this.numUnroutedSinkPins = numUnroutedSinkPins;
+        pins = net.getPins();
+        numPins = pins.size();
+        dirty = false;
+    }
+
+    /**
+     * Checks if the given node is reachable (by following the net's PIPs) from one of the net's source pins,
+     * or in the case of static nets, also from a node tied to GND or VCC. This matches the definition used
+     * by {@link DesignTools#updatePinsIsRouted(Net)}, but only examines the routing upstream of the node.
+     * @param node The node in question.
+     * @param sourceNodes Nodes of the net's source pins.
+     * @param reachable Nodes already known to be reachable from a source; updated with nodes found to be
+     *                  reachable by this call.
+     * @return True if the node is reachable from a source.
+     */
+    boolean isReachableFromSource(Node node, Set<Node> sourceNodes, Set<Node> reachable) {
+        if (sourceNodes.contains(node) || reachable.contains(node)) {
+            return true;
+        }
+        NetType type = net.getType();
+        List<Node> visited = new ArrayList<>();
+        Set<Node> visitedSet = new HashSet<>();
+        // True while the visited nodes form a single path (no node with multiple drivers)
+        boolean isPath = true;
+        Queue<Node> queue = new ArrayDeque<>();
+        visited.add(node);
+        visitedSet.add(node);
+        queue.add(node);
+        while (!queue.isEmpty()) {
+            Node curr = queue.poll();
+            List<PIP> driverPIPs = drivers.get(curr);
+            if (driverPIPs == null) {
+                continue;
+            }
+            if (driverPIPs.size() > 1) {
+                isPath = false;
+            }
+            for (PIP pip : driverPIPs) {
+                if (pip.isEndWireNull()) {
+                    continue;
+                }
+                Node driver = pip.isReversed() ? pip.getEndNode() : pip.getStartNode();
+                if (sourceNodes.contains(driver) || reachable.contains(driver) ||
+                        (!pip.isBidirectional() && ((type == NetType.GND && driver.isTiedToGnd()) ||
+                                (type == NetType.VCC && driver.isTiedToVcc())))) {
+                    if (isPath) {
+                        // Every node visited lies on the path from this driver
+                        reachable.addAll(visited);
+                    } else {
+                        reachable.add(node);
+                    }
+                    return true;
+                }
+                if (visitedSet.add(driver)) {
+                    visited.add(driver);
+                    queue.add(driver);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given node drives at least one (non-dangling) PIP of the net.
+     * @param node The node in question.
+     * @return True if the node drives routing.
+     */
+    boolean drivesRouting(Node node) {
+        List<PIP> drivenPIPs = driven.get(node);
+        if (drivenPIPs != null) {
+            for (PIP pip : drivenPIPs) {
+                if (!pip.isEndWireNull()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cache of {@link NetRouteIndex} objects, keyed by net identity, that rebuilds
+     * any index no longer valid when it is retrieved.
+     */
+    public static class Cache {
+        private final Map<Net, NetRouteIndex> indices = new IdentityHashMap<>();
+
+        /**
+         * Gets the (valid) index of the given net, building it if necessary.
+         * @param net The net in question.
+         * @return The net's index.
+         */
+        public NetRouteIndex get(Net net) {
+            NetRouteIndex index = indices.get(net);
+            if (index == null) {
+                index = new NetRouteIndex(net);
+                indices.put(net, index);
+            }
+            return index.validate();
+        }
+
+        /**
+         * Discards the index of the given net, for example after modifying its PIPs directly.
+         * @param net The net in question.
+         */
+        public void invalidate(Net net) {
+            indices.remove(net);
+        }
+
+        /**
+         * Discards the indices of all nets that are no longer part of the given design.
+         * @param design The design in question.
+         */
+        public void retainAll(Design design) {
+            Set<Net> nets = Collections.newSetFromMap(new IdentityHashMap<>());
+            nets.addAll(design.getNets());
+            indices.keySet().retainAll(nets);
+        }
+
+        public void clear() {
+            indices.clear();
+        }
+    }
+}
@@ -23,6 +23,7 @@
 
 package com.xilinx.rapidwright.design;
 
+import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.device.Site;
 import com.xilinx.rapidwright.device.Tile;
 
@@ -126,13 +127,24 @@ public class RelocatableTileRectangle extends TileRectangle {
         return "Failed to find corresponding tile \""+newName+"\" for "+template+" when relocating from "+originalAnchor+" to "+newAnchor+". Rect: "+ this;
     }
 
-    public RelocatableTileRectangle getCorresponding(Tile newAnchor, Tile originalAnchor) {
+    /**
+     * Looks up the tiles that the borders of this rectangle can be relocated to. This is otherwise done
+     * lazily by the first call to {@link #getCorresponding(Tile, Tile)}, so it must be called up front when
+     * the same rectangle is to be relocated from multiple threads.
+     *
+     * @param device The device of this rectangle's tiles
+     */
+    public void initCorrespondingTiles(Device device) {
         if (minColumnArr == null) {
-            minColumnArr = newAnchor.getDevice().getTilesByRootName(minColumn.getRootName());
-            maxColumnArr = newAnchor.getDevice().getTilesByRootName(maxColumn.getRootName());
-            minRowArr = newAnchor.getDevice().getTilesByRootName(minRow.getRootName());
-            maxRowArr = newAnchor.getDevice().getTilesByRootName(maxRow.getRootName());
+            maxColumnArr = device.getTilesByRootName(maxColumn.getRootName());
+            minRowArr = device.getTilesByRootName(minRow.getRootName());
+            maxRowArr = device.getTilesByRootName(maxRow.getRootName());
+            minColumnArr = device.getTilesByRootName(minColumn.getRootName());
         }
+    }
+
+    public RelocatableTileRectangle getCorresponding(Tile newAnchor, Tile originalAnchor) {
+        initCorrespondingTiles(newAnchor.getDevice());
 
         return new RelocatableTileRectangle(
                 Objects.requireNonNull(Module.getCorrespondingTile(minColumn, newAnchor, originalAnchor, minColumnArr), ()->failedReloc(minColumn, newAnchor, originalAnchor, minColumnArr)),
@@ -32,7 +32,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
@@ -43,6 +45,7 @@ import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.device.SitePIP;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.edif.compare.EDIFNetlistComparator;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * A physical design comparison helper class that will compare two designs'
@@ -64,6 +67,14 @@ public class DesignComparator {
      * Flag indicating if placement information should be compared (default: true)
      */
     private boolean comparePlacement = true;
+    /**
+     * Flag indicating if site instance and net pairs should first be checked for equality (in
+     * parallel, using content fingerprints to quickly spot differing pairs) to skip the detailed
+     * comparison of identical pairs (default: true)
+     */
+    private boolean useFingerprints = true;
+    /** Number of site instance or net pairs to be fingerprinted by each parallel task */
+    private static final int PAIRS_PER_TASK = 1024;
 
     public DesignComparator() {
         resetDiffCount();
@@ -95,13 +106,24 @@ public class DesignComparator {
             Map<String, SiteInst> goldMap = getSiteInstMap(gold);
             Map<String, SiteInst> testMap = getSiteInstMap(test);
 
+            List<SiteInst> goldSiteInsts = new ArrayList<>();
+            List<SiteInst> testSiteInsts = new ArrayList<>();
             for (Entry<String, SiteInst> e : goldMap.entrySet()) {
                 SiteInst testSiteInst = testMap.remove(e.getKey());
                 if (testSiteInst == null) {
                     addDiff(DesignDiffType.SITEINST_MISSING, e.getValue(), null, gold, "");
                     continue;
                 }
-                compareSiteInsts(e.getValue(), testSiteInst);
+                goldSiteInsts.add(e.getValue());
+                testSiteInsts.add(testSiteInst);
+            }
+
+            boolean[] identical = findIdenticalPairs(goldSiteInsts, testSiteInsts,
+                    DesignComparator::getSiteInstFingerprint, DesignComparator::siteInstsEqual);
+            for (int i = 0; i < goldSiteInsts.size(); i++) {
+                if (!identical[i]) {
+                    compareSiteInsts(goldSiteInsts.get(i), testSiteInsts.get(i));
+                }
             }
 
             for (Entry<String, SiteInst> e : testMap.entrySet()) {
@@ -112,13 +134,25 @@ public class DesignComparator {
         Map<String, Net> goldNetMap = getNetMap(gold);
         Map<String, Net> testNetMap = getNetMap(test);
 
+        List<Net> goldNets = new ArrayList<>();
+        List<Net> testNets = new ArrayList<>();
         for (Entry<String, Net> e : goldNetMap.entrySet()) {
             Net testNet = testNetMap.remove(e.getKey());
             if (testNet == null) {
                 addDiff(DesignDiffType.NET_MISSING, e.getValue(), null, gold, "");
                 continue;
             }
-            compareNets(e.getValue(), testNet);
+            goldNets.add(e.getValue());
+            testNets.add(testNet);
+        }
+
+        // PIP flags are not captured by the net fingerprint
+        boolean[] identical = findIdenticalPairs(goldNets, testNets,
+                comparePIPFlags ? null : DesignComparator::getNetFingerprint, this::netsEqual);
+        for (int i = 0; i < goldNets.size(); i++) {
+            if (!identical[i]) {
+                compareNets(goldNets.get(i), testNets.get(i));
+            }
         }
 
         for (Entry<String, Net> e : testNetMap.entrySet()) {
@@ -128,6 +162,189 @@ public class DesignComparator {
         return getDiffCount();
     }
     
+    /**
+     * Checks (in parallel) each gold and test object pair for equality, in order to identify those
+     * pairs that are identical and do not need to be compared in detail. Differing fingerprints
+     * prove that a pair differs; matching fingerprints do not prove anything, so such pairs are
+     * always checked for equality.
+     * @param golds List of gold objects.
+     * @param tests List of test objects, paired with the gold object at the same index.
+     * @param fingerprint Function computing the fingerprint of an object, or null to only check
+     * for equality.
+     * @param equals Exact (read-only) equality check of a pair.
+     * @return Array indicating, for each pair, if both objects are equal (all false if disabled,
+     * see {@link #setUseFingerprints(boolean)}).
+     */
+    private <T> boolean[] findIdenticalPairs(List<T> golds, List<T> tests, ToLongFunction<T> fingerprint,
+                                             BiPredicate<T, T> equals) {
+        boolean[] identical = new boolean[golds.size()];
+        if (!useFingerprints) {
+            return identical;
+        }
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < golds.size(); i += PAIRS_PER_TASK) {
+            final int start = i;
+            final int end = Math.min(i + PAIRS_PER_TASK, golds.size());
+            tasks.add(() -> {
+                for (int j = start; j < end; j++) {
+                    T gold = golds.get(j);
+                    T test = tests.get(j);
+                    if (fingerprint != null && fingerprint.applyAsLong(gold) != fingerprint.applyAsLong(test)) {
+                        continue;
+                    }
+                    identical[j] = equals.test(gold, test);
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+        return identical;
+    }
+
+    private static long mix(long h) {
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the string representations of the given objects, each followed by a
+     * separator so that, e.g., ("a", "bc") and ("ab", "c") hash differently.
+     */
+    private static long hashOf(Object... objects) {
+        long h = 0xcbf29ce484222325L;
+        for (Object o : objects) {
+            String str = String.valueOf(o);
+            for (int i = 0; i < str.length(); i++) {
+                h ^= str.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= 0xffff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Computes a 64-bit fingerprint over everything compared by {@link #compareSiteInsts(SiteInst, SiteInst)}:
+     * the name, cell placements, site wire to net mappings and active site PIPs of a site instance.
+     * Elements are combined in an order-independent way, so that two site instances with identical
+     * content (regardless of iteration order) have identical fingerprints. Differing fingerprints
+     * prove that two site instances differ, but identical fingerprints do not prove equality.
+     * @param si The site instance.
+     * @return The fingerprint.
+     */
+    public static long getSiteInstFingerprint(SiteInst si) {
+        long h = hashOf(si.getName());
+        long cells = 0;
+        for (Entry<String, Cell> e : si.getCellMap().entrySet()) {
+            Cell c = e.getValue();
+            cells += hashOf(e.getKey(), c.getName(), c.getType(), c.isBELFixed(), c.isSiteFixed());
+        }
+        long siteWires = 0;
+        for (Entry<String, Net> e : si.getSiteWireToNetMap().entrySet()) {
+            siteWires += hashOf(e.getKey(), e.getValue().getName());
+        }
+        long sitePIPs = 0;
+        for (SitePIP p : si.getUsedSitePIPs()) {
+            sitePIPs += hashOf(p.getBELName(), p.getInputPinName());
+        }
+        return mix(mix(mix(h + cells) + siteWires) + sitePIPs);
+    }
+
+    /**
+     * Computes a 64-bit fingerprint over the PIPs of a net (excluding their flags), as compared by
+     * {@link #compareNets(Net, Net)}. PIPs are combined in an order-independent way. Differing
+     * fingerprints prove that two nets differ, but identical fingerprints do not prove equality.
+     * @param net The net.
+     * @return The fingerprint.
+     */
+    public static long getNetFingerprint(Net net) {
+        long h = 0;
+        for (PIP p : net.getPIPs()) {
+            long ph = mix(((long) p.getTile().getUniqueAddress() << 32) | (p.getStartWireIndex() & 0xffffffffL));
+            h += mix(ph + ((long) p.getEndWireIndex() << 1) + (p.isReversed() ? 1 : 0));
+        }
+        return h;
+    }
+
+    /**
+     * Checks if two site instances are equal in everything compared by
+     * {@link #compareSiteInsts(SiteInst, SiteInst)}, without recording any differences.
+     */
+    private static boolean siteInstsEqual(SiteInst gold, SiteInst test) {
+        if (!gold.getName().equals(test.getName())) {
+            return false;
+        }
+        Map<String, Cell> goldCells = gold.getCellMap();
+        Map<String, Cell> testCells = test.getCellMap();
+        if (goldCells.size() != testCells.size()) {
+            return false;
+        }
+        for (Entry<String, Cell> e : goldCells.entrySet()) {
+            Cell goldCell = e.getValue();
+            Cell testCell = testCells.get(e.getKey());
+            if (testCell == null || !Objects.equals(goldCell.getName(), testCell.getName())
+                    || !Objects.equals(goldCell.getType(), testCell.getType())
+                    || goldCell.isBELFixed() != testCell.isBELFixed()
+                    || goldCell.isSiteFixed() != testCell.isSiteFixed()) {
+                return false;
+            }
+        }
+        Map<String, Net> goldSiteWires = gold.getSiteWireToNetMap();
+        Map<String, Net> testSiteWires = test.getSiteWireToNetMap();
+        if (goldSiteWires.size() != testSiteWires.size()) {
+            return false;
+        }
+        for (Entry<String, Net> e : goldSiteWires.entrySet()) {
+            Net testNet = testSiteWires.get(e.getKey());
+            if (testNet == null || !e.getValue().getName().equals(testNet.getName())) {
+                return false;
+            }
+        }
+        Map<BEL, String> goldSitePIPs = getSitePIPInputs(gold);
+        return goldSitePIPs != null && goldSitePIPs.equals(getSitePIPInputs(test));
+    }
+
+    /**
+     * Gets the input pin name of the active site PIP of each BEL, or null if there are multiple.
+     */
+    private static Map<BEL, String> getSitePIPInputs(SiteInst siteInst) {
+        Map<BEL, String> map = new HashMap<>();
+        for (SitePIP p : siteInst.getUsedSitePIPs()) {
+            if (map.put(p.getBEL(), p.getInputPinName()) != null) {
+                // Leave it to compareSiteInsts() to warn about it
+                return null;
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Checks if two nets are equal in everything compared by {@link #compareNets(Net, Net)},
+     * without recording any differences.
+     */
+    private boolean netsEqual(Net gold, Net test) {
+        if (!comparePIPs.test(gold) && !comparePIPs.test(test)) {
+            return true;
+        }
+        Map<String, PIP> goldMap = getPIPMap(gold);
+        Map<String, PIP> testMap = getPIPMap(test);
+        if (!goldMap.keySet().equals(testMap.keySet())) {
+            return false;
+        }
+        if (comparePIPFlags) {
+            for (Entry<String, PIP> e : goldMap.entrySet()) {
+                if (!e.getValue().deepEquals(testMap.get(e.getKey()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private Map<String,SiteInst> getSiteInstMap(Design design) {
         Map<String,SiteInst> map = new HashMap<>();
         for(SiteInst si : design.getSiteInsts()) {
@@ -222,6 +439,27 @@ public class DesignComparator {
         this.comparePlacement = comparePlacement;
     }
 
+    /**
+     * Gets the useFingerprints flag indicating if site instances and nets should first be compared
+     * by their content fingerprints (computed in parallel), with only mismatching pairs being
+     * compared in detail.
+     *
+     * @return True if the flag is set, false otherwise (default: true).
+     */
+    public boolean getUseFingerprints() {
+        return useFingerprints;
+    }
+
+    /**
+     * Sets the flag to tell the design comparator if content fingerprints should be used to skip
+     * the detailed comparison of identical site instances and nets.
+     *
+     * @param useFingerprints Desired flag value (default: true).
+     */
+    public void setUseFingerprints(boolean useFingerprints) {
+        this.useFingerprints = useFingerprints;
+    }
+
     public Map<DesignDiffType, List<DesignDiff>> getDiffMap() {
         return diffMap;
     }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.drc;
+
+import java.util.List;
+
+import com.xilinx.rapidwright.design.Cell;
+import com.xilinx.rapidwright.design.DRC;
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SiteInst;
+
+/**
+ * A design rule that inspects one kind of design object at a time. Rules are executed by {@link DRC},
+ * which may check many objects concurrently, so implementations must be thread-safe and should only
+ * depend on the state of the object being checked (and of objects directly attached to it).
+ * @param <T> The type of design object inspected by this rule.
+ */
+public abstract class DRCRule<T> {
+
+    /**
+     * The kinds of design objects that a rule can inspect.
+     */
+    public enum Kind {
+        /** Rule inspects {@link Net} objects */
+        NET,
+        /** Rule inspects {@link SiteInst} objects */
+        SITE_INST,
+        /** Rule inspects {@link Cell} objects */
+        CELL
+    }
+
+    /**
+     * Gets the name of this rule, as used in reported violations.
+     * @return Name of this rule.
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the kind of design object inspected by this rule.
+     * @return Kind of object.
+     */
+    public abstract Kind getKind();
+
+    /**
+     * Checks a single design object, adding any violations found to the given list.
+     * @param design The design containing the object.
+     * @param object The object to check.
+     * @param violations List to which violations are to be added.
+     */
+    public abstract void check(Design design, T object, List<DRCViolation> violations);
+}
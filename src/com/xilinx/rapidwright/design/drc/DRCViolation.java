@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.drc;
+
+/**
+ * A single violation reported by a {@link DRCRule} against one design object.
+ */
+public class DRCViolation {
+
+    /**
+     * Severity of a violation: warnings are only counted as failures when DRCs are run in strict mode.
+     */
+    public enum Severity {
+        WARNING,
+        ERROR
+    }
+
+    private final String ruleName;
+
+    private final Severity severity;
+
+    private final Object object;
+
+    private final String message;
+
+    private final int count;
+
+    /**
+     * Creates a violation.
+     * @param rule The rule that was violated.
+     * @param severity Severity of the violation.
+     * @param object The design object (e.g. Net, SiteInst or Cell) in violation.
+     * @param message Human-readable description of the violation.
+     * @param count Number of failed checks that this violation represents.
+     */
+    public DRCViolation(DRCRule<?> rule, Severity severity, Object object, String message, int count) {
+        this.ruleName = rule.getName();
+        this.severity = severity;
+        this.object = object;
+        this.message = message;
+        this.count = count;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public Object getObject() {
+        return object;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Checks if this violation counts as a failure.
+     * @param strict True if warnings are to be counted as failures.
+     * @return True if this violation is a failure.
+     */
+    public boolean isFailure(boolean strict) {
+        return severity == Severity.ERROR || strict;
+    }
+
+    @Override
+    public String toString() {
+        return severity + ": [" + ruleName + "] " + message;
+    }
+}
@@ -32,92 +32,95 @@ import com.xilinx.rapidwright.device.BELPin;
 import com.xilinx.rapidwright.device.Node;
 import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.device.SitePin;
-import com.xilinx.rapidwright.util.Pair;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Check that each LUT contains at most one routethru of each net.
  * Identifies occurrences of issue #226.
  * Failed checks will print a warning and are not counted unless the strict parameter is true.
  */
-public class NetRoutesThruLutAtMostOnce {
+public class NetRoutesThruLutAtMostOnce extends DRCRule<Net> {
 
     private static String getGlobalLutName(SitePin sp) {
         return sp.getSite().getName() + "/" + sp.getPinName().charAt(0);
     }
 
+    @Override
+    public Kind getKind() {
+        return Kind.NET;
+    }
+
+    @Override
+    public void check(Design design, Net n, List<DRCViolation> violations) {
+        Map<String, Integer> lutRoutethrus = new HashMap<>();
+
+        for (PIP p : n.getPIPs()) {
+            if (!p.isRouteThru()) continue;
+
+            Node startNode = p.getStartNode();
+            BELPin portPin = startNode.getSitePin().getBELPin();
+            List<BELPin> connPins = portPin.getSiteConns();
+
+            // Check that this BELPin is only connected to LUTs (e.g. as opposed to IOLOGIC)
+            if (!connPins.stream()
+                    .allMatch((bp) -> DesignTools.isBELALut(bp.getBELName()))) {
+                continue;
+            }
+
+            // Set to 1 if not exist, increment by 1 if does exist
+            lutRoutethrus.merge(getGlobalLutName(startNode.getSitePin()), 1, Integer::sum);
+        }
+
+        for (SitePinInst spi : n.getSinkPins()) {
+            for (BELPin bp : spi.getSiteWireBELPins()) {
+                Cell c = spi.getSiteInst().getCell(bp.getBEL());
+                // Filter out all non routethru cells
+                if (c == null || !c.isRoutethru()) continue;
+
+                // Check that the pin is actually used by this BEL
+                if (c.getLogicalPinMapping(bp.getName()) == null) {
+                    continue;
+                }
+
+                // Verify this is a LUT
+                if (!DesignTools.isBELALut(bp.getBELName())) {
+                    continue;
+                }
+
+                // Set to 1 if not exist, increment by 1 if does exist
+                SitePin sp = bp.getSitePin(spi.getSite());
+                lutRoutethrus.merge(getGlobalLutName(sp), 1, Integer::sum);
+            }
+        }
+
+        // Report all lutNames routed through more than once
+        for (Map.Entry<String, Integer> e : lutRoutethrus.entrySet()) {
+            if (e.getValue() == 1) continue;
+            violations.add(new DRCViolation(this, DRCViolation.Severity.WARNING, n,
+                    "Net '" + n + "' routes-thru this LUT more than once: " + e.getKey() +
+                    "; this may not be faithfully representable to Vivado",
+                    e.getValue() - 1));
+        }
+    }
+
     public static int run(Design design, boolean strict) {
-        List<Pair<Net, List<Pair<String, Integer>>>> netToLutRoutethrus = design.getNets().stream()
-                .map((n) -> {
-                    Map<String, Integer> lutRoutethrus = new HashMap<>();
-
-                    for (PIP p : n.getPIPs()) {
-                        if (!p.isRouteThru()) continue;
-
-                        Node startNode = p.getStartNode();
-                        BELPin portPin = startNode.getSitePin().getBELPin();
-                        List<BELPin> connPins = portPin.getSiteConns();
-
-                        // Check that this BELPin is only connected to LUTs (e.g. as opposed to IOLOGIC)
-                        if (!connPins.stream()
-                                .allMatch((bp) -> DesignTools.isBELALut(bp.getBELName()))) {
-                            continue;
-                        }
-
-                        // Set to 1 if not exist, increment by 1 if does exist
-                        lutRoutethrus.merge(getGlobalLutName(startNode.getSitePin()), 1, Integer::sum);
-                    }
-
-                    for (SitePinInst spi : n.getSinkPins()) {
-                        for (BELPin bp : spi.getSiteWireBELPins()) {
-                            Cell c = spi.getSiteInst().getCell(bp.getBEL());
-                            // Filter out all non routethru cells
-                            if (c == null || !c.isRoutethru()) continue;
-
-                            // Check that the pin is actually used by this BEL
-                            if (c.getLogicalPinMapping(bp.getName()) == null) {
-                                continue;
-                            }
-
-                            // Verify this is a LUT
-                            if (!DesignTools.isBELALut(bp.getBELName())) {
-                                continue;
-                            }
-
-                            // Set to 1 if not exist, increment by 1 if does exist
-                            SitePin sp = bp.getSitePin(spi.getSite());
-                            lutRoutethrus.merge(getGlobalLutName(sp), 1, Integer::sum);
-                        }
-                    }
-
-                    // Copy out all lutNames routed through just once
-                    List<Pair<String, Integer>> moreThanOneRoutethru = new ArrayList<>();
-                    for (Map.Entry<String, Integer> e : lutRoutethrus.entrySet()) {
-                        if (e.getValue() == 1) continue;
-                        moreThanOneRoutethru.add(new Pair<>(e.getKey(), e.getValue()));
-                    }
-
-                    return new Pair<>(n, moreThanOneRoutethru);
-                // Filter out all nets an empty list of more-than-one-routethru
-                }).filter(
-                        (e) -> !e.getSecond().isEmpty()
-                ).collect(Collectors.toList());
+        NetRoutesThruLutAtMostOnce rule = new NetRoutesThruLutAtMostOnce();
+        List<DRCViolation> violations = new ArrayList<>();
+        for (Net n : design.getNets()) {
+            rule.check(design, n, violations);
+        }
 
         int numFails = 0;
 
         // Only count failures if in strict mode
         if (strict) {
-            for (Pair<Net, List<Pair<String, Integer>>> e : netToLutRoutethrus) {
-                for (Pair<String, Integer> l : e.getSecond()) {
-                    System.out.println("Net '" + e.getFirst() + "' routes-thru this LUT more than once: " +
-                            l.getFirst() + "; this may not be faithfully representable to Vivado");
-                    numFails += l.getSecond() - 1;
-                }
+            for (DRCViolation v : violations) {
+                System.out.println(v.getMessage());
+                numFails += v.getCount();
             }
         }
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.LinearExprBuilder;
+import com.google.ortools.sat.Literal;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Assigns instances to candidate locations (rectangles in tile coordinates) such that no two chosen rectangles
+ * overlap and the total Manhattan distance between each instance's target location and the minimum corner of its
+ * chosen rectangle is minimized. Each instance only considers its nearest candidates, and the assignment is
+ * solved with the OR-Tools CP-SAT solver.
+ *
+ * Overlaps are prevented by requiring that, for each corner of each considered rectangle, at most one chosen
+ * rectangle covers it. This is exact for rectangles of equal size, which is the case for copies of one module;
+ * callers placing rectangles of differing sizes should double-check the result.
+ */
+public class AnchorAssignment {
+
+    /** Number of nearest candidates considered for each instance */
+    public static int DEFAULT_CANDIDATES_PER_INSTANCE = 32;
+
+    /** Time limit given to the solver */
+    public static double DEFAULT_TIME_LIMIT_SECONDS = 60.0;
+
+    private final int[] minColumns;
+    private final int[] maxColumns;
+    private final int[] minRows;
+    private final int[] maxRows;
+
+    /**
+     * @param minColumns Minimum column of each candidate rectangle.
+     * @param maxColumns Maximum column of each candidate rectangle.
+     * @param minRows Minimum row of each candidate rectangle.
+     * @param maxRows Maximum row of each candidate rectangle.
+     */
+    public AnchorAssignment(int[] minColumns, int[] maxColumns, int[] minRows, int[] maxRows) {
+        this.minColumns = minColumns;
+        this.maxColumns = maxColumns;
+        this.minRows = minRows;
+        this.maxRows = maxRows;
+    }
+
+    private int cost(int candidate, int targetColumn, int targetRow) {
+        return Math.abs(minColumns[candidate] - targetColumn) + Math.abs(minRows[candidate] - targetRow);
+    }
+
+    /**
+     * Finds the nearest usable candidates to a target location.
+     */
+    private int[] getNearestCandidates(int targetColumn, int targetRow, boolean[] usable, int count) {
+        // Sort (cost, candidate) pairs packed into longs, which orders by cost and then by candidate index
+        long[] candidates = new long[minColumns.length];
+        int numCandidates = 0;
+        for (int c = 0; c < minColumns.length; c++) {
+            if (usable == null || usable[c]) {
+                candidates[numCandidates++] = ((long) cost(c, targetColumn, targetRow) << 32) | c;
+            }
+        }
+        Arrays.sort(candidates, 0, numCandidates);
+        int[] nearest = new int[Math.min(count, numCandidates)];
+        for (int i = 0; i < nearest.length; i++) {
+            nearest[i] = (int) candidates[i];
+        }
+        return nearest;
+    }
+
+    private boolean covers(int candidate, int column, int row) {
+        return minColumns[candidate] <= column && column <= maxColumns[candidate]
+                && minRows[candidate] <= row && row <= maxRows[candidate];
+    }
+
+    /**
+     * Assigns instances to candidates.
+     * @param targetColumns Target column of each instance.
+     * @param targetRows Target row of each instance.
+     * @param usable If not null, indicates which candidates may be used.
+     * @param candidatesPerInstance Number of nearest candidates considered for each instance.
+     * @param timeLimitSeconds Time limit given to the solver.
+     * @return The index of the candidate chosen for each instance, or null if no solution was found.
+     */
+    public int[] solve(int[] targetColumns, int[] targetRows, boolean[] usable, int candidatesPerInstance,
+                       double timeLimitSeconds) {
+        int numInstances = targetColumns.length;
+        List<Integer> instances = new ArrayList<>(numInstances);
+        for (int i = 0; i < numInstances; i++) {
+            instances.add(i);
+        }
+        List<Future<int[]>> futures = ParallelismTools.invokeAll(instances,
+                (i) -> getNearestCandidates(targetColumns[i], targetRows[i], usable, candidatesPerInstance));
+        int[][] nearest = new int[numInstances][];
+        for (int i = 0; i < numInstances; i++) {
+            nearest[i] = ParallelismTools.get(futures.get(i));
+        }
+
+        Loader.loadNativeLibraries();
+        CpModel model = new CpModel();
+        Literal[][] assigned = new Literal[numInstances][];
+        // Literals of all instances that may be assigned to each considered candidate
+        Map<Integer, List<Literal>> candidateLiterals = new HashMap<>();
+        LinearExprBuilder obj = LinearExpr.newBuilder();
+        for (int i = 0; i < numInstances; i++) {
+            assigned[i] = new Literal[nearest[i].length];
+            for (int k = 0; k < nearest[i].length; k++) {
+                int c = nearest[i][k];
+                assigned[i][k] = model.newBoolVar("assign_i" + i + "_c" + c);
+                candidateLiterals.computeIfAbsent(c, (x) -> new ArrayList<>()).add(assigned[i][k]);
+                obj.addTerm(assigned[i][k], cost(c, targetColumns[i], targetRows[i]));
+            }
+            // Every instance must be assigned to exactly one of its candidates
+            model.addExactlyOne(assigned[i]);
+        }
+
+        // Bucket considered candidates by their minimum corner, to find those covering a point
+        int[] considered = candidateLiterals.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int bucketWidth = 1;
+        int bucketHeight = 1;
+        for (int c : considered) {
+            bucketWidth = Math.max(bucketWidth, maxColumns[c] - minColumns[c] + 1);
+            bucketHeight = Math.max(bucketHeight, maxRows[c] - minRows[c] + 1);
+        }
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int c : considered) {
+            buckets.computeIfAbsent(bucketKey(minColumns[c] / bucketWidth, minRows[c] / bucketHeight),
+                    (x) -> new ArrayList<>()).add(c);
+        }
+
+        // At most one chosen rectangle may cover each corner of a considered rectangle
+        Set<List<Integer>> cliques = new HashSet<>();
+        for (int c : considered) {
+            int[][] corners = {
+                    {minColumns[c], minRows[c]}, {maxColumns[c], minRows[c]},
+                    {minColumns[c], maxRows[c]}, {maxColumns[c], maxRows[c]}
+            };
+            for (int[] corner : corners) {
+                List<Integer> clique = new ArrayList<>();
+                for (int bx = corner[0] / bucketWidth - 1; bx <= corner[0] / bucketWidth; bx++) {
+                    for (int by = corner[1] / bucketHeight - 1; by <= corner[1] / bucketHeight; by++) {
+                        for (int other : buckets.getOrDefault(bucketKey(bx, by), Collections.emptyList())) {
+                            if (covers(other, corner[0], corner[1])) {
+                                clique.add(other);
+                            }
+                        }
+                    }
+                }
+                clique.sort(null);
+                cliques.add(clique);
+            }
+        }
+        for (List<Integer> clique : cliques) {
+            List<Literal> literals = new ArrayList<>();
+            for (int c : clique) {
+                literals.addAll(candidateLiterals.get(c));
+            }
+            if (literals.size() > 1) {
+                model.addAtMostOne(literals);
+            }
+        }
+        model.minimize(obj);
+
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setMaxTimeInSeconds(timeLimitSeconds);
+        CpSolverStatus status = solver.solve(model);
+        if (status != CpSolverStatus.FEASIBLE && status != CpSolverStatus.OPTIMAL) {
+            return null;
+        }
+        int[] result = new int[numInstances];
+        Arrays.fill(result, -1);
+        for (int i = 0; i < numInstances; i++) {
+            for (int k = 0; k < nearest[i].length; k++) {
+                if (solver.booleanValue(assigned[i][k])) {
+                    result[i] = nearest[i][k];
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public int[] solve(int[] targetColumns, int[] targetRows, boolean[] usable) {
+        return solve(targetColumns, targetRows, usable, DEFAULT_CANDIDATES_PER_INSTANCE, DEFAULT_TIME_LIMIT_SECONDS);
+    }
+
+    private static long bucketKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+}
@@ -40,7 +40,6 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.ClockTools;
@@ -354,8 +353,8 @@ public class ArrayBuilder {
         };
         for (Module module : modules) {
             lines.add(module.getName() + ":");
-            List<Site> validPlacements = module.getAllValidPlacements().stream().sorted(comparator)
-                    .collect(Collectors.toList());
+            List<Site> validPlacements = ValidPlacementCache.get(module, module.getDevice()).getAnchors().stream()
+                    .sorted(comparator).collect(Collectors.toList());
             for (Site anchor : validPlacements) {
                 lines.add(anchor.getName());
             }
@@ -364,24 +363,14 @@ public class ArrayBuilder {
     }
 
     public static List<List<Site>> getValidPlacementGrid(Module module) {
+        ValidPlacementCache validPlacements = ValidPlacementCache.get(module, module.getDevice());
         List<List<Site>> placementGrid = new ArrayList<>();
-        // Sort by descending Y coordinate, then ascending X coordinate
-        List<Site> sortedValidPlacements = module.getAllValidPlacements().stream().sorted((s1, s2) -> {
-            if (s1.getInstanceY() == s2.getInstanceY()) {
-                return s1.getInstanceX() - s2.getInstanceX();
-            }
-            return s2.getInstanceY() - s1.getInstanceY();
-        }).collect(Collectors.toList());
-        int currentYCoordinate = sortedValidPlacements.get(0).getInstanceY();
-        int i = 0;
-        placementGrid.add(new ArrayList<>());
-        for (Site anchor : sortedValidPlacements) {
-            if (anchor.getInstanceY() < currentYCoordinate) {
-                i++;
-                placementGrid.add(new ArrayList<>());
+        for (int[] row : validPlacements.getGrid()) {
+            List<Site> sites = new ArrayList<>(row.length);
+            for (int i : row) {
+                sites.add(validPlacements.getAnchor(i));
             }
-            placementGrid.get(i).add(anchor);
-            currentYCoordinate = anchor.getInstanceY();
+            placementGrid.add(sites);
         }
         return placementGrid;
     }
@@ -417,7 +406,7 @@ public class ArrayBuilder {
                 Module m = new Module(d, config.shouldUnrouteStaticNets());
                 modules.add(m);
                 m.setPBlock(pe.getPBlock(i));
-                m.calculateAllValidPlacements(d.getDevice());
+                ValidPlacementCache.get(m, d.getDevice(), workDir);
             } else {
                 System.err.println("Missing DCP Result: " + dcpPath);
             }
@@ -493,7 +482,7 @@ public class ArrayBuilder {
             m.getNet(getKernelClockName()).unroute();
 
             if (config.getInputPlacementFileName() == null) {
-                m.calculateAllValidPlacements(getDevice());
+                ValidPlacementCache.get(m, getDevice(), Files.isDirectory(workDir) ? workDir : null);
             }
             if (!getPBlocks().isEmpty()) {
                 m.setPBlock(getPBlocks().get(0));
@@ -563,9 +552,9 @@ public class ArrayBuilder {
 
         // TODO: Figure out how to handle placement for multiple modules
         Module module = modules.get(0);
-        RelocatableTileRectangle boundingBox = module.getBoundingBox();
+        ValidPlacementCache validPlacements = ValidPlacementCache.get(module, getDevice());
         List<RelocatableTileRectangle> boundingBoxes = new ArrayList<>();
-        List<List<Site>> validPlacementGrid = getValidPlacementGrid(module);
+        List<int[]> validPlacementGrid = validPlacements.getGrid();
         int gridX = 0;
         int gridY = 5;
         int lastYCoordinate = 0;
@@ -585,14 +574,14 @@ public class ArrayBuilder {
             if (gridY >= validPlacementGrid.size()) {
                 throw new RuntimeException("Optimal placement is too tall for device");
             }
-            if (gridX >= validPlacementGrid.get(gridY).size()) {
+            if (gridX >= validPlacementGrid.get(gridY).length) {
                 throw new RuntimeException("Optimal placement is too wide for device");
             }
-            Site anchor = validPlacementGrid.get(gridY).get(gridX);
-            RelocatableTileRectangle newBoundingBox =
-                    boundingBox.getCorresponding(anchor.getTile(), module.getAnchor().getTile());
-            boolean noOverlap = boundingBoxes.stream().noneMatch((b) -> b.overlaps(newBoundingBox));
-            if (config.isExactPlacement() || (noOverlap && !boundingBoxStraddlesClockRegion(newBoundingBox))) {
+            int candidate = validPlacementGrid.get(gridY)[gridX];
+            Site anchor = validPlacements.getAnchor(candidate);
+            RelocatableTileRectangle newBoundingBox = validPlacements.getBoundingBox(candidate);
+            if (config.isExactPlacement() || (!validPlacements.straddlesClockRegion(candidate)
+                    && boundingBoxes.stream().noneMatch((b) -> b.overlaps(newBoundingBox)))) {
                 if (curr.place(anchor, true, false)) {
                     if (config.isExactPlacement() && (straddlesClockRegion(curr)
                             || !NetTools.getNetsWithOverlappingNodes(array).isEmpty())
@@ -617,6 +606,78 @@ public class ArrayBuilder {
         }
     }
 
+    /**
+     * Places module instances by solving an assignment of instances to valid anchors, where each instance is
+     * attracted to the location corresponding to its position in the ideal placement grid. The grid starts at
+     * the same anchor as {@link #placeModuleInstancesAutomatically(List)}, and grid cells are as large as the
+     * module's bounding box.
+     * @return True if all instances were placed, false if no assignment was found (nothing is placed then).
+     */
+    private boolean placeModuleInstancesByAssignment(List<Pair<Pair<Integer, Integer>, String>> idealPlacementList) {
+        Module module = modules.get(0);
+        ValidPlacementCache validPlacements = ValidPlacementCache.get(module, getDevice());
+        List<int[]> grid = validPlacements.getGrid();
+        if (grid.isEmpty()) {
+            return false;
+        }
+        int count = Math.min(config.getInstCountLimit(), idealPlacementList.size());
+        int numCandidates = validPlacements.size();
+        int[] minColumns = new int[numCandidates];
+        int[] maxColumns = new int[numCandidates];
+        int[] minRows = new int[numCandidates];
+        int[] maxRows = new int[numCandidates];
+        boolean[] usable = new boolean[numCandidates];
+        for (int c = 0; c < numCandidates; c++) {
+            RelocatableTileRectangle bb = validPlacements.getBoundingBox(c);
+            minColumns[c] = bb.getMinColumn();
+            maxColumns[c] = bb.getMaxColumn();
+            minRows[c] = bb.getMinRow();
+            maxRows[c] = bb.getMaxRow();
+            usable[c] = !validPlacements.straddlesClockRegion(c);
+        }
+
+        int origin = grid.get(Math.min(5, grid.size() - 1))[0];
+        RelocatableTileRectangle boundingBox = module.getBoundingBox();
+        int cellWidth = boundingBox.getWidth() + 1;
+        int cellHeight = boundingBox.getHeight() + 1;
+        int[] targetColumns = new int[count];
+        int[] targetRows = new int[count];
+        for (int i = 0; i < count; i++) {
+            Pair<Integer, Integer> xy = idealPlacementList.get(i).getFirst();
+            targetColumns[i] = minColumns[origin] + xy.getFirst() * cellWidth;
+            targetRows[i] = minRows[origin] + xy.getSecond() * cellHeight;
+        }
+
+        int[] assignment = new AnchorAssignment(minColumns, maxColumns, minRows, maxRows)
+                .solve(targetColumns, targetRows, usable);
+        if (assignment == null) {
+            System.out.println("[INFO] No placement assignment found");
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (validPlacements.getBoundingBox(assignment[i])
+                        .overlaps(validPlacements.getBoundingBox(assignment[j]))) {
+                    System.out.println("[INFO] Placement assignment has overlapping instances");
+                    return false;
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            String instName = modInstNames == null ? ("inst_" + i) : idealPlacementList.get(i).getSecond();
+            ModuleInst curr = array.createModuleInst(instName, module);
+            Site anchor = validPlacements.getAnchor(assignment[i]);
+            if (!curr.place(anchor, true, false)) {
+                throw new RuntimeException("ERROR: Unable to place " + instName + " at assigned site " + anchor);
+            }
+            newPlacementMap.put(curr, anchor);
+            System.out.println("  ** PLACED: " + (i + 1) + " " + anchor + " " + curr.getName()
+                    + " " + curr.getAnchor().getTile().getSLR());
+        }
+        return true;
+    }
+
     private void placeArray() {
         List<Pair<Pair<Integer, Integer>, String>> idealPlacementList = prepareArrayForPlacement();
 
@@ -637,7 +698,8 @@ public class ArrayBuilder {
 
         if (config.getInputPlacementFileName() != null) {
             placeInstancesWithManualPlacementFile();
-        } else {
+        } else if (!config.isAssignmentPlacement() || config.isExactPlacement() || idealPlacementList == null
+                || !placeModuleInstancesByAssignment(idealPlacementList)) {
             placeModuleInstancesAutomatically(idealPlacementList);
         }
 
@@ -842,14 +904,6 @@ public class ArrayBuilder {
         return bufgce;
     }
 
-    private static boolean boundingBoxStraddlesClockRegion(RelocatableTileRectangle boundingBox) {
-        ClockRegion cr0 = boundingBox.getMaxColumnTile().getClockRegion();
-        ClockRegion cr1 = boundingBox.getMinColumnTile().getClockRegion();
-        ClockRegion cr2 = boundingBox.getMaxRowTile().getClockRegion();
-        ClockRegion cr3 = boundingBox.getMinRowTile().getClockRegion();
-        return !Stream.of(cr0, cr1, cr2, cr3).allMatch(cr0::equals);
-    }
-
     private static boolean straddlesClockRegion(ModuleInst mi) {
         ClockRegion cr = mi.getAnchor().getSite().getClockRegion();
         for (SiteInst si : mi.getSiteInsts()) {
@@ -72,6 +72,8 @@ public class ArrayBuilderConfig {
 
     private boolean exactPlacement;
 
+    private boolean assignmentPlacement;
+
     private boolean unrouteStaticNets;
 
     private boolean routeClock;
@@ -110,6 +112,7 @@ public class ArrayBuilderConfig {
     private static final List<String> LIMIT_INSTS_OPTS = Arrays.asList("l", "limit-inst-count");
     private static final List<String> TOP_LEVEL_DESIGN_OPTS = Arrays.asList("t", "top-design");
     private static final List<String> EXACT_PLACEMENT_OPTS = Collections.singletonList("exact-placement");
+    private static final List<String> ASSIGNMENT_PLACEMENT_OPTS = Collections.singletonList("assignment-placement");
     private static final List<String> WRITE_PLACEMENT_OPTS = Collections.singletonList("write-placement");
     private static final List<String> PLACEMENT_FILE_OPTS = Collections.singletonList("read-placement");
     private static final List<String> PLACEMENT_GRID_OPTS = Collections.singletonList("write-placement-grid");
@@ -125,6 +128,7 @@ public class ArrayBuilderConfig {
         instCountLimit = Integer.MAX_VALUE;
         outOfContext = true;
         exactPlacement = false;
+        assignmentPlacement = false;
         unrouteStaticNets = false;
         routeClock = true;
         routeDesign = false;
@@ -165,6 +169,8 @@ public class ArrayBuilderConfig {
                 acceptsAll(PLACEMENT_GRID_OPTS, "Write grid of possible placement locations to specified file").withRequiredArg();
                 acceptsAll(TOP_LEVEL_DESIGN_OPTS, "Top level design with blackboxes/kernel insts").withRequiredArg();
                 acceptsAll(EXACT_PLACEMENT_OPTS, "Use exact module overlap calculation instead of the faster bounding-box method");
+                acceptsAll(ASSIGNMENT_PLACEMENT_OPTS, "Place instances by solving an assignment to valid anchors " +
+                        "(using OR-Tools) instead of the greedy sequential method");
                 acceptsAll(OUT_OF_CONTEXT_OPTS, "Specifies that the array will be compiled out of context");
                 acceptsAll(UNROUTE_STATIC_NETS_OPTS, "Unroute static (GND/VCC) nets to potentially help with routability");
                 acceptsAll(ROUTE_CLOCK_OPTS, "Route clock using RWRoute");
@@ -194,6 +200,7 @@ public class ArrayBuilderConfig {
         setSkipImpl(options.has(SKIP_IMPL_OPTS.get(0)));
         setOutOfContext(options.has(OUT_OF_CONTEXT_OPTS.get(0)));
         setExactPlacement(options.has(EXACT_PLACEMENT_OPTS.get(0)));
+        setAssignmentPlacement(options.has(ASSIGNMENT_PLACEMENT_OPTS.get(0)));
         setUnrouteStaticNets(options.has(UNROUTE_STATIC_NETS_OPTS.get(0)));
         setRouteClock(options.has(ROUTE_CLOCK_OPTS.get(0)));
         setRouteDesign(options.has(ROUTE_DESIGN_OPTS.get(0)));
@@ -398,6 +405,14 @@ public class ArrayBuilderConfig {
         this.exactPlacement = exactPlacement;
     }
 
+    public boolean isAssignmentPlacement() {
+        return assignmentPlacement;
+    }
+
+    public void setAssignmentPlacement(boolean assignmentPlacement) {
+        this.assignmentPlacement = assignmentPlacement;
+    }
+
     public boolean shouldUnrouteStaticNets() {
         return unrouteStaticNets;
     }
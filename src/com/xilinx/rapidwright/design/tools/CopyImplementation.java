@@ -109,7 +109,8 @@ public class CopyImplementation {
             srcToDstInstNames.put(srcName, dstName);
         }
 
-        DesignTools.copyImplementation(src, dst, lockPlacement, lockRouting, srcToDstInstNames);
+        DesignTools.copyImplementation(src, dst, false, false, lockPlacement, lockRouting, srcToDstInstNames,
+                (metrics) -> System.out.println("Completed " + metrics.getPhase() + ": " + metrics));
         
         dst.writeCheckpoint(options.valueOf(OUT_DESIGN_OPTS.get(0)).toString());
     }
@@ -24,8 +24,17 @@
 
 package com.xilinx.rapidwright.design.tools;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Helper class to parse LUT equations.
+ *
+ * Equations are compiled once into a small stack program that operates on 64-bit words, each
+ * bit of which is one row of the truth table, such that all 64 rows of a LUT6 are evaluated by
+ * a single pass over the program. Compiled equations are kept in a bounded, least recently used
+ * cache keyed by the equation string.
  * @author clavin
  */
 public class LUTEquationEvaluator {
@@ -40,6 +49,96 @@ public class LUTEquationEvaluator {
     public static final char NOT = '~';
     public static final char NOT2 = '!';
 
+    /** Maximum number of compiled equations kept in the cache */
+    public static int MAX_CACHED_EQUATIONS = 4096;
+
+    private static final Map<String, Compiled> cache = new LinkedHashMap<String, Compiled>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Compiled> eldest) {
+            return size() > MAX_CACHED_EQUATIONS;
+        }
+    };
+
+    /** Truth table words of the first six inputs, for rows 0 to 63 */
+    private static final long[] INPUT_WORDS = {
+            0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL, 0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L,
+    };
+
+    // Opcodes of compiled programs; an input is pushed by OP_INPUT + its index
+    private static final int OP_ZERO = 0;
+    private static final int OP_ONE = 1;
+    private static final int OP_NOT = 2;
+    private static final int OP_AND = 3;
+    private static final int OP_OR = 4;
+    private static final int OP_XOR = 5;
+    private static final int OP_INPUT = 6;
+
+    /**
+     * An equation compiled into a program evaluating 64 rows at a time.
+     */
+    private static class Compiled {
+        private final int[] program;
+        private final int maxStack;
+        private final long firstWord;
+
+        private Compiled(int[] program, int maxStack) {
+            this.program = program;
+            this.maxStack = maxStack;
+            this.firstWord = run(0);
+        }
+
+        /**
+         * Value of input pin for rows 64*word to 64*word+63, matching
+         * {@link LUTTools#getBit(int, int)} for rows beyond the first six inputs.
+         */
+        private static long getInputWord(int input, int word) {
+            int shift = input & 31;
+            if (shift < INPUT_WORDS.length) {
+                return INPUT_WORDS[shift];
+            }
+            return LUTTools.getBit(word << 6, shift) == 0 ? 0L : -1L;
+        }
+
+        /**
+         * Runs the program for rows 64*word to 64*word+63.
+         */
+        private long run(int word) {
+            long[] stack = new long[maxStack];
+            int top = -1;
+            for (int op : program) {
+                switch (op) {
+                    case OP_ZERO:
+                        stack[++top] = 0L;
+                        break;
+                    case OP_ONE:
+                        stack[++top] = -1L;
+                        break;
+                    case OP_NOT:
+                        stack[top] = ~stack[top];
+                        break;
+                    case OP_AND:
+                        top--;
+                        stack[top] &= stack[top + 1];
+                        break;
+                    case OP_OR:
+                        top--;
+                        stack[top] |= stack[top + 1];
+                        break;
+                    case OP_XOR:
+                        top--;
+                        stack[top] ^= stack[top + 1];
+                        break;
+                    default:
+                        stack[++top] = getInputWord(op - OP_INPUT, word);
+                }
+            }
+            return stack[0];
+        }
+    }
+
     private int pos = -1;
 
     private char ch;
@@ -48,6 +147,14 @@ public class LUTEquationEvaluator {
 
     private int row;
 
+    private Compiled compiled;
+
+    // Program being built by compile()
+    private int[] program;
+    private int programLength;
+    private int stackDepth;
+    private int maxStack;
+
     public LUTEquationEvaluator(String equation) {
         this.equation = equation;
     }
@@ -69,62 +176,155 @@ public class LUTEquationEvaluator {
         return false;
     }
 
+    /**
+     * Gets the compiled form of an equation, compiling and caching it if necessary.
+     */
+    private static Compiled getCompiled(String equation) {
+        synchronized (cache) {
+            Compiled c = cache.get(equation);
+            if (c != null) {
+                return c;
+            }
+        }
+        Compiled c = new LUTEquationEvaluator(equation).compile();
+        synchronized (cache) {
+            cache.put(equation, c);
+        }
+        return c;
+    }
+
+    private Compiled getCompiled() {
+        if (compiled == null) {
+            compiled = getCompiled(equation);
+        }
+        return compiled;
+    }
+
+    /**
+     * Evaluates an equation for the first 64 rows of its truth table at once.
+     * @param equation A LUT equation, see {@link LUTTools#getLUTInitFromEquation(String, int)}.
+     * @return The truth table, where bit i is the result for row i.
+     */
+    public static long getTruthTable(String equation) {
+        if (equation == null) {
+            return 0L;
+        }
+        return getCompiled(equation).firstWord;
+    }
+
+    /**
+     * @return The truth table of this equation for rows 0 to 63, where bit i is the result for
+     * row i.
+     */
+    public long getTruthTable() {
+        return getTruthTable(equation);
+    }
+
+    /**
+     * Removes all compiled equations from the cache.
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return The number of compiled equations currently cached.
+     */
+    public static int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
     public boolean eval(int row) {
         if (equation == null) {
             return false;
         }
-        pos = 0;
         setRow(row);
+        Compiled c = getCompiled();
+        long word = (row >>> 6) == 0 ? c.firstWord : c.run(row >>> 6);
+        return ((word >>> (row & 63)) & 1L) != 0;
+    }
+
+    /**
+     * Parses the equation into a program. Parsing follows the same rules regardless of the row
+     * being evaluated, so the equation only needs to be parsed once.
+     */
+    private Compiled compile() {
+        program = new int[Math.max(8, equation.length())];
+        programLength = 0;
+        stackDepth = 0;
+        maxStack = 0;
+        pos = 0;
         nextChar();
-        boolean x = evalOR();
+        compileOR();
         nextChar();
         if (pos < equation.length())
             throw new RuntimeException("Unexpected: '" + (char)ch +
                     "' in LUT equation '" + equation + "'");
-        return x;
+        return new Compiled(Arrays.copyOf(program, programLength), maxStack);
     }
 
-    boolean evalOR() {
-        boolean x = evalXORAND();
-        for (;;) {
-            if (checkNextChar(OR) || checkNextChar(OR2)) x |= evalXORAND(); // OR
-            else return x;
+    private void emit(int op) {
+        if (programLength == program.length) {
+            program = Arrays.copyOf(program, program.length * 2);
+        }
+        program[programLength++] = op;
+        if (op == OP_ZERO || op == OP_ONE || op >= OP_INPUT) {
+            maxStack = Math.max(maxStack, ++stackDepth);
+        } else if (op != OP_NOT) {
+            stackDepth--;
         }
     }
 
-    boolean evalXORAND() {
-        boolean x = evalLiteral();
+    void compileOR() {
+        compileXORAND();
         for (;;) {
-            if (checkNextChar(XOR) || checkNextChar(XOR2))
-                x ^= evalLiteral(); // XOR
-            else if (checkNextChar(AND) || checkNextChar(AND2) || checkNextChar(AND3))
-                x &= evalLiteral(); // AND
+            if (checkNextChar(OR) || checkNextChar(OR2)) {
+                compileXORAND();
+                emit(OP_OR);
+            }
+            else return;
+        }
+    }
 
-            else return x;
+    void compileXORAND() {
+        compileLiteral();
+        for (;;) {
+            if (checkNextChar(XOR) || checkNextChar(XOR2)) {
+                compileLiteral();
+                emit(OP_XOR);
+            }
+            else if (checkNextChar(AND) || checkNextChar(AND2) || checkNextChar(AND3)) {
+                compileLiteral();
+                emit(OP_AND);
+            }
+            else return;
         }
     }
 
-    boolean evalLiteral() {
+    void compileLiteral() {
         boolean invert = false;
         if (checkNextChar(NOT) || checkNextChar(NOT2)) invert = true;
-        boolean x = false;
 
         if (checkNextChar('(')) {
-            x = evalOR();
+            compileOR();
             checkNextChar(')');
         } else if (ch == '0') {
-            x = false;
+            emit(OP_ZERO);
         } else if (ch == '1') {
-            x = true;
+            emit(OP_ONE);
         } else if (ch == 'I') {
             nextChar();
-            x = LUTTools.getBit(row, ch - 48) == 0 ? false : true;
+            emit(OP_INPUT + ((ch - 48) & 31));
             nextChar();
         } else {
             throw new RuntimeException("Unexpected: '" + (char)ch +
                     "' in LUT equation '" + equation + "'");
         }
 
-        return invert ? !x : x;
+        if (invert) emit(OP_NOT);
     }
 }
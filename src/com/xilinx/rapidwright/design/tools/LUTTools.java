@@ -58,6 +58,7 @@ import com.xilinx.rapidwright.edif.EDIFCell;
 import com.xilinx.rapidwright.edif.EDIFCellInst;
 import com.xilinx.rapidwright.edif.EDIFHierCellInst;
 import com.xilinx.rapidwright.edif.EDIFPropertyValue;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 
 /**
@@ -382,11 +383,18 @@ public class LUTTools {
      */
     public static String getLUTInitFromEquation(String equation, int lutSize) {
         int length = 1 << lutSize;
-        long init = 0;
-        LUTEquationEvaluator b = new LUTEquationEvaluator(equation);
-        for (int i=0; i < length; i++) {
-            boolean result = b.eval(i);
-            if (result) init = setBit(init,i);
+        long init;
+        if (length <= 64) {
+            // All rows fit in one word of the compiled truth table
+            init = LUTEquationEvaluator.getTruthTable(equation);
+            if (length < 64) init &= (1L << length) - 1;
+        } else {
+            init = 0;
+            LUTEquationEvaluator b = new LUTEquationEvaluator(equation);
+            for (int i=0; i < length; i++) {
+                boolean result = b.eval(i);
+                if (result) init = setBit(init,i);
+            }
         }
         int initLength = Integer.max(1, length >>> 2);
         return length + "'h" + String.format("%0" + initLength + "x", init).toUpperCase();
@@ -547,23 +555,68 @@ public class LUTTools {
         return null;
     }
 
+    /** Number of SiteInsts whose LUT pin swaps are planned by each parallel task */
+    private static final int SWAP_LUT_PINS_CHUNK_SIZE = 64;
+
     /**
      * Given a mapping from old SitePinInsts to new site pin name, update all state
      * necessary to reflect these LUT pin swaps. This includes updating cells'
      * logical-to-physical pin mappings, updating intra-site routing, moving
      * the SitePinInst objects, etc.
+     * Pin swaps are grouped by SiteInst and the (read-only) planning of each group is
+     * performed in parallel (when enabled by {@link ParallelismTools}). The swaps themselves
+     * are then applied serially, since moving a SitePinInst and updating intra-site routing
+     * also updates the pin bookkeeping of its Net and Design, which is not thread-safe.
      * @param oldPinToNewPins Mapping from old pins to new pins.
      */
     public static int swapMultipleLutPins(Map<SitePinInst, String> oldPinToNewPins) {
-        Map<String,Map<String,PinSwap>> pinSwaps = new HashMap<>();
-
+        Map<SiteInst, List<Map.Entry<SitePinInst, String>>> siteInstToPinSwaps = new HashMap<>();
         for (Map.Entry<SitePinInst, String> e : oldPinToNewPins.entrySet()) {
             SitePinInst oldSinkSpi = e.getKey();
-            String newSitePinName = e.getValue();
-
-            if (oldSinkSpi.getName().equals(newSitePinName)) {
+            if (oldSinkSpi.getName().equals(e.getValue())) {
                 continue;
             }
+            siteInstToPinSwaps.computeIfAbsent(oldSinkSpi.getSiteInst(), (k) -> new ArrayList<>()).add(e);
+        }
+
+        List<List<Map.Entry<SitePinInst, String>>> groups = new ArrayList<>(siteInstToPinSwaps.values());
+        List<Map<String,Map<String,PinSwap>>> plans = new ArrayList<>(Collections.nCopies(groups.size(), null));
+        List<Runnable> tasks = new ArrayList<>();
+        for (int start = 0; start < groups.size(); start += SWAP_LUT_PINS_CHUNK_SIZE) {
+            final int from = start;
+            final int to = Math.min(start + SWAP_LUT_PINS_CHUNK_SIZE, groups.size());
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    plans.set(i, planSiteInstLutPinSwaps(groups.get(i)));
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+
+        // Make all pin swaps per LUT site simultaneously
+        int numPinSwaps = 0;
+        for (Map<String,Map<String,PinSwap>> pinSwaps : plans) {
+            for (Map.Entry<String,Map<String,PinSwap>> e : pinSwaps.entrySet()) {
+                Collection<PinSwap> swaps = e.getValue().values();
+                swapSingleLutPins(e.getKey(), swaps);
+                numPinSwaps += swaps.size();
+            }
+        }
+        return numPinSwaps;
+    }
+
+    /**
+     * Plans all LUT pin swaps on a single SiteInst, without modifying the design.
+     * @param siteInstPinSwaps Mapping from old pins to new pin names, all on the same SiteInst.
+     * @return Map from each LUT site (see {@link #swapSingleLutPins(String, Collection)}) to its pin swaps.
+     */
+    private static Map<String,Map<String,PinSwap>> planSiteInstLutPinSwaps(
+            List<Map.Entry<SitePinInst, String>> siteInstPinSwaps) {
+        Map<String,Map<String,PinSwap>> pinSwaps = new HashMap<>();
+
+        for (Map.Entry<SitePinInst, String> e : siteInstPinSwaps) {
+            SitePinInst oldSinkSpi = e.getKey();
+            String newSitePinName = e.getValue();
 
             SiteInst si = oldSinkSpi.getSiteInst();
             if (!SitePinInst.isLUTInputPin(si, newSitePinName)) {
@@ -624,15 +677,7 @@ public class LUTTools {
             }
         }
 
-        // Make all pin swaps per LUT site simultaneously
-        int numPinSwaps = 0;
-        for (Map.Entry<String,Map<String,PinSwap>> e : pinSwaps.entrySet()) {
-            Collection<PinSwap> swaps = e.getValue().values();
-            swapSingleLutPins(e.getKey(), swaps);
-            numPinSwaps += swaps.size();
-        }
-
-        return numPinSwaps;
+        return pinSwaps;
     }
 
     /**
@@ -28,10 +28,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import com.xilinx.rapidwright.design.Cell;
@@ -43,12 +45,14 @@ import com.xilinx.rapidwright.design.NetTools;
 import com.xilinx.rapidwright.design.SiteInst;
 import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.design.blocks.PBlock;
+import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.device.Site;
 import com.xilinx.rapidwright.device.SiteTypeEnum;
 import com.xilinx.rapidwright.device.Tile;
 import com.xilinx.rapidwright.edif.EDIFHierCellInst;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.util.Pair;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.Utils;
 
 /**
@@ -93,11 +97,23 @@ public class RelocationTools {
                                    int tileColOffset,
                                    int tileRowOffset,
                                    Set<SiteTypeEnum> siteTypes) {
+        Set<SiteInst> siteInsts = getSiteInstsToRelocate(design, instanceName, siteTypes);
+        return siteInsts != null && relocate(design, siteInsts, tileColOffset, tileRowOffset);
+    }
+
+    /**
+     * Gets all SiteInsts belonging to the logical Cell at instanceName that are to be relocated.
+     * @return The SiteInsts, or null if the logical cell does not exist or if any SiteInst
+     * contains a mix of physical Cells belonging to and outside of instanceName.
+     */
+    private static Set<SiteInst> getSiteInstsToRelocate(Design design,
+                                                        String instanceName,
+                                                        Set<SiteTypeEnum> siteTypes) {
         EDIFNetlist netlist = design.getNetlist();
         EDIFHierCellInst instanceCell = instanceName.length()==0 ? netlist.getTopHierCellInst() : netlist.getHierCellInstFromName(instanceName);
         if (instanceCell == null) {
             System.out.println("ERROR: Logical cell with instance name '" + instanceName + "' not found");
-            return false;
+            return null;
         }
 
         Set<Cell> cells = new HashSet<>();
@@ -143,7 +159,7 @@ public class RelocationTools {
             }
         }
 
-        return !error && relocate(design, siteInsts, tileColOffset, tileRowOffset);
+        return error ? null : siteInsts;
     }
 
     /**
@@ -204,11 +220,17 @@ public class RelocationTools {
             si.unPlace();
         }
 
+        Set<Tile> srcSiteTiles = new HashSet<>();
+        for (Site srcSite : oldSite.values()) {
+            srcSiteTiles.add(srcSite.getTile());
+        }
+        Map<Tile, Tile> siteTileMap = getTileOffsetMap(srcSiteTiles, tileColOffset, tileRowOffset);
+
         boolean revertPlacement = false;
         for (Map.Entry<SiteInst, Site> e : oldSite.entrySet()) {
             Site srcSite = e.getValue();
             Tile srcTile = srcSite.getTile();
-            Tile destTile = srcTile.getTileXYNeighbor(tileColOffset, tileRowOffset);
+            Tile destTile = siteTileMap.get(srcTile);
             Site destSite = srcSite.getCorrespondingSite(srcSite.getSiteTypeEnum(), destTile);
             SiteInst srcSiteInst = e.getKey();
             assert(destSite != srcSite);
@@ -243,6 +265,7 @@ public class RelocationTools {
         DesignTools.makePhysNetNamesConsistent(design);
         DesignTools.createMissingSitePinInsts(design);
 
+        List<Net> netsToMove = new ArrayList<>();
         for (Net n : design.getNets()) {
             if (!n.hasPIPs()) {
                 continue;
@@ -286,36 +309,229 @@ public class RelocationTools {
                 }
             }
 
-            boolean isClockNet = n.isClockNet() || NetTools.hasClockSinks(n);
-            n.getPIPs().removeIf((sp) -> {
-                Tile st = sp.getTile();
-                Tile dt = st.getTileXYNeighbor(tileColOffset, tileRowOffset);
-                if (dt == null) {
-                    if (isClockNet) {
-                        System.out.println("INFO: Skipping clock net PIP '" + sp + "' (Net '" + n.getName() + "')");
-                    } else {
-                        String destTileName = st.getRootName() + "_X" + (st.getTileXCoordinate() + tileColOffset)
-                                + "Y" + (st.getTileYCoordinate() + tileRowOffset);
-                        if (sp.isStub()) {
-                            System.out.println("INFO: Removing stub PIP '" + sp + "' that failed to move to Tile '" + destTileName +
-                                    "' (Net '" + n.getName() + "')");
-                            return true;
-                        } else {
-                            throw new RuntimeException("ERROR: Failed to move PIP '" + sp + "' to Tile '" + destTileName +
-                                    "' (Net '" + n.getName() + "')");
-                        }
-                    }
-                } else {
-                    assert (st.getTileTypeEnum() == dt.getTileTypeEnum());
-                    sp.setTile(dt);
+            if (n.hasPIPs()) {
+                netsToMove.add(n);
+            }
+        }
+
+        // Compute the destination of every tile used by routing to be moved just once
+        Set<Tile> srcPIPTiles = new HashSet<>();
+        for (Net n : netsToMove) {
+            for (PIP p : n.getPIPs()) {
+                srcPIPTiles.add(p.getTile());
+            }
+        }
+        Map<Tile, Tile> pipTileMap = getTileOffsetMap(srcPIPTiles, tileColOffset, tileRowOffset);
+
+        // Move the PIPs of each net in parallel; messages are reported afterwards in net order
+        String[] messages = new String[netsToMove.size()];
+        String[] errors = new String[netsToMove.size()];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < netsToMove.size(); i += RELOCATE_CHUNK_SIZE) {
+            final int from = i;
+            final int to = Math.min(i + RELOCATE_CHUNK_SIZE, netsToMove.size());
+            tasks.add(() -> {
+                for (int j = from; j < to; j++) {
+                    StringBuilder sb = new StringBuilder();
+                    errors[j] = movePIPs(netsToMove.get(j), pipTileMap, tileColOffset, tileRowOffset, sb);
+                    messages[j] = sb.length() == 0 ? null : sb.toString();
                 }
-                return false;
             });
         }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+        for (int i = 0; i < netsToMove.size(); i++) {
+            if (messages[i] != null) {
+                System.out.print(messages[i]);
+            }
+            if (errors[i] != null) {
+                throw new RuntimeException(errors[i]);
+            }
+        }
 
         return true;
     }
 
+    /** Number of nets whose PIPs are moved by each parallel task in relocate() */
+    private static final int RELOCATE_CHUNK_SIZE = 64;
+
+    /** Number of tiles whose destination is computed by each parallel task in getTileOffsetMap() */
+    private static final int TILE_OFFSET_CHUNK_SIZE = 1024;
+
+    /**
+     * Computes the destination of every given tile when offset by tileColOffset/tileRowOffset tiles.
+     * @param tiles Set of source tiles.
+     * @param tileColOffset Number of tile columns (X axis) to offset by.
+     * @param tileRowOffset Number of tile rows (Y axis) to offset by.
+     * @return Map from each source tile to its destination tile, or to null if no such tile exists.
+     */
+    private static Map<Tile, Tile> getTileOffsetMap(Collection<Tile> tiles, int tileColOffset, int tileRowOffset) {
+        Tile[] srcTiles = tiles.toArray(new Tile[0]);
+        Tile[] destTiles = new Tile[srcTiles.length];
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < srcTiles.length; i += TILE_OFFSET_CHUNK_SIZE) {
+            final int from = i;
+            final int to = Math.min(i + TILE_OFFSET_CHUNK_SIZE, srcTiles.length);
+            tasks.add(() -> {
+                for (int j = from; j < to; j++) {
+                    destTiles[j] = srcTiles[j].getTileXYNeighbor(tileColOffset, tileRowOffset);
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+        Map<Tile, Tile> map = new HashMap<>(srcTiles.length * 2);
+        for (int i = 0; i < srcTiles.length; i++) {
+            map.put(srcTiles[i], destTiles[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Moves all PIPs of a net onto their destination tiles. Stub PIPs that cannot be moved are removed,
+     * and clock net PIPs that cannot be moved are left in place.
+     * @param n The net whose PIPs are to be moved.
+     * @param tileMap Map from every source tile of the net's PIPs to its destination tile (or null).
+     * @param messages Informational messages are appended here.
+     * @return An error message if a PIP could not be moved, otherwise null.
+     */
+    private static String movePIPs(Net n, Map<Tile, Tile> tileMap, int tileColOffset, int tileRowOffset,
+                                   StringBuilder messages) {
+        boolean isClockNet = n.isClockNet() || NetTools.hasClockSinks(n);
+        String[] error = new String[1];
+        n.getPIPs().removeIf((sp) -> {
+            if (error[0] != null) {
+                return false;
+            }
+            Tile st = sp.getTile();
+            Tile dt = tileMap.get(st);
+            if (dt == null) {
+                if (isClockNet) {
+                    messages.append("INFO: Skipping clock net PIP '" + sp + "' (Net '" + n.getName() + "')\n");
+                } else {
+                    String destTileName = st.getRootName() + "_X" + (st.getTileXCoordinate() + tileColOffset)
+                            + "Y" + (st.getTileYCoordinate() + tileRowOffset);
+                    if (sp.isStub()) {
+                        messages.append("INFO: Removing stub PIP '" + sp + "' that failed to move to Tile '" + destTileName +
+                                "' (Net '" + n.getName() + "')\n");
+                        return true;
+                    } else {
+                        error[0] = "ERROR: Failed to move PIP '" + sp + "' to Tile '" + destTileName +
+                                "' (Net '" + n.getName() + "')";
+                    }
+                }
+            } else {
+                assert (st.getTileTypeEnum() == dt.getTileTypeEnum());
+                sp.setTile(dt);
+            }
+            return false;
+        });
+        return error[0];
+    }
+
+    /**
+     * Checks, for many candidate offsets in one sweep, whether the SiteInsts belonging to the logical
+     * Cell at instanceName (and their routing) could be fully relocated, see
+     * {@link #getValidRelocationOffsets(Design, Collection, List)}.
+     * @param design Parent design
+     * @param instanceName Full hierarchical instance name to logical cell
+     *                     (empty for top cell)
+     * @param offsets List of candidate (tile column, tile row) offsets
+     * @return The subset of candidate offsets that are valid, in the given order, or null if
+     * the SiteInsts of instanceName cannot be relocated at all.
+     */
+    public static List<Pair<Integer, Integer>> getValidRelocationOffsets(Design design,
+                                                                         String instanceName,
+                                                                         List<Pair<Integer, Integer>> offsets) {
+        Set<SiteInst> siteInsts = getSiteInstsToRelocate(design, instanceName, defaultSiteTypes);
+        return siteInsts == null ? null : getValidRelocationOffsets(design, siteInsts, offsets);
+    }
+
+    /**
+     * Checks, for many candidate offsets in one sweep, whether the given SiteInsts (and their routing)
+     * could be relocated by {@link #relocate(Design, Collection, int, int)} without failing. The footprint
+     * of the SiteInsts and routing (distinct sites, and tiles of PIPs that would be moved) is computed just
+     * once and then checked against every candidate offset in parallel, without modifying the design.
+     * The routing check is conservative: PIPs of nets that only partially belong to the SiteInsts are
+     * also required to be movable.
+     * @param design Parent design
+     * @param siteInsts SiteInsts to be relocated
+     * @param offsets List of candidate (tile column, tile row) offsets
+     * @return The subset of candidate offsets that are valid, in the given order.
+     */
+    public static List<Pair<Integer, Integer>> getValidRelocationOffsets(Design design,
+                                                                         Collection<SiteInst> siteInsts,
+                                                                         List<Pair<Integer, Integer>> offsets) {
+        Set<SiteInst> siteInstSet = new HashSet<>(siteInsts);
+        List<Site> srcSites = new ArrayList<>();
+        for (SiteInst si : siteInstSet) {
+            srcSites.add(si.getSite());
+        }
+
+        // Tiles of PIPs that relocate() would need to move (or fail)
+        Set<Tile> pipTiles = new HashSet<>();
+        for (Net n : design.getNets()) {
+            if (!n.hasPIPs()) {
+                continue;
+            }
+            SitePinInst src = n.getSource();
+            if (src != null && !siteInstSet.contains(src.getSiteInst())) {
+                continue;
+            }
+            int numNonMatchingPins = 0;
+            for (SitePinInst spi : n.getPins()) {
+                if (!siteInstSet.contains(spi.getSiteInst()) && spi.getSiteInst().isPlaced()) {
+                    numNonMatchingPins++;
+                }
+            }
+            if (numNonMatchingPins == n.getPins().size() || (n.isStaticNet() && numNonMatchingPins > 0)) {
+                continue;
+            }
+            if (n.isClockNet() || NetTools.hasClockSinks(n)) {
+                continue;
+            }
+            for (PIP p : n.getPIPs()) {
+                if (!p.isStub()) {
+                    pipTiles.add(p.getTile());
+                }
+            }
+        }
+
+        List<Future<Boolean>> valid = ParallelismTools.invokeAll(offsets, (offset) -> {
+            int tileColOffset = offset.getFirst();
+            int tileRowOffset = offset.getSecond();
+            if (tileColOffset == 0 && tileRowOffset == 0) {
+                return true;
+            }
+            for (Tile st : pipTiles) {
+                if (st.getTileXYNeighbor(tileColOffset, tileRowOffset) == null) {
+                    return false;
+                }
+            }
+            for (Site srcSite : srcSites) {
+                Tile destTile = srcSite.getTile().getTileXYNeighbor(tileColOffset, tileRowOffset);
+                if (destTile == null) {
+                    return false;
+                }
+                Site destSite = srcSite.getCorrespondingSite(srcSite.getSiteTypeEnum(), destTile);
+                if (destSite == null) {
+                    return false;
+                }
+                SiteInst destSiteInst = design.getSiteInstFromSite(destSite);
+                if (destSiteInst != null && !siteInstSet.contains(destSiteInst)
+                        && !destSiteInst.getName().startsWith("STATIC_SOURCE")) {
+                    return false;
+                }
+            }
+            return true;
+        });
+
+        List<Pair<Integer, Integer>> validOffsets = new ArrayList<>();
+        for (int i = 0; i < offsets.size(); i++) {
+            if (ParallelismTools.get(valid.get(i))) {
+                validOffsets.add(offsets.get(i));
+            }
+        }
+        return validOffsets;
+    }
 
     private static void revertPlacement(Map<SiteInst, Site> oldSite) {
         for (Map.Entry<SiteInst, Site> e : oldSite.entrySet()) {
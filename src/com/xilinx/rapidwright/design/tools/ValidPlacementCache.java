@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.tools;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+
+import com.xilinx.rapidwright.design.Cell;
+import com.xilinx.rapidwright.design.Module;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.RelocatableTileRectangle;
+import com.xilinx.rapidwright.design.SiteInst;
+import com.xilinx.rapidwright.device.ClockRegion;
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.device.Site;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * The valid anchor sites of a {@link Module} on a device, each with the module's bounding box when placed there
+ * and whether that bounding box straddles a clock region. Anchors are sorted by descending Y, then ascending X
+ * coordinate. Bounding boxes are computed in parallel and the result is cached per module and device, so that
+ * repeated placement attempts do not need to recompute it. Valid anchor sites can also be cached on disk, so that
+ * later runs reusing the same work directory can skip {@link Module#calculateAllValidPlacements(Device)}. Files on
+ * disk are keyed by a hash of the module's placement and routing, so that a modified module is recomputed.
+ */
+public class ValidPlacementCache {
+
+    /** Suffix of files caching the valid anchor sites of a module */
+    public static final String FILE_SUFFIX = ".placements";
+
+    private static final int CHUNK_SIZE = 256;
+
+    /** Per-device caches of each module; each map is also the lock guarding its module's computation */
+    private static final Map<Module, Map<String, ValidPlacementCache>> cache = new WeakHashMap<>();
+
+    private final Site[] anchors;
+
+    private final RelocatableTileRectangle[] boundingBoxes;
+
+    private final boolean[] straddlesClockRegion;
+
+    private final Map<Site, Integer> anchorIndices;
+
+    private ValidPlacementCache(Module module, List<Site> validPlacements) {
+        anchors = validPlacements.stream().sorted((s1, s2) -> {
+            if (s1.getInstanceY() == s2.getInstanceY()) {
+                return s1.getInstanceX() - s2.getInstanceX();
+            }
+            return s2.getInstanceY() - s1.getInstanceY();
+        }).toArray(Site[]::new);
+        boundingBoxes = new RelocatableTileRectangle[anchors.length];
+        straddlesClockRegion = new boolean[anchors.length];
+        anchorIndices = new HashMap<>();
+        for (int i = 0; i < anchors.length; i++) {
+            anchorIndices.put(anchors[i], i);
+        }
+        if (anchors.length == 0) {
+            return;
+        }
+
+        RelocatableTileRectangle boundingBox = module.getBoundingBox();
+        Tile moduleAnchor = module.getAnchor().getTile();
+        // The first relocation initializes state inside the bounding box, do it before going parallel
+        computeBoundingBox(0, boundingBox, moduleAnchor);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int start = 1; start < anchors.length; start += CHUNK_SIZE) {
+            final int from = start;
+            final int to = Math.min(start + CHUNK_SIZE, anchors.length);
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    computeBoundingBox(i, boundingBox, moduleAnchor);
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+    }
+
+    private void computeBoundingBox(int i, RelocatableTileRectangle boundingBox, Tile moduleAnchor) {
+        boundingBoxes[i] = boundingBox.getCorresponding(anchors[i].getTile(), moduleAnchor);
+        straddlesClockRegion[i] = boundingBoxStraddlesClockRegion(boundingBoxes[i]);
+    }
+
+    static boolean boundingBoxStraddlesClockRegion(RelocatableTileRectangle boundingBox) {
+        ClockRegion cr0 = boundingBox.getMaxColumnTile().getClockRegion();
+        ClockRegion cr1 = boundingBox.getMinColumnTile().getClockRegion();
+        ClockRegion cr2 = boundingBox.getMaxRowTile().getClockRegion();
+        ClockRegion cr3 = boundingBox.getMinRowTile().getClockRegion();
+        return !Stream.of(cr0, cr1, cr2, cr3).allMatch(cr0::equals);
+    }
+
+    /**
+     * Gets the valid placements of a module on a device, computing them if necessary.
+     * @param module The module in question.
+     * @param device The device to place the module on.
+     * @return The module's valid placements.
+     */
+    public static ValidPlacementCache get(Module module, Device device) {
+        return get(module, device, null);
+    }
+
+    /**
+     * Gets the valid placements of a module on a device, computing them if necessary.
+     * @param module The module in question.
+     * @param device The device to place the module on.
+     * @param cacheDir If not null, directory in which valid anchor sites are cached across runs.
+     * @return The module's valid placements.
+     */
+    public static ValidPlacementCache get(Module module, Device device, Path cacheDir) {
+        Map<String, ValidPlacementCache> perDevice;
+        synchronized (cache) {
+            perDevice = cache.computeIfAbsent(module, (m) -> new HashMap<>());
+        }
+        // Only lock this module, so that different modules can be computed concurrently
+        synchronized (perDevice) {
+            ValidPlacementCache placements = perDevice.get(device.getName());
+            if (placements == null) {
+                placements = new ValidPlacementCache(module, getValidAnchors(module, device, cacheDir));
+                perDevice.put(device.getName(), placements);
+            }
+            return placements;
+        }
+    }
+
+    /**
+     * Drops all cached placements of a module, for example after it was modified.
+     * @param module The module in question.
+     */
+    public static void invalidate(Module module) {
+        synchronized (cache) {
+            cache.remove(module);
+        }
+    }
+
+    /** 64-bit FNV-1a hash of a string, which unlike {@link String#hashCode()} is wide enough to key a file */
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+
+    /**
+     * Hashes the placement (sites and cell BELs) and routing (PIPs) of a module. Each item is hashed on its own
+     * and the results are summed, so that the hash does not depend on iteration order.
+     */
+    static long getContentHash(Module module) {
+        long h = 0;
+        for (SiteInst si : module.getSiteInsts()) {
+            String site = si.getSiteName() + " " + si.getSiteTypeEnum();
+            h += mix(hash(site));
+            for (Cell cell : si.getCells()) {
+                h += mix(hash(site + " " + cell.getName() + " " + cell.getBELName()));
+            }
+        }
+        for (Net net : module.getNets()) {
+            String name = net.getName();
+            for (PIP pip : net.getPIPs()) {
+                h += mix(hash(name + " " + pip));
+            }
+        }
+        return h;
+    }
+
+    private static String getFingerprint(Module module, Device device) {
+        return module.getName() + " " + device.getName() + " " + module.getAnchor().getSiteName() + " "
+                + Long.toHexString(getContentHash(module));
+    }
+
+    private static List<Site> getValidAnchors(Module module, Device device, Path cacheDir) {
+        Path cacheFile = null;
+        String fingerprint = null;
+        if (cacheDir != null) {
+            cacheFile = cacheDir.resolve(module.getName().replaceAll("[^A-Za-z0-9_.-]", "_") + "_"
+                    + device.getName() + FILE_SUFFIX);
+            fingerprint = "# " + getFingerprint(module, device);
+            if (Files.exists(cacheFile)) {
+                List<String> lines = FileTools.getLinesFromTextFile(cacheFile.toString());
+                if (!lines.isEmpty() && lines.get(0).equals(fingerprint)) {
+                    List<Site> anchors = new ArrayList<>(lines.size() - 1);
+                    for (String name : lines.subList(1, lines.size())) {
+                        Site site = device.getSite(name);
+                        if (site == null) {
+                            anchors = null;
+                            break;
+                        }
+                        anchors.add(site);
+                    }
+                    if (anchors != null) {
+                        // Make the cached anchors available as if they had just been computed
+                        List<Site> valid = module.getAllValidPlacements();
+                        if (valid != null) {
+                            valid.clear();
+                            valid.addAll(anchors);
+                        }
+                        return anchors;
+                    }
+                }
+            }
+        }
+
+        List<Site> anchors = module.getAllValidPlacements();
+        if (anchors == null || anchors.isEmpty() || anchors.get(0).getDevice() != device) {
+            anchors = module.calculateAllValidPlacements(device);
+        }
+        if (cacheFile != null) {
+            List<String> lines = new ArrayList<>(anchors.size() + 1);
+            lines.add(fingerprint);
+            for (Site anchor : anchors) {
+                lines.add(anchor.getName());
+            }
+            FileTools.writeLinesToTextFile(lines, cacheFile.toString());
+        }
+        return anchors;
+    }
+
+    public int size() {
+        return anchors.length;
+    }
+
+    /**
+     * @return Valid anchor sites, sorted by descending Y, then ascending X coordinate.
+     */
+    public List<Site> getAnchors() {
+        return Collections.unmodifiableList(Arrays.asList(anchors));
+    }
+
+    public Site getAnchor(int i) {
+        return anchors[i];
+    }
+
+    /**
+     * Gets the index of an anchor site.
+     * @param anchor The anchor site.
+     * @return Index of the anchor, or -1 if it is not a valid placement.
+     */
+    public int getIndex(Site anchor) {
+        Integer i = anchorIndices.get(anchor);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @return The module's bounding box when placed at anchor i.
+     */
+    public RelocatableTileRectangle getBoundingBox(int i) {
+        return boundingBoxes[i];
+    }
+
+    /**
+     * @return True if the module's bounding box straddles a clock region when placed at anchor i.
+     */
+    public boolean straddlesClockRegion(int i) {
+        return straddlesClockRegion[i];
+    }
+
+    /**
+     * Groups anchor indices into rows of equal Y coordinate, from top to bottom.
+     * @return Rows of anchor indices, each sorted by ascending X coordinate.
+     */
+    public List<int[]> getGrid() {
+        List<int[]> grid = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= anchors.length; i++) {
+            if (i == anchors.length || anchors[i].getInstanceY() < anchors[start].getInstanceY()) {
+                int[] row = new int[i - start];
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = start + j;
+                }
+                grid.add(row);
+                start = i;
+            }
+        }
+        return grid;
+    }
+}
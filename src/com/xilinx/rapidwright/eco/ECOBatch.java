@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.eco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.DesignTools;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.edif.EDIFCell;
+import com.xilinx.rapidwright.edif.EDIFHierCellInst;
+import com.xilinx.rapidwright.edif.EDIFHierNet;
+import com.xilinx.rapidwright.edif.EDIFHierPortInst;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.edif.EDIFTools;
+import com.xilinx.rapidwright.rwroute.PartialRouter;
+
+/**
+ * Queues many ECO edits and applies them to a design as one batch. Disconnections, cell
+ * removals and connections are each applied with a single call to {@link ECOTools}, sharing one
+ * map of deferred site pin removals (so that site pins can be reused between disconnection and
+ * reconnection) and rebuilding the netlist's parent net map only once, rather than once per edit.
+ *
+ * Edits are checked for conflicts (e.g. a pin being connected to two nets, a pin being connected
+ * without first being disconnected from its current net, a net being given more than one driver,
+ * or a connection to a cell that is also being removed) when {@link #commit()} is called and
+ * before the design is modified, so
+ * that a conflicting batch leaves the connectivity of the design untouched. This is not a
+ * transaction: there is no rollback. Nets and cells are created immediately by
+ * {@link #createNet(String)} and {@link #createCell(EDIFCell, String)} so that later edits in the
+ * same batch can refer to them, and they remain in the design if the batch is never committed or
+ * fails validation. If an {@link ECOTools} call throws part way through {@link #commit()}, the
+ * edits applied before it are kept.
+ *
+ * Committing returns a {@link ChangeLog} listing the physical nets that were modified and their
+ * unrouted pins, which can be passed directly to {@link PartialRouter}.
+ */
+public class ECOBatch {
+
+    /**
+     * Record of the changes made by a committed {@link ECOBatch}.
+     */
+    public static class ChangeLog {
+        private final List<EDIFHierNet> createdNets;
+        private final List<EDIFHierCellInst> createdCells;
+        private final List<String> removedCells;
+        private final List<EDIFHierPortInst> disconnectedPins;
+        private final Map<EDIFHierNet, List<EDIFHierPortInst>> connectedPins;
+        private final Set<Net> modifiedNets;
+        private final List<SitePinInst> pinsToRoute;
+
+        private ChangeLog(List<EDIFHierNet> createdNets, List<EDIFHierCellInst> createdCells,
+                          List<String> removedCells, List<EDIFHierPortInst> disconnectedPins,
+                          Map<EDIFHierNet, List<EDIFHierPortInst>> connectedPins, Set<Net> modifiedNets,
+                          List<SitePinInst> pinsToRoute) {
+            this.createdNets = Collections.unmodifiableList(createdNets);
+            this.createdCells = Collections.unmodifiableList(createdCells);
+            this.removedCells = Collections.unmodifiableList(removedCells);
+            this.disconnectedPins = Collections.unmodifiableList(disconnectedPins);
+            this.connectedPins = Collections.unmodifiableMap(connectedPins);
+            this.modifiedNets = Collections.unmodifiableSet(modifiedNets);
+            this.pinsToRoute = Collections.unmodifiableList(pinsToRoute);
+        }
+
+        public List<EDIFHierNet> getCreatedNets() {
+            return createdNets;
+        }
+
+        public List<EDIFHierCellInst> getCreatedCells() {
+            return createdCells;
+        }
+
+        /**
+         * @return Full hierarchical names of the removed cell instances.
+         */
+        public List<String> getRemovedCells() {
+            return removedCells;
+        }
+
+        public List<EDIFHierPortInst> getDisconnectedPins() {
+            return disconnectedPins;
+        }
+
+        public Map<EDIFHierNet, List<EDIFHierPortInst>> getConnectedPins() {
+            return connectedPins;
+        }
+
+        /**
+         * @return Physical nets that had site pins added, removed or moved.
+         */
+        public Set<Net> getModifiedNets() {
+            return modifiedNets;
+        }
+
+        /**
+         * Gets the unrouted sink pins of all modified nets, suitable for passing to
+         * {@link PartialRouter#routeDesignPartialNonTimingDriven(Design, java.util.Collection)}.
+         * @return The list of unrouted sink pins.
+         */
+        public List<SitePinInst> getPinsToRoute() {
+            return pinsToRoute;
+        }
+
+        @Override
+        public String toString() {
+            return "ECO: " + createdNets.size() + " net(s) created, " + createdCells.size()
+                    + " cell(s) created, " + removedCells.size() + " cell(s) removed, "
+                    + disconnectedPins.size() + " pin(s) disconnected, "
+                    + connectedPins.values().stream().mapToInt(List::size).sum() + " pin(s) connected, "
+                    + modifiedNets.size() + " net(s) modified, " + pinsToRoute.size() + " pin(s) to route";
+        }
+    }
+
+    private final Design design;
+
+    private final List<EDIFHierNet> createdNets = new ArrayList<>();
+
+    private final List<EDIFHierCellInst> createdCells = new ArrayList<>();
+
+    private final Set<EDIFHierPortInst> disconnects = new LinkedHashSet<>();
+
+    private final Map<String, EDIFHierCellInst> removals = new LinkedHashMap<>();
+
+    private final Map<EDIFHierNet, List<EDIFHierPortInst>> connections = new LinkedHashMap<>();
+
+    private boolean committed;
+
+    public ECOBatch(Design design) {
+        this.design = design;
+    }
+
+    public Design getDesign() {
+        return design;
+    }
+
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new RuntimeException("ERROR: ECO batch has already been committed.");
+        }
+    }
+
+    /**
+     * Creates a net in the design immediately, see {@link ECOTools#createNet(Design, List)}.
+     * @param path Hierarchical path of the net.
+     * @return The created net.
+     */
+    public EDIFHierNet createNet(String path) {
+        checkNotCommitted();
+        ECOTools.createNet(design, Collections.singletonList(path));
+        EDIFHierNet ehn = design.getNetlist().getHierNetFromName(path);
+        createdNets.add(ehn);
+        return ehn;
+    }
+
+    /**
+     * Creates a cell instance in the design immediately, see
+     * {@link ECOTools#createCell(Design, EDIFCell, List)}.
+     * @param reference The cell to be instantiated.
+     * @param path Hierarchical path of the instance.
+     * @return The created instance.
+     */
+    public EDIFHierCellInst createCell(EDIFCell reference, String path) {
+        checkNotCommitted();
+        ECOTools.createCell(design, reference, Collections.singletonList(path));
+        EDIFHierCellInst ehci = design.getNetlist().getHierCellInstFromName(path);
+        createdCells.add(ehci);
+        return ehci;
+    }
+
+    /**
+     * Queues pins to be disconnected from their current nets.
+     * @param pins The hierarchical pins to disconnect.
+     */
+    public void disconnect(Collection<EDIFHierPortInst> pins) {
+        checkNotCommitted();
+        for (EDIFHierPortInst ehpi : pins) {
+            if (ehpi.getNet() == null) {
+                throw new RuntimeException("ERROR: Pin '" + ehpi + "' is not connected to a net.");
+            }
+            disconnects.add(ehpi);
+        }
+    }
+
+    public void disconnect(EDIFHierPortInst... pins) {
+        disconnect(Arrays.asList(pins));
+    }
+
+    /**
+     * Queues pins to be disconnected, given as strings of one or more space-separated pin paths
+     * as accepted by {@link ECOTools#disconnectNetPath(Design, List)}.
+     * @param pins A list of hierarchical pin paths.
+     */
+    public void disconnectPaths(List<String> pins) {
+        disconnect(ECOTools.getPortInstsFromPaths(design.getNetlist(), pins));
+    }
+
+    /**
+     * Queues pins to be connected to a net. Pins currently connected to another net must also be
+     * queued for disconnection in the same batch.
+     * @param net The net to connect to.
+     * @param pins The hierarchical pins to connect.
+     */
+    public void connect(EDIFHierNet net, Collection<EDIFHierPortInst> pins) {
+        checkNotCommitted();
+        connections.computeIfAbsent(net, (n) -> new ArrayList<>()).addAll(pins);
+    }
+
+    public void connect(EDIFHierNet net, EDIFHierPortInst... pins) {
+        connect(net, Arrays.asList(pins));
+    }
+
+    /**
+     * Queues connections given as strings containing one net path followed by one or more pin
+     * paths, as accepted by {@link ECOTools#connectNet(Design, List)}.
+     * @param netPinList A list of strings containing net and pin paths.
+     */
+    public void connectPaths(List<String> netPinList) {
+        for (Map.Entry<EDIFHierNet, List<EDIFHierPortInst>> e :
+                ECOTools.getNetPortInstsFromPaths(design.getNetlist(), netPinList).entrySet()) {
+            connect(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Queues cell instances to be removed from the design.
+     * @param insts The hierarchical cell instances to remove.
+     */
+    public void removeCell(Collection<EDIFHierCellInst> insts) {
+        checkNotCommitted();
+        for (EDIFHierCellInst ehci : insts) {
+            removals.put(ehci.getFullHierarchicalInstName(), ehci);
+        }
+    }
+
+    public void removeCell(EDIFHierCellInst... insts) {
+        removeCell(Arrays.asList(insts));
+    }
+
+    /**
+     * Queues cell instances to be removed, given by their hierarchical paths.
+     * @param paths A list of instance paths for removal.
+     */
+    public void removeCellPaths(List<String> paths) {
+        final EDIFNetlist netlist = design.getNetlist();
+        List<EDIFHierCellInst> insts = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            EDIFHierCellInst ehci = netlist.getHierCellInstFromName(path);
+            if (ehci == null) {
+                throw new RuntimeException("ERROR: Cannot find cell '" + path + "'.");
+            }
+            insts.add(ehci);
+        }
+        removeCell(insts);
+    }
+
+    /**
+     * @return The number of queued disconnections, connections and cell removals.
+     */
+    public int size() {
+        return disconnects.size() + removals.size()
+                + connections.values().stream().mapToInt(List::size).sum();
+    }
+
+    private boolean isInsideRemovedCell(String instName) {
+        while (true) {
+            if (removals.containsKey(instName)) {
+                return true;
+            }
+            int pos = instName.lastIndexOf(EDIFTools.EDIF_HIER_SEP);
+            if (pos < 0) {
+                return false;
+            }
+            instName = instName.substring(0, pos);
+        }
+    }
+
+    private void validate() {
+        final EDIFNetlist netlist = design.getNetlist();
+        Map<EDIFHierPortInst, EDIFHierNet> pinToNet = new HashMap<>();
+        Map<EDIFHierNet, EDIFHierPortInst> netToDriver = new HashMap<>();
+        for (Map.Entry<EDIFHierNet, List<EDIFHierPortInst>> e : connections.entrySet()) {
+            EDIFHierNet ehn = e.getKey();
+            if (isInsideRemovedCell(ehn.getHierarchicalInst().getFullHierarchicalInstName())) {
+                throw new RuntimeException("ERROR: Net '" + ehn + "' is inside a cell queued for removal.");
+            }
+            for (EDIFHierPortInst ehpi : e.getValue()) {
+                EDIFHierNet other = pinToNet.put(ehpi, ehn);
+                if (other != null && !other.equals(ehn)) {
+                    throw new RuntimeException("ERROR: Pin '" + ehpi + "' queued for connection to both net '"
+                            + other + "' and net '" + ehn + "'.");
+                }
+                if (isInsideRemovedCell(ehpi.getFullHierarchicalInstName())) {
+                    throw new RuntimeException("ERROR: Pin '" + ehpi + "' belongs to a cell queued for removal.");
+                }
+                if (ehpi.getNet() != null && !disconnects.contains(ehpi)) {
+                    throw new RuntimeException("ERROR: Pin '" + ehpi + "' queued for connection to net '" + ehn
+                            + "' is already connected to net '" + ehpi.getHierarchicalNetName()
+                            + "' and not queued for disconnection.");
+                }
+                if (ehpi.isOutput()) {
+                    EDIFHierNet parentEhn = netlist.getParentNet(ehn);
+                    EDIFHierPortInst driver = netToDriver.put(parentEhn != null ? parentEhn : ehn, ehpi);
+                    if (driver != null && !driver.equals(ehpi)) {
+                        throw new RuntimeException("ERROR: Net '" + ehn + "' would be driven by both pin '"
+                                + driver + "' and pin '" + ehpi + "'.");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies all queued edits to the design: disconnections first, then cell removals, then
+     * connections, followed by a single batched removal of site pins no longer needed.
+     * @return A record of the changes made.
+     */
+    public ChangeLog commit() {
+        checkNotCommitted();
+        validate();
+        committed = true;
+
+        final EDIFNetlist netlist = design.getNetlist();
+        Map<Net, Set<SitePinInst>> deferredRemovals = new HashMap<>();
+        List<EDIFHierPortInst> disconnectedPins = new ArrayList<>(disconnects);
+        if (!disconnectedPins.isEmpty()) {
+            ECOTools.disconnectNet(design, disconnectedPins, deferredRemovals);
+        }
+        Set<Net> modifiedNets = new LinkedHashSet<>(deferredRemovals.keySet());
+
+        List<String> removedCells = new ArrayList<>(removals.keySet());
+        if (!removals.isEmpty()) {
+            ECOTools.removeCell(design, new ArrayList<>(removals.values()), deferredRemovals);
+            modifiedNets.addAll(deferredRemovals.keySet());
+        }
+
+        Map<EDIFHierNet, List<EDIFHierPortInst>> connectedPins = new LinkedHashMap<>();
+        if (!connections.isEmpty()) {
+            // connectNet() modifies the lists it is given, keep our own copy for the change log
+            Map<EDIFHierNet, List<EDIFHierPortInst>> netToPortInsts = new LinkedHashMap<>();
+            for (Map.Entry<EDIFHierNet, List<EDIFHierPortInst>> e : connections.entrySet()) {
+                List<EDIFHierPortInst> pins = new ArrayList<>(new LinkedHashSet<>(e.getValue()));
+                connectedPins.put(e.getKey(), pins);
+                netToPortInsts.put(e.getKey(), new ArrayList<>(pins));
+            }
+            ECOTools.connectNet(design, netToPortInsts, deferredRemovals);
+            modifiedNets.addAll(deferredRemovals.keySet());
+
+            Set<EDIFHierNet> parentNets = new HashSet<>();
+            for (EDIFHierNet ehn : connectedPins.keySet()) {
+                EDIFHierNet parentEhn = netlist.getParentNet(ehn);
+                if (parentEhn == null || !parentNets.add(parentEhn)) {
+                    continue;
+                }
+                Net net = design.getNet(parentEhn.getHierarchicalNetName());
+                if (net == null) {
+                    if (parentEhn.getNet().isGND()) {
+                        net = design.getGndNet();
+                    } else if (parentEhn.getNet().isVCC()) {
+                        net = design.getVccNet();
+                    } else {
+                        continue;
+                    }
+                }
+                modifiedNets.add(net);
+            }
+        }
+
+        DesignTools.batchRemoveSitePins(deferredRemovals, true);
+
+        List<SitePinInst> pinsToRoute = new ArrayList<>();
+        for (Net net : modifiedNets) {
+            if (net.getSource() == null && !net.isStaticNet()) {
+                continue;
+            }
+            for (SitePinInst spi : net.getPins()) {
+                if (spi.isOutPin() || spi.isRouted() || spi.getSiteInst() == null) {
+                    continue;
+                }
+                pinsToRoute.add(spi);
+            }
+        }
+
+        return new ChangeLog(new ArrayList<>(createdNets), new ArrayList<>(createdCells), removedCells,
+                disconnectedPins, connectedPins, modifiedNets, pinsToRoute);
+    }
+}
@@ -340,7 +340,18 @@ public class ECOTools {
     public static void disconnectNetPath(Design design,
                                          List<String> pins,
                                          Map<Net, Set<SitePinInst>> deferredRemovals) {
-        final EDIFNetlist netlist = design.getNetlist();
+        disconnectNet(design, getPortInstsFromPaths(design.getNetlist(), pins), deferredRemovals);
+    }
+
+    /**
+     * Resolves a list of strings with one or more space-separated pins into the connected
+     * hierarchical pins, as used by {@link #disconnectNetPath(Design, List, Map)}. Pins that exist
+     * but are not connected to anything are skipped.
+     * @param netlist The netlist where the pin(s) are instantiated.
+     * @param pins A list of hierarchical pin paths.
+     * @return The list of hierarchical pins.
+     */
+    static List<EDIFHierPortInst> getPortInstsFromPaths(EDIFNetlist netlist, List<String> pins) {
         List<EDIFHierPortInst> pinObjects = new ArrayList<>(pins.size());
         for (String entry : pins) {
             for (String pin : entry.split(" ")) {
@@ -376,7 +387,7 @@ public class ECOTools {
                 pinObjects.add(ehpi);
             }
         }
-        disconnectNet(design, pinObjects, deferredRemovals);
+        return pinObjects;
     }
 
     /**
@@ -893,7 +904,20 @@ public class ECOTools {
     public static void connectNet(Design design,
                                   List<String> netPinList,
                                   Map<Net, Set<SitePinInst>> deferredRemovals) {
-        final EDIFNetlist netlist = design.getNetlist();
+        connectNet(design, getNetPortInstsFromPaths(design.getNetlist(), netPinList), deferredRemovals);
+    }
+
+    /**
+     * Resolves a list of strings containing one net path followed by one or more pin paths
+     * separated by spaces into a map of hierarchical nets to the pins to be connected to them,
+     * as used by {@link #connectNet(Design, List, Map)}. Pins that do not yet exist are created
+     * (but not attached to any net).
+     * @param netlist The netlist where the net(s) and pin(s) are instantiated.
+     * @param netPinList A list of strings containing net and pin paths.
+     * @return A map of hierarchical nets and pins for connection.
+     */
+    static Map<EDIFHierNet, List<EDIFHierPortInst>> getNetPortInstsFromPaths(EDIFNetlist netlist,
+                                                                             List<String> netPinList) {
         final Map<EDIFHierNet, List<EDIFHierPortInst>> netPortInsts = new HashMap<>(netPinList.size());
         for (String i : netPinList) {
             String[] net_pins = i.split(" ", 2);
@@ -945,7 +969,7 @@ public class ECOTools {
                 portInsts.add(ehpi);
             }
         }
-        connectNet(design, netPortInsts, deferredRemovals);
+        return netPortInsts;
     }
 
     /**
@@ -25,8 +25,8 @@ package com.xilinx.rapidwright.eco;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -37,6 +37,7 @@ import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.DesignTools;
 import com.xilinx.rapidwright.design.Net;
 import com.xilinx.rapidwright.design.SiteInst;
+import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.design.Unisim;
 import com.xilinx.rapidwright.device.BEL;
 import com.xilinx.rapidwright.device.BELPin;
@@ -143,6 +144,60 @@ public class FanOutOptimization {
      *                          `route_design -preserve`.
      */
     public static void cutFanOutOfRoutedNet(Design design, Net net, int splitByCount, boolean onlyUseEmptySites) {
+        cutFanOutOfRoutedNet(design, net, splitByCount, onlyUseEmptySites, /* balanceSinks= */false);
+    }
+
+    /**
+     * Given a fully placed and routed design and a net driven by a flip flop, this
+     * will replicate the flop by splitByCount times and divide the set of sinks on
+     * the net into neighborhood clusters to be re-routed.
+     *
+     * @param design            The design
+     * @param net               The high fan out net
+     * @param splitByCount      Desired number to split the fan out.
+     * @param onlyUseEmptySites Flag to indicate that any replicated cells only be
+     *                          placed in empty sites.
+     * @param balanceSinks      Flag to indicate that clusters should have (nearly)
+     *                          equal numbers of sinks, rather than just being the
+     *                          tightest neighborhoods.
+     */
+    public static void cutFanOutOfRoutedNet(Design design, Net net, int splitByCount, boolean onlyUseEmptySites,
+                                            boolean balanceSinks) {
+        cutFanOutOfRoutedNet(design, net, splitByCount, onlyUseEmptySites, balanceSinks, null, null);
+    }
+
+    /**
+     * Checks if the driver of a net can be replicated by
+     * {@link #cutFanOutOfRoutedNet(Design, Net, int)}.
+     *
+     * @param driverCell The cell driving the net.
+     * @return True if the cell type is supported.
+     */
+    public static boolean isSupportedDriver(Cell driverCell) {
+        try {
+            return supportedCellTypes.contains(Unisim.valueOf(driverCell.getType()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replicates the driver of a net as described in
+     * {@link #cutFanOutOfRoutedNet(Design, Net, int, boolean, boolean)}.
+     *
+     * @param deferredRemovals If not null, site pins to be removed are collected
+     *                         in this map rather than removed immediately, so
+     *                         that many nets can be replicated before calling
+     *                         {@link DesignTools#batchRemoveSitePins(Map, boolean)}.
+     * @param inputNets        If not null, populated with the nets connected to
+     *                         the inputs of the original and replicated cells,
+     *                         which may have gained unrouted pins.
+     * @return The original high fan out net followed by the nets driven by the
+     *         replicated cells.
+     */
+    static List<Net> cutFanOutOfRoutedNet(Design design, Net net, int splitByCount, boolean onlyUseEmptySites,
+                                          boolean balanceSinks, Map<Net, Set<SitePinInst>> deferredRemovals,
+                                          Set<Net> inputNets) {
         EDIFHierNet logicalNet = net.getLogicalHierNet();
         int srcIdx = -1;
         List<EDIFHierPortInst> snks = logicalNet.getLeafHierPortInsts();
@@ -190,8 +245,7 @@ public class FanOutOptimization {
         }
 
         // Calculate splitByCount clusters from net sinks and path source pins
-        Set<Point> points = new HashSet<>();
-        Map<Point, List<EDIFHierPortInst>> pinMap = new HashMap<>();
+        Map<Point, List<EDIFHierPortInst>> pinMap = new LinkedHashMap<>();
         boolean includeSources = false;
         // Add all sinks of high fanout pins
         List<EDIFHierPortInst> highFanoutSinks = highFanoutNet.getLogicalHierNet()
@@ -206,34 +260,56 @@ public class FanOutOptimization {
         }
         for (EDIFHierPortInst ehpi : clusterPins) {
             Point point = createPoint(ehpi.getPhysicalCell(design));
-            points.add(point);
             pinMap.computeIfAbsent(point, l -> new ArrayList<>()).add(ehpi);
         }
-        Map<Point, List<Point>> clusters = KMeans.kmeansClustering(points, splitByCount, 50);
+        List<Point> points = new ArrayList<>(pinMap.keySet());
+        int[] xs = new int[points.size()];
+        int[] ys = new int[points.size()];
+        int[] sinkCounts = new int[points.size()];
+        for (int i = 0; i < xs.length; i++) {
+            Point point = points.get(i);
+            xs[i] = point.x;
+            ys[i] = point.y;
+            for (EDIFHierPortInst ehpi : pinMap.get(point)) {
+                if (ehpi.isInput()) {
+                    sinkCounts[i]++;
+                }
+            }
+        }
+        KMeans.Clustering clusters = balanceSinks
+                ? KMeans.kmeansBalanced(xs, ys, sinkCounts, splitByCount, 50)
+                : KMeans.kmeans(xs, ys, splitByCount, 50);
+        Point[] centroids = new Point[clusters.getK()];
+        for (int c = 0; c < centroids.length; c++) {
+            centroids[c] = new Point(clusters.getCentroidX(c), clusters.getCentroidY(c));
+        }
 
         EDIFCell parent = driverCell.getParentCell();
         List<Cell> sources = new ArrayList<>();
         sources.add(driverCell);
         List<Net> sourceNets = new ArrayList<>();
         sourceNets.add(highFanoutNet);
-        ECOPlacementHelper ecoHelper = new ECOPlacementHelper(design, null);
+        ECOPlacementHelper ecoHelper = new ECOPlacementHelper(design, deferredRemovals);
         int copyIdx=0; 
 
         // For each cluster of sinks, find a suitable location for a source cell
-        for (Entry<Point, List<Point>> cluster : clusters.entrySet()) {
-            Site centroid = findClosestSLICE(cluster.getKey(), design.getDevice());
+        for (Point clusterCentroid : centroids) {
+            Site centroid = findClosestSLICE(clusterCentroid, design.getDevice());
             Iterator<Site> siteItr = ECOPlacementHelper.spiralOutFrom(centroid).iterator();
             Pair<Site, BEL> loc = findValidPlacementOption(design, driverCell, siteItr, ecoHelper, onlyUseEmptySites);
             // If this is the original cell, handle it differently
             if (copyIdx == 0) {
                 Pair<EDIFHierPortInst, Net> srcPinToRouteOutOfSite = isFF ? getFFSameSiteDriver(driverCell) : null;
-                DesignTools.fullyUnplaceCell(driverCell, null);
+                DesignTools.fullyUnplaceCell(driverCell, deferredRemovals);
                 if (srcPinToRouteOutOfSite != null) {
                     // Ensure output site pin gets created
                     EDIFHierPortInst srcPin = srcPinToRouteOutOfSite.getFirst();
                     Net srcNet = srcPinToRouteOutOfSite.getSecond();
                     assert (srcPin != null && srcNet != null);
                     ECOTools.createExitSitePinInst(design, srcPin, srcNet);
+                    if (inputNets != null) {
+                        inputNets.add(srcNet);
+                    }
                 }
                 // Move the original cell to the new valid location (approx. centroid)
                 design.placeCell(driverCell, loc.getFirst(), loc.getSecond());
@@ -263,14 +339,14 @@ public class FanOutOptimization {
         }
 
         // Disconnect all sinks, we'll reconnect them based on cluster below
-        ECOTools.disconnectNet(design, highFanoutSinks);
+        ECOTools.disconnectNet(design, highFanoutSinks, deferredRemovals);
 
         // Due to noise in placement legalization of source cell copies, we still assign
         // clusters to the best candidate driver cell after they have been placed.
         Map<EDIFHierNet, List<EDIFHierPortInst>> netsToConnect = new HashMap<>();
         boolean[] assigned = new boolean[splitByCount];
-        for (Entry<Point, List<Point>> e : clusters.entrySet()) {
-            Point centroid = e.getKey();
+        for (int c = 0; c < centroids.length; c++) {
+            Point centroid = centroids[c];
             int minDist = Integer.MAX_VALUE;
             int closestCellToCluster = -1;
             
@@ -287,8 +363,8 @@ public class FanOutOptimization {
             assigned[closestCellToCluster] = true;
             Net newFanoutNet = sourceNets.get(closestCellToCluster);
             List<EDIFHierPortInst> assignedSinks = new ArrayList<>();
-            for (Point point : e.getValue()) {
-                for (EDIFHierPortInst ehpi : pinMap.get(point)) {
+            for (int i : clusters.getMembers(c)) {
+                for (EDIFHierPortInst ehpi : pinMap.get(points.get(i))) {
                     if (ehpi.isInput()) {
                         assignedSinks.add(ehpi);
                     }
@@ -297,7 +373,17 @@ public class FanOutOptimization {
             netsToConnect.put(newFanoutNet.getLogicalHierNet(), assignedSinks);
         }
 
-        ECOTools.connectNet(design, netsToConnect, null);
+        ECOTools.connectNet(design, netsToConnect, deferredRemovals);
+
+        if (inputNets != null) {
+            inputNets.addAll(srcNets.values());
+            if (isFF) {
+                inputNets.add(clk);
+                inputNets.add(rst == null ? design.getGndNet() : rst);
+                inputNets.add(ce == null ? design.getVccNet() : ce);
+            }
+        }
+        return sourceNets;
     }
 
     private static Pair<EDIFHierPortInst, Net> getFFSameSiteDriver(Cell ffCell) {
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.eco;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.xilinx.rapidwright.design.Cell;
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.DesignTools;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SiteInst;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.edif.EDIFHierNet;
+import com.xilinx.rapidwright.edif.EDIFHierPortInst;
+import com.xilinx.rapidwright.rwroute.PartialRouter;
+import com.xilinx.rapidwright.timing.TimingEdge;
+import com.xilinx.rapidwright.timing.TimingManager;
+
+/**
+ * Performs fan out optimization across a whole placed and routed design. Nets
+ * are ranked by fan out (and optionally timing criticality), the driver of each
+ * selected net is replicated using {@link FanOutOptimization}, and all affected
+ * pins are then routed by a single {@link PartialRouter} run rather than one
+ * run per net.
+ */
+public class FanOutOptimizationPass {
+
+    public static final int DEFAULT_MIN_FANOUT = 500;
+
+    public static final int DEFAULT_TARGET_FANOUT = 250;
+
+    public static final int DEFAULT_MAX_REPLICAS = 16;
+
+    /**
+     * A net selected for fan out optimization.
+     */
+    public static class Candidate {
+        private final Net net;
+        private final Cell driver;
+        private final int fanout;
+        private final float criticality;
+        private final int replicas;
+
+        private Candidate(Net net, Cell driver, int fanout, float criticality, int replicas) {
+            this.net = net;
+            this.driver = driver;
+            this.fanout = fanout;
+            this.criticality = criticality;
+            this.replicas = replicas;
+        }
+
+        public Net getNet() {
+            return net;
+        }
+
+        public Cell getDriver() {
+            return driver;
+        }
+
+        public int getFanout() {
+            return fanout;
+        }
+
+        /**
+         * @return Criticality of the net between 0 and 1, or 0 if timing is not considered.
+         */
+        public float getCriticality() {
+            return criticality;
+        }
+
+        /**
+         * @return The number of cells (including the original driver) the sinks are split across.
+         */
+        public int getReplicas() {
+            return replicas;
+        }
+
+        @Override
+        public String toString() {
+            return net.getName() + " (fanout=" + fanout + ", criticality=" + criticality + ", replicas="
+                    + replicas + ")";
+        }
+    }
+
+    private final Design design;
+
+    private int minFanout = DEFAULT_MIN_FANOUT;
+
+    private int targetFanout = DEFAULT_TARGET_FANOUT;
+
+    private int maxReplicas = DEFAULT_MAX_REPLICAS;
+
+    private int maxNets = Integer.MAX_VALUE;
+
+    private float minCriticality = 0f;
+
+    private TimingManager timingManager;
+
+    private boolean onlyUseEmptySites = true;
+
+    private boolean balanceSinks = false;
+
+    private List<SitePinInst> pinsToRoute = Collections.emptyList();
+
+    public FanOutOptimizationPass(Design design) {
+        this.design = design;
+    }
+
+    public int getMinFanout() {
+        return minFanout;
+    }
+
+    /**
+     * @param minFanout Nets with fewer sinks than this are not considered.
+     */
+    public void setMinFanout(int minFanout) {
+        this.minFanout = minFanout;
+    }
+
+    public int getTargetFanout() {
+        return targetFanout;
+    }
+
+    /**
+     * @param targetFanout Desired number of sinks driven by each replica, which
+     *                     determines the replication factor of a net.
+     */
+    public void setTargetFanout(int targetFanout) {
+        this.targetFanout = targetFanout;
+    }
+
+    public int getMaxReplicas() {
+        return maxReplicas;
+    }
+
+    public void setMaxReplicas(int maxReplicas) {
+        this.maxReplicas = maxReplicas;
+    }
+
+    public int getMaxNets() {
+        return maxNets;
+    }
+
+    /**
+     * @param maxNets Maximum number of nets to optimize, highest ranked first.
+     */
+    public void setMaxNets(int maxNets) {
+        this.maxNets = maxNets;
+    }
+
+    public float getMinCriticality() {
+        return minCriticality;
+    }
+
+    /**
+     * @param minCriticality Nets less critical than this are not considered.
+     *                       Only used if a {@link TimingManager} is set.
+     */
+    public void setMinCriticality(float minCriticality) {
+        this.minCriticality = minCriticality;
+    }
+
+    public TimingManager getTimingManager() {
+        return timingManager;
+    }
+
+    /**
+     * @param timingManager If not null, nets are ranked by fan out weighted by
+     *                      their criticality according to this timing manager.
+     */
+    public void setTimingManager(TimingManager timingManager) {
+        this.timingManager = timingManager;
+    }
+
+    public boolean isOnlyUseEmptySites() {
+        return onlyUseEmptySites;
+    }
+
+    public void setOnlyUseEmptySites(boolean onlyUseEmptySites) {
+        this.onlyUseEmptySites = onlyUseEmptySites;
+    }
+
+    public boolean isBalanceSinks() {
+        return balanceSinks;
+    }
+
+    public void setBalanceSinks(boolean balanceSinks) {
+        this.balanceSinks = balanceSinks;
+    }
+
+    /**
+     * @return The pins left unrouted by the last call to {@link #replicate(List)}.
+     */
+    public List<SitePinInst> getPinsToRoute() {
+        return pinsToRoute;
+    }
+
+    /**
+     * Computes the criticality of each net as the highest criticality of its
+     * timing edges, where the criticality of an edge is one minus its slack
+     * divided by the maximum delay of the design.
+     * @param timingManager The timing manager of the design.
+     * @return Map from net to criticality between 0 and 1.
+     */
+    public static Map<Net, Float> getNetCriticalities(TimingManager timingManager) {
+        float maxDelay = Float.max(timingManager.calculateArrivalRequiredTimes().getFirst(),
+                timingManager.getTimingRequirementPs());
+        Map<Net, Float> criticalities = new HashMap<>();
+        if (maxDelay <= 0) {
+            return criticalities;
+        }
+        for (TimingEdge e : timingManager.getTimingGraph().edgeSet()) {
+            Net net = e.getNet();
+            if (net == null) {
+                continue;
+            }
+            float slack = e.getDst().getRequiredTime() - e.getSrc().getArrivalTime() - e.getDelay();
+            float criticality = Math.min(1f, Math.max(0f, 1f - slack / maxDelay));
+            criticalities.merge(net, criticality, Float::max);
+        }
+        return criticalities;
+    }
+
+    private Cell getSupportedDriver(Net net) {
+        EDIFHierNet logicalNet = net.getLogicalHierNet();
+        if (logicalNet == null) {
+            return null;
+        }
+        List<EDIFHierPortInst> srcs = logicalNet.getLeafHierPortInsts(true, false);
+        if (srcs.size() != 1) {
+            return null;
+        }
+        EDIFHierPortInst src = srcs.get(0);
+        Cell driver = src.getPhysicalCell(design);
+        if (driver == null || !driver.isPlaced() || !FanOutOptimization.isSupportedDriver(driver)) {
+            return null;
+        }
+        String siteWireName = driver.getSiteWireNameFromLogicalPin(src.getPortInst().getName());
+        if (siteWireName == null || driver.getSiteInst().getNetFromSiteWire(siteWireName) != net) {
+            return null;
+        }
+        return driver;
+    }
+
+    /**
+     * Ranks the nets of the design and selects those to optimize. Nets are
+     * ranked by fan out, weighted by (1 + criticality) if a
+     * {@link TimingManager} is set. A net is skipped if its driver shares a site
+     * with a sink of a higher ranked net or vice versa, since replicating both
+     * would move cells out from under each other.
+     * @return The selected nets, highest ranked first.
+     */
+    public List<Candidate> selectCandidates() {
+        Map<Net, Float> criticalities = timingManager == null ? null : getNetCriticalities(timingManager);
+        List<Candidate> ranked = new ArrayList<>();
+        for (Net net : design.getNets()) {
+            if (net.isStaticNet() || net.isClockNet() || net.getSource() == null
+                    || net.getFanOut() < minFanout) {
+                continue;
+            }
+            float criticality = 0f;
+            if (criticalities != null) {
+                criticality = criticalities.getOrDefault(net, 0f);
+                if (criticality < minCriticality) {
+                    continue;
+                }
+            }
+            Cell driver = getSupportedDriver(net);
+            if (driver == null) {
+                continue;
+            }
+            int fanout = net.getLogicalHierNet().getLeafHierPortInsts(false).size();
+            if (fanout < minFanout) {
+                continue;
+            }
+            int replicas = (fanout + targetFanout - 1) / targetFanout;
+            replicas = Math.max(2, Math.min(Math.min(replicas, maxReplicas), fanout));
+            ranked.add(new Candidate(net, driver, fanout, criticality, replicas));
+        }
+        ranked.sort((a, b) -> {
+            int diff = Float.compare(b.fanout * (1f + b.criticality), a.fanout * (1f + a.criticality));
+            return diff != 0 ? diff : a.net.getName().compareTo(b.net.getName());
+        });
+
+        List<Candidate> selected = new ArrayList<>();
+        Set<SiteInst> driverSites = new HashSet<>();
+        Set<SiteInst> sinkSites = new HashSet<>();
+        for (Candidate c : ranked) {
+            if (selected.size() >= maxNets) {
+                break;
+            }
+            SiteInst driverSite = c.driver.getSiteInst();
+            if (driverSites.contains(driverSite) || sinkSites.contains(driverSite)) {
+                continue;
+            }
+            Set<SiteInst> netSinkSites = new HashSet<>();
+            for (SitePinInst spi : c.net.getPins()) {
+                if (!spi.isOutPin()) {
+                    netSinkSites.add(spi.getSiteInst());
+                }
+            }
+            if (!Collections.disjoint(netSinkSites, driverSites)) {
+                continue;
+            }
+            driverSites.add(driverSite);
+            sinkSites.addAll(netSinkSites);
+            selected.add(c);
+        }
+        return selected;
+    }
+
+    /**
+     * Replicates the drivers of the given nets as a single batched ECO: site pin
+     * removals of all nets are deferred and performed together at the end. The
+     * pins that need routing afterwards are available from
+     * {@link #getPinsToRoute()}.
+     * @param candidates Nets to optimize, as returned by {@link #selectCandidates()}.
+     */
+    public void replicate(List<Candidate> candidates) {
+        Map<Net, Set<SitePinInst>> deferredRemovals = new HashMap<>();
+        Set<Net> replicatedNets = new LinkedHashSet<>();
+        Set<Net> inputNets = new LinkedHashSet<>();
+        for (Candidate c : candidates) {
+            replicatedNets.addAll(FanOutOptimization.cutFanOutOfRoutedNet(design, c.net, c.replicas,
+                    onlyUseEmptySites, balanceSinks, deferredRemovals, inputNets));
+        }
+        inputNets.addAll(deferredRemovals.keySet());
+        DesignTools.batchRemoveSitePins(deferredRemovals, true);
+
+        pinsToRoute = new ArrayList<>();
+        for (Net net : replicatedNets) {
+            // Drivers have moved, so none of the existing routing is useful
+            net.unroute();
+            for (SitePinInst spi : net.getPins()) {
+                if (!spi.isOutPin()) {
+                    pinsToRoute.add(spi);
+                }
+            }
+        }
+        inputNets.removeAll(replicatedNets);
+        for (Net net : inputNets) {
+            for (SitePinInst spi : net.getPins()) {
+                if (!spi.isOutPin() && !spi.isRouted()) {
+                    pinsToRoute.add(spi);
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects nets, replicates their drivers and routes all affected pins with a
+     * single partial routing run.
+     * @param route Flag to run the partial router, otherwise the affected pins are
+     *              left unrouted.
+     * @return The nets that were optimized.
+     */
+    public List<Candidate> run(boolean route) {
+        List<Candidate> candidates = selectCandidates();
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        replicate(candidates);
+        if (route && !pinsToRoute.isEmpty()) {
+            boolean softPreserve = false;
+            if (timingManager != null) {
+                PartialRouter.routeDesignPartialTimingDriven(design, pinsToRoute, softPreserve);
+            } else {
+                PartialRouter.routeDesignPartialNonTimingDriven(design, pinsToRoute, softPreserve);
+            }
+        }
+        return candidates;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 5) {
+            System.out.println("USAGE: <input.dcp> <output.dcp> [min fanout] [target fanout per replica]"
+                    + " [max nets]");
+            return;
+        }
+
+        Design d = Design.readCheckpoint(args[0]);
+        FanOutOptimizationPass pass = new FanOutOptimizationPass(d);
+        if (args.length > 2) {
+            pass.setMinFanout(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            pass.setTargetFanout(Integer.parseInt(args[3]));
+        }
+        if (args.length > 4) {
+            pass.setMaxNets(Integer.parseInt(args[4]));
+        }
+        List<Candidate> optimized = pass.run(true);
+        for (Candidate c : optimized) {
+            System.out.println("INFO: Replicated driver of " + c);
+        }
+        System.out.println("INFO: Optimized " + optimized.size() + " net(s), routed "
+                + pass.getPinsToRoute().size() + " pin(s) in one partial routing run");
+
+        d.writeCheckpoint(args[1]);
+    }
+}
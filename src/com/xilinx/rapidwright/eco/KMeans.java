@@ -31,56 +31,364 @@ import java.util.Map;
 import java.util.Random;
 
 import com.xilinx.rapidwright.placer.blockplacer.Point;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
- * Simple KMeans implementation to be used for partitioning sinks of a net.
+ * Simple KMeans implementation to be used for partitioning sinks of a net. Points are held in primitive x/y
+ * arrays, centroids are seeded with k-means++ and points are assigned to their nearest (Manhattan distance)
+ * centroid in parallel. A capacity-constrained variant balances the total weight of the points in each cluster.
  */
 public class KMeans {
 
-    private static Point[] initializeCentroids(Collection<Point> points, int k) {
-        Point[] centroids = new Point[k];
-        // Randomly initialize centroids to points within the min/max range of the data
-        // points
-        int minX = Integer.MAX_VALUE;
-        int maxX = 0;
-        int minY = Integer.MAX_VALUE;
-        int maxY = 0;
-
-        for (Point p : points) {
-            if (p.x < minX)
-                minX = p.x;
-            if (p.x > maxX)
-                maxX = p.x;
-            if (p.y < minY)
-                minY = p.y;
-            if (p.y > maxY)
-                maxY = p.y;
-        }
-
-        int xRange = maxX - minX;
-        int yRange = maxY - minY;
-
-        Random random = new Random();
-        for (int i = 0; i < k; i++) {
-            int x = random.nextInt(xRange) + minX;
-            int y = random.nextInt(yRange) + minY;
-            centroids[i] = new Point(x, y);
-        }
-
-        return centroids;
+    /** Number of points assigned by each parallel task */
+    private static final int ASSIGN_CHUNK_SIZE = 4096;
+
+    /** Seed used when no random number generator is given, so that results are reproducible */
+    public static final long DEFAULT_SEED = 0x5eed;
+
+    /**
+     * Result of clustering a set of points: the centroid of each cluster and the cluster each point belongs to.
+     */
+    public static class Clustering {
+        private final int[] centroidX;
+        private final int[] centroidY;
+        private final int[] assignment;
+        private int[][] members;
+
+        private Clustering(int[] centroidX, int[] centroidY, int[] assignment) {
+            this.centroidX = centroidX;
+            this.centroidY = centroidY;
+            this.assignment = assignment;
+        }
+
+        /** @return Number of clusters */
+        public int getK() {
+            return centroidX.length;
+        }
+
+        public int getCentroidX(int cluster) {
+            return centroidX[cluster];
+        }
+
+        public int getCentroidY(int cluster) {
+            return centroidY[cluster];
+        }
+
+        /** @return The cluster of the given point */
+        public int getCluster(int point) {
+            return assignment[point];
+        }
+
+        /** @return The indices of the points in the given cluster, in ascending order */
+        public int[] getMembers(int cluster) {
+            if (members == null) {
+                int[] sizes = new int[getK()];
+                for (int c : assignment) {
+                    sizes[c]++;
+                }
+                members = new int[getK()][];
+                for (int c = 0; c < members.length; c++) {
+                    members[c] = new int[sizes[c]];
+                }
+                Arrays.fill(sizes, 0);
+                for (int p = 0; p < assignment.length; p++) {
+                    int c = assignment[p];
+                    members[c][sizes[c]++] = p;
+                }
+            }
+            return members[cluster];
+        }
+    }
+
+    private static int distance(int x0, int y0, int x1, int y1) {
+        return Math.abs(x0 - x1) + Math.abs(y0 - y1);
+    }
+
+    /**
+     * Seeds centroids with k-means++: the first centroid is a random point, each further centroid is a point
+     * chosen with probability proportional to its squared distance to the nearest centroid chosen so far.
+     */
+    private static void initializeCentroids(int[] x, int[] y, int[] centroidX, int[] centroidY, Random random) {
+        int n = x.length;
+        int k = centroidX.length;
+        int first = random.nextInt(n);
+        centroidX[0] = x[first];
+        centroidY[0] = y[first];
+        long[] minDistSq = new long[n];
+        long total = 0;
+        for (int p = 0; p < n; p++) {
+            long d = distance(x[p], y[p], centroidX[0], centroidY[0]);
+            minDistSq[p] = d * d;
+            total += minDistSq[p];
+        }
+        for (int c = 1; c < k; c++) {
+            int chosen;
+            if (total == 0) {
+                // All points coincide with centroids already chosen
+                chosen = random.nextInt(n);
+            } else {
+                long r = (long) (random.nextDouble() * total);
+                chosen = n - 1;
+                for (int p = 0; p < n; p++) {
+                    r -= minDistSq[p];
+                    if (r < 0) {
+                        chosen = p;
+                        break;
+                    }
+                }
+            }
+            centroidX[c] = x[chosen];
+            centroidY[c] = y[chosen];
+            total = 0;
+            for (int p = 0; p < n; p++) {
+                long d = distance(x[p], y[p], centroidX[c], centroidY[c]);
+                minDistSq[p] = Math.min(minDistSq[p], d * d);
+                total += minDistSq[p];
+            }
+        }
+    }
+
+    /**
+     * Assigns every point to its nearest centroid, in parallel.
+     * @return True if any assignment changed.
+     */
+    private static boolean assignToNearest(int[] x, int[] y, int[] centroidX, int[] centroidY, int[] assignment) {
+        int n = x.length;
+        int numChunks = (n + ASSIGN_CHUNK_SIZE - 1) / ASSIGN_CHUNK_SIZE;
+        boolean[] changed = new boolean[numChunks];
+        Runnable[] tasks = new Runnable[numChunks];
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            final int idx = chunk;
+            tasks[chunk] = () -> {
+                int to = Math.min(n, (idx + 1) * ASSIGN_CHUNK_SIZE);
+                for (int p = idx * ASSIGN_CHUNK_SIZE; p < to; p++) {
+                    int nearest = -1;
+                    int nearestDist = Integer.MAX_VALUE;
+                    for (int c = 0; c < centroidX.length; c++) {
+                        int dist = distance(x[p], y[p], centroidX[c], centroidY[c]);
+                        if (dist < nearestDist) {
+                            nearestDist = dist;
+                            nearest = c;
+                        }
+                    }
+                    if (assignment[p] != nearest) {
+                        assignment[p] = nearest;
+                        changed[idx] = true;
+                    }
+                }
+            };
+        }
+        ParallelismTools.invokeAll(tasks);
+        for (boolean c : changed) {
+            if (c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves each centroid to the mean of its cluster. The centroid of an empty cluster is moved to the point
+     * furthest from its own centroid, which is then reassigned to it.
+     */
+    private static void updateCentroids(int[] x, int[] y, int[] centroidX, int[] centroidY, int[] assignment) {
+        int k = centroidX.length;
+        long[] sumX = new long[k];
+        long[] sumY = new long[k];
+        int[] count = new int[k];
+        for (int p = 0; p < x.length; p++) {
+            int c = assignment[p];
+            sumX[c] += x[p];
+            sumY[c] += y[p];
+            count[c]++;
+        }
+        for (int c = 0; c < k; c++) {
+            if (count[c] > 0) {
+                centroidX[c] = (int) (sumX[c] / count[c]);
+                centroidY[c] = (int) (sumY[c] / count[c]);
+            }
+        }
+        for (int c = 0; c < k; c++) {
+            if (count[c] > 0) {
+                continue;
+            }
+            int furthest = -1;
+            int furthestDist = 0;
+            for (int p = 0; p < x.length; p++) {
+                int owner = assignment[p];
+                int dist = distance(x[p], y[p], centroidX[owner], centroidY[owner]);
+                if (count[owner] > 1 && dist > furthestDist) {
+                    furthestDist = dist;
+                    furthest = p;
+                }
+            }
+            if (furthest < 0) {
+                // Fewer distinct points than clusters
+                break;
+            }
+            count[assignment[furthest]]--;
+            assignment[furthest] = c;
+            count[c] = 1;
+            centroidX[c] = x[furthest];
+            centroidY[c] = y[furthest];
+        }
+    }
+
+    private static void checkArguments(int[] x, int[] y, int k) {
+        if (x.length != y.length) {
+            throw new RuntimeException("ERROR: Coordinate arrays differ in length");
+        }
+        if (x.length == 0 || k < 1) {
+            throw new RuntimeException("ERROR: Cannot partition " + x.length + " points into " + k + " clusters");
+        }
+    }
+
+    /**
+     * Partitions a set of points into k clusters.
+     * @param x X coordinates of the points.
+     * @param y Y coordinates of the points.
+     * @param k The number of desired clusters.
+     * @param maxIters The maximum number of iterations to run before achieving convergence.
+     * @param random Random number generator used for seeding.
+     * @return The resulting clustering.
+     */
+    public static Clustering kmeans(int[] x, int[] y, int k, int maxIters, Random random) {
+        checkArguments(x, y, k);
+        int[] centroidX = new int[k];
+        int[] centroidY = new int[k];
+        initializeCentroids(x, y, centroidX, centroidY, random);
+        int[] assignment = new int[x.length];
+        Arrays.fill(assignment, -1);
+        for (int m = 0; m < maxIters; m++) {
+            if (!assignToNearest(x, y, centroidX, centroidY, assignment) && m > 0) {
+                break;
+            }
+            updateCentroids(x, y, centroidX, centroidY, assignment);
+        }
+        return new Clustering(centroidX, centroidY, assignment);
+    }
+
+    public static Clustering kmeans(int[] x, int[] y, int k, int maxIters) {
+        return kmeans(x, y, k, maxIters, new Random(DEFAULT_SEED));
+    }
+
+    /**
+     * Assigns points to centroids such that the total weight of each cluster does not exceed the given capacity
+     * (unless a single point is heavier than the remaining capacity of every cluster). Points with the most to lose
+     * from not getting their nearest centroid are assigned first.
+     * @return True if any assignment changed.
+     */
+    private static boolean assignWithCapacity(int[] x, int[] y, int[] weight, long capacity, int[] centroidX,
+                                              int[] centroidY, int[] assignment) {
+        int n = x.length;
+        int k = centroidX.length;
+        int[] nearest = new int[n];
+        long[] regret = new long[n];
+        int numChunks = (n + ASSIGN_CHUNK_SIZE - 1) / ASSIGN_CHUNK_SIZE;
+        Runnable[] tasks = new Runnable[numChunks];
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            final int from = chunk * ASSIGN_CHUNK_SIZE;
+            final int to = Math.min(n, from + ASSIGN_CHUNK_SIZE);
+            tasks[chunk] = () -> {
+                for (int p = from; p < to; p++) {
+                    int best = Integer.MAX_VALUE;
+                    int second = Integer.MAX_VALUE;
+                    for (int c = 0; c < k; c++) {
+                        int dist = distance(x[p], y[p], centroidX[c], centroidY[c]);
+                        if (dist < best) {
+                            second = best;
+                            best = dist;
+                            nearest[p] = c;
+                        } else if (dist < second) {
+                            second = dist;
+                        }
+                    }
+                    regret[p] = (second == Integer.MAX_VALUE ? 0 : (long) second - best) * Math.max(1, weight[p]);
+                }
+            };
+        }
+        ParallelismTools.invokeAll(tasks);
+
+        Integer[] order = new Integer[n];
+        for (int p = 0; p < n; p++) {
+            order[p] = p;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int cmp = Long.compare(regret[b], regret[a]);
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        });
+
+        long[] load = new long[k];
+        boolean changed = false;
+        for (int p : order) {
+            int chosen = -1;
+            if (load[nearest[p]] + weight[p] <= capacity) {
+                chosen = nearest[p];
+            } else {
+                int chosenDist = Integer.MAX_VALUE;
+                for (int c = 0; c < k; c++) {
+                    int dist = distance(x[p], y[p], centroidX[c], centroidY[c]);
+                    if (load[c] + weight[p] <= capacity && dist < chosenDist) {
+                        chosenDist = dist;
+                        chosen = c;
+                    }
+                }
+                if (chosen < 0) {
+                    // No cluster has room, use the least loaded one
+                    chosen = 0;
+                    for (int c = 1; c < k; c++) {
+                        if (load[c] < load[chosen]) {
+                            chosen = c;
+                        }
+                    }
+                }
+            }
+            load[chosen] += weight[p];
+            if (assignment[p] != chosen) {
+                assignment[p] = chosen;
+                changed = true;
+            }
+        }
+        return changed;
     }
 
-    private static int getNearestCentroidIdx(Point point, Point[] centroids) {
-        int nearestCentroidIdx = -1;
-        int nearestCentroidDist = Integer.MAX_VALUE;
-        for (int i = 0; i < centroids.length; i++) {
-            int dist = point.getManhattanDistance(centroids[i]);
-            if (dist < nearestCentroidDist) {
-                nearestCentroidDist = dist;
-                nearestCentroidIdx = i;
+    /**
+     * Partitions a set of weighted points into k clusters, such that the total weight of each cluster is at most
+     * the total weight divided by k (rounded up), where possible. For example, when points are sink locations
+     * weighted by the number of sinks there, this balances the fan out of each cluster.
+     * @param x X coordinates of the points.
+     * @param y Y coordinates of the points.
+     * @param weight Non-negative weight of each point.
+     * @param k The number of desired clusters.
+     * @param maxIters The maximum number of iterations to run before achieving convergence.
+     * @param random Random number generator used for seeding.
+     * @return The resulting clustering.
+     */
+    public static Clustering kmeansBalanced(int[] x, int[] y, int[] weight, int k, int maxIters, Random random) {
+        checkArguments(x, y, k);
+        long totalWeight = 0;
+        for (int w : weight) {
+            totalWeight += w;
+        }
+        long capacity = (totalWeight + k - 1) / k;
+        // Start from an unconstrained clustering
+        Clustering clustering = kmeans(x, y, k, maxIters, random);
+        int[] centroidX = clustering.centroidX;
+        int[] centroidY = clustering.centroidY;
+        int[] assignment = clustering.assignment;
+        for (int m = 0; m < maxIters; m++) {
+            if (!assignWithCapacity(x, y, weight, capacity, centroidX, centroidY, assignment) && m > 0) {
+                break;
             }
+            updateCentroids(x, y, centroidX, centroidY, assignment);
         }
-        return nearestCentroidIdx;
+        // Centroid updates may have moved empty clusters' points, so settle the final assignment
+        assignWithCapacity(x, y, weight, capacity, centroidX, centroidY, assignment);
+        return new Clustering(centroidX, centroidY, assignment);
+    }
+
+    public static Clustering kmeansBalanced(int[] x, int[] y, int[] weight, int k, int maxIters) {
+        return kmeansBalanced(x, y, weight, k, maxIters, new Random(DEFAULT_SEED));
     }
 
     public static Point calculateCentroid(List<Point> cluster) {
@@ -106,39 +414,22 @@ public class KMeans {
      *         cluster.
      */
     public static Map<Point, List<Point>> kmeansClustering(Collection<Point> points, int k, int maxIters) {
-        // Generate random centroids within point ranges
-        Point[] centroids = initializeCentroids(points, k);
-
-        List<List<Point>> clusters = null;
-        for (int m = 0; m < maxIters; m++) {
-            // Assign points to nearest centroid (Manhattan distance)
-            clusters = new ArrayList<>(k);
-            for (int i = 0; i < k; i++) {
-                clusters.add(new ArrayList<>(points.size() / k));
-            }
-            for (Point point : points) {
-                int idx = getNearestCentroidIdx(point, centroids);
-                clusters.get(idx).add(point);
-            }
-
-            // Calculate new centroids based on current cluster assignments
-            Point[] newCentroids = new Point[k];
-            for (int i = 0; i < k; i++) {
-                List<Point> cluster = clusters.get(i);
-                newCentroids[i] = cluster.isEmpty() ? centroids[i] : calculateCentroid(cluster);
-            }
-
-            // Check to see if the centroids have settled
-            boolean converged = Arrays.deepEquals(centroids, newCentroids);
-            centroids = newCentroids;
-            if (converged) {
-                break;
-            }
+        List<Point> pointList = new ArrayList<>(points);
+        int[] x = new int[pointList.size()];
+        int[] y = new int[pointList.size()];
+        for (int p = 0; p < x.length; p++) {
+            x[p] = pointList.get(p).x;
+            y[p] = pointList.get(p).y;
         }
+        Clustering clustering = kmeans(x, y, k, maxIters);
 
         Map<Point, List<Point>> centroidClusterMap = new HashMap<>();
-        for (int i = 0; i < k; i++) {
-            centroidClusterMap.put(centroids[i], clusters.get(i));
+        for (int c = 0; c < k; c++) {
+            List<Point> cluster = centroidClusterMap.computeIfAbsent(
+                    new Point(clustering.getCentroidX(c), clustering.getCentroidY(c)), (key) -> new ArrayList<>());
+            for (int p : clustering.getMembers(c)) {
+                cluster.add(pointList.get(p));
+            }
         }
 
         return centroidClusterMap;
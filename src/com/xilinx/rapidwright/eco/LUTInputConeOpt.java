@@ -25,12 +25,17 @@ package com.xilinx.rapidwright.eco;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Future;
 
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
@@ -46,9 +51,16 @@ import com.xilinx.rapidwright.edif.EDIFHierCellInst;
 import com.xilinx.rapidwright.edif.EDIFHierNet;
 import com.xilinx.rapidwright.edif.EDIFHierPortInst;
 import com.xilinx.rapidwright.edif.EDIFNet;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.edif.EDIFPortInst;
 import com.xilinx.rapidwright.edif.EDIFTools;
 import com.xilinx.rapidwright.placer.blockplacer.Point;
+import com.xilinx.rapidwright.timing.TimingEdge;
+import com.xilinx.rapidwright.timing.TimingGraph;
+import com.xilinx.rapidwright.timing.TimingManager;
+import com.xilinx.rapidwright.timing.TimingVertex;
+import com.xilinx.rapidwright.util.Pair;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.Utils;
 
 /**
@@ -58,62 +70,296 @@ import com.xilinx.rapidwright.util.Utils;
  */
 public class LUTInputConeOpt {
 
+    /** Default number of critical paths examined by {@link #optimizeCriticalPaths(Design, int)} */
+    public static final int DEFAULT_MAX_PATHS = 100;
+
     /**
-     * Optimizes the LUT input cone being driven by the provided pin such that
-     * chained small LUTs can be replaced by a larger LUT instance. Limited to a
-     * single replacement LUT at a time (up to 6 inputs).
-     * 
-     * @param design The current design
-     * @param input  Input pin driven by a series of LUTs that should be optimized
-     *               into a single LUT.
-     * @return Returns the resulting cell that was the result of the optimization or
-     *         null if no changes were made.
+     * A cone of LUTs driving an input pin, which may be collapsed into a single
+     * LUT. See {@link #getInputCone(EDIFHierPortInst)}.
      */
-    public static Cell optimizedLUTInputCone(Design design, EDIFHierPortInst input) {
+    public static class LUTCone {
+        private final EDIFHierPortInst input;
+        private final EDIFHierPortInst rootOutput;
+        private final Map<EDIFHierPortInst, EDIFHierNet> sourceNets;
+        private final Set<String> luts;
+        private final int depth;
+        private String init;
+        private List<EDIFHierPortInst> sharedSinks = Collections.emptyList();
+        private float arrival = Float.NaN;
+        private float estimatedArrival = Float.NaN;
+
+        private LUTCone(EDIFHierPortInst input, EDIFHierPortInst rootOutput,
+                Map<EDIFHierPortInst, EDIFHierNet> sourceNets, Set<String> luts, int depth) {
+            this.input = input;
+            this.rootOutput = rootOutput;
+            this.sourceNets = sourceNets;
+            this.luts = luts;
+            this.depth = depth;
+        }
+
+        /**
+         * @return The input pin driven by the cone.
+         */
+        public EDIFHierPortInst getInput() {
+            return input;
+        }
+
+        public EDIFHierCellInst getRootLUT() {
+            return rootOutput.getFullHierarchicalInst();
+        }
+
+        /**
+         * @return Map of the LUT input pins at the boundary of the cone to the
+         *         (non-LUT driven) nets connected to them.
+         */
+        public Map<EDIFHierPortInst, EDIFHierNet> getSourceNets() {
+            return sourceNets;
+        }
+
+        /**
+         * @return Full hierarchical names of the LUTs in the cone.
+         */
+        public Set<String> getLUTs() {
+            return luts;
+        }
+
+        /**
+         * @return Number of LUT levels on the longest path through the cone.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getInputCount() {
+            return sourceNets.size();
+        }
+
+        /**
+         * @return True if the cone has more than one level and can be replaced by a
+         *         single LUT of 2 to 6 inputs.
+         */
+        public boolean isCollapsible() {
+            return depth > 1 && getInputCount() >= 2 && getInputCount() <= 6;
+        }
+
+        /**
+         * @return Arrival time at the input pin before optimization, or NaN if not
+         *         known.
+         */
+        public float getArrival() {
+            return arrival;
+        }
+
+        /**
+         * @return Estimated arrival time at the input pin once the cone is
+         *         collapsed, or NaN if not known.
+         */
+        public float getEstimatedArrival() {
+            return estimatedArrival;
+        }
+
+        /**
+         * @return Estimated reduction of the arrival time at the input pin, or NaN if
+         *         not known.
+         */
+        public float getGain() {
+            return arrival - estimatedArrival;
+        }
+
+        @Override
+        public String toString() {
+            return input + " (" + getInputCount() + " inputs, " + depth + " levels, arrival " + arrival
+                    + " -> " + estimatedArrival + ")";
+        }
+    }
+
+    /**
+     * Finds the cone of LUTs driving the provided pin, stopping at nets driven by
+     * cells that are not LUTs. This only examines the netlist.
+     *
+     * @param input Input pin driven by a series of LUTs.
+     * @return The cone driving the pin or null if the pin is not driven by a LUT.
+     */
+    public static LUTCone getInputCone(EDIFHierPortInst input) {
+        return getInputCone(input, true);
+    }
+
+    /**
+     * Finds the cone of LUTs driving the provided pin, see
+     * {@link #getInputCone(EDIFHierPortInst)}.
+     *
+     * @param input               Input pin driven by a series of LUTs.
+     * @param throwOnUnconnected  If true, a LUT in the cone with an unconnected
+     *                            input is an error, otherwise null is returned.
+     * @return The cone driving the pin or null if the pin is not driven by a LUT.
+     */
+    private static LUTCone getInputCone(EDIFHierPortInst input, boolean throwOnUnconnected) {
         EDIFHierNet hierNet = input.getHierarchicalNet();
+        if (hierNet == null) {
+            return null;
+        }
         List<EDIFHierPortInst> srcs = hierNet.getLeafHierPortInsts(true, false);
-        assert (srcs.size() == 1);
-        EDIFHierPortInst src = srcs.get(0);
-        if (!LUTTools.isCellALUT(src.getFullHierarchicalInst().getInst())) {
+        if (srcs.size() != 1) {
+            return null;
+        }
+        EDIFHierPortInst rootOutput = srcs.get(0);
+        if (!LUTTools.isCellALUT(rootOutput.getFullHierarchicalInst().getInst())) {
             // If cell is not a LUT, we cannot combine it
             return null;
         }
 
-        EDIFHierCellInst rootLut = src.getFullHierarchicalInst();
-        Map<EDIFHierPortInst, EDIFHierNet> sourceNets = new HashMap<>();
+        Map<EDIFHierPortInst, EDIFHierNet> sourceNets = new LinkedHashMap<>();
+        // LUTs in the cone, each mapped to the LUTs driving its inputs
+        Map<String, List<String>> faninLUTs = new LinkedHashMap<>();
+        faninLUTs.put(rootOutput.getFullHierarchicalInstName(), new ArrayList<>());
         Queue<EDIFHierPortInst> q = new LinkedList<>();
-        q.add(src);
+        q.add(rootOutput);
         while (!q.isEmpty()) {
             EDIFHierPortInst lutOutput = q.poll();
+            List<String> fanin = faninLUTs.get(lutOutput.getFullHierarchicalInstName());
             for (EDIFHierPortInst lutPin : lutOutput.getFullHierarchicalInst().getHierPortInsts()) {
                 if (lutPin.isOutput()) {
                     continue;
                 }
                 EDIFHierNet currNet = lutPin.getHierarchicalNet();
                 if (currNet == null) {
+                    if (!throwOnUnconnected) {
+                        return null;
+                    }
                     throw new RuntimeException("ERROR: Unconnected input on LUT: "
                             + lutOutput.getFullHierarchicalInstName());
                 }
                 srcs = currNet.getLeafHierPortInsts(true, false);
-                assert (srcs.size() == 1);
-                src = srcs.get(0);
-                if (LUTTools.isCellALUT(src.getFullHierarchicalInst().getInst())) {
-                    q.add(src);
+                EDIFHierPortInst src = srcs.size() == 1 ? srcs.get(0) : null;
+                if (src != null && LUTTools.isCellALUT(src.getFullHierarchicalInst().getInst())) {
+                    String srcName = src.getFullHierarchicalInstName();
+                    fanin.add(srcName);
+                    if (faninLUTs.putIfAbsent(srcName, new ArrayList<>()) == null) {
+                        q.add(src);
+                    }
                 } else {
-                    sourceNets.put(lutPin, src.getHierarchicalNet());
+                    // Driven by a cell that is not a LUT (or not by a single leaf cell)
+                    sourceNets.put(lutPin, src == null ? currNet : src.getHierarchicalNet());
                 }
             }
         }
-        
-        int lutSize = sourceNets.size();
+        int depth = getDepth(rootOutput.getFullHierarchicalInstName(), faninLUTs, new HashMap<>());
+        return new LUTCone(input, rootOutput, sourceNets, faninLUTs.keySet(), depth);
+    }
+
+    /**
+     * Gets the number of LUT levels on the longest path from the cone's sources to
+     * a LUT, which is the number of LUT delays the path through it incurs.
+     */
+    private static int getDepth(String lut, Map<String, List<String>> faninLUTs, Map<String, Integer> depths) {
+        Integer depth = depths.get(lut);
+        if (depth != null) {
+            if (depth == 0) {
+                throw new RuntimeException("ERROR: Combinational loop through LUT: " + lut);
+            }
+            return depth;
+        }
+        // Mark as in progress, to detect loops
+        depths.put(lut, 0);
+        int maxFaninDepth = 0;
+        for (String fanin : faninLUTs.get(lut)) {
+            maxFaninDepth = Math.max(maxFaninDepth, getDepth(fanin, faninLUTs, depths));
+        }
+        depths.put(lut, maxFaninDepth + 1);
+        return maxFaninDepth + 1;
+    }
+
+    /**
+     * Optimizes the LUT input cone being driven by the provided pin such that
+     * chained small LUTs can be replaced by a larger LUT instance. Limited to a
+     * single replacement LUT at a time (up to 6 inputs).
+     * 
+     * @param design The current design
+     * @param input  Input pin driven by a series of LUTs that should be optimized
+     *               into a single LUT.
+     * @return Returns the resulting cell that was the result of the optimization or
+     *         null if no changes were made.
+     */
+    public static Cell optimizedLUTInputCone(Design design, EDIFHierPortInst input) {
+        LUTCone cone = getInputCone(input);
+        if (cone == null) {
+            return null;
+        }
+        int lutSize = cone.getInputCount();
         if (lutSize > 6) {
             throw new RuntimeException("ERROR: Unsupported LUT optimization, 6 maximum inputs "
-                    + "supported, found " + sourceNets.size());
+                    + "supported, found " + lutSize);
         }
         if (lutSize < 2) {
             // Do nothing, only a LUT1 in path
             return null;
         }
+        List<Point> points = getSourcePoints(design, cone);
+        Site site = null;
+        if (points.size() > 0) {
+            site = findSite(design, points, Collections.emptySet());
+            if (site == null) {
+                return null;
+            }
+        }
+        // else: no other connecting cell is placed, let's not place the cell
+        return replaceCone(design, cone, site, null);
+    }
+
+    private static Map<EDIFHierPortInst, String> getNewLUTInputs(LUTCone cone) {
+        Map<EDIFHierPortInst, String> newLutInputs = new LinkedHashMap<>();
+        for (EDIFHierPortInst lutPin : cone.sourceNets.keySet()) {
+            newLutInputs.put(lutPin, "I" + newLutInputs.size());
+        }
+        return newLutInputs;
+    }
+
+    /**
+     * @return Tile coordinates of the placed cells driving the inputs of a cone.
+     */
+    private static List<Point> getSourcePoints(Design design, LUTCone cone) {
+        List<Point> points = new ArrayList<>();
+        for (EDIFHierPortInst lutPin : cone.sourceNets.keySet()) {
+            Cell cell = lutPin.getPhysicalCell(design);
+            if (cell == null || cell.getTile() == null) {
+                // Cell is not placed, skip
+                continue;
+            }
+            Tile tile = cell.getTile();
+            points.add(new Point(tile.getColumn(), tile.getRow()));
+        }
+        return points;
+    }
+
+    /**
+     * Finds an empty site near the centroid of the given points.
+     * @param reserved Sites that are empty but must not be used.
+     * @return The site, or null if none could be found.
+     */
+    private static Site findSite(Design design, List<Point> points, Set<Site> reserved) {
+        Site centroid = ECOPlacementHelper.getCentroidOfPoints(design.getDevice(), points, Utils.sliceTypes);
+        Iterator<Site> itr = ECOPlacementHelper.spiralOutFrom(centroid).iterator();
+        while (itr.hasNext()) {
+            Site curr = itr.next();
+            if (design.getSiteInstFromSite(curr) == null && !reserved.contains(curr)) {
+                return curr;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces a cone with a single new LUT.
+     *
+     * @param site Empty site in which to place the new LUT, or null to leave it unplaced.
+     * @param eco  If not null, the disconnection and connection of the driven pin is
+     *             queued in this batch rather than performed immediately.
+     * @return The new LUT cell.
+     */
+    private static Cell replaceCone(Design design, LUTCone cone, Site site, ECOBatch eco) {
+        EDIFHierPortInst input = cone.input;
+
+        int lutSize = cone.getInputCount();
         EDIFCell optLut = design.getNetlist().getHDIPrimitivesLibrary().getCell("LUT" + lutSize);
         if (optLut == null) {
             optLut = Design.getUnisimCell(Unisim.valueOf("LUT" + lutSize));
@@ -129,53 +375,29 @@ public class LUTInputConeOpt {
                 targetParent);
         EDIFHierCellInst hierLutInst = input.getHierarchicalInst().getChild(lutInst);
 
-        int inputIdx = 0;
-        Map<EDIFHierPortInst, String> newLutInputs = new HashMap<>();
-        for (Entry<EDIFHierPortInst, EDIFHierNet> e : sourceNets.entrySet()) {
-            String pin = "I" + inputIdx;
+        Map<EDIFHierPortInst, String> newLutInputs = getNewLUTInputs(cone);
+        for (Entry<EDIFHierPortInst, String> e : newLutInputs.entrySet()) {
+            String pin = e.getValue();
             EDIFPortInst newLutInput = lutInst.getOrCreatePortInst(pin);
             EDIFHierPortInst currPin = new EDIFHierPortInst(input.getHierarchicalInst(), newLutInput);
             EDIFTools.connectPortInstsThruHier(e.getKey(), currPin, "opt_" + pin);
-            newLutInputs.put(e.getKey(), pin);
-            inputIdx++;
         }
 
         // Configure the LUT with an equation that is derived from the participating
         // source LUTs
-        String eq = getCombinedEquation(rootLut, sourceNets, newLutInputs);
-        LUTTools.configureLUT(lutInst, eq);
-
-        ECOTools.disconnectNet(design, input);
-        
-        // Place the new LUT near the centroid of its sources
-        List<Point> points = new ArrayList<>();
-        for (Entry<EDIFHierPortInst, EDIFHierNet> e : sourceNets.entrySet()) {
-            Cell cell = e.getKey().getPhysicalCell(design);
-            if (cell == null || cell.getTile() == null) {
-                // Cell is not placed, skip
-                continue;
-            }
-            Tile tile = cell.getTile();
-            points.add(new Point(tile.getColumn(), tile.getRow()));
-        }
-        Cell physCell = null;
-        if (points.size() == 0) {
-            // No other connecting cell is placed, let's not place the cell
-            physCell = createAndConnectCell(design, hierLutInst, lutInst, input, null);
+        if (cone.init != null) {
+            lutInst.addProperty(LUTTools.LUT_INIT, cone.init);
         } else {
-            Site centroid = ECOPlacementHelper.getCentroidOfPoints(design.getDevice(), points, Utils.sliceTypes);
-            Iterator<Site> itr = ECOPlacementHelper.spiralOutFrom(centroid).iterator();
-            while (itr.hasNext()) {
-                Site curr = itr.next();
-                SiteInst candidate = design.getSiteInstFromSite(curr);
-                if (candidate == null) {
-                    physCell = createAndConnectCell(design, hierLutInst, lutInst, input, curr);
-                    break;
-                }
-            }
+            String eq = getCombinedEquation(cone.getRootLUT(), cone.sourceNets, newLutInputs);
+            LUTTools.configureLUT(lutInst, eq);
         }
 
-        return physCell;
+        if (eco == null) {
+            ECOTools.disconnectNet(design, input);
+        } else {
+            eco.disconnect(input);
+        }
+        return createAndConnectCell(design, hierLutInst, lutInst, input, site, eco);
     }
 
     private static List<EDIFHierPortInst> getSharedSinksInSite(Design design, EDIFHierPortInst input) {
@@ -203,7 +425,7 @@ public class LUTInputConeOpt {
     }
 
     private static Cell createAndConnectCell(Design design, EDIFHierCellInst hierLutInst, EDIFCellInst lutInst,
-            EDIFHierPortInst input, Site site) {
+            EDIFHierPortInst input, Site site, ECOBatch eco) {
         Cell physCell = design.createCell(hierLutInst.getFullHierarchicalInstName(), lutInst);
         if (site != null)
             design.placeCell(physCell, site, site.getBEL("A6LUT"));
@@ -222,10 +444,18 @@ public class LUTInputConeOpt {
                 System.out.println("[INFO]: Optimized pin is sharing a site pin with " + ehpi
                         + " and will also have its source swapped.");
             }
-            ECOTools.disconnectNet(design, otherPins);
+            if (eco == null) {
+                ECOTools.disconnectNet(design, otherPins);
+            } else {
+                eco.disconnect(otherPins);
+            }
             pinsToConnect.addAll(otherPins);
         }
 
+        if (eco != null) {
+            eco.connect(hierLutOutput, pinsToConnect);
+            return physCell;
+        }
         Map<EDIFHierNet, List<EDIFHierPortInst>> map = new HashMap<>();
         map.put(hierLutOutput, pinsToConnect);
         ECOTools.connectNet(design, map, null);
@@ -270,14 +500,241 @@ public class LUTInputConeOpt {
         return eq.replace("Q", "I");
     }
 
+    private static String getVertexName(EDIFHierPortInst ehpi) {
+        return ehpi.getFullHierarchicalInstName() + EDIFTools.EDIF_HIER_SEP + ehpi.getPortInst().getName();
+    }
+
+    /**
+     * Finds the cone driving an input pin and, if it is collapsible, computes the
+     * INIT of the replacement LUT and an estimate of the arrival time at the pin
+     * once replaced. Only reads the design, so may be called in parallel.
+     */
+    private static LUTCone evaluateCone(Design design, EDIFHierPortInst input, Map<String, TimingVertex> vertices) {
+        LUTCone cone = getInputCone(input, false);
+        if (cone == null || !cone.isCollapsible()) {
+            return null;
+        }
+        String eq = getCombinedEquation(cone.getRootLUT(), cone.sourceNets, getNewLUTInputs(cone));
+        cone.init = LUTTools.getLUTInitFromEquation(eq, cone.getInputCount());
+        cone.sharedSinks = getSharedSinksInSite(design, input);
+
+        // Re-time the cone: the replacement LUT sees the latest of the cone's inputs,
+        // followed by the logic delay of the root LUT and the existing last hop
+        TimingVertex inputVertex = vertices.get(getVertexName(input));
+        TimingVertex rootVertex = vertices.get(getVertexName(cone.rootOutput));
+        if (inputVertex == null || rootVertex == null) {
+            return cone;
+        }
+        float latestRootInput = Float.NEGATIVE_INFINITY;
+        for (EDIFHierPortInst lutPin : cone.getRootLUT().getHierPortInsts()) {
+            TimingVertex v = lutPin.isOutput() ? null : vertices.get(getVertexName(lutPin));
+            if (v != null) {
+                latestRootInput = Math.max(latestRootInput, v.getArrivalTime());
+            }
+        }
+        float latestSource = Float.NEGATIVE_INFINITY;
+        for (EDIFHierPortInst lutPin : cone.sourceNets.keySet()) {
+            TimingVertex v = vertices.get(getVertexName(lutPin));
+            if (v == null) {
+                return cone;
+            }
+            latestSource = Math.max(latestSource, v.getArrivalTime());
+        }
+        if (latestRootInput == Float.NEGATIVE_INFINITY) {
+            return cone;
+        }
+        cone.arrival = inputVertex.getArrivalTime();
+        float rootLogicDelay = rootVertex.getArrivalTime() - latestRootInput;
+        float lastHopDelay = cone.arrival - rootVertex.getArrivalTime();
+        cone.estimatedArrival = latestSource + rootLogicDelay + lastHopDelay;
+        return cone;
+    }
+
+    /**
+     * Collects the input pins on the most critical paths of a design.
+     */
+    private static List<EDIFHierPortInst> getCriticalPathInputs(Design design, TimingGraph graph, int maxPaths) {
+        TimingVertex superSink = graph.getMaxDelay().getSecond();
+        List<TimingVertex> endpoints = new ArrayList<>();
+        for (TimingEdge e : graph.incomingEdgesOf(superSink)) {
+            endpoints.add(e.getSrc());
+        }
+        endpoints.sort((a, b) -> Float.compare(b.getArrivalTime(), a.getArrivalTime()));
+
+        EDIFNetlist netlist = design.getNetlist();
+        Set<EDIFHierPortInst> inputs = new LinkedHashSet<>();
+        for (TimingVertex endpoint : endpoints.subList(0, Math.min(maxPaths, endpoints.size()))) {
+            for (TimingEdge e : graph.getCriticalTimingEdgesInOrder(endpoint)) {
+                EDIFHierPortInst ehpi = netlist.getHierPortInstFromName(e.getDst().getName());
+                if (ehpi != null && ehpi.isInput()) {
+                    inputs.add(ehpi);
+                }
+            }
+        }
+        return new ArrayList<>(inputs);
+    }
+
+    /**
+     * Optimizes LUT cones on the most critical paths of a placed and routed design.
+     * See {@link #optimizeCriticalPaths(Design, TimingManager, int)}.
+     *
+     * @param design   The current design.
+     * @param maxPaths The number of most critical paths to examine.
+     * @return The cones that were replaced, and the changes made to the design.
+     */
+    public static Pair<List<LUTCone>, ECOBatch.ChangeLog> optimizeCriticalPaths(Design design, int maxPaths) {
+        return optimizeCriticalPaths(design, new TimingManager(design), maxPaths);
+    }
+
+    /**
+     * Optimizes LUT cones on the most critical paths of a placed and routed design.
+     * Every input pin on the top critical paths that is driven by a collapsible LUT
+     * cone is a candidate; candidates are evaluated in parallel, including their
+     * combined LUT equation and an estimate of the arrival time after replacement
+     * derived from the existing timing graph. Cones without a positive estimated
+     * gain are skipped. The cones with the largest estimated gain are then
+     * selected such that no two share a LUT or a driven pin, and
+     * all replacements are connected in a single {@link ECOBatch}.
+     * <p>
+     * The gain is only estimated before the change is made, from the existing
+     * timing graph: the replacement LUT is assumed to have the logic delay of the
+     * old root LUT and to drive the input with the delay of the old last hop. The
+     * site of the replacement LUT and the routing to and from it are not taken into
+     * account, so the design should be re-timed once routed to measure the actual gain.
+     * <p>
+     * Every selected replacement is checked (its driven pins are connected and an
+     * empty site is available) before the design is modified. Should the batch
+     * still fail to commit, the new LUTs and their output nets are removed again
+     * before the exception is rethrown; hierarchical ports created to bring the
+     * cones' sources into the LUTs' parent cells are left in place.
+     *
+     * @param design        The current design.
+     * @param timingManager Timing manager of the design.
+     * @param maxPaths      The number of most critical paths to examine.
+     * @return The cones that were replaced, and the changes made to the design,
+     *         whose unrouted pins should be routed afterwards.
+     */
+    public static Pair<List<LUTCone>, ECOBatch.ChangeLog> optimizeCriticalPaths(Design design,
+            TimingManager timingManager, int maxPaths) {
+        timingManager.calculateArrivalRequiredTimes();
+        TimingGraph graph = timingManager.getTimingGraph();
+        Map<String, TimingVertex> vertices = new HashMap<>();
+        for (TimingVertex v : graph.vertexSet()) {
+            vertices.put(v.getName(), v);
+        }
+
+        List<EDIFHierPortInst> inputs = getCriticalPathInputs(design, graph, maxPaths);
+        List<Future<LUTCone>> futures = ParallelismTools.invokeAll(inputs,
+                (input) -> evaluateCone(design, input, vertices));
+        List<LUTCone> cones = new ArrayList<>();
+        for (Future<LUTCone> future : futures) {
+            LUTCone cone = ParallelismTools.get(future);
+            // Skip cones that are estimated not to help, or that could not be timed
+            if (cone != null && cone.getGain() > 0) {
+                cones.add(cone);
+            }
+        }
+        cones.sort((a, b) -> {
+            int diff = Float.compare(b.getGain(), a.getGain());
+            if (diff == 0) {
+                diff = Integer.compare(b.depth, a.depth);
+            }
+            return diff != 0 ? diff : getVertexName(a.input).compareTo(getVertexName(b.input));
+        });
+
+        // Select cones that do not overlap with each other
+        Set<String> usedLuts = new HashSet<>();
+        Set<String> drivenCells = new HashSet<>();
+        Set<EDIFHierPortInst> drivenPins = new HashSet<>();
+        Set<Site> reservedSites = new HashSet<>();
+        List<LUTCone> replaced = new ArrayList<>();
+        List<Site> sites = new ArrayList<>();
+        nextCone: for (LUTCone cone : cones) {
+            List<EDIFHierPortInst> pins = new ArrayList<>(cone.sharedSinks);
+            pins.add(cone.input);
+            if (!Collections.disjoint(cone.luts, usedLuts) || !Collections.disjoint(cone.luts, drivenCells)) {
+                continue;
+            }
+            for (EDIFHierPortInst ehpi : pins) {
+                if (drivenPins.contains(ehpi) || usedLuts.contains(ehpi.getFullHierarchicalInstName())
+                        || ehpi.getNet() == null) {
+                    continue nextCone;
+                }
+            }
+            List<Point> points = getSourcePoints(design, cone);
+            Site site = null;
+            if (points.size() > 0) {
+                site = findSite(design, points, reservedSites);
+                if (site == null) {
+                    continue;
+                }
+                reservedSites.add(site);
+            }
+            usedLuts.addAll(cone.luts);
+            for (EDIFHierPortInst ehpi : pins) {
+                drivenPins.add(ehpi);
+                drivenCells.add(ehpi.getFullHierarchicalInstName());
+            }
+            replaced.add(cone);
+            sites.add(site);
+        }
+
+        // Only modify the design once all replacements have been selected and checked
+        ECOBatch eco = new ECOBatch(design);
+        List<Cell> createdLuts = new ArrayList<>();
+        try {
+            for (int i = 0; i < replaced.size(); i++) {
+                createdLuts.add(replaceCone(design, replaced.get(i), sites.get(i), eco));
+            }
+            ECOBatch.ChangeLog log = eco.commit();
+            return new Pair<>(replaced, log);
+        } catch (RuntimeException e) {
+            removeLUTs(design, replaced, createdLuts);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the LUTs created by {@link #replaceCone(Design, LUTCone, Site, ECOBatch)}
+     * for the given cones, together with their output nets (if still unconnected) and
+     * their site instances (if left empty).
+     */
+    private static void removeLUTs(Design design, List<LUTCone> cones, List<Cell> luts) {
+        for (int i = 0; i < luts.size(); i++) {
+            Cell lut = luts.get(i);
+            EDIFHierCellInst ehci = lut.getEDIFHierCellInst();
+            SiteInst si = lut.getSiteInst();
+            EDIFNet output = cones.get(i).input.getParentCell().getNet(ehci.getInst().getName());
+            ECOTools.removeCell(design, Collections.singletonList(ehci), null);
+            if (output != null && output.getPortInsts().isEmpty()) {
+                output.getParentCell().removeNet(output);
+            }
+            if (si != null && si.getCells().isEmpty()) {
+                design.removeSiteInst(si);
+            }
+        }
+    }
+
     public static void main(String[] args) {
         if (args.length < 3) {
             System.out.println(
                     "USAGE: <input.dcp> <output> <Hierarchical input pin> [Hierarchical input pin...]");
+            System.out.println(
+                    "       <input.dcp> <output> --critical-paths [max paths, default " + DEFAULT_MAX_PATHS + "]");
             return;
         }
 
         Design d = Design.readCheckpoint(args[0]);
+        if (args[2].equals("--critical-paths")) {
+            int maxPaths = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_PATHS;
+            Pair<List<LUTCone>, ECOBatch.ChangeLog> result = optimizeCriticalPaths(d, maxPaths);
+            for (LUTCone cone : result.getFirst()) {
+                System.out.println("[INFO]: Optimized " + cone);
+            }
+            System.out.println("[INFO]: " + result.getSecond());
+            d.writeCheckpoint(args[1]);
+            return;
+        }
         for (int i = 2; i < args.length; i++) {
             EDIFHierPortInst portInst = d.getNetlist().getHierPortInstFromName(args[i]);
             if (optimizedLUTInputCone(d, portInst) == null) {
@@ -23,9 +23,12 @@
 package com.xilinx.rapidwright.placer.blockplacer;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 import com.xilinx.rapidwright.design.AbstractModuleInst;
+import com.xilinx.rapidwright.device.Device;
 
 /**
  * Manages overlap detection inside a Block Placer. This gets called to check if a moved module overlaps any other
@@ -77,4 +80,71 @@ public abstract class AbstractOverlapCache<PlacementT, ModuleInstT extends Abstr
     }
 
     public abstract void printStats();
+
+    /**
+     * Below this number of instances, checking all pairs is cheaper than maintaining any index
+     */
+    private static final int EXHAUSTIVE_THRESHOLD = 16;
+
+    /**
+     * Coefficient of variation of footprint sizes above which fixed-size regions become inefficient
+     */
+    private static final double MAX_REGION_SIZE_VARIATION = 0.5;
+
+    /**
+     * Create the overlap cache best suited to a set of instances. Few instances are checked exhaustively. Instances
+     * of similar, moderate size use a {@link RegionBasedOverlapCache}. If footprint sizes vary widely or some
+     * footprints span many regions, an {@link IntervalTreeOverlapCache} is used instead.
+     *
+     * The choice can be overridden by setting the property {@code rapidwright.blockplacer.overlapCache} to one of
+     * {@code exhaustive}, {@code region} or {@code interval}.
+     *
+     * @param device the device
+     * @param instances the instances to be placed
+     * @param footprintSize gets the larger dimension (in tiles) of an instance's footprint, independent of its
+     *                      current placement
+     * @return the overlap cache
+     */
+    public static <PlacementT, ModuleInstT extends AbstractModuleInst<?,PlacementT,? super ModuleInstT>>
+    AbstractOverlapCache<PlacementT, ModuleInstT> create(Device device, List<? extends ModuleInstT> instances,
+                                                         ToIntFunction<? super ModuleInstT> footprintSize) {
+        String type = System.getProperty("rapidwright.blockplacer.overlapCache");
+        if (type == null) {
+            type = chooseType(instances, footprintSize);
+        }
+        switch (type) {
+            case "exhaustive":
+                return new ExhaustiveOverlapCache<>(Collections.<ModuleInstT>unmodifiableList(instances));
+            case "region":
+                return new RegionBasedOverlapCache<>(device, instances);
+            case "interval":
+                return new IntervalTreeOverlapCache<>(instances);
+            default:
+                throw new RuntimeException("ERROR: Unknown overlap cache type '" + type + "'");
+        }
+    }
+
+    private static <ModuleInstT> String chooseType(List<? extends ModuleInstT> instances,
+                                                   ToIntFunction<? super ModuleInstT> footprintSize) {
+        if (instances.size() < EXHAUSTIVE_THRESHOLD) {
+            return "exhaustive";
+        }
+        double sum = 0;
+        double sumSquares = 0;
+        int max = 0;
+        for (ModuleInstT instance : instances) {
+            // Rectangles store inclusive bounds, count tiles
+            int size = footprintSize.applyAsInt(instance) + 1;
+            sum += size;
+            sumSquares += (double) size * size;
+            max = Math.max(max, size);
+        }
+        double mean = sum / instances.size();
+        double variance = Math.max(0, sumSquares / instances.size() - mean * mean);
+        double variation = Math.sqrt(variance) / mean;
+        if (variation > MAX_REGION_SIZE_VARIATION || max > 4 * RegionBasedOverlapCache.DEFAULT_REGION_SIZE) {
+            return "interval";
+        }
+        return "region";
+    }
 }
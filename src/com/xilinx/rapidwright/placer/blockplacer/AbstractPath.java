@@ -64,6 +64,24 @@ public abstract class AbstractPath<PortT, ModuleInstT extends AbstractModuleInst
 
     public abstract void calculateLength();
 
+    /**
+     * Updates the length of this path after one of its connected module instances was moved.
+     * Paths that can do so incrementally override this; by default the length is recalculated.
+     * @param moved The module instance that was moved.
+     */
+    public void updateLength(ModuleInstT moved) {
+        calculateLength();
+    }
+
+    /**
+     * Updates the length of this path after some of its connected module instances were moved, all at once.
+     * Paths that can do so incrementally override this; by default the length is recalculated once.
+     * @param moved The module instances that were moved (not all of which need to be connected to this path).
+     */
+    public void updateLength(List<? extends ModuleInstT> moved) {
+        calculateLength();
+    }
+
     public abstract String getName();
 
     public boolean connectsTo(ModuleInstT hm) {
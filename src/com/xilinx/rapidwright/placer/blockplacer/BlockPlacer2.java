@@ -49,6 +49,7 @@ import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.device.Site;
 import com.xilinx.rapidwright.device.SiteTypeEnum;
 import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * An alternate implementation of {@link BlockPlacer}.  This placer
@@ -126,10 +127,22 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
     private final double alpha;
     private final double beta;
 
-    private final boolean ignoreMostUsedNets;
-    private final boolean denseDesign;
-    private final float effort;
-    private final boolean focusOnWorstModules;
+    protected final boolean ignoreMostUsedNets;
+    protected final boolean denseDesign;
+    protected final float effort;
+    protected final boolean focusOnWorstModules;
+
+    /** Suppress per temperature step output (set for the replicas of a parallel tempering run) */
+    private boolean quiet = false;
+
+    /** Run analytical global placement before annealing? */
+    private boolean analyticalGlobalPlacement = Boolean.getBoolean("rapidwright.blockplacer2.analytical");
+
+    /** Start temperature of the annealer, relative to its usual value, after analytical global placement */
+    private static final double ANALYTICAL_START_TEMP_FACTOR = 0.05;
+
+    /** Maximum number of conjugate gradient iterations of analytical global placement, per dimension */
+    private static final int ANALYTICAL_MAX_ITERATIONS = 1000;
 
     // Update. Added variable to support partial .dcp
     public boolean save_partial_dcp = true;
@@ -142,6 +155,9 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
 
     private Map<ModuleT, AbstractValidPlacementCache<PlacementT>> possiblePlacements;
 
+    /** Placement of all hard macros (including those later pruned) computed by {@link #initialPlacement()} */
+    private Map<String, PlacementT> initialPlacementState;
+
     private Map<ModuleInstT, Site> lockedPlacements = null;
 
 
@@ -181,6 +197,15 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         this.lockedPlacements = lockedPlacements;
     }
 
+    /**
+     * Enables or disables analytical global placement (see {@link #analyticalPlacement()}) before annealing.
+     * Defaults to the value of the system property "rapidwright.blockplacer2.analytical".
+     * @param analyticalGlobalPlacement True to enable.
+     */
+    public void setAnalyticalGlobalPlacement(boolean analyticalGlobalPlacement) {
+        this.analyticalGlobalPlacement = analyticalGlobalPlacement;
+    }
+
     /**
      * Sets the random seed to be used in this placer
      * @param seed
@@ -247,23 +272,13 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
             unplaceDesign();
         }
 
-        possiblePlacements = new HashMap<>();
+        initializePossiblePlacements();
 
         // Place hard macros for initial placement
         for (ModuleInstT hm : hardMacros) {
             PriorityQueue<PlacementT> sites = new PriorityQueue<>(1024, getInitialPlacementComparator(placementArea));
 
-            final AbstractValidPlacementCache<PlacementT> placementCache = possiblePlacements.computeIfAbsent(hm.getModule(), module -> {
-                List<PlacementT> allPlacements = getAllPlacements(hm);
-
-                if (placementArea != null) {
-                    allPlacements = allPlacements.stream()
-                            .filter(p -> placementArea.isInside(getPlacementTile(p)))
-                            .collect(Collectors.toList());
-                }
-                return SortedValidPlacementCache.fromList(allPlacements, this, denseDesign);
-            });
-
+            final AbstractValidPlacementCache<PlacementT> placementCache = possiblePlacements.get(hm.getModule());
 
             sites.addAll(placementCache.getAll());
             boolean found = false;
@@ -284,7 +299,34 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         for (PathT path : allPaths) {
             path.calculateLength();
         }
+        initialPlacementState = getPlacementState();
+
+        pruneHardMacros();
+    }
 
+    /**
+     * Builds the cache of valid placements of every module being placed.
+     */
+    private void initializePossiblePlacements() {
+        possiblePlacements = new HashMap<>();
+        for (ModuleInstT hm : hardMacros) {
+            possiblePlacements.computeIfAbsent(hm.getModule(), module -> {
+                List<PlacementT> allPlacements = getAllPlacements(hm);
+
+                if (placementArea != null) {
+                    allPlacements = allPlacements.stream()
+                            .filter(p -> placementArea.isInside(getPlacementTile(p)))
+                            .collect(Collectors.toList());
+                }
+                return SortedValidPlacementCache.fromList(allPlacements, this, denseDesign);
+            });
+        }
+    }
+
+    /**
+     * Removes hard macros with too few placements to be worth moving from the list of hard macros being placed.
+     */
+    private void pruneHardMacros() {
         ArrayList<ModuleInstT> prunedList = new ArrayList<>();
         for (ModuleInstT hm : new ArrayList<>(hardMacros)) {
             if (getAllPlacements(hm).size() > 2) prunedList.add(hm);
@@ -405,13 +447,297 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
     protected abstract PlacementT getTempAnchorSite(ModuleInstT mi);
 
     public double placeDesign(boolean debugFlow) {
-        rand = new Random(seed);
-        boolean finished = false;
-        double r;
-        //MessageGenerator.printHeader(this.getClass().getCanonicalName());
         long start = System.currentTimeMillis();
-        //System.out.println("Initialization Time: " + ((System.currentTimeMillis()-start)/1000.0) + " secs");
-        start = System.currentTimeMillis();
+        int maxInnerIteration = initializeAnnealing(debugFlow);
+        boolean finished = hardMacros.size() < 2 || allPaths.size() == 0;
+        OUTER: while (!finished) {
+            annealingStep(maxInnerIteration);
+
+            currentTemp = updateTemperature();
+
+            if (currentTemp < 0.005 * (prevSystemCost /allPaths.size())) {
+                finished = true;
+                //WriteFinalCost(prevSystemCost);
+            }
+        } //Outer loop
+
+        return finishAnnealing(maxInnerIteration, start);
+    }
+
+    /**
+     * Places the design using parallel tempering: numReplicas annealing chains, each with its own
+     * placement state and overlap cache, run concurrently (using {@link ParallelismTools}) at fixed
+     * temperatures spread geometrically between the start temperature and the final temperature of
+     * {@link #placeDesign(boolean)}. After every temperature step, replicas at adjacent temperatures
+     * exchange temperatures according to the Metropolis criterion. The best placement found at the end
+     * of any step is then restored and refined by a final zero-temperature step.
+     *
+     * The result is deterministic for a given seed (see {@link #setSeed(long)}), regardless of the
+     * number of threads. Placers that do not support replicas (see {@link #createReplica()}) fall back
+     * to {@link #placeDesign(boolean)}.
+     * @param debugFlow Passed to {@link #initializePlacer(boolean)}.
+     * @param numReplicas Number of annealing chains.
+     * @return The final system cost.
+     */
+    public double placeDesign(boolean debugFlow, int numReplicas) {
+        if (numReplicas < 2) {
+            return placeDesign(debugFlow);
+        }
+        List<BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT>> replicas = new ArrayList<>();
+        replicas.add(this);
+        for (int i = 1; i < numReplicas; i++) {
+            BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> replica = createReplica();
+            if (replica == null) {
+                System.out.println("WARNING: " + getClass().getSimpleName() +
+                        " does not support parallel tempering, running a single annealing chain");
+                return placeDesign(debugFlow);
+            }
+            replicas.add(replica);
+        }
+
+        long start = System.currentTimeMillis();
+        int maxInnerIteration = initializeAnnealing(debugFlow);
+        if (hardMacros.size() < 2 || allPaths.size() == 0) {
+            return finishAnnealing(maxInnerIteration, start);
+        }
+
+        for (int i = 1; i < numReplicas; i++) {
+            BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> replica = replicas.get(i);
+            replica.quiet = true;
+            replica.seed = seed + i;
+            replica.rand = new Random(replica.seed);
+            replica.initializePlacer(debugFlow);
+            // Start from this placer's placement, instead of searching for an initial placement that
+            // would be replaced anyway. Hard macros pruned from this placer keep their initial placement.
+            replica.initializePossiblePlacements();
+            Map<String, PlacementT> state = new HashMap<>(initialPlacementState);
+            state.putAll(getPlacementState());
+            replica.setPlacementState(state);
+            replica.pruneHardMacros();
+            replica.bestSoFar = replica.currSystemCost;
+            replica.rangeLimit = replica.getMaxRangeLimit();
+        }
+
+        // Geometric temperature ladder, from the start temperature down to where placeDesign() stops
+        double hotTemp = currentTemp;
+        double coldTemp = 0.005 * (prevSystemCost / allPaths.size());
+        if (!(coldTemp > 0 && coldTemp < hotTemp)) {
+            coldTemp = hotTemp * 0.01;
+        }
+        double ratio = Math.pow(coldTemp / hotTemp, 1.0 / (numReplicas - 1));
+        List<BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT>> bySlot = new ArrayList<>(replicas);
+        for (int i = 0; i < numReplicas; i++) {
+            bySlot.get(i).currentTemp = hotTemp * Math.pow(ratio, i);
+        }
+        // As many steps as a single chain cooling at the slowest rate would take
+        int numRounds = Math.max(1, (int) Math.ceil(Math.log(coldTemp / hotTemp) / Math.log(0.95)));
+
+        Random exchangeRand = new Random(seed);
+        double bestCost = prevSystemCost;
+        Map<String, PlacementT> bestState = getPlacementState();
+        Runnable[] steps = new Runnable[numReplicas];
+        for (int i = 0; i < numReplicas; i++) {
+            BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> replica = replicas.get(i);
+            steps[i] = () -> replica.annealingStep(maxInnerIteration);
+        }
+        for (int round = 0; round < numRounds; round++) {
+            ParallelismTools.invokeAll(steps);
+
+            for (BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> replica : bySlot) {
+                if (replica.prevSystemCost < bestCost) {
+                    bestCost = replica.prevSystemCost;
+                    bestState = replica.getPlacementState();
+                }
+            }
+
+            // Attempt exchanges between even or odd pairs of adjacent temperatures, alternately
+            for (int i = round % 2; i + 1 < numReplicas; i += 2) {
+                BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> hot = bySlot.get(i);
+                BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> cold = bySlot.get(i + 1);
+                double delta = (1.0 / hot.currentTemp - 1.0 / cold.currentTemp) *
+                        (hot.prevSystemCost - cold.prevSystemCost);
+                if (delta >= 0 || exchangeRand.nextDouble() < Math.exp(delta)) {
+                    double temp = hot.currentTemp;
+                    hot.currentTemp = cold.currentTemp;
+                    cold.currentTemp = temp;
+                    double range = hot.rangeLimit;
+                    hot.rangeLimit = cold.rangeLimit;
+                    cold.rangeLimit = range;
+                    bySlot.set(i, cold);
+                    bySlot.set(i + 1, hot);
+                }
+            }
+        }
+
+        for (int i = 1; i < numReplicas; i++) {
+            totalMoves += replicas.get(i).totalMoves;
+        }
+        rangeLimit = bySlot.get(numReplicas - 1).rangeLimit;
+        setPlacementState(bestState);
+        bestSoFar = prevSystemCost;
+        return finishAnnealing(maxInnerIteration, start);
+    }
+
+    /**
+     * Creates an independent copy of this placer, with its own module instances, placement state and
+     * overlap cache, for use as a replica by {@link #placeDesign(boolean, int)}. Replicas are identified
+     * with this placer's module instances by name.
+     * @return The new (uninitialized) placer, or null if this placer does not support replicas.
+     */
+    protected BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> createReplica() {
+        return null;
+    }
+
+    /**
+     * Gets the current placement of all hard macros being placed.
+     * @return Map from module instance name to its placement.
+     */
+    protected Map<String, PlacementT> getPlacementState() {
+        Map<String, PlacementT> state = new HashMap<>();
+        for (ModuleInstT hm : hardMacros) {
+            state.put(hm.getName(), getCurrentPlacement(hm));
+        }
+        return state;
+    }
+
+    /**
+     * Places all hard macros being placed according to a previously captured placement state,
+     * see {@link #getPlacementState()}, and updates all path lengths.
+     * @param state Map from module instance name to its placement.
+     */
+    protected void setPlacementState(Map<String, PlacementT> state) {
+        currentMove = new Move2<>(this);
+        for (ModuleInstT hm : hardMacros) {
+            unplaceHm(hm);
+        }
+        for (ModuleInstT hm : hardMacros) {
+            PlacementT placement = state.get(hm.getName());
+            if (placement != null) {
+                placeHm(hm, placement);
+            }
+        }
+        for (PathT path : allPaths) {
+            path.calculateLength();
+        }
+        prevSystemCost = currentSystemCost();
+        currSystemCost = prevSystemCost;
+    }
+
+    /**
+     * Gets the terminals of a path, for use by {@link #analyticalPlacement()}.
+     * @param path The path in question.
+     * @param instances Module instances connected by the path are added to this list.
+     * @param fixedTiles Tiles of fixed (non-module) terminals of the path are added to this list.
+     * @return False if this placer does not support analytical placement.
+     */
+    protected boolean getPathTerminals(PathT path, List<ModuleInstT> instances, List<Tile> fixedTiles) {
+        return false;
+    }
+
+    /**
+     * Analytical global placement: solves the quadratic wirelength model of all hard macros (see
+     * {@link QuadraticPlacementSolver}) over the connectivity of all paths, and then legalizes the solution by
+     * placing each hard macro, largest first, at the valid placement nearest to its solved location.
+     * Modules not being placed (those with fewer than three placements) are treated as fixed terminals.
+     * If any hard macro cannot be legalized, the previous placement is restored.
+     * @return True if the design was placed analytically.
+     */
+    protected boolean analyticalPlacement() {
+        Map<ModuleInstT, Integer> index = new HashMap<>();
+        for (int i = 0; i < hardMacros.size(); i++) {
+            index.put(hardMacros.get(i), i);
+        }
+        QuadraticPlacementSolver solver = new QuadraticPlacementSolver(hardMacros.size());
+        List<ModuleInstT> instances = new ArrayList<>();
+        List<Tile> fixedTiles = new ArrayList<>();
+        for (PathT path : allPaths) {
+            instances.clear();
+            fixedTiles.clear();
+            if (!getPathTerminals(path, instances, fixedTiles)) {
+                return false;
+            }
+            List<Integer> movable = new ArrayList<>();
+            for (ModuleInstT mi : instances) {
+                Integer i = index.get(mi);
+                if (i != null) {
+                    movable.add(i);
+                } else if (getCurrentPlacement(mi) != null) {
+                    fixedTiles.add(getCurrentAnchorTile(mi));
+                }
+            }
+            double[] fixedX = new double[fixedTiles.size()];
+            double[] fixedY = new double[fixedTiles.size()];
+            for (int f = 0; f < fixedTiles.size(); f++) {
+                fixedX[f] = fixedTiles.get(f).getColumn();
+                fixedY[f] = fixedTiles.get(f).getRow();
+            }
+            double weight = path.getWeight() * (path.getSize() > 30 ? 3 : 1);
+            solver.addNet(movable.stream().mapToInt(Integer::intValue).toArray(), fixedX, fixedY, weight);
+        }
+
+        double[] initialX = new double[hardMacros.size()];
+        double[] initialY = new double[hardMacros.size()];
+        for (int i = 0; i < hardMacros.size(); i++) {
+            Tile tile = getCurrentAnchorTile(hardMacros.get(i));
+            initialX[i] = tile.getColumn();
+            initialY[i] = tile.getRow();
+        }
+        Tile center = placementArea != null ? placementArea.getCenter(dev) : dev.getTile(dev.getRows()/2, dev.getColumns()/2);
+        double[][] solution = solver.solve(initialX, initialY, center.getColumn(), center.getRow(),
+                ANALYTICAL_MAX_ITERATIONS);
+
+        // Legalize, largest hard macros first
+        Map<String, PlacementT> previousState = getPlacementState();
+        double previousCost = currentSystemCost();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < hardMacros.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt((Integer i) -> -getTileSize(hardMacros.get(i))).thenComparingInt(i -> i));
+        currentMove = new Move2<>(this);
+        for (ModuleInstT hm : hardMacros) {
+            unplaceHm(hm);
+            unsetTempAnchorSite(hm);
+        }
+        for (int i : order) {
+            ModuleInstT hm = hardMacros.get(i);
+            double targetX = solution[0][i];
+            double targetY = solution[1][i];
+            List<PlacementT> candidates = new ArrayList<>(possiblePlacements.get(hm.getModule()).getAll());
+            candidates.sort(Comparator.comparingDouble(p -> {
+                Tile tile = getPlacementTile(p);
+                return Math.abs(tile.getColumn() - targetX) + Math.abs(tile.getRow() - targetY);
+            }));
+            boolean found = false;
+            for (PlacementT placement : candidates) {
+                setTempAnchorSite(hm, placement);
+                if (checkValidPlacement(hm)) {
+                    placeHm(hm, placement);
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                System.out.println("WARNING: Failed to legalize analytical placement of " + hm.getName() +
+                        ", reverting to initial placement");
+                setPlacementState(previousState);
+                return false;
+            }
+        }
+        for (PathT path : allPaths) {
+            path.calculateLength();
+        }
+        System.out.println("Analytical global placement cost: " + currentSystemCost() +
+                " (initial placement: " + previousCost + ")");
+        return true;
+    }
+
+    /**
+     * Initializes the placer, computes an initial placement and the start temperature of the annealer.
+     * @return The number of moves to attempt per temperature step.
+     */
+    private int initializeAnnealing(boolean debugFlow) {
+        rand = new Random(seed);
         initializePlacer(debugFlow);
         initialPlacement();
         //HandPlacer.openDesign(design);
@@ -426,16 +752,26 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         int maxInnerIteration = (int)(effort * Math.pow(hardMacros.size(), 1.3333));
         //maxInnerIteration = (int)(Math.pow(Math.max(dev.getColumns(), dev.getRows()), 1.3333));
         if (hardMacros.size() < 2 || allPaths.size() == 0) {
-            finished = true;
             maxInnerIteration = 0;
         }
 
+        Map<String, PlacementT> analyticalState = null;
+        if (analyticalGlobalPlacement && maxInnerIteration > 0 && analyticalPlacement()) {
+            analyticalState = getPlacementState();
+        }
+
         //rangeLimit = Math.max(dev.getColumns(), dev.getRows());
         rangeLimit = Math.max(squareWidth, squareWidth);
         currentTemp = calculateStartTemp(maxInnerIteration);
         if (Double.isNaN(currentTemp)) {
             throw new RuntimeException("initialized to NAN temperature");
         }
+        if (analyticalState != null) {
+            // Computing the start temperature perturbs the placement, start annealing (cooler) from the
+            // analytical placement instead
+            setPlacementState(analyticalState);
+            currentTemp *= ANALYTICAL_START_TEMP_FACTOR;
+        }
         System.out.println("currentTemp = " + currentTemp);
         System.out.println("hardMacros.size() = " + hardMacros.size());
         //initializePlacer(debugFlow);
@@ -445,21 +781,25 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         currSystemCost = prevSystemCost;
         bestSoFar = currSystemCost;
         rangeLimit = getMaxRangeLimit();
-        OUTER: while (!finished) {
-            temperatureStep(maxInnerIteration);
-
-            rangeLimit = rangeLimit * (1.0-goldenRate + moveAcceptanceRate);
-            rangeLimit = Math.min(rangeLimit, getMaxRangeLimit());
-            rangeLimit = Math.max(rangeLimit, 5.0);
+        return maxInnerIteration;
+    }
 
-            currentTemp = updateTemperature();
+    /**
+     * Performs one temperature step at the current temperature and adapts the range limit.
+     */
+    private void annealingStep(int maxInnerIteration) {
+        temperatureStep(maxInnerIteration);
 
-            if (currentTemp < 0.005 * (prevSystemCost /allPaths.size())) {
-                finished = true;
-                //WriteFinalCost(prevSystemCost);
-            }
-        } //Outer loop
+        rangeLimit = rangeLimit * (1.0-goldenRate + moveAcceptanceRate);
+        rangeLimit = Math.min(rangeLimit, getMaxRangeLimit());
+        rangeLimit = Math.max(rangeLimit, 5.0);
+    }
 
+    /**
+     * Performs the freezing phase, records the final results and finalizes the placement.
+     * @return The final system cost.
+     */
+    private double finishAnnealing(int maxInnerIteration, long start) {
         //Freezing phase
         prevSystemCost = currentSystemCost();
         currSystemCost = prevSystemCost;
@@ -695,7 +1035,7 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
                     rangeLimit
             );
         }
-        if (DEBUG_LEVEL > 0) System.out.printf("MOVES:%7d/%7d COST:%7.1f AVG_COST/MOVE:%7.1f TEMP:%7.1f ACCEPTANCE_RATE:%5.1f%% BEST:%7.1f BAD:%4.1f%%\n",currentAcceptedMoveCount, moveCount, prevSystemCost, totalMovesCost/ moveCount, currentTemp, moveAcceptanceRate*100, bestSoFar, 100.0*badAcceptedMoveCount/badMoveCount);
+        if (DEBUG_LEVEL > 0 && !quiet) System.out.printf("MOVES:%7d/%7d COST:%7.1f AVG_COST/MOVE:%7.1f TEMP:%7.1f ACCEPTANCE_RATE:%5.1f%% BEST:%7.1f BAD:%4.1f%%\n",currentAcceptedMoveCount, moveCount, prevSystemCost, totalMovesCost/ moveCount, currentTemp, moveAcceptanceRate*100, bestSoFar, 100.0*badAcceptedMoveCount/badMoveCount);
     }
 
     protected abstract int getTileSize(ModuleInstT hm);
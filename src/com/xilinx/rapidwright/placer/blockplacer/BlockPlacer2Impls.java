@@ -27,7 +27,9 @@ import java.io.PrintWriter;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +41,7 @@ import java.util.stream.Collectors;
 import com.xilinx.rapidwright.design.AbstractModuleInst;
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Module;
 import com.xilinx.rapidwright.design.ModuleImpls;
 import com.xilinx.rapidwright.design.ModuleImplsInst;
 import com.xilinx.rapidwright.design.ModulePlacement;
@@ -57,6 +60,9 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
 
     private final Map<ModuleImplsInst, Set<ImplsPath>> modulesToPaths = new HashMap<>();
 
+    /** Connected paths of each module instance as a list, built from {@link #modulesToPaths} on demand */
+    private final Map<ModuleImplsInst, List<ImplsPath>> connectedPaths = new HashMap<>();
+
     public BlockPlacer2Impls(Design design, List<ModuleImplsInst> moduleInstances, boolean ignoreMostUsedNets, Path graphData, boolean denseDesign, float effort, boolean focusOnWorstModules, TileRectangle placementArea, AbstractOverlapCache<ModulePlacement, ModuleImplsInst> overlapCache) {
         super(design, ignoreMostUsedNets, graphData, denseDesign, effort, focusOnWorstModules, placementArea);
 
@@ -65,13 +71,53 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
     }
 
     public BlockPlacer2Impls(Design design, List<ModuleImplsInst> moduleInstances, boolean ignoreMostUsedNets, Path graphData, boolean denseDesign, float effort, boolean focusOnWorstModules, TileRectangle placementArea) {
-        this(design, moduleInstances, ignoreMostUsedNets, graphData, denseDesign, effort, focusOnWorstModules, placementArea, new RegionBasedOverlapCache<>(design.getDevice(), moduleInstances));
+        this(design, moduleInstances, ignoreMostUsedNets, graphData, denseDesign, effort, focusOnWorstModules, placementArea,
+                AbstractOverlapCache.create(design.getDevice(), moduleInstances, BlockPlacer2Impls::getFootprintSize));
+    }
+
+    /**
+     * Get the larger dimension of the biggest implementation of a module instance
+     */
+    private static int getFootprintSize(ModuleImplsInst mi) {
+        int size = 0;
+        for (Module impl : mi.getModule()) {
+            size = Math.max(size, impl.getBoundingBox().getLargerDimension());
+        }
+        return size;
     }
 
     public BlockPlacer2Impls(Design design, List<ModuleImplsInst> moduleInstances) {
         this(design, moduleInstances, true, null, DEFAULT_DENSE, DEFAULT_EFFORT, DEFAULT_FOCUS_ON_WORST, null);
     }
 
+    @Override
+    protected BlockPlacer2Impls createReplica() {
+        List<ModuleImplsInst> copies = new ArrayList<>(moduleInstances.size());
+        for (ModuleImplsInst mi : moduleInstances) {
+            copies.add(new ModuleImplsInst(mi.getName(), mi.getCellInst(), mi.getModule()));
+            // Bounding boxes of implementations are shared between replicas, initialize their
+            // relocation state before replicas run concurrently
+            for (Module impl : mi.getModule()) {
+                impl.getBoundingBox().initCorrespondingTiles(design.getDevice());
+            }
+        }
+        return new BlockPlacer2Impls(design, copies, ignoreMostUsedNets, null, denseDesign, effort,
+                focusOnWorstModules, placementArea,
+                AbstractOverlapCache.create(design.getDevice(), copies, BlockPlacer2Impls::getFootprintSize));
+    }
+
+    @Override
+    protected boolean getPathTerminals(ImplsPath path, List<ModuleImplsInst> instances, List<Tile> fixedTiles) {
+        for (ImplsInstancePort port : path) {
+            if (port instanceof ImplsInstancePort.InstPort) {
+                instances.add(((ImplsInstancePort.InstPort) port).getInstance());
+            } else if (port instanceof ImplsInstancePort.SitePinInstPort) {
+                fixedTiles.add(((ImplsInstancePort.SitePinInstPort) port).getSitePinInst().getTile());
+            }
+        }
+        return true;
+    }
+
     @Override
     public void setTempAnchorSite(ModuleImplsInst hm, ModulePlacement placement) {
         placeHm(hm, placement);
@@ -187,6 +233,7 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
                 modulesToPaths.computeIfAbsent(instance, x -> new HashSet<>()).add(path);
             }
         }
+        connectedPaths.clear();
     }
 
     @Override
@@ -238,7 +285,13 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
 
     @Override
     public Collection<ImplsPath> getConnectedPaths(ModuleImplsInst module) {
-        return modulesToPaths.get(module);
+        List<ImplsPath> paths = connectedPaths.get(module);
+        if (paths == null) {
+            Set<ImplsPath> pathSet = modulesToPaths.get(module);
+            paths = pathSet == null ? Collections.emptyList() : new ArrayList<>(pathSet);
+            connectedPaths.put(module, paths);
+        }
+        return paths;
     }
 
     @Override
@@ -265,5 +318,6 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
         for (Set<ImplsPath> value : modulesToPaths.values()) {
             value.remove(path);
         }
+        connectedPaths.clear();
     }
 }
@@ -95,7 +95,8 @@ public class BlockPlacer2Module extends BlockPlacer2<Module, HardMacro, Site, Pa
             }
             macroMap.put(mi, hm);
         }
-        overlaps = new RegionBasedOverlapCache<>(design.getDevice(), hardMacros);
+        overlaps = AbstractOverlapCache.create(design.getDevice(), hardMacros,
+                hm -> hm.getModule().getBoundingBox().getLargerDimension());
         return hardMacros;
     }
 
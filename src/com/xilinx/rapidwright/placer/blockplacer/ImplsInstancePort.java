@@ -49,6 +49,12 @@ public abstract class ImplsInstancePort {
 
     public abstract void enterToRect(SimpleTileRectangle rect);
 
+    /**
+     * Gets the bounding box of this port at its current location, without allocating a new rectangle.
+     * @return The bounding box, or null if the port is not placed or has no site pins.
+     */
+    public abstract TileRectangle getBoundingBox();
+
     public ImplsPath getPath() {
         return path;
     }
@@ -65,9 +71,11 @@ public abstract class ImplsInstancePort {
      */
     public static class SitePinInstPort extends ImplsInstancePort {
         private final SitePinInst sitePinInst;
+        private final SimpleTileRectangle boundingBox;
 
         public SitePinInstPort(SitePinInst sitePinInst) {
             this.sitePinInst = Objects.requireNonNull(sitePinInst);
+            this.boundingBox = SimpleTileRectangle.of(sitePinInst.getTile());
         }
 
         @Override
@@ -85,6 +93,11 @@ public abstract class ImplsInstancePort {
             rect.extendTo(sitePinInst.getTile());
         }
 
+        @Override
+        public TileRectangle getBoundingBox() {
+            return boundingBox;
+        }
+
         @Override
         public Pair<String, List<Set<Tile>>> getAllTiles() {
             return new Pair<>("", Collections.singletonList(Collections.singleton(sitePinInst.getTile())));
@@ -126,10 +139,18 @@ public abstract class ImplsInstancePort {
 
         @Override
         public void enterToRect(SimpleTileRectangle rect) {
+            TileRectangle boundingBox = getBoundingBox();
+            if (boundingBox != null) {
+                rect.extendTo(boundingBox);
+            }
+        }
+
+        @Override
+        public TileRectangle getBoundingBox() {
             if (!boundingBoxCalculated) {
                 boundingBoxCalculated = true;
                 if (instance.getPlacement() == null) {
-                    return;
+                    return boundingBox;
                 }
                 Port portImpl = instance.getCurrentModuleImplementation().getPort(this.port);
                 if (portImpl == null) {
@@ -139,9 +160,7 @@ public abstract class ImplsInstancePort {
                     boundingBox = portImpl.getBoundingBox().getCorresponding(instance.getPlacement().placement.getTile(), instance.getCurrentModuleImplementation().getAnchor().getTile());
                 }
             }
-            if (boundingBox != null) {
-                rect.extendTo(boundingBox);
-            }
+            return boundingBox;
         }
 
         @Override
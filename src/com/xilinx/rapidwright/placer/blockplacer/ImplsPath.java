@@ -22,34 +22,73 @@
  */
 package com.xilinx.rapidwright.placer.blockplacer;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.xilinx.rapidwright.design.ModuleImplsInst;
-import com.xilinx.rapidwright.design.SimpleTileRectangle;
+import com.xilinx.rapidwright.design.TileRectangle;
 
 /**
  * Net between Ports of {@link ModuleImplsInst}s
  */
 public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
     int length;
-    int undoLength;
 
-    SimpleTileRectangle current;
-    SimpleTileRectangle undoCache;
+    /**
+     * Bounding box of all ports, together with the number of ports that lie on each of its edges.
+     * An edge count dropping to zero during an incremental update (see {@link #updateLength(ModuleImplsInst)})
+     * triggers a rescan of that edge only.
+     */
+    private int minColumn = EMPTY_MIN;
+    private int maxColumn = EMPTY_MAX;
+    private int minRow = EMPTY_MIN;
+    private int maxRow = EMPTY_MAX;
+    private int numOnMinColumn;
+    private int numOnMaxColumn;
+    private int numOnMinRow;
+    private int numOnMaxRow;
+
+    /** Bounds of each port (indexed as {@link #ports}) as of the last update; sentinels if unplaced */
+    private int[] portMinColumn;
+    private int[] portMaxColumn;
+    private int[] portMinRow;
+    private int[] portMaxRow;
+
+    /** Indices into {@link #ports} of the ports belonging to each module instance */
+    private final Map<ModuleImplsInst, int[]> instPortIndices = new HashMap<>();
+
+    /** Saved state for {@link #restoreUndo()} */
+    private int[] undoBounds;
+    private boolean undoSaved;
+    /** Log of (port index, old bounds) of ports changed since {@link #saveUndo()} */
+    private int[] undoLog = new int[0];
+    private int undoLogSize;
+
+    private static final int EMPTY_MIN = Integer.MAX_VALUE;
+    private static final int EMPTY_MAX = Integer.MIN_VALUE;
 
     public ImplsPath(String name) {
         this.name = Objects.requireNonNull(name);
     }
 
     public void addPort(ImplsInstancePort port) {
+        int index = ports.size();
         ports.add(port);
         if (port instanceof ImplsInstancePort.InstPort) {
-            moduleInsts.add(((ImplsInstancePort.InstPort) port).getInstance());
+            ModuleImplsInst instance = ((ImplsInstancePort.InstPort) port).getInstance();
+            moduleInsts.add(instance);
+            int[] indices = instPortIndices.get(instance);
+            indices = indices == null ? new int[1] : Arrays.copyOf(indices, indices.length + 1);
+            indices[indices.length - 1] = index;
+            instPortIndices.put(instance, indices);
         }
         port.setPath(this);
+        portMinColumn = null;
     }
 
 
@@ -62,13 +101,189 @@ public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
     }
 
     public void calculateLength() {
+        int size = ports.size();
+        if (portMinColumn == null || portMinColumn.length != size) {
+            portMinColumn = new int[size];
+            portMaxColumn = new int[size];
+            portMinRow = new int[size];
+            portMaxRow = new int[size];
+            undoSaved = false;
+        }
+        for (int i = 0; i < size; i++) {
+            logUndo(i);
+            enterPortBounds(i);
+        }
+        minColumn = EMPTY_MIN;
+        maxColumn = EMPTY_MAX;
+        minRow = EMPTY_MIN;
+        maxRow = EMPTY_MAX;
+        rescanMinColumn();
+        rescanMaxColumn();
+        rescanMinRow();
+        rescanMaxRow();
+        updateLengthFromBounds();
+    }
 
-        current = new SimpleTileRectangle();
-        for (ImplsInstancePort port : ports) {
-            port.enterToRect(current);
+    /**
+     * Incrementally updates the length of this path after the given module instance was moved: only the
+     * ports of that instance are examined, and the bounding box is updated in constant time per port unless
+     * the last port on one of its edges moved inwards.
+     * @param moved The module instance that was moved.
+     */
+    @Override
+    public void updateLength(ModuleImplsInst moved) {
+        int[] indices = instPortIndices.get(moved);
+        if (indices == null) {
+            return;
+        }
+        if (portMinColumn == null || portMinColumn.length != ports.size()) {
+            calculateLength();
+            return;
         }
+        boolean rescanMinColumn = false;
+        boolean rescanMaxColumn = false;
+        boolean rescanMinRow = false;
+        boolean rescanMaxRow = false;
+        for (int i : indices) {
+            int oldMinColumn = portMinColumn[i];
+            int oldMaxColumn = portMaxColumn[i];
+            int oldMinRow = portMinRow[i];
+            int oldMaxRow = portMaxRow[i];
+            logUndo(i);
+            enterPortBounds(i);
 
-        if (current.isEmpty()) {
+            // Remove the old bounds of the port from the edge counts...
+            if (oldMinColumn != EMPTY_MIN) {
+                if (oldMinColumn == minColumn) rescanMinColumn |= --numOnMinColumn == 0;
+                if (oldMaxColumn == maxColumn) rescanMaxColumn |= --numOnMaxColumn == 0;
+                if (oldMinRow == minRow) rescanMinRow |= --numOnMinRow == 0;
+                if (oldMaxRow == maxRow) rescanMaxRow |= --numOnMaxRow == 0;
+            }
+
+            // ... and add the new ones
+            int newMinColumn = portMinColumn[i];
+            if (newMinColumn != EMPTY_MIN) {
+                if (newMinColumn < minColumn) {
+                    minColumn = newMinColumn;
+                    numOnMinColumn = 1;
+                    rescanMinColumn = false;
+                } else if (newMinColumn == minColumn) {
+                    numOnMinColumn++;
+                }
+                int newMaxColumn = portMaxColumn[i];
+                if (newMaxColumn > maxColumn) {
+                    maxColumn = newMaxColumn;
+                    numOnMaxColumn = 1;
+                    rescanMaxColumn = false;
+                } else if (newMaxColumn == maxColumn) {
+                    numOnMaxColumn++;
+                }
+                int newMinRow = portMinRow[i];
+                if (newMinRow < minRow) {
+                    minRow = newMinRow;
+                    numOnMinRow = 1;
+                    rescanMinRow = false;
+                } else if (newMinRow == minRow) {
+                    numOnMinRow++;
+                }
+                int newMaxRow = portMaxRow[i];
+                if (newMaxRow > maxRow) {
+                    maxRow = newMaxRow;
+                    numOnMaxRow = 1;
+                    rescanMaxRow = false;
+                } else if (newMaxRow == maxRow) {
+                    numOnMaxRow++;
+                }
+            }
+        }
+        if (rescanMinColumn) rescanMinColumn();
+        if (rescanMaxColumn) rescanMaxColumn();
+        if (rescanMinRow) rescanMinRow();
+        if (rescanMaxRow) rescanMaxRow();
+        updateLengthFromBounds();
+    }
+
+    /**
+     * Incrementally updates the length of this path after the given module instances were moved, one
+     * instance at a time, see {@link #updateLength(ModuleImplsInst)}.
+     * @param moved The module instances that were moved.
+     */
+    @Override
+    public void updateLength(List<? extends ModuleImplsInst> moved) {
+        for (ModuleImplsInst inst : moved) {
+            updateLength(inst);
+        }
+    }
+
+    private void enterPortBounds(int i) {
+        TileRectangle rect = ports.get(i).getBoundingBox();
+        if (rect == null || rect.isEmpty()) {
+            portMinColumn[i] = EMPTY_MIN;
+            portMaxColumn[i] = EMPTY_MAX;
+            portMinRow[i] = EMPTY_MIN;
+            portMaxRow[i] = EMPTY_MAX;
+        } else {
+            portMinColumn[i] = rect.getMinColumn();
+            portMaxColumn[i] = rect.getMaxColumn();
+            portMinRow[i] = rect.getMinRow();
+            portMaxRow[i] = rect.getMaxRow();
+        }
+    }
+
+    private void rescanMinColumn() {
+        minColumn = EMPTY_MIN;
+        numOnMinColumn = 0;
+        for (int v : portMinColumn) {
+            if (v < minColumn) {
+                minColumn = v;
+                numOnMinColumn = 1;
+            } else if (v == minColumn && v != EMPTY_MIN) {
+                numOnMinColumn++;
+            }
+        }
+    }
+
+    private void rescanMaxColumn() {
+        maxColumn = EMPTY_MAX;
+        numOnMaxColumn = 0;
+        for (int v : portMaxColumn) {
+            if (v > maxColumn) {
+                maxColumn = v;
+                numOnMaxColumn = 1;
+            } else if (v == maxColumn && v != EMPTY_MAX) {
+                numOnMaxColumn++;
+            }
+        }
+    }
+
+    private void rescanMinRow() {
+        minRow = EMPTY_MIN;
+        numOnMinRow = 0;
+        for (int v : portMinRow) {
+            if (v < minRow) {
+                minRow = v;
+                numOnMinRow = 1;
+            } else if (v == minRow && v != EMPTY_MIN) {
+                numOnMinRow++;
+            }
+        }
+    }
+
+    private void rescanMaxRow() {
+        maxRow = EMPTY_MAX;
+        numOnMaxRow = 0;
+        for (int v : portMaxRow) {
+            if (v > maxRow) {
+                maxRow = v;
+                numOnMaxRow = 1;
+            } else if (v == maxRow && v != EMPTY_MAX) {
+                numOnMaxRow++;
+            }
+        }
+    }
+
+    private void updateLengthFromBounds() {
+        if (minColumn == EMPTY_MIN) {
             length = 0;
             return;
         }
@@ -78,7 +293,7 @@ public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
             fanOutPenalty = 3;
         }
 
-        length = current.hpwl() * fanOutPenalty * weight;
+        length = (maxColumn - minColumn + maxRow - minRow) * fanOutPenalty * weight;
     }
 
     public String getName() {
@@ -102,21 +317,63 @@ public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
         return sources.get(0);
     }
 
+    private void logUndo(int i) {
+        if (!undoSaved) {
+            return;
+        }
+        if (undoLogSize + 5 > undoLog.length) {
+            undoLog = Arrays.copyOf(undoLog, Math.max(16, undoLog.length * 2));
+        }
+        undoLog[undoLogSize++] = i;
+        undoLog[undoLogSize++] = portMinColumn[i];
+        undoLog[undoLogSize++] = portMaxColumn[i];
+        undoLog[undoLogSize++] = portMinRow[i];
+        undoLog[undoLogSize++] = portMaxRow[i];
+    }
+
     @Override
     public void saveUndo() {
-        undoCache = current;
-        undoLength = length;
+        if (undoBounds == null) {
+            undoBounds = new int[9];
+        }
+        undoBounds[0] = minColumn;
+        undoBounds[1] = maxColumn;
+        undoBounds[2] = minRow;
+        undoBounds[3] = maxRow;
+        undoBounds[4] = numOnMinColumn;
+        undoBounds[5] = numOnMaxColumn;
+        undoBounds[6] = numOnMinRow;
+        undoBounds[7] = numOnMaxRow;
+        undoBounds[8] = length;
+        undoLogSize = 0;
+        undoSaved = true;
     }
 
     @Override
     public void restoreUndo() {
-        if (undoCache == null) {
+        if (!undoSaved) {
             throw new RuntimeException("No cached undo value present in "+getName());
         }
 
-        current = undoCache;
-        length = undoLength;
+        // Replay the log backwards, so that each port ends up with its oldest bounds
+        for (int j = undoLogSize - 5; j >= 0; j -= 5) {
+            int i = undoLog[j];
+            portMinColumn[i] = undoLog[j + 1];
+            portMaxColumn[i] = undoLog[j + 2];
+            portMinRow[i] = undoLog[j + 3];
+            portMaxRow[i] = undoLog[j + 4];
+        }
+        minColumn = undoBounds[0];
+        maxColumn = undoBounds[1];
+        minRow = undoBounds[2];
+        maxRow = undoBounds[3];
+        numOnMinColumn = undoBounds[4];
+        numOnMaxColumn = undoBounds[5];
+        numOnMinRow = undoBounds[6];
+        numOnMaxRow = undoBounds[7];
+        length = undoBounds[8];
 
-        undoCache = null;
+        undoLogSize = 0;
+        undoSaved = false;
     }
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.xilinx.rapidwright.placer.blockplacer;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.xilinx.rapidwright.design.AbstractModuleInst;
+import com.xilinx.rapidwright.design.RelocatableTileRectangle;
+
+/**
+ * Detection of overlaps between modules using an interval tree over their column ranges.
+ *
+ * Placed instances are kept in a balanced binary search tree (a treap) ordered by the minimum column of their
+ * bounding box, where each node also stores the largest maximum column in its subtree. A query only descends
+ * into subtrees that can contain a column range intersecting the moved module, so its cost depends on the number
+ * of instances whose column range intersects it rather than on module sizes. Only columns are indexed: rows are
+ * checked for each of these instances, so modules that share columns (e.g. stacked in a few columns) are all
+ * visited. Unlike {@link RegionBasedOverlapCache}, this does not need to be tuned to the size of the modules.
+ */
+public class IntervalTreeOverlapCache<PlacementT, ModuleInstT extends AbstractModuleInst<?,PlacementT,? super ModuleInstT>>  extends AbstractOverlapCache<PlacementT, ModuleInstT> {
+
+    private class Node {
+        private final ModuleInstT instance;
+        private final int minColumn;
+        private final int maxColumn;
+        private final int minRow;
+        private final int maxRow;
+        /** Tie-breaker between nodes with the same minimum column */
+        private final long sequence;
+        private final int priority;
+        /** Largest maximum column of any node in this subtree */
+        private int subtreeMaxColumn;
+        private Node left;
+        private Node right;
+
+        private Node(ModuleInstT instance, RelocatableTileRectangle bb, long sequence, int priority) {
+            this.instance = instance;
+            this.minColumn = bb.getMinColumn();
+            this.maxColumn = bb.getMaxColumn();
+            this.minRow = bb.getMinRow();
+            this.maxRow = bb.getMaxRow();
+            this.sequence = sequence;
+            this.priority = priority;
+            this.subtreeMaxColumn = maxColumn;
+        }
+
+        private boolean isBefore(Node other) {
+            return minColumn < other.minColumn || (minColumn == other.minColumn && sequence < other.sequence);
+        }
+
+        private void update() {
+            int max = maxColumn;
+            if (left != null && left.subtreeMaxColumn > max) {
+                max = left.subtreeMaxColumn;
+            }
+            if (right != null && right.subtreeMaxColumn > max) {
+                max = right.subtreeMaxColumn;
+            }
+            subtreeMaxColumn = max;
+        }
+    }
+
+    private final Map<ModuleInstT, Node> nodes = new IdentityHashMap<>();
+
+    /** Fixed seed, so that the tree shape (and the order of reported overlaps) is reproducible */
+    private final Random random = new Random(0);
+
+    private Node root;
+
+    private long nextSequence;
+
+    public IntervalTreeOverlapCache(List<? extends ModuleInstT> instances) {
+        for (ModuleInstT instance : instances) {
+            if (instance.getPlacement() != null) {
+                place(instance);
+            }
+        }
+    }
+
+    private Node insert(Node subtree, Node node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.isBefore(subtree)) {
+            subtree.left = insert(subtree.left, node);
+            if (subtree.left.priority > subtree.priority) {
+                Node l = subtree.left;
+                subtree.left = l.right;
+                l.right = subtree;
+                subtree.update();
+                subtree = l;
+            }
+        } else {
+            subtree.right = insert(subtree.right, node);
+            if (subtree.right.priority > subtree.priority) {
+                Node r = subtree.right;
+                subtree.right = r.left;
+                r.left = subtree;
+                subtree.update();
+                subtree = r;
+            }
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    private Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private Node remove(Node subtree, Node node) {
+        if (subtree == null) {
+            return null;
+        }
+        if (subtree == node) {
+            return merge(node.left, node.right);
+        }
+        if (node.isBefore(subtree)) {
+            subtree.left = remove(subtree.left, node);
+        } else {
+            subtree.right = remove(subtree.right, node);
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    /**
+     * Remove an Instance from the cache. Has to be called before actually unplacing the instance
+     * @param mii  the instance
+     */
+    @Override
+    public void unplace(ModuleInstT mii) {
+        Node node = nodes.remove(mii);
+        if (node != null) {
+            root = remove(root, node);
+        }
+    }
+
+    /**
+     * Add an Instance to the cache. Has to be called after placing the instance
+     * @param mii  the instance
+     */
+    @Override
+    public void place(ModuleInstT mii) {
+        unplace(mii);
+        Node node = new Node(mii, mii.getBoundingBox(), nextSequence++, random.nextInt());
+        nodes.put(mii, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Visit all nodes whose rectangle intersects the given one, in order of their minimum column.
+     * @return true if the search was stopped at the first overlap
+     */
+    private boolean findOverlaps(Node subtree, ModuleInstT mii, RelocatableTileRectangle bb,
+                                 List<ModuleInstT> overlaps) {
+        if (subtree == null || subtree.subtreeMaxColumn < bb.getMinColumn()) {
+            return false;
+        }
+        if (findOverlaps(subtree.left, mii, bb, overlaps)) {
+            return true;
+        }
+        if (subtree.minColumn > bb.getMaxColumn()) {
+            // All nodes of the right subtree start even further right
+            return false;
+        }
+        ModuleInstT other = subtree.instance;
+        if (other != mii && other.getPlacement() != null
+                && subtree.maxColumn >= bb.getMinColumn()
+                && subtree.minRow <= bb.getMaxRow() && bb.getMinRow() <= subtree.maxRow
+                && mii.overlaps(other)) {
+            if (overlaps == null) {
+                return true;
+            }
+            overlaps.add(other);
+        }
+        return findOverlaps(subtree.right, mii, bb, overlaps);
+    }
+
+    @Override
+    public boolean isValidPlacement(ModuleInstT mii) {
+        if (mii.getPlacement() == null) {
+            return true;
+        }
+        return !findOverlaps(root, mii, mii.getBoundingBox(), null);
+    }
+
+    @Override
+    public List<ModuleInstT> getAllOverlaps(ModuleInstT mii) {
+        if (mii.getPlacement() == null) {
+            throw new RuntimeException(mii+" is not placed!");
+        }
+        List<ModuleInstT> overlaps = new ArrayList<>();
+        findOverlaps(root, mii, mii.getBoundingBox(), overlaps);
+        return overlaps;
+    }
+
+    private int getDepth(Node subtree) {
+        if (subtree == null) {
+            return 0;
+        }
+        return 1 + Math.max(getDepth(subtree.left), getDepth(subtree.right));
+    }
+
+    @Override
+    public void printStats() {
+        System.out.println("Interval tree holds " + nodes.size() + " placed instances, depth " + getDepth(root));
+    }
+}
@@ -104,19 +104,21 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
         int undoCount = placer.incUndoCount();
         for (ModuleInstT block : blocks) {
             for (PathT path : placer.getConnectedPaths(block)) {
-                if (path.undoCount==undoCount) {
-                    continue;
-                }
-                path.undoCount = undoCount;
+                if (path.undoCount!=undoCount) {
+                    path.undoCount = undoCount;
 
-                path.saveUndo();
-                deltaCost -= path.getLength();
-                path.calculateLength();
-                deltaCost += path.getLength();
-                paths.add(path);
+                    path.saveUndo();
+                    deltaCost -= path.getLength();
+                    paths.add(path);
+                }
             }
 
         }
+        // Update each affected path once, now that all blocks of the move have been placed
+        for (PathT path : paths) {
+            path.updateLength(blocks);
+            deltaCost += path.getLength();
+        }
     }
 
     public boolean addBlock(ModuleInstT block) {
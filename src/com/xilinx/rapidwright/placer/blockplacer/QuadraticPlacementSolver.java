@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.xilinx.rapidwright.placer.blockplacer;
+
+import java.util.Arrays;
+
+/**
+ * Solves the quadratic wirelength model of a placement problem: movable objects connected by weighted nets,
+ * which may also connect to fixed locations. Small nets are modelled as cliques, larger ones as stars with an
+ * additional movable star node. The resulting sparse, symmetric positive definite system is solved
+ * independently in X and Y by a Jacobi-preconditioned conjugate gradient solver operating on primitive arrays.
+ */
+public class QuadraticPlacementSolver {
+
+    /** Nets with more terminals than this are modelled as stars rather than cliques */
+    private static final int STAR_THRESHOLD = 3;
+
+    /** Weight pulling every variable towards the anchor, so that the system is non-singular */
+    private static final double ANCHOR_WEIGHT = 1e-6;
+
+    private final int numMovable;
+
+    private int numVariables;
+
+    private double[] diag;
+
+    private double[] bx;
+
+    private double[] by;
+
+    /**
+     * Off-diagonal entries (i, j) and (j, i) of the matrix, as parallel arrays of rows, columns and weights.
+     * Repeated connections between the same pair are kept as separate entries, which sum up when multiplying.
+     */
+    private int[] edgeRows = new int[16];
+    private int[] edgeCols = new int[16];
+    private double[] edgeWeights = new double[16];
+    private int numEdges;
+
+    /**
+     * @param numMovable Number of movable objects, which are referred to by indices 0..numMovable-1.
+     */
+    public QuadraticPlacementSolver(int numMovable) {
+        this.numMovable = numMovable;
+        numVariables = numMovable;
+        diag = new double[numMovable];
+        bx = new double[numMovable];
+        by = new double[numMovable];
+    }
+
+    private int addVariable() {
+        if (numVariables == diag.length) {
+            int capacity = Math.max(16, diag.length * 2);
+            diag = Arrays.copyOf(diag, capacity);
+            bx = Arrays.copyOf(bx, capacity);
+            by = Arrays.copyOf(by, capacity);
+        }
+        return numVariables++;
+    }
+
+    private void connect(int i, int j, double weight) {
+        if (i == j) {
+            return;
+        }
+        diag[i] += weight;
+        diag[j] += weight;
+        if (numEdges == edgeRows.length) {
+            int capacity = edgeRows.length * 2;
+            edgeRows = Arrays.copyOf(edgeRows, capacity);
+            edgeCols = Arrays.copyOf(edgeCols, capacity);
+            edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+        }
+        edgeRows[numEdges] = i;
+        edgeCols[numEdges] = j;
+        edgeWeights[numEdges] = -weight;
+        numEdges++;
+    }
+
+    private void connectFixed(int i, double x, double y, double weight) {
+        diag[i] += weight;
+        bx[i] += weight * x;
+        by[i] += weight * y;
+    }
+
+    /**
+     * Adds a net to the model.
+     * @param movable Indices of the movable objects connected by the net.
+     * @param fixedX X coordinates of the fixed locations connected by the net.
+     * @param fixedY Y coordinates of the fixed locations connected by the net (same length as fixedX).
+     * @param weight Weight of the net.
+     */
+    public void addNet(int[] movable, double[] fixedX, double[] fixedY, double weight) {
+        int numTerminals = movable.length + fixedX.length;
+        if (numTerminals < 2 || movable.length == 0) {
+            return;
+        }
+        if (numTerminals <= STAR_THRESHOLD) {
+            double w = weight / (numTerminals - 1);
+            for (int a = 0; a < movable.length; a++) {
+                for (int b = a + 1; b < movable.length; b++) {
+                    connect(movable[a], movable[b], w);
+                }
+                for (int f = 0; f < fixedX.length; f++) {
+                    connectFixed(movable[a], fixedX[f], fixedY[f], w);
+                }
+            }
+        } else {
+            int star = addVariable();
+            double w = weight * numTerminals / (numTerminals - 1);
+            for (int m : movable) {
+                connect(m, star, w);
+            }
+            for (int f = 0; f < fixedX.length; f++) {
+                connectFixed(star, fixedX[f], fixedY[f], w);
+            }
+        }
+    }
+
+    /**
+     * Solves the model.
+     * @param initialX Initial X coordinates of the movable objects.
+     * @param initialY Initial Y coordinates of the movable objects.
+     * @param anchorX X coordinate that every object is (very weakly) attracted to.
+     * @param anchorY Y coordinate that every object is (very weakly) attracted to.
+     * @param maxIterations Maximum number of conjugate gradient iterations per dimension.
+     * @return Array of two arrays, holding the X and Y coordinates of the movable objects.
+     */
+    public double[][] solve(double[] initialX, double[] initialY, double anchorX, double anchorY, int maxIterations) {
+        int n = numVariables;
+        double[] d = Arrays.copyOf(diag, n);
+        double[] rx = Arrays.copyOf(bx, n);
+        double[] ry = Arrays.copyOf(by, n);
+        for (int i = 0; i < n; i++) {
+            d[i] += ANCHOR_WEIGHT;
+            rx[i] += ANCHOR_WEIGHT * anchorX;
+            ry[i] += ANCHOR_WEIGHT * anchorY;
+        }
+
+        // Convert off-diagonal entries into a symmetric CSR matrix
+        int[] rowStart = new int[n + 1];
+        for (int e = 0; e < numEdges; e++) {
+            rowStart[edgeRows[e] + 1]++;
+            rowStart[edgeCols[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] cols = new int[rowStart[n]];
+        double[] vals = new double[rowStart[n]];
+        int[] fill = Arrays.copyOf(rowStart, n);
+        for (int e = 0; e < numEdges; e++) {
+            int i = edgeRows[e];
+            int j = edgeCols[e];
+            double v = edgeWeights[e];
+            cols[fill[i]] = j;
+            vals[fill[i]++] = v;
+            cols[fill[j]] = i;
+            vals[fill[j]++] = v;
+        }
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        Arrays.fill(x, anchorX);
+        Arrays.fill(y, anchorY);
+        System.arraycopy(initialX, 0, x, 0, numMovable);
+        System.arraycopy(initialY, 0, y, 0, numMovable);
+        conjugateGradient(rowStart, cols, vals, d, rx, x, maxIterations);
+        conjugateGradient(rowStart, cols, vals, d, ry, y, maxIterations);
+        return new double[][] {Arrays.copyOf(x, numMovable), Arrays.copyOf(y, numMovable)};
+    }
+
+    private static void multiply(int[] rowStart, int[] cols, double[] vals, double[] d, double[] v, double[] out) {
+        for (int i = 0; i < d.length; i++) {
+            double sum = d[i] * v[i];
+            for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                sum += vals[k] * v[cols[k]];
+            }
+            out[i] = sum;
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Solves A x = b in-place, where A is given by its diagonal d and off-diagonal CSR entries.
+     */
+    private static void conjugateGradient(int[] rowStart, int[] cols, double[] vals, double[] d, double[] b,
+                                          double[] x, int maxIterations) {
+        int n = d.length;
+        double[] r = new double[n];
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] ap = new double[n];
+        multiply(rowStart, cols, vals, d, x, ap);
+        for (int i = 0; i < n; i++) {
+            r[i] = b[i] - ap[i];
+            z[i] = r[i] / d[i];
+            p[i] = z[i];
+        }
+        double rz = dot(r, z);
+        double tolerance = 1e-10 * Math.max(1.0, dot(b, b));
+        for (int iter = 0; iter < maxIterations && dot(r, r) > tolerance; iter++) {
+            multiply(rowStart, cols, vals, d, p, ap);
+            double pap = dot(p, ap);
+            if (pap <= 0) {
+                break;
+            }
+            double alpha = rz / pap;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * ap[i];
+                z[i] = r[i] / d[i];
+            }
+            double rzNew = dot(r, z);
+            double beta = rzNew / rz;
+            rz = rzNew;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+    }
+}
@@ -25,9 +25,8 @@ package com.xilinx.rapidwright.router;
 
 import java.io.File;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map.Entry;
 
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
@@ -52,7 +51,18 @@ import com.xilinx.rapidwright.util.FileTools;
  */
 public class RouteThruHelper {
 
-    private HashMap<TileTypeEnum,HashSet<Integer>> routeThrus;
+    /**
+     * Sorted (startWire << 16 | endWire) pairs of all routethru PIPs, indexed by
+     * {@link TileTypeEnum#ordinal()}; null for tile types without routethrus
+     */
+    private int[][] routeThrus;
+
+    /**
+     * Version of the serialized file format, which is part of the file name (see
+     * {@link FileTools#getRouteThruFileName(String)}) so that releases using different formats never
+     * read each other's files
+     */
+    public static final int SERIALIZED_VERSION = 2;
 
     private Device device;
 
@@ -69,42 +79,45 @@ public class RouteThruHelper {
 
     private void writeFile() {
         try (Output out = FileTools.getKryoZstdOutputStream(getSerializedFileName(device.getName()))) {
-            out.writeInt(routeThrus.size());
-            for (Entry<TileTypeEnum, HashSet<Integer>> e : routeThrus.entrySet()) {
-                out.writeString(e.getKey().toString());
-                out.writeInt(e.getValue().size());
-                for (Integer i : e.getValue()) {
-                    out.writeInt(i);
-                }
+            int count = 0;
+            for (int[] rtPairs : routeThrus) {
+                if (rtPairs != null) count++;
+            }
+            out.writeInt(count);
+            for (TileTypeEnum type : TileTypeEnum.values()) {
+                int[] rtPairs = routeThrus[type.ordinal()];
+                if (rtPairs == null) continue;
+                out.writeString(type.toString());
+                out.writeInt(rtPairs.length);
+                out.writeInts(rtPairs, 0, rtPairs.length);
             }
         }
     }
 
     private void readFile() {
-        routeThrus = new HashMap<TileTypeEnum, HashSet<Integer>>();
+        routeThrus = new int[TileTypeEnum.values().length][];
         try (Input in = FileTools.getKryoZstdInputStream(getSerializedFileName(device.getName()))) {
             int count = in.readInt();
             for (int i=0; i < count; i++) {
                 TileTypeEnum type = TileTypeEnum.valueOf(in.readString());
                 int count2 = in.readInt();
-                HashSet<Integer> pips = new HashSet<Integer>(count2);
-                for (int j=0; j < count2; j++) {
-                    pips.add(in.readInt());
-                }
-                routeThrus.put(type, pips);
+                routeThrus[type.ordinal()] = in.readInts(count2);
             }
         }
     }
 
     private void init() {
         String serializedFileName = getSerializedFileName(device.getName());
-        routeThrus = new HashMap<TileTypeEnum,HashSet<Integer>>();
         if (new File(serializedFileName).exists() && !FileTools.isFileGzipped(Paths.get(serializedFileName))) {
             readFile();
             return;
         }
+        routeThrus = new int[TileTypeEnum.values().length][];
+        boolean[] visited = new boolean[routeThrus.length];
         for (Tile tile : device.getAllTiles()) {
-            if (routeThrus.containsKey(tile.getTileTypeEnum())) continue;
+            int typeIndex = tile.getTileTypeEnum().ordinal();
+            if (visited[typeIndex]) continue;
+            visited[typeIndex] = true;
             HashSet<Integer> rtPIPs = new HashSet<Integer>();
             for (PIP p : tile.getPIPs()) {
                 if (p.isRouteThru()) {
@@ -112,26 +125,30 @@ public class RouteThruHelper {
                     rtPIPs.add(startEndWirePair);
                 }
             }
-            if (rtPIPs.size() > 0) routeThrus.put(tile.getTileTypeEnum(), rtPIPs);
+            if (rtPIPs.size() > 0) {
+                int[] rtPairs = rtPIPs.stream().mapToInt(Integer::intValue).toArray();
+                Arrays.sort(rtPairs);
+                routeThrus[typeIndex] = rtPairs;
+            }
         }
         writeFile();
     }
 
     public boolean isRouteThru(Tile tile, int startWire, int endWire) {
-        HashSet<Integer> rtPairs = routeThrus.get(tile.getTileTypeEnum());
+        int[] rtPairs = routeThrus[tile.getTileTypeEnum().ordinal()];
         if (rtPairs == null) return false;
-        return rtPairs.contains(startWire << 16 | endWire);
+        return Arrays.binarySearch(rtPairs, startWire << 16 | endWire) >= 0;
     }
 
     public boolean isRouteThru(Node start, Node end) {
         Tile tile = end.getTile();
+        int[] rtPairs = routeThrus[tile.getTileTypeEnum().ordinal()];
+        if (rtPairs == null) return false;
         int endWire = end.getWireIndex();
         Wire[] wiresInStartNode = start.getAllWiresInNode();
-        HashSet<Integer> rtPairs = routeThrus.get(tile.getTileTypeEnum());
-        if (rtPairs == null) return false;
         for (Wire w : wiresInStartNode) {
             if (w.getTile().equals(tile)) {
-                if (rtPairs.contains((w.getWireIndex() << 16) | endWire)) {
+                if (Arrays.binarySearch(rtPairs, (w.getWireIndex() << 16) | endWire) >= 0) {
                     return true;
                 }
             }
@@ -144,10 +161,10 @@ public class RouteThruHelper {
         for (Tile tile : device.getAllTiles()) {
             if (visited.contains(tile.getTileTypeEnum())) continue;
             visited.add(tile.getTileTypeEnum());
-            HashSet<Integer> rtPairs = routeThrus.get(tile.getTileTypeEnum());
+            int[] rtPairs = routeThrus[tile.getTileTypeEnum().ordinal()];
             if (rtPairs == null) continue;
             System.out.println(tile.getTileTypeEnum() + "(" + tile.getName() + "):");
-            for (Integer i : rtPairs) {
+            for (int i : rtPairs) {
                 int startWire = i >>> 16;
                 int endWire = i & 0xffff;
                 System.out.println("  " + tile.getWireName(startWire) + " -> " + tile.getWireName(endWire));
@@ -33,7 +33,6 @@ import com.xilinx.rapidwright.design.Net;
 import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.device.Node;
 import com.xilinx.rapidwright.timing.TimingEdge;
-import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
 import com.xilinx.rapidwright.util.Pair;
 
 /**
@@ -221,11 +220,19 @@ public class Connection implements Comparable<Connection>{
      * @param rn RouteNode to add
      */
     public void addRnode(RouteNode rn) {
+        expandBoundingBox(rn);
+        rnodes.add(rn);
+    }
+
+    /**
+     * Expand the bounding box of this Connection such that it contains the given RouteNode.
+     * @param rn RouteNode to be contained.
+     */
+    public void expandBoundingBox(RouteNode rn) {
         xMinBB = (short) Math.min(xMinBB, rn.getBeginTileXCoordinate() - 1);
         xMaxBB = (short) Math.max(xMaxBB, rn.getEndTileXCoordinate() + 1);
         yMinBB = (short) Math.min(yMinBB, rn.getBeginTileYCoordinate() - 1);
         yMaxBB = (short) Math.max(yMaxBB, rn.getEndTileYCoordinate() + 1);
-        rnodes.add(rn);
     }
 
     public void updateRouteDelay() {
@@ -243,8 +250,7 @@ public class Connection implements Comparable<Connection>{
         for (int i = getRnodes().size() - 2; i >= 0; i--) {
             RouteNode rnode = getRnodes().get(i);
             RouteNode parent = getRnodes().get(i+1);
-            routeDelay += rnode.getDelay() +
-                    DelayEstimatorBase.getExtraDelay(rnode, DelayEstimatorBase.isLong(parent));
+            routeDelay += rnode.getDelay() + rnode.getExtraDelay(parent.isLong());
         }
         return routeDelay;
     }
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters describing where {@link RWRoute}'s node expansion spends its effort.
+ * Per {@link RouteNodeType} counts are kept of children visited, children pruned (already visited,
+ * outside the connection's bounding box, or otherwise inaccessible), children pushed onto the queue and
+ * children explored immediately by lookahead. A log2 histogram of the number of nodes popped per
+ * connection routing attempt is also kept, alongside the connections that required the most nodes to be popped.
+ *
+ * Counters are {@link LongAdder}s so that they may be updated concurrently (e.g. by {@link CUFR}) without
+ * contention. Collection is only enabled when the "rapidwright.rwroute.expansionStatistics" system property
+ * is set to true; since {@link #ENABLED} is a static final, all guarded call sites are eliminated by the JIT
+ * when disabled.
+ */
+public class ExpansionStatistics {
+
+    /** Flag indicating whether expansion statistics are collected */
+    public static final boolean ENABLED = Boolean.getBoolean("rapidwright.rwroute.expansionStatistics");
+
+    /** Number of worst connections (by nodes popped) to record */
+    public static final int NUM_WORST_CONNECTIONS = 10;
+
+    /** Number of buckets in the nodes popped histogram */
+    private static final int NUM_HISTOGRAM_BUCKETS = Integer.SIZE;
+
+    private final LongAdder[] visited;
+    private final LongAdder[] prunedVisited;
+    private final LongAdder[] prunedBoundingBox;
+    private final LongAdder[] prunedInaccessible;
+    private final LongAdder[] pushed;
+    private final LongAdder[] lookahead;
+    /** Bucket i counts connection routing attempts that popped [2^(i-1), 2^i) nodes; bucket 0 counts zero */
+    private final LongAdder[] nodesPoppedHistogram;
+    /** Min-heap of the connection routing attempts that popped the most nodes */
+    private final PriorityQueue<ConnectionNodesPopped> worstConnections;
+
+    /**
+     * Pairs a connection with the number of nodes popped during one routing attempt of it.
+     */
+    public static class ConnectionNodesPopped implements Comparable<ConnectionNodesPopped> {
+        private final Connection connection;
+        private final int nodesPopped;
+
+        private ConnectionNodesPopped(Connection connection, int nodesPopped) {
+            this.connection = connection;
+            this.nodesPopped = nodesPopped;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        public int getNodesPopped() {
+            return nodesPopped;
+        }
+
+        @Override
+        public int compareTo(ConnectionNodesPopped that) {
+            return Integer.compare(nodesPopped, that.nodesPopped);
+        }
+    }
+
+    public ExpansionStatistics() {
+        int numTypes = RouteNodeType.values.length;
+        visited = createCounters(numTypes);
+        prunedVisited = createCounters(numTypes);
+        prunedBoundingBox = createCounters(numTypes);
+        prunedInaccessible = createCounters(numTypes);
+        pushed = createCounters(numTypes);
+        lookahead = createCounters(numTypes);
+        nodesPoppedHistogram = createCounters(NUM_HISTOGRAM_BUCKETS);
+        worstConnections = new PriorityQueue<>();
+    }
+
+    private static LongAdder[] createCounters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    private static void reset(LongAdder[] counters) {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        reset(visited);
+        reset(prunedVisited);
+        reset(prunedBoundingBox);
+        reset(prunedInaccessible);
+        reset(pushed);
+        reset(lookahead);
+        reset(nodesPoppedHistogram);
+        synchronized (worstConnections) {
+            worstConnections.clear();
+        }
+    }
+
+    public void incrementVisited(RouteNodeType type) {
+        visited[type.ordinal()].increment();
+    }
+
+    public void incrementPrunedVisited(RouteNodeType type) {
+        prunedVisited[type.ordinal()].increment();
+    }
+
+    public void incrementPrunedBoundingBox(RouteNodeType type) {
+        prunedBoundingBox[type.ordinal()].increment();
+    }
+
+    public void incrementPrunedInaccessible(RouteNodeType type) {
+        prunedInaccessible[type.ordinal()].increment();
+    }
+
+    public void incrementPushed(RouteNodeType type) {
+        pushed[type.ordinal()].increment();
+    }
+
+    public void incrementLookahead(RouteNodeType type) {
+        lookahead[type.ordinal()].increment();
+    }
+
+    /**
+     * Records the number of nodes popped during one routing attempt of a connection.
+     * @param connection The connection that was routed.
+     * @param nodesPopped The number of nodes popped from the queue.
+     */
+    public void addConnectionNodesPopped(Connection connection, int nodesPopped) {
+        nodesPoppedHistogram[getHistogramBucket(nodesPopped)].increment();
+        synchronized (worstConnections) {
+            if (worstConnections.size() < NUM_WORST_CONNECTIONS) {
+                worstConnections.add(new ConnectionNodesPopped(connection, nodesPopped));
+            } else if (worstConnections.peek().getNodesPopped() < nodesPopped) {
+                worstConnections.poll();
+                worstConnections.add(new ConnectionNodesPopped(connection, nodesPopped));
+            }
+        }
+    }
+
+    /**
+     * Gets the histogram bucket for the given number of nodes popped: bucket 0 for zero nodes,
+     * otherwise bucket i for values in [2^(i-1), 2^i).
+     * @param nodesPopped The number of nodes popped.
+     * @return Index of the histogram bucket.
+     */
+    public static int getHistogramBucket(int nodesPopped) {
+        assert(nodesPopped >= 0);
+        return Integer.SIZE - Integer.numberOfLeadingZeros(nodesPopped);
+    }
+
+    public long getVisited(RouteNodeType type) {
+        return visited[type.ordinal()].sum();
+    }
+
+    public long getPrunedVisited(RouteNodeType type) {
+        return prunedVisited[type.ordinal()].sum();
+    }
+
+    public long getPrunedBoundingBox(RouteNodeType type) {
+        return prunedBoundingBox[type.ordinal()].sum();
+    }
+
+    public long getPrunedInaccessible(RouteNodeType type) {
+        return prunedInaccessible[type.ordinal()].sum();
+    }
+
+    public long getPushed(RouteNodeType type) {
+        return pushed[type.ordinal()].sum();
+    }
+
+    public long getLookahead(RouteNodeType type) {
+        return lookahead[type.ordinal()].sum();
+    }
+
+    /**
+     * Gets the histogram of nodes popped per connection routing attempt.
+     * @return Array where index i counts attempts that popped [2^(i-1), 2^i) nodes (index 0 counts zero).
+     */
+    public long[] getNodesPoppedHistogram() {
+        long[] histogram = new long[NUM_HISTOGRAM_BUCKETS];
+        for (int i = 0; i < NUM_HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = nodesPoppedHistogram[i].sum();
+        }
+        return histogram;
+    }
+
+    /**
+     * Gets the connection routing attempts that popped the most nodes.
+     * @return List of up to {@link #NUM_WORST_CONNECTIONS} entries, sorted by descending nodes popped.
+     */
+    public List<ConnectionNodesPopped> getWorstConnections() {
+        List<ConnectionNodesPopped> worst;
+        synchronized (worstConnections) {
+            worst = new ArrayList<>(worstConnections);
+        }
+        worst.sort((a, b) -> b.compareTo(a));
+        return worst;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        s.append("Expansion Statistics Per Node Type\n");
+        s.append(String.format(" %-40s %13s %13s %13s %13s %13s %13s\n", "Node Type", "Visited",
+                "Pruned (Vis)", "Pruned (BB)", "Pruned (Acc)", "Pushed", "Lookahead"));
+        for (RouteNodeType type : RouteNodeType.values) {
+            long numVisited = getVisited(type);
+            if (numVisited == 0) {
+                continue;
+            }
+            s.append(String.format(" %-40s %13d %13d %13d %13d %13d %13d\n", type, numVisited,
+                    getPrunedVisited(type), getPrunedBoundingBox(type), getPrunedInaccessible(type),
+                    getPushed(type), getLookahead(type)));
+        }
+        s.append("\nNodes Popped Per Connection\n");
+        s.append(String.format(" %-24s %13s\n", "Nodes Popped", "Connections"));
+        long[] histogram = getNodesPoppedHistogram();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+            long lo = (i == 0) ? 0 : (1L << (i - 1));
+            long hi = (i == 0) ? 0 : (1L << i) - 1;
+            s.append(String.format(" %-24s %13d\n", "[" + lo + ", " + hi + "]", histogram[i]));
+        }
+        s.append("\nConnections With Most Nodes Popped\n");
+        for (ConnectionNodesPopped cnp : getWorstConnections()) {
+            s.append(String.format(" %10d  %s\n", cnp.getNodesPopped(), cnp.getConnection()));
+        }
+        return s.toString();
+    }
+}
@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import com.xilinx.rapidwright.design.Design;
@@ -64,6 +65,7 @@ import com.xilinx.rapidwright.router.RouteThruHelper;
 import com.xilinx.rapidwright.router.UltraScaleClockRouting;
 import com.xilinx.rapidwright.router.VersalClockRouting;
 import com.xilinx.rapidwright.util.Pair;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.Utils;
 
 /**
@@ -71,6 +73,9 @@ import com.xilinx.rapidwright.util.Utils;
  * Adapted from RapidWright APIs.
  */
 public class GlobalSignalRouting {
+    /** Number of global clock routing tracks (VROUTE indices) on Versal devices */
+    public static final int VERSAL_NUM_CLOCK_ROUTING_TRACKS = 24;
+
     private static final HashSet<String> lutOutputPinNames;
     static {
         lutOutputPinNames = new HashSet<>();
@@ -202,13 +207,35 @@ public class GlobalSignalRouting {
     public static void symmetricClkRouting(Net clk, Device device,
             Function<Node, NodeStatus> getNodeStatus,
             Map<Integer, Set<ClockRegion>> usedRoutingTracks) {
+        symmetricClkRouting(clk, device, getNodeStatus, usedRoutingTracks, Collections.emptySet());
+    }
+
+    /**
+     * Routes a clock net by dividing the target clock regions into two groups and
+     * routes to the two groups with different centroid nodes, preferring to avoid
+     * the given reserved routing tracks (see {@link #planClockRoutingTracks(List, Device)}).
+     *
+     * @param clk               The clock to be routed.
+     * @param device            The design device.
+     * @param getNodeStatus     Lambda for indicating the status of a Node: available,
+     *                          in-use (preserved for same net as we're routing), or
+     *                          unavailable (preserved for other net).
+     * @param usedRoutingTracks A map to keep track of which routing tracks have
+     *                          already been used for each clock region.
+     * @param reservedTracks    Routing tracks planned for other clocks, which are only
+     *                          used if no other track is available.
+     */
+    public static void symmetricClkRouting(Net clk, Device device,
+            Function<Node, NodeStatus> getNodeStatus,
+            Map<Integer, Set<ClockRegion>> usedRoutingTracks,
+            Set<Integer> reservedTracks) {
         switch (device.getSeries()) {
             case UltraScale:
             case UltraScalePlus:
                 symmetricClockRoutingUltraScales(clk, device, getNodeStatus);
                 break;
             case Versal:
-                symmetricClockRoutingVersal(clk, device, getNodeStatus, usedRoutingTracks);
+                symmetricClockRoutingVersal(clk, device, getNodeStatus, usedRoutingTracks, reservedTracks);
                 break;
             default:
                 throw new RuntimeException("ERROR: GlobalSignalRouting.symmetricClkRouting() does not support the " + device.getSeries() + " series.");
@@ -218,6 +245,90 @@ public class GlobalSignalRouting {
         clk.setPIPs(clkPIPsWithoutDuplication);
     }
 
+    /**
+     * Plans the assignment of routing tracks to all given clocks ahead of routing them
+     * one at a time with {@link #symmetricClkRouting(Net, Device, Function, Map, Set)}.
+     * Without a plan, each clock greedily takes the first track available when it is routed,
+     * which can leave no track for a later clock that overlaps many others.
+     *
+     * The footprint (set of fabric clock regions) of each clock is computed in parallel; then,
+     * most-constrained clocks first (those overlapping the most other clocks, then those with the
+     * largest footprint), each clock is assigned the lowest track not already assigned to an
+     * overlapping clock. Clocks with disjoint footprints may share a track. The result is
+     * deterministic for a given order of clocks.
+     * Only Versal devices use explicit routing tracks; for all other series an empty map is returned.
+     *
+     * @param clks   The clocks to be routed.
+     * @param device The design device.
+     * @return A map from each clock to the set of tracks that were assigned to other clocks
+     *         overlapping its footprint, and which it should avoid.
+     */
+    public static Map<Net, Set<Integer>> planClockRoutingTracks(List<Net> clks, Device device) {
+        if (device.getSeries() != Series.Versal || clks.size() < 2) {
+            return Collections.emptyMap();
+        }
+
+        int numClks = clks.size();
+        List<Future<Set<ClockRegion>>> futures = ParallelismTools.invokeAll(clks,
+                (clk) -> getFabricClockRegionsOfNet(clk).getFirst());
+        List<Set<ClockRegion>> footprints = new ArrayList<>(numClks);
+        for (Future<Set<ClockRegion>> future : futures) {
+            footprints.add(ParallelismTools.get(future));
+        }
+
+        List<List<Integer>> overlapping = new ArrayList<>(numClks);
+        for (int i = 0; i < numClks; i++) {
+            overlapping.add(new ArrayList<>());
+        }
+        for (int i = 0; i < numClks; i++) {
+            for (int j = i + 1; j < numClks; j++) {
+                if (!Collections.disjoint(footprints.get(i), footprints.get(j))) {
+                    overlapping.get(i).add(j);
+                    overlapping.get(j).add(i);
+                }
+            }
+        }
+
+        Integer[] order = new Integer[numClks];
+        for (int i = 0; i < numClks; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt((i) -> overlapping.get(i).size())
+                .thenComparingInt((i) -> footprints.get(i).size())
+                .reversed()
+                .thenComparingInt((i) -> i));
+
+        int[] assignedTracks = new int[numClks];
+        Arrays.fill(assignedTracks, -1);
+        for (int i : order) {
+            boolean[] taken = new boolean[VERSAL_NUM_CLOCK_ROUTING_TRACKS];
+            for (int j : overlapping.get(i)) {
+                if (assignedTracks[j] != -1) {
+                    taken[assignedTracks[j]] = true;
+                }
+            }
+            for (int track = 0; track < taken.length; track++) {
+                if (!taken[track]) {
+                    assignedTracks[i] = track;
+                    break;
+                }
+            }
+            // Clocks that could not be assigned a track fall back to taking whichever is free when routed
+        }
+
+        Map<Net, Set<Integer>> reservedTracks = new HashMap<>();
+        for (int i = 0; i < numClks; i++) {
+            Set<Integer> reserved = new HashSet<>();
+            for (int j : overlapping.get(i)) {
+                if (assignedTracks[j] != -1 && assignedTracks[j] != assignedTracks[i]) {
+                    reserved.add(assignedTracks[j]);
+                }
+            }
+            reservedTracks.put(clks.get(i), reserved);
+        }
+        return reservedTracks;
+    }
+
     private static void symmetricClockRoutingUltraScales(Net clk, Device device, Function<Node, NodeStatus> getNodeStatus) {
         // Clock routing on UltraScale/UltraScale+ devices
         assert(device.getSeries() == Series.UltraScale || device.getSeries() == Series.UltraScalePlus);
@@ -259,7 +370,8 @@ public class GlobalSignalRouting {
 
     private static void symmetricClockRoutingVersal(Net clk, Device device,
             Function<Node, NodeStatus> getNodeStatus,
-            Map<Integer, Set<ClockRegion>> usedRoutingTracks) {
+            Map<Integer, Set<ClockRegion>> usedRoutingTracks,
+            Set<Integer> reservedTracks) {
         // Clock routing on Versal devices
         assert(device.getSeries() == Series.Versal);
 
@@ -312,7 +424,7 @@ public class GlobalSignalRouting {
             // we may fail to do so. Thus, we need to force the Y-coordinate of centroid to be 1.
             Node clkRoutingLine = VersalClockRouting.routeBUFGToNearestRoutingTrack(clk, getNodeStatus);// first HROUTE
             Pair<Node, ClockRegion> result = findCentroid(clk, clkRoutingLine, centroid, true,
-                    getNodeStatus, unavailableTracks, usedClockRegions);
+                    getNodeStatus, unavailableTracks, reservedTracks, usedClockRegions);
             centroidHRouteNode = result.getFirst();
             centroid = result.getSecond();
         } else if (sourceTypeEnum == SiteTypeEnum.BUFG_PS) {
@@ -330,7 +442,7 @@ public class GlobalSignalRouting {
         boolean noVrouteNeeded = centroidHRouteNode.getTile().getClockRegion().getRow() == centroid.getRow();
 
         Pair<Node, ClockRegion> centroidResult = findCentroid(clk, centroidHRouteNode, centroid,
-                noVrouteNeeded, getNodeStatus, unavailableTracks,
+                noVrouteNeeded, getNodeStatus, unavailableTracks, reservedTracks,
                 usedClockRegions);
         Node vroute = centroidResult.getFirst();
         centroid = centroidResult.getSecond();
@@ -356,9 +468,10 @@ public class GlobalSignalRouting {
                 System.err.println("WARNING: Unable to identify clock track for " + clk);
             } else {
                 clk.getLogicalNet().addProperty("CLOCK_TRACK", track);
-                Set<ClockRegion> collision = usedRoutingTracks.put(track,
-                        new HashSet<>(usedClockRegions));
-                assert (collision == null);
+                // Clocks with disjoint clock regions may share the same track
+                Set<ClockRegion> trackClockRegions = usedRoutingTracks.computeIfAbsent(track, (k) -> new HashSet<>());
+                assert (Collections.disjoint(trackClockRegions, usedClockRegions));
+                trackClockRegions.addAll(usedClockRegions);
             }
         }
     }
@@ -380,13 +493,15 @@ public class GlobalSignalRouting {
      *                          to pre-emptively avoid clock tracks that have
      *                          already been used in the same clock region foot
      *                          print of this clock net.
+     * @param reservedTracks    Tracks planned for other clocks overlapping this one;
+     *                          these are avoided unless no centroid can be found
+     *                          otherwise.
      * @return
      */
     private static Pair<Node, ClockRegion> findCentroid(Net clk, Node start, ClockRegion origCentroid, 
             boolean noVrouteNeeded, Function<Node, NodeStatus> getNodeStatus, Set<Integer> unavailableTracks,
-            Set<ClockRegion> clockRegions) {
+            Set<Integer> reservedTracks, Set<ClockRegion> clockRegions) {
         Node vroute = null;
-        int currIdx = 0;
         
         int minY = Integer.MAX_VALUE;
         int maxY = 0;
@@ -405,18 +520,33 @@ public class GlobalSignalRouting {
         List<Integer> colOffsets = Arrays.asList(0, -2, 2, -4, 4, -6, 6);
 
         ClockRegion proposedClkRoot = null;
-        
-        do {
-            proposedClkRoot = device.getClockRegion(clkRootYCoord,
-                    clkRootXCoord + colOffsets.get(currIdx));
-            if (proposedClkRoot != null && proposedClkRoot.getApproximateCenter() != null) {
-                vroute = VersalClockRouting.routeToCentroid(clk, start, proposedClkRoot,
-                        noVrouteNeeded,
-                        getNodeStatus, unavailableTracks);
+
+        // First try to avoid the tracks reserved for other clocks, then relax
+        List<Set<Integer>> candidateUnavailableTracks = new ArrayList<>(2);
+        if (!reservedTracks.isEmpty() && !unavailableTracks.containsAll(reservedTracks)) {
+            Set<Integer> unavailableOrReservedTracks = new HashSet<>(unavailableTracks);
+            unavailableOrReservedTracks.addAll(reservedTracks);
+            candidateUnavailableTracks.add(unavailableOrReservedTracks);
+        }
+        candidateUnavailableTracks.add(unavailableTracks);
+
+        for (Set<Integer> tracksToAvoid : candidateUnavailableTracks) {
+            int currIdx = 0;
+            do {
+                proposedClkRoot = device.getClockRegion(clkRootYCoord,
+                        clkRootXCoord + colOffsets.get(currIdx));
+                if (proposedClkRoot != null && proposedClkRoot.getApproximateCenter() != null) {
+                    vroute = VersalClockRouting.routeToCentroid(clk, start, proposedClkRoot,
+                            noVrouteNeeded,
+                            getNodeStatus, tracksToAvoid);
+                }
+                // If we weren't successful, loop around and try neighbors
+                currIdx++;
+            } while (vroute == null && currIdx < colOffsets.size());
+            if (vroute != null) {
+                break;
             }
-            // If we weren't successful, loop around and try neighbors
-            currIdx++;
-        } while (vroute == null && currIdx < colOffsets.size());
+        }
         if (vroute == null) {
             throw new RuntimeException("ERROR: Unable to find a centroid CR for clock " + clk);
         }
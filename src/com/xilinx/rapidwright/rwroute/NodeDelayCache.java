@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.device.TileTypeEnum;
+import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
+
+/**
+ * Memoizes the node delays computed by {@link RouterHelper#computeNodeDelay(DelayEstimatorBase, Node)}
+ * for nodes based in INT tiles. Since such a delay only depends on the node's wire (within the INT tile type)
+ * and on either the X or the Y coordinate of its tile (depending on the orientation of the node),
+ * delays are stored in one compact short[] per wire, indexed by that coordinate, and filled lazily.
+ *
+ * Each cache is bound to the single estimator instance it was created with, so that it can never serve
+ * delays computed under different estimator settings; {@link RouteNodeGraphTimingDriven} owns one per
+ * routing graph, which is released along with the graph. All methods are thread-safe.
+ */
+public class NodeDelayCache {
+
+    /** Sentinel for a delay not yet computed */
+    private static final short UNKNOWN_DELAY = Short.MIN_VALUE;
+
+    /** Wire orientations (also used as a sentinel for a wire not yet examined) */
+    private static final byte UNKNOWN = 0;
+    private static final byte NOT_EXIT_NODE = 1;
+    private static final byte HORIZONTAL = 2;
+    private static final byte VERTICAL = 3;
+
+    private final DelayEstimatorBase<?> estimator;
+
+    /** Number of entries in each per-wire delay array */
+    private final int numCoordinates;
+
+    /** Orientation of each INT tile wire, indexed by wire index */
+    private final byte[] wireOrientations;
+
+    /** Delays of each INT tile wire, indexed by wire index and then by tile coordinate */
+    private final AtomicReferenceArray<short[]> wireDelays;
+
+    /**
+     * Creates an empty cache of the delays computed by the given estimator.
+     * @param device The target device.
+     * @param estimator The delay estimator used to compute delays.
+     */
+    public NodeDelayCache(Device device, DelayEstimatorBase<?> estimator) {
+        this.estimator = estimator;
+        numCoordinates = Math.max(device.getColumns(), device.getRows());
+        Tile intTile = device.getArbitraryTileOfType(TileTypeEnum.INT);
+        int numWires = (intTile != null) ? intTile.getWireCount() : 0;
+        wireOrientations = new byte[numWires];
+        wireDelays = new AtomicReferenceArray<>(numWires);
+    }
+
+    /**
+     * Gets the estimator that this cache was created with.
+     * @return The delay estimator.
+     */
+    public DelayEstimatorBase<?> getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Gets the delay of the given node, identical to that returned by
+     * {@link RouterHelper#computeNodeDelay(DelayEstimatorBase, Node)}.
+     * @param node The node of interest.
+     * @return The delay of the node.
+     */
+    public short getDelay(Node node) {
+        Tile tile = node.getTile();
+        int wireIndex = node.getWireIndex();
+        if (tile.getTileTypeEnum() != TileTypeEnum.INT || wireIndex >= wireOrientations.length) {
+            return RouterHelper.computeNodeDelay(estimator, node);
+        }
+
+        // Benign race: all threads will compute the same orientation
+        byte orientation = wireOrientations[wireIndex];
+        if (orientation == UNKNOWN) {
+            orientation = !RouteNode.isExitNode(node) ? NOT_EXIT_NODE :
+                          estimator.isHorizontal(node) ? HORIZONTAL :
+                          VERTICAL;
+            wireOrientations[wireIndex] = orientation;
+        }
+        if (orientation == NOT_EXIT_NODE) {
+            return 0;
+        }
+
+        int coordinate = (orientation == HORIZONTAL) ? tile.getTileXCoordinate() : tile.getTileYCoordinate();
+        if (coordinate < 0 || coordinate >= numCoordinates) {
+            return RouterHelper.computeNodeDelay(estimator, node);
+        }
+
+        short[] delays = wireDelays.get(wireIndex);
+        if (delays == null) {
+            short[] newDelays = new short[numCoordinates];
+            Arrays.fill(newDelays, UNKNOWN_DELAY);
+            delays = wireDelays.compareAndSet(wireIndex, null, newDelays) ? newDelays : wireDelays.get(wireIndex);
+        }
+
+        // Benign race: all threads will compute the same delay
+        short delay = delays[coordinate];
+        if (delay == UNKNOWN_DELAY) {
+            delay = estimator.getDelayOf(node);
+            assert(delay != UNKNOWN_DELAY);
+            delays[coordinate] = delay;
+        }
+        return delay;
+    }
+}
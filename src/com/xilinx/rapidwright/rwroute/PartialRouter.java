@@ -212,6 +212,16 @@ public class PartialRouter extends RWRoute {
         if (clkNets.isEmpty())
             return;
 
+        List<Net> clkNetsToRoute = new ArrayList<>();
+        for (Net clk : clkNets) {
+            List<SitePinInst> clkPins = netToPins.get(clk);
+            if (clkPins != null && !clkPins.isEmpty() && !clk.hasPIPs()) {
+                clkNetsToRoute.add(clk);
+            }
+        }
+        Map<Net, Set<Integer>> reservedRoutingTracks = GlobalSignalRouting.planClockRoutingTracks(clkNetsToRoute,
+                design.getDevice());
+
         for (Net clk : clkNets) {
             List<SitePinInst> clkPins = netToPins.get(clk);
             if (clkPins == null || clkPins.isEmpty()) {
@@ -219,7 +229,8 @@ public class PartialRouter extends RWRoute {
             }
 
             if (!clk.hasPIPs()) {
-                super.routeGlobalClkNet(clk, usedRoutingTracks);
+                super.routeGlobalClkNet(clk, usedRoutingTracks,
+                        reservedRoutingTracks.getOrDefault(clk, Collections.emptySet()));
             } else {
                 System.out.println("INFO: Routing " + clkPins.size() + " pins of clock " + clk + " (non timing-driven)");
                 Function<Node, NodeStatus> gns = (node) -> getGlobalRoutingNodeStatus(clk, node);
@@ -321,7 +332,9 @@ public class PartialRouter extends RWRoute {
                 }
                 outputPins.add(spi);
             }
-            routingGraph.preserveAsync(staticNet, outputPins);
+            if (needsPreserving(staticNet)) {
+                routingGraph.preserveAsync(staticNet, outputPins);
+            }
             numPreservedStaticNets++;
         }
 
@@ -338,8 +351,22 @@ public class PartialRouter extends RWRoute {
         staticNetAndRoutingTargets.put(staticNet, staticPins);
     }
 
+    /**
+     * Checks whether the existing routing of a net needs to be preserved in the routing graph.
+     * Always true unless the routing graph is shared with a previous routing run (see
+     * {@link PartialRouterSession}) in which this net was already preserved.
+     * @param net The net in question.
+     * @return True if the net's routing needs to be preserved.
+     */
+    protected boolean needsPreserving(Net net) {
+        return true;
+    }
+
     @Override
     protected void preserveNet(Net net, boolean async) {
+        if (!needsPreserving(net)) {
+            return;
+        }
         List<SitePinInst> pinsToRoute = null;
         if (!net.isStaticNet()) {
             // For signal nets, only preserve those pins that are not to be routed
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SitePinInst;
+
+/**
+ * A long-lived partial routing session that routes many small batches of pins against the
+ * same {@link Design}, while only constructing its {@link RouteNodeGraph} and preserving all
+ * existing routing once.
+ *
+ * Each call to {@link #route(Collection)} constructs a {@link PartialRouter} that shares this
+ * session's routing graph. Only nets that are marked as modified (see {@link #markNetModified(Net)})
+ * or that contain pins to be routed have their previously preserved nodes released and their current
+ * routing re-preserved; all other
+ * nets are assumed to have unchanged routing since the previous batch. It is the caller's
+ * responsibility to mark every net whose PIPs or pins were changed outside of this session
+ * (including nets that have been removed from the design).
+ */
+public class PartialRouterSession {
+
+    private final Design design;
+
+    private final RWRouteConfig config;
+
+    private final boolean softPreserve;
+
+    /** Routing graph shared across all batches, created by the first batch */
+    private RouteNodeGraph routingGraph;
+
+    /** Nets modified since the previous batch, whose preserved nodes need to be refreshed */
+    private final Set<Net> modifiedNets;
+
+    /** Number of batches routed so far */
+    private int numBatchesRouted;
+
+    /**
+     * {@link PartialRouter} that reuses the routing graph owned by its session, and that only
+     * preserves the nets modified since the previous batch.
+     */
+    protected static class SessionPartialRouter extends PartialRouter {
+
+        private final PartialRouterSession session;
+
+        private final Set<Net> netsToPreserve;
+
+        protected SessionPartialRouter(PartialRouterSession session, Collection<SitePinInst> pinsToRoute,
+                                       Set<Net> netsToPreserve) {
+            super(session.design, session.config, pinsToRoute, session.softPreserve);
+            this.session = session;
+            this.netsToPreserve = netsToPreserve;
+        }
+
+        @Override
+        protected RouteNodeGraph createRouteNodeGraph() {
+            if (session.routingGraph == null) {
+                session.routingGraph = super.createRouteNodeGraph();
+                // Record which nodes each net preserves so that later batches only revisit those
+                session.routingGraph.setTrackPreservedNodes(true);
+            }
+            return session.routingGraph;
+        }
+
+        @Override
+        protected boolean needsPreserving(Net net) {
+            // Preserve everything on the first batch
+            return netsToPreserve == null || netsToPreserve.contains(net);
+        }
+
+        /**
+         * Gets all nets that were routed (or re-routed) by this batch.
+         * @return Set of routed nets.
+         */
+        protected Set<Net> getRoutedNets() {
+            Set<Net> routedNets = Collections.newSetFromMap(new IdentityHashMap<>());
+            routedNets.addAll(nets.keySet());
+            routedNets.addAll(clkNets);
+            routedNets.addAll(staticNetAndRoutingTargets.keySet());
+            return routedNets;
+        }
+    }
+
+    public PartialRouterSession(Design design, RWRouteConfig config, boolean softPreserve) {
+        this.design = design;
+        this.config = config;
+        this.softPreserve = softPreserve;
+        modifiedNets = Collections.newSetFromMap(new IdentityHashMap<>());
+        numBatchesRouted = 0;
+    }
+
+    public PartialRouterSession(Design design, RWRouteConfig config) {
+        this(design, config, false);
+    }
+
+    /**
+     * Marks a net whose routing (PIPs) or pins have been modified outside of this session
+     * since the previous batch, so that its preserved nodes are refreshed before the next batch.
+     * @param net The modified (or removed) net.
+     */
+    public void markNetModified(Net net) {
+        modifiedNets.add(net);
+    }
+
+    /**
+     * Marks a collection of nets as modified, see {@link #markNetModified(Net)}.
+     * @param nets The modified (or removed) nets.
+     */
+    public void markNetsModified(Collection<Net> nets) {
+        modifiedNets.addAll(nets);
+    }
+
+    /**
+     * Routes the given batch of pins, with all other existing routing preserved.
+     * @param pinsToRoute Collection of {@link SitePinInst}-s to be routed.
+     * @return The routed design.
+     */
+    public Design route(Collection<SitePinInst> pinsToRoute) {
+        Set<Net> netsToPreserve = null;
+        if (routingGraph != null) {
+            netsToPreserve = Collections.newSetFromMap(new IdentityHashMap<>());
+            netsToPreserve.addAll(modifiedNets);
+            for (SitePinInst spi : pinsToRoute) {
+                Net net = spi.getNet();
+                if (net != null) {
+                    netsToPreserve.add(net);
+                }
+            }
+            // Discard all stale preserved nodes of those nets (they will be re-preserved
+            // from their current routing by the router) as well as all previous routing state
+            routingGraph.unpreserve(netsToPreserve);
+            routingGraph.resetRnodes();
+        }
+
+        SessionPartialRouter router = new SessionPartialRouter(this, pinsToRoute, netsToPreserve);
+        RWRoute.routeDesign(router);
+
+        // Preserve the new routing of all nets touched by this batch, ready for the next batch
+        for (Net net : router.getRoutedNets()) {
+            routingGraph.preserveAsync(net);
+        }
+        routingGraph.awaitPreserve();
+        routingGraph.resetRnodes();
+
+        modifiedNets.clear();
+        numBatchesRouted++;
+        return design;
+    }
+
+    /**
+     * Routes the given batch of pins after marking the given nets as modified.
+     * @param pinsToRoute Collection of {@link SitePinInst}-s to be routed.
+     * @param modifiedNets Nets whose routing or pins were modified since the previous batch.
+     * @return The routed design.
+     */
+    public Design route(Collection<SitePinInst> pinsToRoute, Collection<Net> modifiedNets) {
+        markNetsModified(modifiedNets);
+        return route(pinsToRoute);
+    }
+
+    /**
+     * Gets the number of batches routed by this session so far.
+     * @return Number of batches routed.
+     */
+    public int getNumBatchesRouted() {
+        return numBatchesRouted;
+    }
+
+    /**
+     * Gets the routing graph shared by all batches of this session.
+     * @return The routing graph, or null if no batch has been routed yet.
+     */
+    protected RouteNodeGraph getRoutingGraph() {
+        return routingGraph;
+    }
+
+    /**
+     * Releases the routing graph held by this session. Any subsequent call to
+     * {@link #route(Collection)} will rebuild it from scratch.
+     */
+    public void close() {
+        routingGraph = null;
+        modifiedNets.clear();
+    }
+}
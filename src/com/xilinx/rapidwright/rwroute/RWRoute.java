@@ -74,6 +74,7 @@ import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
 import com.xilinx.rapidwright.timing.delayestimator.InterconnectInfo;
 import com.xilinx.rapidwright.util.MessageGenerator;
 import com.xilinx.rapidwright.util.Pair;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.RuntimeTracker;
 import com.xilinx.rapidwright.util.RuntimeTrackerTree;
 import com.xilinx.rapidwright.util.Utils;
@@ -97,6 +98,11 @@ public class RWRoute {
     protected List<Net> clkNets;
     /** Static nets */
     protected Map<Net, List<SitePinInst>> staticNetAndRoutingTargets;
+    /**
+     * NetWrappers whose HPWL and connection bounding boxes are yet to be computed; only non-null
+     * while routing targets are being determined
+     */
+    private List<NetWrapper> deferredNetWrappers;
     /** Several integers to indicate the netlist info */
     protected int numPreservedRoutableNets;
     protected int numPreservedClks;
@@ -141,6 +147,8 @@ public class RWRoute {
 
     /** A set of indices of overused rondes */
     private Set<RouteNode> overUsedRnodes;
+    /** Windows around clusters of overused rnodes, non-empty only when the local repair stage is active */
+    private List<RepairWindow> repairWindows;
     /** Class encapsulating the routing resource graph */
     protected RouteNodeGraph routingGraph;
     /** Count of rnodes created in the current routing iteration */
@@ -160,9 +168,13 @@ public class RWRoute {
     private final AtomicInteger connectionsRouted;
     /** The total number of connections routed in an iteration */
     private final AtomicInteger connectionsRoutedThisIteration;
+    /** Source of unique sequence numbers for routing attempts, which may outnumber the connections routed */
+    private final AtomicInteger routingSequence;
     /** Total number of nodes pushed/popped from the queue */
     private final AtomicLong nodesPushed;
     private final AtomicLong nodesPopped;
+    /** Per node type expansion counters, only non-null if {@link ExpansionStatistics#ENABLED} */
+    private final ExpansionStatistics expansionStatistics;
 
     /** The maximum criticality constraint of connection */
     private static final float MAX_CRITICALITY = 0.99f;
@@ -172,8 +184,6 @@ public class RWRoute {
     private List<Connection> criticalConnections;
     /** A {@link TimingManager} instance to use that handles timing related tasks */
     protected TimingManager timingManager;
-    /** A map from nodes to delay values, used for timing update after fixing routes */
-    private Map<Node, Float> nodesDelays;
     /** The maximum delay and associated timing vertex */
     private Pair<Float, TimingVertex> maxDelayAndTimingVertex;
 
@@ -194,8 +204,10 @@ public class RWRoute {
         this.config = config;
         connectionsRouted = new AtomicInteger();
         connectionsRoutedThisIteration = new AtomicInteger();
+        routingSequence = new AtomicInteger();
         nodesPushed = new AtomicLong();
         nodesPopped = new AtomicLong();
+        expansionStatistics = ExpansionStatistics.ENABLED ? new ExpansionStatistics() : null;
 
         if (design.getSeries() == Series.Versal) {
             if (config.isLutPinSwapping()) {
@@ -250,9 +262,6 @@ public class RWRoute {
 
         connectionState = new ConnectionState();
         routingGraph = createRouteNodeGraph();
-        if (config.isTimingDriven()) {
-            nodesDelays = new HashMap<>();
-        }
         routethruHelper = new RouteThruHelper(design.getDevice());
         presentCongestionFactor = config.getInitialPresentCongestionFactor();
         lutPinSwapping = config.isLutPinSwapping();
@@ -273,9 +282,14 @@ public class RWRoute {
         sortedIndirectConnections = new ArrayList<>(indirectConnections.size());
         connectionsRouted.set(0);
         connectionsRoutedThisIteration.set(0);
+        routingSequence.set(0);
         nodesPushed.set(0);
         nodesPopped.set(0);
+        if (ExpansionStatistics.ENABLED) {
+            expansionStatistics.reset();
+        }
         overUsedRnodes = new HashSet<>();
+        repairWindows = new ArrayList<>();
 
         hus = config.isHus();
         husInitialCongested = false;
@@ -320,20 +334,69 @@ public class RWRoute {
      * and regular signal nets (i.e. {@link NetType}.WIRE) and determines routing targets.
      */
     protected void determineRoutingTargets() {
+        deferredNetWrappers = new ArrayList<>();
         categorizeNets();
+        List<NetWrapper> netWrappers = deferredNetWrappers;
+        deferredNetWrappers = null;
 
-        // Since createNetWrapperAndConnections() both creates the primary sink node and
-        // computes alternate sinks (e.g. for LUT pin swaps), it is possible that
-        // an alternate sink for one net later becomes an exclusive sink for another net.
-        // Examine for all connections for this case and remove such alternate sinks.
-        for (Connection connection : indirectConnections) {
-            connection.getAltSinkRnodes().removeIf(RouteNode::isUsed);
-        }
+        // While any outstanding RouteNodeGraph.preserveAsync() calls continue in the background,
+        // compute the HPWL and connection bounding boxes of all nets in parallel
+        finishNetWrappers(netWrappers);
 
         // Wait for all outstanding RouteNodeGraph.preserveAsync() calls to complete
         routingGraph.awaitPreserve();
     }
 
+    /** Number of NetWrappers to be processed by each task in {@link #finishNetWrappers(List)} */
+    private static final int FINISH_NET_WRAPPERS_CHUNK_SIZE = 256;
+
+    /**
+     * Computes the HPWL and connection bounding boxes of all given NetWrappers, as deferred by
+     * {@link #createNetWrapperAndConnections(Net)} during {@link #determineRoutingTargets()},
+     * and filters their alternate sinks. Work is split into chunks and executed using
+     * {@link ParallelismTools}, so that it overlaps with any outstanding asynchronous preservation.
+     * @param netWrappers List of NetWrappers to finish.
+     */
+    private void finishNetWrappers(List<NetWrapper> netWrappers) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < netWrappers.size(); i += FINISH_NET_WRAPPERS_CHUNK_SIZE) {
+            List<NetWrapper> chunk = netWrappers.subList(i,
+                    Math.min(i + FINISH_NET_WRAPPERS_CHUNK_SIZE, netWrappers.size()));
+            tasks.add(() -> {
+                for (NetWrapper netWrapper : chunk) {
+                    finishNetWrapper(netWrapper);
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+    }
+
+    private void finishNetWrapper(NetWrapper netWrapper) {
+        netWrapper.computeHPWLAndCenterCoordinates(routingGraph);
+        for (Connection connection : netWrapper.getConnections()) {
+            if (connection.isDirect()) {
+                continue;
+            }
+
+            if (config.isUseBoundingBox()) {
+                connection.computeConnectionBoundingBox(config.getBoundingBoxExtensionX(),
+                        config.getBoundingBoxExtensionY(),
+                        routingGraph);
+                // Connections with recovered routing (e.g. from PartialRouter) must also
+                // contain all of their existing nodes
+                for (RouteNode rnode : connection.getRnodes()) {
+                    connection.expandBoundingBox(rnode);
+                }
+            }
+
+            // Since createNetWrapperAndConnections() both creates the primary sink node and
+            // computes alternate sinks (e.g. for LUT pin swaps), it is possible that
+            // an alternate sink for one net later becomes an exclusive sink for another net.
+            // Examine for all connections for this case and remove such alternate sinks.
+            connection.getAltSinkRnodes().removeIf(RouteNode::isUsed);
+        }
+    }
+
     protected Set<Net> ensureSinkRoutability() {
         // RWRoute routes designs from scratch -- all sinks must be reachable
         return Collections.emptySet();
@@ -464,12 +527,26 @@ public class RWRoute {
      */
     protected void routeGlobalClkNets() {
         Map<Integer, Set<ClockRegion>> usedRoutingTracks = new HashMap<>();
+        Map<Net, Set<Integer>> reservedRoutingTracks = (routesToSinkINTTiles == null) ?
+                GlobalSignalRouting.planClockRoutingTracks(clkNets, design.getDevice()) : Collections.emptyMap();
         for (Net clk : clkNets) {
-            routeGlobalClkNet(clk, usedRoutingTracks);
+            routeGlobalClkNet(clk, usedRoutingTracks, reservedRoutingTracks.getOrDefault(clk, Collections.emptySet()));
         }
     }
 
     protected void routeGlobalClkNet(Net clk, Map<Integer, Set<ClockRegion>> usedRoutingTracks) {
+        routeGlobalClkNet(clk, usedRoutingTracks, Collections.emptySet());
+    }
+
+    /**
+     * Routes a global clock net.
+     * @param clk The clock net to be routed.
+     * @param usedRoutingTracks A map to keep track of which routing tracks have already been used for each clock region.
+     * @param reservedRoutingTracks Routing tracks planned for other clocks, to be avoided where possible
+     * (see {@link GlobalSignalRouting#planClockRoutingTracks}).
+     */
+    protected void routeGlobalClkNet(Net clk, Map<Integer, Set<ClockRegion>> usedRoutingTracks,
+                                     Set<Integer> reservedRoutingTracks) {
         // Since we preserved all pins in addGlobalClkRoutingTargets(), unpreserve them here
         for (SitePinInst spi : clk.getPins()) {
             routingGraph.unpreserve(spi.getConnectedNode());
@@ -482,7 +559,8 @@ public class RWRoute {
         } else {
             // routes clock nets from scratch
             System.out.println("INFO: Routing " + clk.getPins().size() + " pins of clock " + clk + " (non timing-driven)");
-            GlobalSignalRouting.symmetricClkRouting(clk, design.getDevice(), gns, usedRoutingTracks);
+            GlobalSignalRouting.symmetricClkRouting(clk, design.getDevice(), gns, usedRoutingTracks,
+                    reservedRoutingTracks);
         }
         preserveNet(clk, false);
 
@@ -754,7 +832,10 @@ public class RWRoute {
             }
         }
 
-        if (indirect > 0) {
+        if (indirect > 0 && deferredNetWrappers != null) {
+            // Defer to finishNetWrappers() so that this can be computed in parallel
+            deferredNetWrappers.add(netWrapper);
+        } else if (indirect > 0) {
             netWrapper.computeHPWLAndCenterCoordinates(routingGraph);
             if (config.isUseBoundingBox()) {
                 for (Connection connection : netWrapper.getConnections()) {
@@ -965,11 +1046,18 @@ public class RWRoute {
                 setRerouteCriticality();
             }
             routingGraph.updatePresentCongestionCosts(presentCongestionFactor);
-            routeIndirectConnections(sortedIndirectConnections);
+            if (repairWindows.isEmpty()) {
+                routeIndirectConnections(sortedIndirectConnections);
+            } else {
+                routeIndirectConnectionsInRepairWindows(sortedIndirectConnections);
+            }
             rnodesTimer.setTime(routingGraph.getCreateRnodeTime());
 
             updateCostFactors();
 
+            boolean localRepairActive = !repairWindows.isEmpty();
+            updateRepairWindows();
+
             rnodesCreatedThisIteration = routingGraph.numNodes() - lastIterationRnodeCount;
             List<Connection> unroutableConnections = getUnroutableConnections();
             boolean needsResorting = false;
@@ -1007,6 +1095,11 @@ public class RWRoute {
                 initialHus = false;
             }
 
+            if (!localRepairActive && !repairWindows.isEmpty()) {
+                System.out.println("INFO: Local repair activated (" + overUsedRnodes.size() + " overused nodes in " +
+                        repairWindows.size() + " windows)");
+            }
+
             routeIteration++;
             lastIterationRnodeCount = routingGraph.numNodes();
             lastIterationRnodeTime = rnodesTimer.getTime();
@@ -1021,6 +1114,154 @@ public class RWRoute {
         }
     }
 
+    /**
+     * A rectangular window of INT tile coordinates (inclusive) enclosing a cluster of overused rnodes,
+     * used by the local repair stage.
+     */
+    protected static class RepairWindow {
+        protected int xMin;
+        protected int xMax;
+        protected int yMin;
+        protected int yMax;
+
+        protected RepairWindow(int xMin, int xMax, int yMin, int yMax) {
+            this.xMin = xMin;
+            this.xMax = xMax;
+            this.yMin = yMin;
+            this.yMax = yMax;
+        }
+
+        protected boolean contains(int x, int y) {
+            return x >= xMin && x <= xMax && y >= yMin && y <= yMax;
+        }
+
+        protected boolean overlaps(RepairWindow that) {
+            return xMin <= that.xMax && that.xMin <= xMax && yMin <= that.yMax && that.yMin <= yMax;
+        }
+
+        protected void merge(RepairWindow that) {
+            xMin = Math.min(xMin, that.xMin);
+            xMax = Math.max(xMax, that.xMax);
+            yMin = Math.min(yMin, that.yMin);
+            yMax = Math.max(yMax, that.yMax);
+        }
+    }
+
+    /**
+     * Recomputes the local repair windows at the end of a routing iteration. Windows are only computed
+     * once the number of overused rnodes has dropped to or below {@link RWRouteConfig#getLocalRepairThreshold()};
+     * each overused rnode is extended by {@link RWRouteConfig#getLocalRepairWindowExtension()} tiles and
+     * overlapping windows are merged until none remain overlapping.
+     */
+    private void updateRepairWindows() {
+        repairWindows.clear();
+        if (!config.isLocalRepair() || overUsedRnodes.isEmpty() ||
+                overUsedRnodes.size() > config.getLocalRepairThreshold()) {
+            return;
+        }
+
+        int extension = config.getLocalRepairWindowExtension();
+        for (RouteNode rnode : overUsedRnodes) {
+            RepairWindow window = new RepairWindow(
+                    Math.min(rnode.getBeginTileXCoordinate(), rnode.getEndTileXCoordinate()) - extension,
+                    Math.max(rnode.getBeginTileXCoordinate(), rnode.getEndTileXCoordinate()) + extension,
+                    Math.min(rnode.getBeginTileYCoordinate(), rnode.getEndTileYCoordinate()) - extension,
+                    Math.max(rnode.getBeginTileYCoordinate(), rnode.getEndTileYCoordinate()) + extension);
+            // Absorb all existing windows that overlap; since merging grows the window, repeat until stable
+            boolean merged;
+            do {
+                merged = false;
+                Iterator<RepairWindow> it = repairWindows.iterator();
+                while (it.hasNext()) {
+                    RepairWindow existing = it.next();
+                    if (existing.overlaps(window)) {
+                        window.merge(existing);
+                        it.remove();
+                        merged = true;
+                    }
+                }
+            } while (merged);
+            repairWindows.add(window);
+        }
+    }
+
+    /**
+     * Gets the local repair window that the existing route of a connection passes through.
+     * @param connection The connection in question.
+     * @return The first window containing any of the connection's rnodes, or null if none.
+     */
+    private RepairWindow getRepairWindow(Connection connection) {
+        for (RouteNode rnode : connection.getRnodes()) {
+            for (RepairWindow window : repairWindows) {
+                if (window.contains(rnode.getEndTileXCoordinate(), rnode.getEndTileYCoordinate())) {
+                    return window;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Routes connections during the local repair stage: unrouted connections are routed as normal, and
+     * routed connections are only ripped up and re-routed if they pass through a repair window.
+     * @param connections The connections to consider.
+     */
+    protected void routeIndirectConnectionsInRepairWindows(Collection<Connection> connections) {
+        for (Connection connection : connections) {
+            if (!connection.isRouted()) {
+                routeIndirectConnection(connection);
+                continue;
+            }
+            RepairWindow window = getRepairWindow(connection);
+            if (window != null) {
+                routeIndirectConnectionInRepairWindow(connection, window);
+            }
+        }
+    }
+
+    /**
+     * Re-routes a connection with its bounding box temporarily confined to the given repair window
+     * (extended to cover its source and sink). Should that fail, the connection is immediately re-routed
+     * using its original bounding box.
+     * @param connection The connection to re-route.
+     * @param window The repair window that the connection's existing route passes through.
+     */
+    private void routeIndirectConnectionInRepairWindow(Connection connection, RepairWindow window) {
+        if (!config.isUseBoundingBox() || connection.isCrossSLR()) {
+            // Nothing to confine, or SLR crossings may need to detour to a distant Laguna column
+            routeIndirectConnection(connection);
+            return;
+        }
+
+        short xMinBB = connection.getXMinBB();
+        short xMaxBB = connection.getXMaxBB();
+        short yMinBB = connection.getYMinBB();
+        short yMaxBB = connection.getYMaxBB();
+        RouteNode sourceRnode = connection.getSourceRnode();
+        RouteNode sinkRnode = connection.getSinkRnode();
+        // Connection bounding boxes are exclusive, windows are inclusive
+        int xMin = Math.min(window.xMin, Math.min(sourceRnode.getEndTileXCoordinate(), sinkRnode.getEndTileXCoordinate())) - 1;
+        int xMax = Math.max(window.xMax, Math.max(sourceRnode.getEndTileXCoordinate(), sinkRnode.getEndTileXCoordinate())) + 1;
+        int yMin = Math.min(window.yMin, Math.min(sourceRnode.getEndTileYCoordinate(), sinkRnode.getEndTileYCoordinate())) - 1;
+        int yMax = Math.max(window.yMax, Math.max(sourceRnode.getEndTileYCoordinate(), sinkRnode.getEndTileYCoordinate())) + 1;
+        connection.setXMinBB((short) Math.max(xMinBB, xMin));
+        connection.setXMaxBB((short) Math.min(xMaxBB, xMax));
+        connection.setYMinBB((short) Math.max(yMinBB, yMin));
+        connection.setYMaxBB((short) Math.min(yMaxBB, yMax));
+
+        routeIndirectConnection(connection);
+
+        connection.setXMinBB(xMinBB);
+        connection.setXMaxBB(xMaxBB);
+        connection.setYMinBB(yMinBB);
+        connection.setYMaxBB(yMaxBB);
+
+        if (!connection.isRouted()) {
+            // Window too restrictive, fall back to the full bounding box without counting the connection again
+            routeIndirectConnection(connection, false);
+        }
+    }
+
     /**
      * Gets unrouted connections.
      * @return A list of unrouted connections.
@@ -1229,7 +1470,7 @@ public class RWRoute {
      * @param fixedRoutes A set of nets whose routes have been fixed.
      */
     private void updateTimingAfterFixingRoutes(List<NetWrapper> fixedRoutes) {
-        timingManager.updateIllegalNetsDelays(fixedRoutes, nodesDelays);
+        // Delays of connections of fixedRoutes were already updated by fixRoutes()
         timingManager.patchUpDelayOfConnections(sortedIndirectConnections);
         updateTiming();
     }
@@ -1471,43 +1712,89 @@ public class RWRoute {
         nodeUsageForVersal.add(IntentCode.NODE_SLL_DATA);
     }
 
+    /** Number of nets checked (and if necessary, fixed) by each parallel task in {@link #fixRoutes()} */
+    private static final int FIX_ROUTES_CHUNK_SIZE = 256;
+
     /**
      * Fixes routes of nets with routing path cycles and multi-driver nodes.
+     * Since a legal routing solution does not share any rnodes between nets, nets are checked and fixed
+     * in parallel. If routing did not converge (i.e. overused rnodes remain), rnodes may be shared
+     * between nets and so nets are checked and fixed serially instead. When timing-driven, the delays
+     * of the fixed nets' connections are also updated as part of the same pass.
+     * @return List of nets whose routes were fixed, in the iteration order of {@link #nets}.
      */
     private List<NetWrapper> fixRoutes() {
-        List<NetWrapper> fixedRoutes = new ArrayList<>();
-        int sequence = connectionsRouted.get() + 1;
-        for (Entry<Net,NetWrapper> e : nets.entrySet()) {
-            NetWrapper netWrapper = e.getValue();
-            if (netWrapper.hasMultipleDrivers(sequence)) {
-                fixedRoutes.add(netWrapper);
-                if (config.isTimingDriven()) {
-                    addNodesDelays(netWrapper);
-                }
-                for (Connection connection : netWrapper.getConnections()) {
-                    if (connection.isDirect()) {
-                        continue;
+        List<NetWrapper> netWrappers = new ArrayList<>(nets.values());
+        boolean[] fixed = new boolean[netWrappers.size()];
+        int firstSequence = routingSequence.get() + 1;
+        if (!overUsedRnodes.isEmpty()) {
+            for (int j = 0; j < netWrappers.size(); j++) {
+                fixed[j] = fixRoute(netWrappers.get(j), firstSequence + j);
+            }
+        } else {
+            List<Runnable> tasks = new ArrayList<>();
+            for (int i = 0; i < netWrappers.size(); i += FIX_ROUTES_CHUNK_SIZE) {
+                final int from = i;
+                final int to = Math.min(i + FIX_ROUTES_CHUNK_SIZE, netWrappers.size());
+                tasks.add(() -> {
+                    for (int j = from; j < to; j++) {
+                        fixed[j] = fixRoute(netWrappers.get(j), firstSequence + j);
                     }
-                    ripUp(connection);
-                }
-                RouteFixer graphHelper = new RouteFixer(netWrapper, routingGraph);
-                graphHelper.finalizeRoutesOfConnections();
+                });
+            }
+            ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+        }
+
+        List<NetWrapper> fixedRoutes = new ArrayList<>();
+        for (int i = 0; i < netWrappers.size(); i++) {
+            if (fixed[i]) {
+                fixedRoutes.add(netWrappers.get(i));
             }
-            sequence++;
         }
         return fixedRoutes;
     }
 
     /**
-     * Adds nodes and delay values of a routed to the map.
+     * Fixes the route of a net if it has routing path cycles or multi-driver nodes.
+     * @param netWrapper The net in question.
+     * @param sequence A sequence number unique to this net.
+     * @return True if the route was fixed.
+     */
+    private boolean fixRoute(NetWrapper netWrapper, int sequence) {
+        if (!netWrapper.hasMultipleDrivers(sequence)) {
+            return false;
+        }
+        Map<Node, Float> nodesDelays = null;
+        if (config.isTimingDriven()) {
+            nodesDelays = getNodesDelays(netWrapper);
+        }
+        for (Connection connection : netWrapper.getConnections()) {
+            if (connection.isDirect()) {
+                continue;
+            }
+            ripUp(connection);
+        }
+        RouteFixer graphHelper = new RouteFixer(netWrapper, routingGraph);
+        graphHelper.finalizeRoutesOfConnections();
+        if (nodesDelays != null) {
+            timingManager.updateIllegalNetsDelays(Collections.singletonList(netWrapper), nodesDelays);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the nodes and delay values of a routed net.
      * @param net The routed net.
+     * @return Map from each node used by the net to its delay.
      */
-    private void addNodesDelays(NetWrapper net) {
+    private Map<Node, Float> getNodesDelays(NetWrapper net) {
+        Map<Node, Float> nodesDelays = new HashMap<>();
         for (Connection connection:net.getConnections()) {
             for (RouteNode rnode : connection.getRnodes()) {
                 nodesDelays.put(rnode, rnode.getDelay());
             }
         }
+        return nodesDelays;
     }
 
     /**
@@ -1696,10 +1983,23 @@ public class RWRoute {
      * @param connection The connection to route.
      */
     protected void routeIndirectConnection(Connection connection) {
+        routeIndirectConnection(connection, true);
+    }
+
+    /**
+     * Routes a connection.
+     * @param connection The connection to route.
+     * @param countConnection true to count this attempt towards the number of connections routed; false
+     * if it is a retry of an attempt that has already been counted.
+     */
+    private void routeIndirectConnection(Connection connection, boolean countConnection) {
         ConnectionState state = getConnectionState();
         state.connection = connection;
-        state.sequence = connectionsRouted.incrementAndGet();
-        connectionsRoutedThisIteration.incrementAndGet();
+        state.sequence = routingSequence.incrementAndGet();
+        if (countConnection) {
+            connectionsRouted.incrementAndGet();
+            connectionsRoutedThisIteration.incrementAndGet();
+        }
         state.rnodeCostWeight = 1 - connection.getCriticality();
         state.shareWeight = (float) (Math.pow(state.rnodeCostWeight, config.getShareExponent()));
         state.rnodeWLWeight = state.rnodeCostWeight * oneMinusWlWeight;
@@ -1724,6 +2024,9 @@ public class RWRoute {
         }
         nodesPushed.addAndGet(state.nodesPopped + queue.size());
         nodesPopped.addAndGet(state.nodesPopped);
+        if (ExpansionStatistics.ENABLED) {
+            expansionStatistics.addConnectionNodesPopped(connection, state.nodesPopped);
+        }
 
         if (rnode != null) {
             queue.clear();
@@ -1865,7 +2168,7 @@ public class RWRoute {
      * @param rnode The rnode popped out from the queue.
      */
     private void exploreAndExpand(ConnectionState state, RouteNode rnode) {
-        final boolean longParent = config.isTimingDriven() && DelayEstimatorBase.isLong(rnode);
+        final boolean longParent = config.isTimingDriven() && rnode.isLong();
         final Connection connection = state.connection;
         final int sequence = state.sequence;
         final PriorityQueue<RouteNode> queue = state.queue;
@@ -1874,7 +2177,13 @@ public class RWRoute {
         final boolean rnodeIsLaguna = Utils.isLaguna(rnode.getTile().getTileTypeEnum());
 
         for (RouteNode childRNode : rnode.getChildren(routingGraph)) {
+            if (ExpansionStatistics.ENABLED) {
+                expansionStatistics.incrementVisited(childRNode.getType());
+            }
             if (childRNode.isVisited(sequence)) {
+                if (ExpansionStatistics.ENABLED) {
+                    expansionStatistics.incrementPrunedVisited(childRNode.getType());
+                }
                 // Node must be in queue already
 
                 // Targets that are visited more than once must be overused
@@ -1916,6 +2225,9 @@ public class RWRoute {
                 }
             } else {
                 if (!isAccessible(childRNode, connection)) {
+                    if (ExpansionStatistics.ENABLED) {
+                        expansionStatistics.incrementPrunedBoundingBox(childRNode.getType());
+                    }
                     continue;
                 }
                 RouteNodeType childType = childRNode.getType();
@@ -1932,6 +2244,9 @@ public class RWRoute {
                     case LOCAL_WEST:
                     case LOCAL_RESERVED:
                         if (!routingGraph.isAccessible(childRNode, rnode, connection)) {
+                            if (ExpansionStatistics.ENABLED) {
+                                expansionStatistics.incrementPrunedInaccessible(childType);
+                            }
                             continue;
                         }
                         // Verify invariant that east/west wires stay east/west ...
@@ -1967,11 +2282,17 @@ public class RWRoute {
                         );
 
                         if (!routingGraph.isAccessible(childRNode, rnode, connection)) {
+                            if (ExpansionStatistics.ENABLED) {
+                                expansionStatistics.incrementPrunedInaccessible(childType);
+                            }
                             continue;
                         }
                         if (!config.isUseUTurnNodes() && childRNode.getDelay() > 10000) {
                             // To filter out those nodes that are considered to be excluded with the masking resource approach,
                             // such as U-turn shape nodes near the boundary
+                            if (ExpansionStatistics.ENABLED) {
+                                expansionStatistics.incrementPrunedInaccessible(childType);
+                            }
                             continue;
                         }
 
@@ -1999,6 +2320,9 @@ public class RWRoute {
                                                                     IntentCode.NODE_INTF_BNODE, IntentCode.NODE_INTF_CNODE)
                                        .contains(rnode.getIntentCode())));
                         if (!isAccessibleSink(childRNode, connection)) {
+                            if (ExpansionStatistics.ENABLED) {
+                                expansionStatistics.incrementPrunedInaccessible(childType);
+                            }
                             continue;
                         }
                         assert(childRNode.getIntentCode() == IntentCode.NODE_PINBOUNCE);
@@ -2079,7 +2403,7 @@ public class RWRoute {
         newPartialPathCost += state.rnodeCostWeight * getNodeCost(childRnode, connection, countSourceUses, sharingFactor);
         newPartialPathCost += state.rnodeWLWeight * childRnode.getLength() / sharingFactor;
         if (config.isTimingDriven()) {
-            newPartialPathCost += state.dlyWeight * (childRnode.getDelay() + DelayEstimatorBase.getExtraDelay(childRnode, longParent));
+            newPartialPathCost += state.dlyWeight * (childRnode.getDelay() + childRnode.getExtraDelay(longParent));
         }
 
         int childX = childRnode.getEndTileXCoordinate();
@@ -2224,9 +2548,15 @@ public class RWRoute {
         // has been visited by this connection before
         childRnode.setVisited(state.sequence);
         if (lookahead) {
+            if (ExpansionStatistics.ENABLED) {
+                expansionStatistics.incrementLookahead(childRnode.getType());
+            }
             state.nodesPopped++;
             exploreAndExpand(state, childRnode);
         } else {
+            if (ExpansionStatistics.ENABLED) {
+                expansionStatistics.incrementPushed(childRnode.getType());
+            }
             state.queue.add(childRnode);
         }
     }
@@ -2270,6 +2600,15 @@ public class RWRoute {
         return design;
     }
 
+    /**
+     * Gets the expansion counters collected while routing.
+     * @return The {@link ExpansionStatistics} object, or null if the
+     * "rapidwright.rwroute.expansionStatistics" system property was not set.
+     */
+    public ExpansionStatistics getExpansionStatistics() {
+        return expansionStatistics;
+    }
+
     protected int getNumIndirectConnectionPins() {
         return indirectConnections.size();
     }
@@ -2377,6 +2716,10 @@ public class RWRoute {
         if (config.isVerbose()) {
             System.out.printf("------------------------------------------------------------------------------\n");
         }
+        if (ExpansionStatistics.ENABLED) {
+            System.out.print(expansionStatistics);
+            System.out.printf("------------------------------------------------------------------------------\n");
+        }
 
         System.out.print(routerTimer);
         if (config.isTimingDriven()) {
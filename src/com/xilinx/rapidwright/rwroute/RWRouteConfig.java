@@ -106,6 +106,10 @@ public class RWRouteConfig {
     private float husActivateThreshold;
     /* PBlock within which RWRoute must stay within */
     private String pblock;
+    /* The number of overused nodes at or below which the local repair stage is activated (0 to disable) */
+    private int localRepairThreshold;
+    /* The number of tiles by which each overused node is extended to form a local repair window */
+    private short localRepairWindowExtension;
 
     /** Constructs a Configuration Object */
     public RWRouteConfig(String[] arguments) {
@@ -142,6 +146,8 @@ public class RWRouteConfig {
         husBeta = 2f;
         husInitialCongestedThreshold = 0.5f;
         husActivateThreshold = 0.4f;
+        localRepairThreshold = 0;
+        localRepairWindowExtension = (short) 3;
         if (arguments != null) {
             parseArguments(arguments);
         }
@@ -268,6 +274,12 @@ public class RWRouteConfig {
             case "--pblock":
                 setPBlock(arguments[++i]);
                 break;
+            case "--localRepairThreshold":
+                setLocalRepairThreshold(Integer.parseInt(arguments[++i]));
+                break;
+            case "--localRepairWindowExtension":
+                setLocalRepairWindowExtension(Short.parseShort(arguments[++i]));
+                break;
             default:
                 throw new IllegalArgumentException("ERROR: RWRoute argument '" + arg + "' not recognized.");
             }
@@ -1035,6 +1047,54 @@ public class RWRouteConfig {
         return pblock;
     }
 
+    /**
+     * Gets the number of overused nodes at or below which the local repair stage is activated.
+     * In this stage, only connections passing through a small window around each cluster of
+     * overused nodes are ripped up and re-routed, with their search confined to that window.
+     * Default: 0 (disabled). Can be modified by using "--localRepairThreshold" option, e.g. "--localRepairThreshold 50".
+     * @return The number of overused nodes at or below which the local repair stage is activated.
+     */
+    public int getLocalRepairThreshold() {
+        return localRepairThreshold;
+    }
+
+    /**
+     * Sets the number of overused nodes at or below which the local repair stage is activated.
+     * Default: 0 (disabled). Can be modified by using "--localRepairThreshold" option, e.g. "--localRepairThreshold 50".
+     * @param localRepairThreshold The number of overused nodes at or below which the local repair stage is activated.
+     */
+    public void setLocalRepairThreshold(int localRepairThreshold) {
+        this.localRepairThreshold = localRepairThreshold;
+    }
+
+    /**
+     * Checks if the local repair stage is enabled.
+     * @return true, if the local repair threshold is greater than zero.
+     */
+    public boolean isLocalRepair() {
+        return localRepairThreshold > 0;
+    }
+
+    /**
+     * Gets the number of INT tiles by which each overused node is extended (in all directions) to
+     * form a local repair window.
+     * Default: 3. Can be modified by using "--localRepairWindowExtension" option, e.g. "--localRepairWindowExtension 5".
+     * @return The number of INT tiles by which each overused node is extended.
+     */
+    public short getLocalRepairWindowExtension() {
+        return localRepairWindowExtension;
+    }
+
+    /**
+     * Sets the number of INT tiles by which each overused node is extended (in all directions) to
+     * form a local repair window.
+     * Default: 3. Can be modified by using "--localRepairWindowExtension" option, e.g. "--localRepairWindowExtension 5".
+     * @param localRepairWindowExtension The number of INT tiles by which each overused node is extended.
+     */
+    public void setLocalRepairWindowExtension(short localRepairWindowExtension) {
+        this.localRepairWindowExtension = localRepairWindowExtension;
+    }
+
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder();
@@ -1078,6 +1138,11 @@ public class RWRouteConfig {
             s.append(MessageGenerator.formatString("HUS initial congested threshold: ", husInitialCongestedThreshold));
             s.append(MessageGenerator.formatString("HUS activate threshold: ", husActivateThreshold));
         }
+        s.append(MessageGenerator.formatString("Use local repair: ", isLocalRepair()));
+        if (isLocalRepair()) {
+            s.append(MessageGenerator.formatString("Local repair threshold: ", localRepairThreshold));
+            s.append(MessageGenerator.formatString("Local repair window extension: ", localRepairWindowExtension));
+        }
 
         return s.toString();
     }
@@ -24,189 +24,297 @@
 
 package com.xilinx.rapidwright.rwroute;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
 
 import com.xilinx.rapidwright.device.Node;
 import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
 
 /**
- * A graph-based tool based on Depth-first Search to fix illegal routes,
- * i.e. routed nets with path cycles or multi-driver nodes.
+ * A graph-based tool to fix illegal routes, i.e. routed nets with path cycles or multi-driver nodes,
+ * by computing the minimum-delay tree (from the net's source(s)) over all nodes used by the net's connections.
+ *
+ * Nodes are assigned compact int ids in the order they are first encountered (connection order, from
+ * source to sink) and the graph is stored in array-based (CSR) adjacency form, so that results are
+ * deterministic and independent of {@link Node#hashCode()}. All per-node state, including the node to id
+ * lookup, is kept in primitive arrays. Each instance only reads shared state, so that different nets can
+ * be fixed concurrently.
  */
 public class RouteFixer{
-    private NetWrapper netp;
-    private Map<Node, NodeWithDelay> nodeMap;
-    private Set<NodeWithDelay> sources;
-    private int vertexId;
+    private final NetWrapper netp;
+    /** Open-addressing table from a node's packed tile address and wire index to its id + 1 (0 if empty) */
+    private long[] idTableKeys;
+    private int[] idTableValues;
+    /** Nodes indexed by id */
+    private final List<Node> nodes;
+    /** Delay of each node, indexed by id */
+    private float[] delays;
+    /** Whether each node is a long node, indexed by id */
+    private boolean[] isLong;
+    /** Whether each node is a source of a connection, indexed by id */
+    private boolean[] isSource;
+    /** Children of node i are children[childStart[i]] to children[childStart[i+1]-1] */
+    private int[] childStart;
+    private int[] children;
+    /** Minimum-delay driver of each node (or -1 for sources), indexed by id */
+    private int[] prev;
 
     public RouteFixer(NetWrapper netp, RouteNodeGraph routingGraph) {
         this.netp = netp;
-        nodeMap = new HashMap<>();
-        sources = new HashSet<>();
-        vertexId = 0;
+        nodes = new ArrayList<>();
+        idTableKeys = new long[64];
+        idTableValues = new int[64];
+        delays = new float[16];
         buildGraph(netp, routingGraph);
     }
 
-    private void buildGraph(NetWrapper netWrapper, RouteNodeGraph routingGraph) {
-        for (Connection connection:netWrapper.getConnections()) {
-            List<Node> nodes = connection.getNodes();
-            // nodes of connections are in the order from sink to source
-            int vertexSize = nodes.size();
-            for (int i = vertexSize - 1; i > 0; i--) {
-                Node cur = nodes.get(i);
-                Node next = nodes.get(i - 1);
-
-                RouteNode currRnode = routingGraph.getNode(cur);
-                RouteNode nextRnode = routingGraph.getNode(next);
-                float currDly = currRnode == null? 0f : currRnode.getDelay();
-                float nextDly = nextRnode == null? 0f : nextRnode.getDelay();
-
-                NodeWithDelay newCur = nodeMap.computeIfAbsent(cur, (k) -> new NodeWithDelay(vertexId++, cur, currDly));
-                NodeWithDelay newNext = nodeMap.computeIfAbsent(next, (k) -> new NodeWithDelay(vertexId++, next, nextDly));
-                if (i == 1) {
-                    newNext.setSink(true);
-                }
-                if (i == vertexSize - 1) {
-                    sources.add(newCur);
-                }
-                newCur.addChildren(newNext);
-            }
-        }
+    private static long getKey(Node node) {
+        return ((long) node.getTile().getUniqueAddress() << 32) | node.getWireIndex();
+    }
+
+    private static int getSlot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
     }
 
     /**
-     * Finalizes the route of each connection based on the delay-aware path merging.
+     * Gets the id of a node previously added to the graph.
+     * @param node The node in question.
+     * @return The node's id, or -1 if the node is not part of the graph.
      */
-    public void finalizeRoutesOfConnections() {
-        setShortestPathToEachVertex();
+    private int getId(Node node) {
+        long key = getKey(node);
+        int mask = idTableKeys.length - 1;
+        for (int slot = getSlot(key, mask); idTableValues[slot] != 0; slot = (slot + 1) & mask) {
+            if (idTableKeys[slot] == key) {
+                return idTableValues[slot] - 1;
+            }
+        }
+        return -1;
+    }
 
-        for (Connection connection : netp.getConnections()) {
-            List<Node> nodes = connection.getNodes();
-            if (nodes.isEmpty()) {
+    private int getOrCreateId(Node node, RouteNodeGraph routingGraph) {
+        long key = getKey(node);
+        int mask = idTableKeys.length - 1;
+        int slot = getSlot(key, mask);
+        for (; idTableValues[slot] != 0; slot = (slot + 1) & mask) {
+            if (idTableKeys[slot] == key) {
+                return idTableValues[slot] - 1;
+            }
+        }
+        int id = nodes.size();
+        idTableKeys[slot] = key;
+        idTableValues[slot] = id + 1;
+        nodes.add(node);
+        if (id == delays.length) {
+            delays = Arrays.copyOf(delays, delays.length * 2);
+        }
+        RouteNode rnode = routingGraph.getNode(node);
+        delays[id] = rnode == null ? 0f : rnode.getDelay();
+        // Keep the table at most half full
+        if (2 * nodes.size() > idTableKeys.length) {
+            growIdTable();
+        }
+        return id;
+    }
+
+    private void growIdTable() {
+        long[] oldKeys = idTableKeys;
+        int[] oldValues = idTableValues;
+        idTableKeys = new long[oldKeys.length * 2];
+        idTableValues = new int[oldValues.length * 2];
+        int mask = idTableKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == 0) {
                 continue;
             }
-            NodeWithDelay csink = nodeMap.get(nodes.get(0));
-            nodes.clear();
-            nodes.add(csink.getNode());
-            NodeWithDelay prev = csink.getPrev();
-            while (prev != null) {
-                nodes.add(prev.getNode());
-                prev = prev.getPrev();
+            int slot = getSlot(oldKeys[i], mask);
+            while (idTableValues[slot] != 0) {
+                slot = (slot + 1) & mask;
             }
+            idTableKeys[slot] = oldKeys[i];
+            idTableValues[slot] = oldValues[i];
         }
     }
 
-    private void setShortestPathToEachVertex() {
-        PriorityQueue<NodeWithDelay> queue = new PriorityQueue<>(NodeWithDelayComparator);
-
-        queue.clear();
-        for (NodeWithDelay source : sources) {
-            source.cost = source.delay;
-            source.setPrev(null);
-            queue.add(source);
-        }
-
-        while (!queue.isEmpty()) {
-            NodeWithDelay cur = queue.poll();
-            Set<NodeWithDelay> nexts = cur.children;
-            if (nexts == null || nexts.isEmpty()) continue;
-            for (NodeWithDelay next : nexts) {
-                float newCost = cur.cost + next.getDelay()
-                        + DelayEstimatorBase.getExtraDelay(next.getNode(), DelayEstimatorBase.isLong(cur.getNode()));
-                if (!next.isVisited() || (next.isVisited() && newCost < next.cost)) {
-                    // The second condition is necessary,
-                    // because a smaller path delay from the source to the current "next" could be achieved later.
-                    next.cost = newCost;
-                    next.setPrev(cur);
-                    next.setVisited(true);
-                    queue.add(next);
+    private void buildGraph(NetWrapper netWrapper, RouteNodeGraph routingGraph) {
+        // Edges (parent, child) packed into a long, in the order they are encountered
+        long[] edges = new long[16];
+        int numEdges = 0;
+        int[] sourceIds = new int[netWrapper.getConnections().size()];
+        int numSources = 0;
+        for (Connection connection:netWrapper.getConnections()) {
+            List<Node> connectionNodes = connection.getNodes();
+            // nodes of connections are in the order from sink to source
+            int vertexSize = connectionNodes.size();
+            if (vertexSize == 0) {
+                continue;
+            }
+            int cur = getOrCreateId(connectionNodes.get(vertexSize - 1), routingGraph);
+            sourceIds[numSources++] = cur;
+            for (int i = vertexSize - 1; i > 0; i--) {
+                int next = getOrCreateId(connectionNodes.get(i - 1), routingGraph);
+                if (numEdges == edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2);
                 }
+                edges[numEdges++] = ((long) cur << 32) | next;
+                cur = next;
             }
         }
-    }
-
-    private static final Comparator<NodeWithDelay> NodeWithDelayComparator = (a, b) -> Float.compare(a.getDelay(), b.getDelay());
 
-    static class NodeWithDelay{
-        private int id;
-        private Node node;
-        private float delay;
-        private boolean isSink;
-        private NodeWithDelay prev;
-        private float cost;
-        private boolean visited;
-        private Set<NodeWithDelay> children;
-
-        public NodeWithDelay(int id, Node node, float delay) {
-            this.id = id;
-            this.node = node;
-            this.delay = delay;
-            isSink = false;
-            prev = null;
-            cost = Short.MAX_VALUE;
-            visited = false;
-            children = new HashSet<>();
+        int numNodes = nodes.size();
+        delays = Arrays.copyOf(delays, numNodes);
+        isLong = new boolean[numNodes];
+        isSource = new boolean[numNodes];
+        for (int i = 0; i < numNodes; i++) {
+            isLong[i] = DelayEstimatorBase.isLong(nodes.get(i));
         }
-
-        public void addChildren(NodeWithDelay child) {
-            children.add(child);
+        for (int i = 0; i < numSources; i++) {
+            isSource[sourceIds[i]] = true;
         }
 
-        public boolean isVisited() {
-            return visited;
+        // Sort and de-duplicate edges, then build the CSR adjacency arrays
+        Arrays.sort(edges, 0, numEdges);
+        childStart = new int[numNodes + 1];
+        children = new int[numEdges];
+        int numChildren = 0;
+        for (int e = 0; e < numEdges; e++) {
+            if (e > 0 && edges[e] == edges[e - 1]) {
+                continue;
+            }
+            int parent = (int) (edges[e] >>> 32);
+            childStart[parent + 1]++;
+            children[numChildren++] = (int) edges[e];
         }
-
-        public void setVisited(boolean visited) {
-            this.visited = visited;
+        for (int i = 0; i < numNodes; i++) {
+            childStart[i + 1] += childStart[i];
         }
+        assert(childStart[numNodes] == numChildren);
+    }
 
-        public NodeWithDelay getPrev() {
-            return prev;
-        }
+    /**
+     * Finalizes the route of each connection based on the delay-aware path merging.
+     */
+    public void finalizeRoutesOfConnections() {
+        setShortestPathToEachVertex();
 
-        public void setPrev(NodeWithDelay driver) {
-            if (prev == null) {
-                prev = driver;
-            } else if (driver.cost < prev.cost) {
-                prev = driver;
+        for (Connection connection : netp.getConnections()) {
+            List<Node> connectionNodes = connection.getNodes();
+            if (connectionNodes.isEmpty()) {
+                continue;
+            }
+            int csink = getId(connectionNodes.get(0));
+            connectionNodes.clear();
+            for (int id = csink; id != -1; id = prev[id]) {
+                connectionNodes.add(nodes.get(id));
             }
         }
+    }
 
-        public boolean isSink() {
-            return isSink;
-        }
+    /**
+     * Computes the minimum-delay driver of every node using Dijkstra's algorithm from all sources.
+     * Ties are broken by node id, which makes the result deterministic.
+     */
+    private void setShortestPathToEachVertex() {
+        int numNodes = nodes.size();
+        float[] cost = new float[numNodes];
+        Arrays.fill(cost, Float.MAX_VALUE);
+        prev = new int[numNodes];
+        Arrays.fill(prev, -1);
+        boolean[] done = new boolean[numNodes];
 
-        public void setSink(boolean isSink) {
-            this.isSink = isSink;
+        // Binary min-heap whose entries are the (non-negative) cost's bits packed above the node id
+        long[] heap = new long[Math.max(numNodes, 1)];
+        int heapSize = 0;
+        for (int id = 0; id < numNodes; id++) {
+            if (isSource[id]) {
+                cost[id] = delays[id];
+                heap = heapPush(heap, heapSize++, pack(cost[id], id));
+            }
         }
 
-        public float getDelay() {
-            return delay;
+        while (heapSize > 0) {
+            int cur = (int) heap[0];
+            heapPop(heap, heapSize--);
+            if (done[cur]) {
+                continue;
+            }
+            done[cur] = true;
+            for (int c = childStart[cur]; c < childStart[cur + 1]; c++) {
+                int next = children[c];
+                if (done[next]) {
+                    continue;
+                }
+                float newCost = cost[cur] + delays[next]
+                        + DelayEstimatorBase.getExtraDelay(nodes.get(next), isLong[cur]);
+                if (newCost < cost[next]) {
+                    cost[next] = newCost;
+                    prev[next] = cur;
+                    heap = heapPush(heap, heapSize++, pack(newCost, next));
+                }
+            }
         }
+    }
 
-        public Node getNode() {
-            return node;
+    /**
+     * Adds an entry to a binary min-heap.
+     * @param heap The heap array.
+     * @param size Number of entries in the heap before this push.
+     * @param entry The entry to add.
+     * @return The heap array, which is reallocated if it was full.
+     */
+    private static long[] heapPush(long[] heap, int size, long entry) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
         }
-
-        public void setDelay(float f) {
-            delay = f;
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
         }
+        heap[i] = entry;
+        return heap;
+    }
 
-        @Override
-        public int hashCode() {
-            return node.hashCode();
+    /**
+     * Removes the smallest entry (heap[0]) from a binary min-heap.
+     * @param heap The heap array.
+     * @param size Number of entries in the heap before this pop.
+     */
+    private static void heapPop(long[] heap, int size) {
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
         }
+        heap[i] = last;
+    }
 
-        @Override
-        public String toString() {
-            return id + ", " + node.toString() + ", delay = " + delay + ", sink? " + isSink;
+    /**
+     * Packs a cost and node id into a single long whose natural ordering is by cost, then by id.
+     * This relies on the IEEE 754 bit patterns of non-negative floats being ordered like the floats themselves.
+     */
+    private static long pack(float cost, int id) {
+        if (!(cost >= 0)) {
+            throw new RuntimeException("ERROR: RouteFixer requires non-negative node costs, found " + cost
+                    + " for node id " + id);
         }
+        return ((long) Float.floatToIntBits(cost) << 32) | id;
     }
-
 }
@@ -30,6 +30,7 @@ import com.xilinx.rapidwright.device.Node;
 import com.xilinx.rapidwright.device.Series;
 import com.xilinx.rapidwright.device.Tile;
 import com.xilinx.rapidwright.device.TileTypeEnum;
+import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
 import com.xilinx.rapidwright.util.RuntimeTracker;
 
 import java.util.ArrayList;
@@ -445,6 +446,24 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
         return 0;
     }
 
+    /**
+     * Checks if this RouteNode is a long node (see {@link DelayEstimatorBase#isLong(Node)}).
+     * @return True, if this RouteNode is a long node.
+     */
+    public boolean isLong() {
+        return DelayEstimatorBase.isLong(this);
+    }
+
+    /**
+     * Gets the extra delay incurred when entering this RouteNode from its parent
+     * (see {@link DelayEstimatorBase#getExtraDelay(Node, boolean)}).
+     * @param longParent True, if the parent is a long node.
+     * @return The extra delay.
+     */
+    public short getExtraDelay(boolean longParent) {
+        return DelayEstimatorBase.getExtraDelay(this, longParent);
+    }
+
     public short getBeginTileXCoordinate() {
         // For US+ Laguna tiles, use end tile coordinate as that's already been corrected
         // (see RouteNodeInfo.getEndTileXCoordinate())
@@ -80,6 +80,28 @@ public class RouteNodeGraph {
     private final AtomicReferenceArray<Net[]> preservedMap;
     private final AtomicInteger preservedMapSize;
 
+    /**
+     * When non-null (see {@link #setTrackPreservedNodes(boolean)}), the nodes preserved by each net,
+     * which allows {@link #unpreserve(Set)} to only visit those nodes
+     */
+    private Map<Net, PreservedNodes> preservedNodesOfNet;
+
+    /**
+     * Growable list of nodes preserved by a net, each encoded as its tile's unique address
+     * (upper 32 bits) and its base wire index (lower 32 bits).
+     */
+    private static class PreservedNodes {
+        private long[] keys = new long[8];
+        private int size;
+
+        private synchronized void add(int tileAddress, int wireIndex) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = ((long) tileAddress << 32) | wireIndex;
+        }
+    }
+
     /**
      * A synchronization object tracking the number of outstanding calls to
      * asyncPreserve()
@@ -586,13 +608,36 @@ public class RouteNodeGraph {
     }
 
     protected Net preserve(Node node, Net net) {
-        Net oldNet = preserve(node.getTile(), node.getWireIndex(), net);
+        Tile tile = node.getTile();
+        int wireIndex = node.getWireIndex();
+        Net oldNet = preserve(tile, wireIndex, net);
         if (oldNet == null) {
             preservedMapSize.incrementAndGet();
+            if (preservedNodesOfNet != null) {
+                preservedNodesOfNet.computeIfAbsent(net, (k) -> new PreservedNodes())
+                        .add(tile.getUniqueAddress(), wireIndex);
+            }
         }
         return oldNet;
     }
 
+    /**
+     * Enables or disables recording of the nodes preserved by each net, as required by
+     * {@link #unpreserve(Set)}. Must be enabled before any nodes are preserved, since nodes
+     * preserved while disabled are not recorded.
+     * @param track true to record preserved nodes per net, false to stop and discard all records.
+     */
+    public void setTrackPreservedNodes(boolean track) {
+        if (!track) {
+            preservedNodesOfNet = null;
+        } else if (preservedNodesOfNet == null) {
+            if (preservedMapSize.get() > 0) {
+                throw new RuntimeException("ERROR: Preserved nodes must be tracked before any node is preserved");
+            }
+            preservedNodesOfNet = new ConcurrentHashMap<>();
+        }
+    }
+
     private Net preserve(Tile tile, int wireIndex, Net net) {
         // Assumes that tile/wireIndex describes the base wire on the node
         int tileAddress = tile.getUniqueAddress();
@@ -710,6 +755,49 @@ public class RouteNodeGraph {
         return true;
     }
 
+    /**
+     * Unpreserves all nodes currently preserved by any of the given nets. Only the nodes recorded
+     * as preserved by those nets are visited, which requires {@link #setTrackPreservedNodes(boolean)}
+     * to have been enabled before they were preserved.
+     * @param nets Set of nets to unpreserve.
+     * @return The number of nodes unpreserved.
+     */
+    public int unpreserve(Set<Net> nets) {
+        if (preservedNodesOfNet == null) {
+            throw new RuntimeException("ERROR: Preserved nodes are not being tracked by this graph");
+        }
+        int numUnpreserved = 0;
+        for (Net net : nets) {
+            PreservedNodes nodes = preservedNodesOfNet.remove(net);
+            if (nodes == null) {
+                continue;
+            }
+            for (int i = 0; i < nodes.size; i++) {
+                long key = nodes.keys[i];
+                Net[] preservedNets = preservedMap.get((int) (key >>> 32));
+                int wireIndex = (int) key;
+                // Node may since have been unpreserved individually, or claimed by another net
+                if (preservedNets != null && preservedNets[wireIndex] == net) {
+                    preservedNets[wireIndex] = null;
+                    numUnpreserved++;
+                }
+            }
+        }
+        preservedMapSize.addAndGet(-numUnpreserved);
+        return numUnpreserved;
+    }
+
+    /**
+     * Discards all rnodes (and thus all routing state) created so far, while keeping
+     * all preserved nodes and device-level lookups intact. This allows the same graph
+     * to be reused by subsequent routing runs on the same design.
+     */
+    public void resetRnodes() {
+        Arrays.fill(nodesMap, null);
+        nodesMapSize.set(0);
+        createRnodeTime = 0;
+    }
+
     public boolean isPreserved(Node node) {
         Tile tile = node.getTile();
         int wireIndex = node.getWireIndex();
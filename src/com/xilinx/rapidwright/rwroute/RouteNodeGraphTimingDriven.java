@@ -41,6 +41,8 @@ import java.util.Set;
 public class RouteNodeGraphTimingDriven extends RouteNodeGraph {
     /** The instantiated delayEstimator to compute delays */
     protected final DelayEstimatorBase delayEstimator;
+    /** Memoized node delays of {@link #delayEstimator} */
+    protected final NodeDelayCache delayCache;
     /** A flag to indicate if the routing resource exclusion should disable exclusion of nodes cross RCLK */
     protected final boolean maskNodesCrossRCLK;
 
@@ -75,6 +77,7 @@ public class RouteNodeGraphTimingDriven extends RouteNodeGraph {
                                          DelayEstimatorBase delayEstimator) {
         super(design, config);
         this.delayEstimator = delayEstimator;
+        this.delayCache = new NodeDelayCache(design.getDevice(), delayEstimator);
         this.maskNodesCrossRCLK = config.isMaskNodesCrossRCLK();
 
         excludeAboveRclk = new HashSet<>();
@@ -100,10 +103,16 @@ public class RouteNodeGraphTimingDriven extends RouteNodeGraph {
 
         /** The delay of this rnode computed based on the timing model */
         private final float delay;
+        /** The extra delay of this rnode when entered from a long node */
+        private final short extraDelayFromLong;
+        /** Whether this rnode is a long node */
+        private final boolean isLong;
 
         protected RouteNodeTimingDriven(RouteNodeGraphTimingDriven routingGraph, Node node, RouteNodeType type) {
             super(routingGraph, node, type);
-            delay = RouterHelper.computeNodeDelay(routingGraph.delayEstimator, node);
+            delay = routingGraph.delayCache.getDelay(node);
+            extraDelayFromLong = DelayEstimatorBase.getExtraDelay(node, true);
+            isLong = DelayEstimatorBase.isLong(node);
         }
 
         @Override
@@ -111,6 +120,16 @@ public class RouteNodeGraphTimingDriven extends RouteNodeGraph {
             return delay;
         }
 
+        @Override
+        public boolean isLong() {
+            return isLong;
+        }
+
+        @Override
+        public short getExtraDelay(boolean longParent) {
+            return longParent ? extraDelayFromLong : 0;
+        }
+
         @Override
         public String toString() {
             StringBuilder s = new StringBuilder();
@@ -137,6 +137,18 @@ public class DelayEstimatorBase<T extends InterconnectInfo> implements java.io.S
         return calcNodeGroupDelay(termInfo.ng, termInfo.begin(), termInfo.end());
     }
 
+    /**
+     * Check if the delay of the node group of the given exit node depends on the X coordinate
+     * (as opposed to the Y coordinate) of its tile.
+     *
+     * @param exitNode the exit node of the node group
+     * @return true if the node group is horizontal
+     */
+    public boolean isHorizontal(Node exitNode) {
+        TermInfo termInfo = getTermInfo(exitNode);
+        return termInfo.ng != T.NodeGroupType.CLE_IN && termInfo.ng.orientation() == T.Orientation.HORIZONTAL;
+    }
+
     /**
      * Represent a routing resource in the delay graph
      */
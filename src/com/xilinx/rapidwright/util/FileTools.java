@@ -1309,13 +1309,15 @@ public class FileTools {
     }
 
     /**
-     * Gets the relative routethru file name for the given device.
+     * Gets the relative routethru file name for the given device. The name includes the
+     * {@link RouteThruHelper#SERIALIZED_VERSION} of the file format.
      * 
      * @param deviceName Name of the device
      * @return Relative routethru data file name for the given device.
      */
     public static String getRouteThruFileName(String deviceName) {
-        return ROUTETHRU_FOLDER_NAME + File.separator + deviceName + ".rt";
+        return ROUTETHRU_FOLDER_NAME + File.separator + deviceName + ".v" + RouteThruHelper.SERIALIZED_VERSION
+                + ".rt";
     }
 
     /**
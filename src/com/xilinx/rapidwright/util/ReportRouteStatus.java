@@ -31,13 +31,134 @@ import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.rwroute.RouterHelper;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
 
 public class ReportRouteStatus {
+
+    /** Number of nets to be processed by each parallel task */
+    private static final int NETS_PER_TASK = 1024;
+
+    /** Net status flags */
+    private static final byte NOT_FULLY_ROUTED = 0x1;
+    private static final byte PARTIALLY_ROUTED = 0x2;
+    /** Net uses a node that was first used by a different net (preceding it in iteration order) */
+    private static final byte USES_OTHER_NETS_NODE = 0x4;
+    /** Net uses a node that is also used by a different net */
+    private static final byte HAS_RESOURCE_CONFLICT = 0x8;
+
+    /**
+     * A concurrent open-addressing hash table that records, for every node (keyed by its tile's unique address
+     * and its wire index), the net that owns it and whether any other net also uses it.
+     * Nets are identified by their index into the list of examined nets; where multiple nets use the same node,
+     * the lowest index is recorded as owner so that the outcome is independent of thread scheduling.
+     */
+    private static class NodeOwnershipTable {
+        private static final long EMPTY_KEY = -1;
+        private static final int EMPTY_VALUE = 0;
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private final AtomicLongArray keys;
+        /** Encoded as ((owner + 1) << 1) | shared */
+        private final AtomicIntegerArray values;
+        private final int mask;
+
+        NodeOwnershipTable(long maxNodes) {
+            long capacity = Long.highestOneBit(Math.max(16, maxNodes * 2 - 1)) << 1;
+            if (capacity > MAX_CAPACITY) {
+                if (maxNodes > MAX_CAPACITY / 4 * 3) {
+                    throw new RuntimeException("ERROR: Too many PIPs (" + maxNodes + ") to examine.");
+                }
+                capacity = MAX_CAPACITY;
+            }
+            keys = new AtomicLongArray((int) capacity);
+            for (int i = 0; i < capacity; i++) {
+                keys.lazySet(i, EMPTY_KEY);
+            }
+            values = new AtomicIntegerArray((int) capacity);
+            mask = (int) capacity - 1;
+        }
+
+        private static int hash(long key) {
+            key ^= (key >>> 33);
+            key *= 0xff51afd7ed558ccdL;
+            key ^= (key >>> 33);
+            return (int) key;
+        }
+
+        /**
+         * Records the given net as a user of the given node.
+         * @param node The node used.
+         * @param netIndex Index of the net using the node.
+         * @return The slot that holds the node.
+         */
+        int claim(Node node, int netIndex) {
+            long key = ((long) node.getTile().getUniqueAddress() << 32) | node.getWireIndex();
+            int slot = hash(key) & mask;
+            while (true) {
+                long existingKey = keys.get(slot);
+                if (existingKey == EMPTY_KEY) {
+                    if (keys.compareAndSet(slot, EMPTY_KEY, key)) {
+                        existingKey = key;
+                    } else {
+                        existingKey = keys.get(slot);
+                    }
+                }
+                if (existingKey == key) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            while (true) {
+                int value = values.get(slot);
+                int newValue;
+                if (value == EMPTY_VALUE) {
+                    newValue = (netIndex + 1) << 1;
+                } else {
+                    int owner = getOwner(value);
+                    if (owner == netIndex) {
+                        return slot;
+                    }
+                    newValue = ((Math.min(owner, netIndex) + 1) << 1) | 1;
+                }
+                if (value == newValue || values.compareAndSet(slot, value, newValue)) {
+                    return slot;
+                }
+            }
+        }
+
+        private static int getOwner(int value) {
+            return (value >>> 1) - 1;
+        }
+
+        int getOwnerOfSlot(int slot) {
+            return getOwner(values.get(slot));
+        }
+
+        boolean isSlotShared(int slot) {
+            return (values.get(slot) & 1) != 0;
+        }
+    }
+
+    private static void invokeAllChunked(int size, IntConsumer task) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i += NETS_PER_TASK) {
+            final int start = i;
+            final int end = Math.min(i + NETS_PER_TASK, size);
+            tasks.add(() -> {
+                for (int j = start; j < end; j++) {
+                    task.accept(j);
+                }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+    }
+
     /**
      * Compute the route status of given Design's physical nets by examining the
      * {@link SitePinInst#isRouted()} state of each net's pins, as well as to discovering node conflicts
@@ -46,6 +167,8 @@ public class ReportRouteStatus {
      * {@link DesignTools#updatePinsIsRouted(Design)} for recomputing the SitePinInst.isRouted() state.
      * Note that currently this method does not check the Design's logical netlist nor its physical
      * placement --- these are assumed to be correct.
+     * Routable nets are examined in parallel (see {@link ParallelismTools}), with node usage recorded
+     * in a compact concurrent table rather than a map of {@link Node} objects.
      * @param design Design to examine.
      * @return ReportRouteStatusResult object.
      */
@@ -53,11 +176,11 @@ public class ReportRouteStatus {
         final EDIFNetlist netlist = design.getNetlist();
 
         ReportRouteStatusResult rrs = new ReportRouteStatusResult();
-        Map<Node, Net> nodesUsedByDesign = new HashMap<>();
-        Set<Net> conflictingNets = new HashSet<>();
 
         Collection<Net> nets = design.getNets();
         rrs.logicalNets = nets.size();
+        List<Net> routableNets = new ArrayList<>();
+        long numPIPs = 0;
         for (Net net : nets) {
             if (net.isStaticNet()) {
                 if (net.getPins().isEmpty()) {
@@ -71,32 +194,60 @@ public class ReportRouteStatus {
                 rrs.netsNotNeedingRouting++;
                 continue;
             }
-            rrs.routableNets++;
+            routableNets.add(net);
+            numPIPs += net.getPIPs().size();
+        }
+        rrs.routableNets = routableNets.size();
 
-            boolean isFullyRouted = true;
-            boolean isPartiallyRouted = false;
+        // First pass: record the nodes used by every net, as well as its pins' routed status
+        NodeOwnershipTable nodesUsedByDesign = new NodeOwnershipTable(numPIPs);
+        int[][] netSlots = new int[routableNets.size()][];
+        byte[] netStatus = new byte[routableNets.size()];
+        invokeAllChunked(routableNets.size(), (netIndex) -> {
+            Net net = routableNets.get(netIndex);
+            byte status = 0;
             for (SitePinInst spi : net.getPins()) {
                 if (spi.isRouted()) {
-                    isPartiallyRouted = true;
+                    status |= PARTIALLY_ROUTED;
                     continue;
                 }
-                isFullyRouted = false;
+                status |= NOT_FULLY_ROUTED;
             }
+            netStatus[netIndex] = status;
 
-            boolean isConflictFree = true;
-            for (PIP pip : net.getPIPs()) {
+            List<PIP> pips = net.getPIPs();
+            int[] slots = new int[pips.size()];
+            int i = 0;
+            for (PIP pip : pips) {
                 Node endNode = pip.isReversed() ? pip.getStartNode() : pip.getEndNode();
-                Net conflictingNet = nodesUsedByDesign.putIfAbsent(endNode, net);
-                if (conflictingNet != null && conflictingNet != net) {
-                    conflictingNets.add(conflictingNet);
-                    isConflictFree = false;
+                slots[i++] = nodesUsedByDesign.claim(endNode, netIndex);
+            }
+            netSlots[netIndex] = slots;
+        });
+
+        // Second pass: now that all nodes have been recorded, determine the conflicts of every net
+        invokeAllChunked(routableNets.size(), (netIndex) -> {
+            byte status = netStatus[netIndex];
+            for (int slot : netSlots[netIndex]) {
+                if (nodesUsedByDesign.isSlotShared(slot)) {
+                    status |= HAS_RESOURCE_CONFLICT;
+                    if (nodesUsedByDesign.getOwnerOfSlot(slot) != netIndex) {
+                        status |= USES_OTHER_NETS_NODE;
+                        break;
+                    }
                 }
             }
+            netStatus[netIndex] = status;
+        });
 
-            if (!isConflictFree) {
-                conflictingNets.add(net);
-            } else if (!isFullyRouted) {
-                if (isPartiallyRouted) {
+        for (byte status : netStatus) {
+            if ((status & HAS_RESOURCE_CONFLICT) != 0) {
+                rrs.netsWithResourceConflicts++;
+            }
+            // A net is only examined for unrouted pins if none of its nodes were already used by a
+            // preceding net (it may still be in conflict with a subsequent net)
+            if ((status & USES_OTHER_NETS_NODE) == 0 && (status & NOT_FULLY_ROUTED) != 0) {
+                if ((status & PARTIALLY_ROUTED) != 0) {
                     rrs.netsWithSomeUnroutedPins++;
                 } else {
                     rrs.unroutedNets++;
@@ -104,7 +255,6 @@ public class ReportRouteStatus {
             }
         }
 
-        rrs.netsWithResourceConflicts = conflictingNets.size();
         rrs.netsWithRoutingErrors = rrs.netsWithSomeUnroutedPins + rrs.netsWithResourceConflicts;
         rrs.fullyRoutedNets = rrs.routableNets - rrs.unroutedNets - rrs.netsWithRoutingErrors;
         return rrs;
@@ -23,11 +23,15 @@
 
 package com.xilinx.rapidwright.design;
 
+import com.xilinx.rapidwright.design.drc.DRCViolation;
 import com.xilinx.rapidwright.design.drc.NetRoutesThruLutAtMostOnce;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.List;
+
 public class TestDRC {
     @Test
     public void testRoutethruPass() {
@@ -67,4 +71,79 @@ public class TestDRC {
         Assertions.assertEquals(drc.run(design, strict), 4);
     }
 
+    @Test
+    public void testRuleEngine() {
+        final String dcpPath = RapidWrightDCP.getString("bug226.dcp");
+        Design design = Design.readCheckpoint(dcpPath);
+
+        DRC drc = new DRC();
+        List<DRCViolation> violations = drc.check(design);
+        Assertions.assertFalse(violations.isEmpty());
+        int numFails = 0;
+        for (DRCViolation v : violations) {
+            Assertions.assertEquals("NetRoutesThruLutAtMostOnce", v.getRuleName());
+            Assertions.assertEquals(DRCViolation.Severity.WARNING, v.getSeverity());
+            Assertions.assertFalse(v.isFailure(false));
+            numFails += v.getCount();
+        }
+        Assertions.assertEquals(4, numFails);
+        Assertions.assertEquals(4, drc.run(design, true));
+        Assertions.assertEquals(0, drc.run(design, false));
+    }
+
+    @Test
+    public void testIncremental() {
+        final String dcpPath = RapidWrightDCP.getString("bug226.dcp");
+        Design design = Design.readCheckpoint(dcpPath);
+
+        DRC drc = new DRC();
+        List<DRCViolation> violations = drc.check(design);
+        Assertions.assertFalse(violations.isEmpty());
+
+        // Nothing changed
+        Assertions.assertEquals(new HashSet<>(violations), new HashSet<>(drc.checkIncremental(design)));
+
+        // Unroute the violating net; until it is reported as modified, its cached violations remain
+        Net net = (Net) violations.get(0).getObject();
+        net.unroute();
+        Assertions.assertTrue(drc.checkIncremental(design).stream().anyMatch((v) -> v.getObject() == net));
+        drc.markModified(net);
+        List<DRCViolation> incremental = drc.checkIncremental(design);
+        Assertions.assertTrue(incremental.stream().noneMatch((v) -> v.getObject() == net));
+        Assertions.assertEquals(new DRC().check(design).size(), incremental.size());
+    }
+
+    @Test
+    public void testIncrementalSiteInstPropagatesToNets() {
+        final String dcpPath = RapidWrightDCP.getString("bug226.dcp");
+        Design design = Design.readCheckpoint(dcpPath);
+
+        DRC drc = new DRC();
+        List<DRCViolation> violations = drc.check(design);
+        Net net = (Net) violations.get(0).getObject();
+        net.unroute();
+
+        // Reporting a site instance that the net connects to re-checks the net too
+        drc.markModified(net.getPins().get(0).getSiteInst());
+        Assertions.assertTrue(drc.checkIncremental(design).stream().noneMatch((v) -> v.getObject() == net));
+    }
+
+    @Test
+    public void testIncrementalDropsRemovedObjects() {
+        final String dcpPath = RapidWrightDCP.getString("bug226.dcp");
+        Design design = Design.readCheckpoint(dcpPath);
+
+        DRC drc = new DRC();
+        List<DRCViolation> violations = drc.check(design);
+        Net net = (Net) violations.get(0).getObject();
+        design.removeNet(net);
+
+        // Removed without being reported
+        Assertions.assertTrue(drc.checkIncremental(design).stream().noneMatch((v) -> v.getObject() == net));
+    }
+
+    @Test
+    public void testChecksStillPopulated() {
+        Assertions.assertFalse(DRC.checks.isEmpty());
+    }
 }
@@ -181,6 +181,40 @@ public class TestDesignTools {
         testCopyImplementationHelper(keepStaticRouting, numPIPs);
     }
 
+    @Test
+    public void testCopyImplementationMetrics() {
+        String dcpPath = RapidWrightDCP.getString("testCopyImplementation.dcp");
+        Design src = Design.readCheckpoint(dcpPath);
+        String cellName = src.getNetlist().findCellInsts("*clock_isolation").get(0).getFullHierarchicalInstName();
+        EDIFNetlist srcCellNetlist = EDIFTools.createNewNetlist(src.getNetlist().getHierCellInstFromName(cellName).getInst());
+        EDIFTools.ensureCorrectPartInEDIF(srcCellNetlist, src.getPartName());
+        Design d2 = new Design(srcCellNetlist);
+        d2.setAutoIOBuffers(false);
+        d2.setDesignOutOfContext(true);
+
+        List<CopyImplementationMetrics.Phase> phases = new ArrayList<>();
+        CopyImplementationMetrics[] last = new CopyImplementationMetrics[1];
+        DesignTools.copyImplementation(src, d2, true, true, true, true, Collections.singletonMap(cellName, ""),
+                (metrics) -> {
+                    phases.add(metrics.getPhase());
+                    last[0] = metrics;
+                });
+
+        Assertions.assertEquals(Arrays.asList(CopyImplementationMetrics.Phase.values()), phases);
+        CopyImplementationMetrics metrics = last[0];
+        Assertions.assertTrue(metrics.getNumCellsCopied() > 0);
+        int numNets = 0;
+        int numPIPs = 0;
+        for (Net net : d2.getNets()) {
+            if (net.isStaticNet()) continue;
+            numNets++;
+            numPIPs += net.getPIPs().size();
+        }
+        Assertions.assertTrue(numNets > 0);
+        Assertions.assertEquals(numNets, metrics.getNumNetsCopied());
+        Assertions.assertEquals(numPIPs, metrics.getNumPIPsCopied());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"picoblaze_ooc_X10Y235.dcp",
                             "picoblaze_partial.dcp",        // contains a routed clock net, with (many) bidir PIPs
@@ -449,6 +483,80 @@ public class TestDesignTools {
         }
     }
 
+    @Test
+    public void testGetTrimmablePIPsFromPinsDeferred() {
+        // All routed sinks are removed (as when the only sinks kept by copyImplementation() are
+        // inside the source site), so that all of the net's routing is trimmable
+        Design design = new Design("top", "xcau10p");
+        Net net = TestDesignHelper.createTestNet(design, "net", new String[]{
+                "INT_X24Y92/INT.LOGIC_OUTS_E27->INT_NODE_SDQ_41_INT_OUT1",            // Output pin
+                "INT_X24Y92/INT.INT_NODE_SDQ_41_INT_OUT1->>SS1_E_BEG7",
+                "INT_X24Y91/INT.SS1_E_END7->>INT_NODE_IMUX_25_INT_OUT1",
+                "INT_X24Y91/INT.INT_NODE_IMUX_25_INT_OUT1->>BOUNCE_E_13_FT0",
+                "INT_X24Y92/INT.BOUNCE_E_BLN_13_FT1->>INT_NODE_IMUX_30_INT_OUT0",
+                "INT_X24Y92/INT.INT_NODE_IMUX_30_INT_OUT0->>BYPASS_E4",
+                "INT_X24Y92/INT.BYPASS_E4->>INT_NODE_IMUX_0_INT_OUT0",
+                "INT_X24Y92/INT.INT_NODE_IMUX_0_INT_OUT0->>BYPASS_E3",                // DX input pin
+        });
+        SiteInst si = design.createSiteInst("SLICE_X38Y92");
+        SitePinInst source = net.createPin("DQ2", si);
+        SitePinInst sink = net.createPin("DX", si);
+        BELPin sourceBELPin = source.getBELPin();
+        si.routeIntraSiteNet(net, sourceBELPin, sourceBELPin);
+
+        List<PIP> clearLogicalDrivers = new ArrayList<>();
+        List<BELPin> unrouteSourceBELPins = new ArrayList<>();
+        Set<PIP> trimmable = DesignTools.getTrimmablePIPsFromPins(new NetRouteIndex(net), Arrays.asList(sink),
+                false, clearLogicalDrivers, unrouteSourceBELPins);
+        Assertions.assertEquals(new HashSet<>(net.getPIPs()), trimmable);
+        Assertions.assertTrue(clearLogicalDrivers.isEmpty());
+        // Nothing must have been modified yet
+        Assertions.assertEquals(net, si.getNetFromSiteWire(sourceBELPin.getSiteWireName()));
+
+        DesignTools.applyTrimmedPinsChanges(net, clearLogicalDrivers, unrouteSourceBELPins);
+        Assertions.assertEquals(unrouteSourceBELPins.isEmpty() ? net : null,
+                si.getNetFromSiteWire(sourceBELPin.getSiteWireName()));
+
+        // The same changes must be made when they are not deferred
+        Assertions.assertEquals(trimmable, DesignTools.getTrimmablePIPsFromPins(net, Arrays.asList(sink)));
+        Assertions.assertEquals(unrouteSourceBELPins.isEmpty() ? net : null,
+                si.getNetFromSiteWire(sourceBELPin.getSiteWireName()));
+    }
+
+    @Test
+    public void testRemoveConnectedRouting() {
+        Design design = new Design("top", "xcau10p");
+        Device device = design.getDevice();
+        String[] tree0 = new String[]{
+                "INT_X24Y92/INT.LOGIC_OUTS_E27->INT_NODE_SDQ_41_INT_OUT1",
+                "INT_X24Y92/INT.INT_NODE_SDQ_41_INT_OUT1->>SS1_E_BEG7",
+                "INT_X24Y91/INT.SS1_E_END7->>INT_NODE_IMUX_25_INT_OUT1",
+        };
+        String[] tree1 = new String[]{
+                "INT_X24Y92/INT.INT_NODE_IMUX_30_INT_OUT0->>BYPASS_E4",
+                "INT_X24Y92/INT.BYPASS_E4->>INT_NODE_IMUX_0_INT_OUT0",
+                "INT_X24Y92/INT.INT_NODE_IMUX_0_INT_OUT0->>BYPASS_E3",
+        };
+        List<String> pipNames = new ArrayList<>(Arrays.asList(tree0));
+        pipNames.addAll(Arrays.asList(tree1));
+        Net net = TestDesignHelper.createTestNet(design, "net", pipNames.toArray(new String[0]));
+
+        // A node not used by the net
+        Node unused = device.getPIP("INT_X24Y92/INT.INT_NODE_IMUX_12_INT_OUT1->>BYPASS_E7").getEndNode();
+        Assertions.assertFalse(DesignTools.removeConnectedRouting(net, unused));
+        Assertions.assertEquals(6, net.getPIPs().size());
+
+        // Starting from the middle of the second tree removes all of it (both upstream and
+        // downstream of the node), but none of the disjoint first tree
+        Node node = device.getPIP(tree1[0]).getEndNode();
+        Assertions.assertTrue(DesignTools.removeConnectedRouting(net, node));
+        Set<PIP> expected = new HashSet<>();
+        for (String pipName : tree0) {
+            expected.add(device.getPIP(pipName));
+        }
+        Assertions.assertEquals(expected, new HashSet<>(net.getPIPs()));
+    }
+
     @Test
     public void testCreateMissingSitePinInstsAlias() {
         Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
@@ -1437,6 +1545,95 @@ public class TestDesignTools {
         }
     }
 
+    @Test
+    public void testUpdatePinsIsRoutedWithIndex() {
+        String dcpPath = RapidWrightDCP.getString("picoblaze_ooc_X10Y235.dcp");
+        Design design = Design.readCheckpoint(dcpPath);
+
+        NetRouteIndex.Cache cache = new NetRouteIndex.Cache();
+        int numUnroutedSinkPins = DesignTools.updatePinsIsRouted(design, cache);
+        Map<SitePinInst, Boolean> isRouted = new HashMap<>();
+        for (Net net : design.getNets()) {
+            for (SitePinInst spi : net.getPins()) {
+                isRouted.put(spi, spi.isRouted());
+            }
+        }
+        Assertions.assertEquals(DesignTools.updatePinsIsRouted(design), numUnroutedSinkPins);
+        for (Map.Entry<SitePinInst, Boolean> e : isRouted.entrySet()) {
+            Assertions.assertEquals(e.getKey().isRouted(), e.getValue(), e.getKey().toString());
+        }
+
+        // Incrementally unroute one sink pin of a multi-sink net
+        Net net = null;
+        for (Net n : design.getNets()) {
+            if (!n.isStaticNet() && n.getSource() != null && n.hasPIPs() && n.getSinkPins().size() > 2 &&
+                    !DesignTools.isNetDrivenByHierPort(n)) {
+                net = n;
+                break;
+            }
+        }
+        Assertions.assertNotNull(net);
+        SitePinInst sink = net.getSinkPins().get(0);
+        NetRouteIndex index = cache.get(net);
+        Set<PIP> trimmable = DesignTools.getTrimmablePIPsFromPins(net, Arrays.asList(sink));
+        Assertions.assertFalse(trimmable.isEmpty());
+        Assertions.assertEquals(trimmable, DesignTools.getTrimmablePIPsFromPins(index, Arrays.asList(sink), false));
+        DesignTools.unroutePins(index, Arrays.asList(sink));
+        Assertions.assertTrue(index.isValid());
+        Assertions.assertTrue(index.isDirty());
+        for (PIP pip : trimmable) {
+            Assertions.assertFalse(net.getPIPs().contains(pip));
+        }
+
+        Assertions.assertEquals(numUnroutedSinkPins + 1, DesignTools.updatePinsIsRouted(design, cache));
+        Assertions.assertFalse(sink.isRouted());
+        Assertions.assertFalse(index.isDirty());
+        Assertions.assertEquals(numUnroutedSinkPins + 1, DesignTools.updatePinsIsRouted(design));
+    }
+
+    private static int countNodesWithFanout(Net net) {
+        Set<Node> drivingNodes = new HashSet<>();
+        Set<Node> drivenNodes = new HashSet<>();
+        for (PIP pip : net.getPIPs()) {
+            drivingNodes.add(pip.isReversed() ? pip.getEndNode() : pip.getStartNode());
+            drivenNodes.add(pip.isReversed() ? pip.getStartNode() : pip.getEndNode());
+        }
+        drivingNodes.remove(null);
+        int count = drivingNodes.size();
+        Set<Node> sinkNodes = new HashSet<>();
+        for (SitePinInst sink : net.getSinkPins()) {
+            Node node = sink.getConnectedNode();
+            if (sinkNodes.add(node) && drivenNodes.contains(node) && !drivingNodes.contains(node)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testNetRouteIndexNumNodesWithFanout() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        NetRouteIndex.Cache cache = new NetRouteIndex.Cache();
+        List<Net> multiSinkNets = new ArrayList<>();
+        for (Net net : design.getNets()) {
+            Assertions.assertEquals(countNodesWithFanout(net), cache.get(net).getNumNodesWithFanout(), net.getName());
+            if (!net.isStaticNet() && net.getSource() != null && net.hasPIPs() && net.getSinkPins().size() > 2) {
+                multiSinkNets.add(net);
+            }
+        }
+        Assertions.assertFalse(multiSinkNets.isEmpty());
+
+        // The running count must follow PIPs being removed and pins being removed from the net
+        for (Net net : multiSinkNets.subList(0, Math.min(10, multiSinkNets.size()))) {
+            NetRouteIndex index = cache.get(net);
+            SitePinInst sink = net.getSinkPins().get(0);
+            DesignTools.unroutePins(index, Arrays.asList(sink));
+            Assertions.assertEquals(countNodesWithFanout(net), index.getNumNodesWithFanout(), net.getName());
+            net.removePin(sink);
+            Assertions.assertEquals(countNodesWithFanout(net), index.getNumNodesWithFanout(), net.getName());
+        }
+    }
+
     @Test
     public void testUpdatePinsIsRoutedLoop() {
         Design design = new Design("top", "xcvu3p");
@@ -170,6 +170,30 @@ public class TestRelocationTools {
     }
 
 
+    @Test
+    public void testGetValidRelocationOffsets() {
+        String dcpPath = RapidWrightDCP.getString("picoblaze_ooc_X10Y235.dcp");
+        Design design = Design.readCheckpoint(dcpPath, CodePerfTracker.SILENT);
+
+        List<Pair<Integer, Integer>> offsets = new ArrayList<>();
+        List<Pair<Integer, Integer>> expected = new ArrayList<>();
+        testPicoblazeOOC().forEach((args) -> {
+            Object[] a = args.get();
+            if (!((String) a[0]).isEmpty()) {
+                return;
+            }
+            Pair<Integer, Integer> offset = new Pair<>((Integer) a[1], (Integer) a[2]);
+            offsets.add(offset);
+            if ((Boolean) a[3]) {
+                expected.add(offset);
+            }
+        });
+
+        Assertions.assertEquals(expected, RelocationTools.getValidRelocationOffsets(design, "", offsets));
+        Assertions.assertNull(RelocationTools.getValidRelocationOffsets(design, "processor", offsets));
+    }
+
+
     private static final String Picoblaze4OOCdcp = RapidWrightDCP.getString("picoblaze4_ooc_X6Y60_X6Y65_X10Y60_X10Y65.dcp");
 
     @ParameterizedTest(name = "Relocate PicoBlaze4 OOC ''{0}'' ({1},{2})")
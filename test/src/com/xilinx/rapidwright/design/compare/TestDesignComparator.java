@@ -21,8 +21,12 @@
  */
 package com.xilinx.rapidwright.design.compare;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
@@ -50,12 +54,14 @@ public class TestDesignComparator {
     }
 
 
-    @Test
-    public void testDesignComparator() {
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testDesignComparator(boolean useFingerprints) {
         Design gold = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
         Device device = gold.getDevice();
 
         DesignComparator dc = new DesignComparator();
+        dc.setUseFingerprints(useFingerprints);
         int diffs = dc.compareDesigns(gold, gold);
         Assertions.assertEquals(0, diffs);
 
@@ -187,4 +193,62 @@ public class TestDesignComparator {
             compareDesign(25, 1, DesignDiffType.PIP_FLAGS, dc, gold, test2);
         }
     }
+
+    @Test
+    public void testFingerprints() {
+        Design gold = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
+        Design test = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
+
+        for (SiteInst si : gold.getSiteInsts()) {
+            SiteInst testSiteInst = test.getSiteInstFromSiteName(si.getSiteName());
+            Assertions.assertEquals(DesignComparator.getSiteInstFingerprint(si),
+                    DesignComparator.getSiteInstFingerprint(testSiteInst));
+        }
+
+        Net goldNet = null;
+        for (Net net : gold.getNets()) {
+            Net testNet = test.getNet(net.getName());
+            Assertions.assertEquals(DesignComparator.getNetFingerprint(net),
+                    DesignComparator.getNetFingerprint(testNet));
+            if (goldNet == null && net.getPIPs().size() > 1) {
+                goldNet = net;
+            }
+        }
+        Assertions.assertNotNull(goldNet);
+
+        // Fingerprints must not depend on PIP order
+        Net testNet = test.getNet(goldNet.getName());
+        Collections.reverse(testNet.getPIPs());
+        Assertions.assertEquals(DesignComparator.getNetFingerprint(goldNet),
+                DesignComparator.getNetFingerprint(testNet));
+
+        testNet.getPIPs().remove(0);
+        Assertions.assertNotEquals(DesignComparator.getNetFingerprint(goldNet),
+                DesignComparator.getNetFingerprint(testNet));
+    }
+
+    @Test
+    public void testFingerprintStringHashCollision() {
+        // Both names have the same String.hashCode()
+        Assertions.assertEquals("Aa".hashCode(), "BB".hashCode());
+        Design gold = new Design("gold", Device.KCU105);
+        Design test = new Design("test", Device.KCU105);
+        gold.createAndPlaceCell("Aa", Unisim.FDRE, "SLICE_X0Y0/AFF");
+        test.createAndPlaceCell("BB", Unisim.FDRE, "SLICE_X0Y0/AFF");
+
+        SiteInst goldSiteInst = gold.getSiteInstFromSiteName("SLICE_X0Y0");
+        SiteInst testSiteInst = test.getSiteInstFromSiteName("SLICE_X0Y0");
+        Assertions.assertNotEquals(DesignComparator.getSiteInstFingerprint(goldSiteInst),
+                DesignComparator.getSiteInstFingerprint(testSiteInst));
+
+        DesignComparator dc = new DesignComparator();
+        compareDesign(1, 1, DesignDiffType.PLACED_CELL_NAME, dc, gold, test);
+
+        // Swapping the cells of two BELs must also be reported
+        gold.createAndPlaceCell("BB", Unisim.FDRE, "SLICE_X0Y0/BFF");
+        test.createAndPlaceCell("Aa", Unisim.FDRE, "SLICE_X0Y0/BFF");
+        Assertions.assertNotEquals(DesignComparator.getSiteInstFingerprint(goldSiteInst),
+                DesignComparator.getSiteInstFingerprint(testSiteInst));
+        compareDesign(2, 2, DesignDiffType.PLACED_CELL_NAME, dc, gold, test);
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.tools;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestAnchorAssignment {
+
+    private static final int GRID = 20;
+
+    private static final int SIZE = 4;
+
+    private int[] minColumns;
+    private int[] maxColumns;
+    private int[] minRows;
+    private int[] maxRows;
+
+    /** Candidates are SIZE x SIZE squares anchored at every tile of a GRID x GRID area */
+    private AnchorAssignment createAssignment() {
+        int n = GRID * GRID;
+        minColumns = new int[n];
+        maxColumns = new int[n];
+        minRows = new int[n];
+        maxRows = new int[n];
+        for (int c = 0; c < n; c++) {
+            minColumns[c] = c % GRID;
+            maxColumns[c] = minColumns[c] + SIZE - 1;
+            minRows[c] = c / GRID;
+            maxRows[c] = minRows[c] + SIZE - 1;
+        }
+        return new AnchorAssignment(minColumns, maxColumns, minRows, maxRows);
+    }
+
+    private boolean overlap(int a, int b) {
+        return minColumns[a] <= maxColumns[b] && minColumns[b] <= maxColumns[a]
+                && minRows[a] <= maxRows[b] && minRows[b] <= maxRows[a];
+    }
+
+    @Test
+    public void testCompetingInstancesDoNotOverlap() {
+        AnchorAssignment assignment = createAssignment();
+        int[] targetColumns = {8, 8, 8};
+        int[] targetRows = {8, 8, 8};
+        int[] result = assignment.solve(targetColumns, targetRows, null, 64, 10.0);
+        Assertions.assertNotNull(result);
+
+        int totalCost = 0;
+        for (int i = 0; i < result.length; i++) {
+            Assertions.assertTrue(result[i] >= 0);
+            totalCost += Math.abs(minColumns[result[i]] - 8) + Math.abs(minRows[result[i]] - 8);
+            for (int j = i + 1; j < result.length; j++) {
+                Assertions.assertFalse(overlap(result[i], result[j]));
+            }
+        }
+        // One instance at its target, the other two one square away
+        Assertions.assertEquals(2 * SIZE, totalCost);
+    }
+
+    @Test
+    public void testUnusableCandidatesAreAvoided() {
+        AnchorAssignment assignment = createAssignment();
+        boolean[] usable = new boolean[GRID * GRID];
+        Arrays.fill(usable, true);
+        int target = 8 * GRID + 8;
+        usable[target] = false;
+        int[] result = assignment.solve(new int[]{8}, new int[]{8}, usable, 16, 10.0);
+        Assertions.assertNotNull(result);
+        Assertions.assertNotEquals(target, result[0]);
+        Assertions.assertEquals(1, Math.abs(minColumns[result[0]] - 8) + Math.abs(minRows[result[0]] - 8));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.tools;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.xilinx.rapidwright.design.Cell;
+import com.xilinx.rapidwright.design.ClockTools;
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.edif.EDIFCell;
+import com.xilinx.rapidwright.edif.EDIFCellInst;
+import com.xilinx.rapidwright.edif.EDIFDirection;
+import com.xilinx.rapidwright.edif.EDIFNet;
+import com.xilinx.rapidwright.edif.EDIFPort;
+import com.xilinx.rapidwright.edif.EDIFPortInst;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+
+public class TestArrayBuilder {
+
+    private static final int NUM_INSTS = 4;
+
+    private static void connect(EDIFNet net, EDIFPort port, EDIFCellInst inst) {
+        if (port.isBus()) {
+            net.createPortInst(port, 0, inst);
+        } else {
+            net.createPortInst(port, inst);
+        }
+    }
+
+    /**
+     * Creates a top level design with black box instances of the kernel, chained from one output of each instance
+     * to one input of the next, and sharing the kernel's clock.
+     */
+    private static Design createTopDesign(Design kernel, String clkName) {
+        Design top = new Design("array_top", kernel.getPartName());
+        EDIFCell topCell = top.getTopEDIFCell();
+        EDIFCell kernelCell = kernel.getNetlist().getTopCell();
+        EDIFCell blackBox = new EDIFCell(top.getNetlist().getWorkLibrary(), kernelCell, kernelCell.getName(), false);
+
+        EDIFPort clkPort = null;
+        for (EDIFPortInst portInst : kernelCell.getNet(clkName).getPortInsts()) {
+            if (portInst.isTopLevelPort()) {
+                clkPort = blackBox.getPort(portInst.getPort().getBusName(true));
+            }
+        }
+        Assertions.assertNotNull(clkPort);
+        EDIFPort input = null;
+        EDIFPort output = null;
+        for (EDIFPort port : blackBox.getPorts()) {
+            if (port == clkPort) {
+                continue;
+            }
+            if (input == null && port.isInput()) {
+                input = port;
+            } else if (output == null && port.isOutput()) {
+                output = port;
+            }
+        }
+        Assertions.assertNotNull(input);
+        Assertions.assertNotNull(output);
+
+        EDIFNet clk = topCell.createNet(clkName);
+        clk.createPortInst(topCell.createPort(clkName, EDIFDirection.INPUT, 1));
+        List<EDIFCellInst> insts = new ArrayList<>();
+        for (int i = 0; i < NUM_INSTS; i++) {
+            EDIFCellInst inst = topCell.createChildCellInst("inst" + i, blackBox);
+            connect(clk, clkPort, inst);
+            insts.add(inst);
+        }
+        for (int i = 0; i + 1 < NUM_INSTS; i++) {
+            EDIFNet net = topCell.createNet("chain" + i);
+            connect(net, output, insts.get(i));
+            connect(net, input, insts.get(i + 1));
+        }
+        return top;
+    }
+
+    /** Tile bounds {minColumn, maxColumn, minRow, maxRow} of the placed cells of an instance */
+    private static int[] getBounds(Design array, String instName) {
+        int[] bounds = {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (Cell cell : array.getCells()) {
+            if (!cell.getName().startsWith(instName + "/") || !cell.isPlaced()) {
+                continue;
+            }
+            Tile tile = cell.getTile();
+            bounds[0] = Math.min(bounds[0], tile.getColumn());
+            bounds[1] = Math.max(bounds[1], tile.getColumn());
+            bounds[2] = Math.min(bounds[2], tile.getRow());
+            bounds[3] = Math.max(bounds[3], tile.getRow());
+        }
+        return bounds;
+    }
+
+    @Test
+    public void testAssignmentPlacement(@TempDir Path tempDir) {
+        String kernelPath = RapidWrightDCP.getString("picoblaze_ooc_X10Y235.dcp");
+        Design kernel = Design.readCheckpoint(kernelPath);
+        String clkName = kernel.getNetlist().getParentNet(ClockTools.getClockFromDesign(kernel)).getNet().getName();
+        Path topPath = tempDir.resolve("top.dcp");
+        createTopDesign(kernel, clkName).writeCheckpoint(topPath);
+        Path placementPath = tempDir.resolve("placement.txt");
+        Path outputPath = tempDir.resolve("array.dcp");
+
+        ArrayBuilder.main(new String[]{
+                "-i", kernelPath,
+                "-t", topPath.toString(),
+                "-m", clkName,
+                "-k",
+                "--assignment-placement",
+                "--write-placement", placementPath.toString(),
+                "-o", outputPath.toString()
+        });
+
+        Map<String, String> placement = ArrayBuilder.readPlacementFromFile(placementPath.toString());
+        Assertions.assertEquals(NUM_INSTS, placement.size());
+        Assertions.assertEquals(NUM_INSTS, new HashSet<>(placement.values()).size());
+
+        Design array = Design.readCheckpoint(outputPath);
+        int numCells = -1;
+        List<int[]> bounds = new ArrayList<>();
+        for (int i = 0; i < NUM_INSTS; i++) {
+            String instName = "inst" + i;
+            Assertions.assertTrue(placement.containsKey(instName));
+            int count = (int) array.getCells().stream().filter((c) -> c.getName().startsWith(instName + "/")).count();
+            Assertions.assertTrue(count > 0);
+            if (numCells >= 0) {
+                Assertions.assertEquals(numCells, count);
+            }
+            numCells = count;
+            bounds.add(getBounds(array, instName));
+        }
+
+        // The assignment must not overlap the bounding boxes of any two instances
+        for (int i = 0; i < NUM_INSTS; i++) {
+            for (int j = i + 1; j < NUM_INSTS; j++) {
+                int[] a = bounds.get(i);
+                int[] b = bounds.get(j);
+                boolean overlaps = a[0] <= b[1] && b[0] <= a[1] && a[2] <= b[3] && b[2] <= a[3];
+                Assertions.assertFalse(overlaps, "inst" + i + " overlaps inst" + j);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.tools;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestLUTEquationEvaluator {
+
+    private static boolean bit(int row, int input) {
+        return LUTTools.getBit(row, input) != 0;
+    }
+
+    @Test
+    public void testTruthTable() {
+        Assertions.assertEquals(0xAAAAAAAAAAAAAAAAL, LUTEquationEvaluator.getTruthTable("O=I0"));
+        Assertions.assertEquals(0xFFFFFFFF00000000L, LUTEquationEvaluator.getTruthTable("O6=I5"));
+        Assertions.assertEquals(-1L, LUTEquationEvaluator.getTruthTable("1"));
+        Assertions.assertEquals(0L, LUTEquationEvaluator.getTruthTable("0"));
+        Assertions.assertEquals(0L, LUTEquationEvaluator.getTruthTable(null));
+        Assertions.assertEquals("16'hF888", LUTTools.getLUTInitFromEquation("O=(I0 & I1) + (I2 & I3)", 4));
+        Assertions.assertEquals("4'h8", LUTTools.getLUTInitFromEquation("O=I0 & I1", 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "O=I0 ^ I1 & I2",
+            "O=!(I0 @ I3) | I5 * ~I4",
+            "O=(I0 . I1) + !((I2 ^ I3) & (I4 + I5))",
+    })
+    public void testMatchesRowByRow(String equation) {
+        long truthTable = LUTEquationEvaluator.getTruthTable(equation);
+        LUTEquationEvaluator e = new LUTEquationEvaluator(equation);
+        for (int row = 0; row < 64; row++) {
+            boolean expected;
+            switch (equation) {
+                case "O=I0 ^ I1 & I2":
+                    // XOR and AND have the same precedence and are evaluated left to right
+                    expected = (bit(row, 0) ^ bit(row, 1)) & bit(row, 2);
+                    break;
+                case "O=!(I0 @ I3) | I5 * ~I4":
+                    expected = !(bit(row, 0) ^ bit(row, 3)) | (bit(row, 5) & !bit(row, 4));
+                    break;
+                default:
+                    expected = (bit(row, 0) & bit(row, 1))
+                            | !((bit(row, 2) ^ bit(row, 3)) & (bit(row, 4) | bit(row, 5)));
+            }
+            Assertions.assertEquals(expected, e.eval(row), equation + " row " + row);
+            Assertions.assertEquals(expected, ((truthTable >>> row) & 1L) != 0, equation + " row " + row);
+        }
+    }
+
+    @Test
+    public void testRowsBeyondSixInputs() {
+        LUTEquationEvaluator e = new LUTEquationEvaluator("O=I7 & !I6 & I0");
+        for (int row = 0; row < 256; row++) {
+            Assertions.assertEquals(bit(row, 7) && !bit(row, 6) && bit(row, 0), e.eval(row));
+        }
+    }
+
+    @Test
+    public void testInvalidEquation() {
+        Assertions.assertFalse(new LUTEquationEvaluator(null).eval(0));
+        LUTEquationEvaluator e = new LUTEquationEvaluator("O=I0 & Q");
+        Assertions.assertThrows(RuntimeException.class, () -> e.eval(0));
+        Assertions.assertThrows(RuntimeException.class, () -> LUTEquationEvaluator.getTruthTable("O=I0 I1"));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        int maxCached = LUTEquationEvaluator.MAX_CACHED_EQUATIONS;
+        try {
+            LUTEquationEvaluator.clearCache();
+            LUTEquationEvaluator.MAX_CACHED_EQUATIONS = 4;
+            for (int i = 0; i < 6; i++) {
+                LUTEquationEvaluator.getTruthTable("O=I" + i);
+            }
+            Assertions.assertEquals(4, LUTEquationEvaluator.getCacheSize());
+            LUTEquationEvaluator.clearCache();
+            Assertions.assertEquals(0, LUTEquationEvaluator.getCacheSize());
+            Assertions.assertEquals(0xFFFFFFFF00000000L, LUTEquationEvaluator.getTruthTable("O=I5"));
+        } finally {
+            LUTEquationEvaluator.MAX_CACHED_EQUATIONS = maxCached;
+            LUTEquationEvaluator.clearCache();
+        }
+    }
+}
@@ -140,6 +140,65 @@ public class TestLUTTools {
         Assertions.assertEquals("I0", cell5.getLogicalPinMapping("A3"));
     }
 
+    @Test
+    public void testSwapMultipleLutPinsAcrossSiteInsts() {
+        Design design = new Design("testSwapMultipleLutPins", "xcvu3p");
+        final int numSiteInsts = 4;
+        List<SiteInst> siteInsts = new ArrayList<>();
+        List<Cell> cells = new ArrayList<>();
+        List<Net> netsI0 = new ArrayList<>();
+        List<Net> netsI1 = new ArrayList<>();
+        Map<SitePinInst, String> oldPinToNewPins = new HashMap<>();
+        for (int i = 0; i < numSiteInsts; i++) {
+            String siteName = "SLICE_X0Y" + i;
+            SiteInst si = design.createSiteInst(siteName);
+            Cell cell = design.createAndPlaceCell("lut" + i, Unisim.LUT2, siteName + "/A6LUT");
+            for (String physPin : cell.getUsedPhysicalPins()) {
+                cell.removePinMapping(physPin);
+            }
+            LUTTools.configureLUT(cell, "O=I0 & !I1");
+
+            Net netI0 = design.createNet("i0_" + i);
+            SitePinInst spiI0 = netI0.createPin("A1", si);
+            cell.addPinMapping("A1", "I0");
+            si.routeIntraSiteNet(netI0, spiI0.getBELPin(), spiI0.getBELPin());
+            Net netI1 = design.createNet("i1_" + i);
+            SitePinInst spiI1 = netI1.createPin("A2", si);
+            cell.addPinMapping("A2", "I1");
+            si.routeIntraSiteNet(netI1, spiI1.getBELPin(), spiI1.getBELPin());
+            Assertions.assertSame(netI0, si.getNetFromSiteWire("A1"));
+            Assertions.assertSame(netI1, si.getNetFromSiteWire("A2"));
+
+            oldPinToNewPins.put(spiI0, "A2");
+            oldPinToNewPins.put(spiI1, "A1");
+            siteInsts.add(si);
+            cells.add(cell);
+            netsI0.add(netI0);
+            netsI1.add(netI1);
+        }
+        String init = cells.get(0).getEDIFCellInst().getProperty(LUTTools.LUT_INIT).getValue();
+
+        Assertions.assertEquals(2 * numSiteInsts, LUTTools.swapMultipleLutPins(oldPinToNewPins));
+
+        for (int i = 0; i < numSiteInsts; i++) {
+            SiteInst si = siteInsts.get(i);
+            Cell cell = cells.get(i);
+            // Logical pins moved with their nets, so the LUT function is untouched
+            Assertions.assertEquals(init, cell.getEDIFCellInst().getProperty(LUTTools.LUT_INIT).getValue());
+            Assertions.assertEquals("I0", cell.getLogicalPinMapping("A2"));
+            Assertions.assertEquals("I1", cell.getLogicalPinMapping("A1"));
+
+            SitePinInst spiA2 = si.getSitePinInst("A2");
+            Assertions.assertSame(netsI0.get(i), spiA2.getNet());
+            Assertions.assertSame(netsI0.get(i), si.getNetFromSiteWire("A2"));
+            SitePinInst spiA1 = si.getSitePinInst("A1");
+            Assertions.assertSame(netsI1.get(i), spiA1.getNet());
+            Assertions.assertSame(netsI1.get(i), si.getNetFromSiteWire("A1"));
+            Assertions.assertEquals(1, netsI0.get(i).getPins().size());
+            Assertions.assertEquals(1, netsI1.get(i).getPins().size());
+        }
+    }
+
     @ParameterizedTest
     @CsvSource({
             "bnn.dcp,false,false",
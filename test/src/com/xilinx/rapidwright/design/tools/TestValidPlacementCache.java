@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.design.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.xilinx.rapidwright.design.Module;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Site;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.FileTools;
+
+public class TestValidPlacementCache {
+
+    private static Module loadModule() {
+        return new Module(RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp"));
+    }
+
+    private static Path getCacheFile(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> cacheFiles = files.filter((p) -> p.toString().endsWith(ValidPlacementCache.FILE_SUFFIX))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(1, cacheFiles.size());
+            return cacheFiles.get(0);
+        }
+    }
+
+    @Test
+    public void testDiskCacheHit(@TempDir Path tempDir) throws IOException {
+        Module module = loadModule();
+        Device device = module.getDevice();
+        List<Site> anchors = ValidPlacementCache.get(module, device, tempDir).getAnchors();
+        Assertions.assertTrue(anchors.size() > 1);
+
+        // Drop the last anchor from the file, so that a result read from disk can be told apart
+        Path cacheFile = getCacheFile(tempDir);
+        List<String> lines = FileTools.getLinesFromTextFile(cacheFile.toString());
+        String dropped = lines.remove(lines.size() - 1);
+        FileTools.writeLinesToTextFile(lines, cacheFile.toString());
+
+        Module copy = loadModule();
+        ValidPlacementCache cached = ValidPlacementCache.get(copy, device, tempDir);
+        Assertions.assertEquals(anchors.size() - 1, cached.size());
+        Assertions.assertEquals(-1, cached.getIndex(device.getSite(dropped)));
+        List<Site> valid = copy.getAllValidPlacements();
+        if (valid != null) {
+            Assertions.assertEquals(lines.size() - 1, valid.size());
+            Assertions.assertFalse(valid.contains(device.getSite(dropped)));
+        }
+    }
+
+    @Test
+    public void testDiskCacheMissAfterModification(@TempDir Path tempDir) throws IOException {
+        Module module = loadModule();
+        Device device = module.getDevice();
+        ValidPlacementCache.get(module, device, tempDir);
+        Path cacheFile = getCacheFile(tempDir);
+        String fingerprint = FileTools.getLinesFromTextFile(cacheFile.toString()).get(0);
+
+        Module modified = loadModule();
+        Assertions.assertEquals(ValidPlacementCache.getContentHash(module),
+                ValidPlacementCache.getContentHash(modified));
+        Net routed = null;
+        for (Net net : modified.getNets()) {
+            if (!net.getPIPs().isEmpty()) {
+                routed = net;
+                break;
+            }
+        }
+        Assertions.assertNotNull(routed);
+        routed.getPIPs().remove(routed.getPIPs().size() - 1);
+        Assertions.assertNotEquals(ValidPlacementCache.getContentHash(module),
+                ValidPlacementCache.getContentHash(modified));
+
+        // The stale file must not be used, and is replaced with one for the modified module
+        ValidPlacementCache.get(modified, device, tempDir);
+        Assertions.assertNotEquals(fingerprint, FileTools.getLinesFromTextFile(cacheFile.toString()).get(0));
+    }
+}
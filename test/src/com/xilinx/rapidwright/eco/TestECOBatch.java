@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.eco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.DesignTools;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.edif.EDIFHierNet;
+import com.xilinx.rapidwright.edif.EDIFHierPortInst;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+
+public class TestECOBatch {
+
+    private static final String DATA_ADDR = "base_mb_i/microblaze_0/U0/MicroBlaze_Core_I/Performance.Core/Data_Flow_I/Data_Addr[0][";
+
+    @Test
+    public void testSwapSinks() {
+        Design design = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+        Assertions.assertEquals(0, DesignTools.updatePinsIsRouted(design));
+
+        // Move the ILA inputs onto other nets in one batch
+        ECOBatch eco = new ECOBatch(design);
+        List<EDIFHierPortInst> pins = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            EDIFHierPortInst ehpi = netlist.getHierPortInstFromName("u_ila_0/probe0[" + i + "]");
+            pins.add(ehpi);
+            eco.disconnect(ehpi);
+            eco.connect(netlist.getHierNetFromName(DATA_ADDR + (74 + i) + "]"), ehpi);
+        }
+        Assertions.assertEquals(28, eco.size());
+
+        ECOBatch.ChangeLog log = eco.commit();
+        Assertions.assertEquals(14, log.getDisconnectedPins().size());
+        Assertions.assertEquals(14, log.getConnectedPins().size());
+
+        for (int i = 0; i < 14; i++) {
+            EDIFHierNet ehn = netlist.getHierNetFromName(DATA_ADDR + (74 + i) + "]");
+            List<EDIFHierPortInst> ehnLeaves = ehn.getLeafHierPortInsts(false, true);
+            Assertions.assertTrue(ehnLeaves.containsAll(pins.get(i).getInternalNet()
+                    .getLeafHierPortInsts(false, true)));
+        }
+
+        // Same pins as reported by TestECOTools.testConnectNetSwapSinks()
+        Set<String> pinsToRoute = log.getPinsToRoute().stream().map(SitePinInst::toString)
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("IN SLICE_X51Y84.G_I", "IN SLICE_X49Y84.EX",
+                "IN SLICE_X49Y87.EX", "IN SLICE_X51Y84.H_I", "IN SLICE_X49Y86.FX", "IN SLICE_X49Y86.E_I",
+                "IN SLICE_X49Y88.EX", "IN SLICE_X50Y82.EX", "IN SLICE_X49Y86.EX", "IN SLICE_X49Y84.F_I",
+                "IN SLICE_X49Y85.EX", "IN SLICE_X50Y84.EX", "IN SLICE_X49Y84.FX", "IN SLICE_X49Y84.E_I")),
+                pinsToRoute);
+
+        Assertions.assertThrows(RuntimeException.class, eco::commit);
+    }
+
+    @Test
+    public void testConflictingConnectionsLeaveDesignUntouched() {
+        Design design = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+
+        EDIFHierPortInst ehpi = netlist.getHierPortInstFromName("u_ila_0/probe0[0]");
+        EDIFHierNet original = ehpi.getHierarchicalNet();
+        ECOBatch eco = new ECOBatch(design);
+        eco.disconnect(ehpi);
+        eco.connect(netlist.getHierNetFromName(DATA_ADDR + "74]"), ehpi);
+        eco.connect(netlist.getHierNetFromName(DATA_ADDR + "75]"), Collections.singletonList(ehpi));
+
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, eco::commit);
+        Assertions.assertTrue(e.getMessage().contains("queued for connection to both net"));
+        Assertions.assertEquals(original, ehpi.getHierarchicalNet());
+    }
+
+    @Test
+    public void testConnectionWithoutDisconnectLeavesDesignUntouched() {
+        Design design = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+
+        EDIFHierPortInst ehpi = netlist.getHierPortInstFromName("u_ila_0/probe0[0]");
+        EDIFHierNet original = ehpi.getHierarchicalNet();
+        EDIFHierNet target = netlist.getHierNetFromName(DATA_ADDR + "74]");
+        int numTargetPins = target.getLeafHierPortInsts(true, true).size();
+        ECOBatch eco = new ECOBatch(design);
+        eco.connect(target, ehpi);
+
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, eco::commit);
+        Assertions.assertTrue(e.getMessage().contains("not queued for disconnection"));
+        Assertions.assertEquals(original, ehpi.getHierarchicalNet());
+        Assertions.assertEquals(numTargetPins, target.getLeafHierPortInsts(true, true).size());
+    }
+
+    @Test
+    public void testMultipleDriversLeaveDesignUntouched() {
+        Design design = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+
+        EDIFHierNet target = netlist.getHierNetFromName(DATA_ADDR + "76]");
+        int numTargetPins = target.getLeafHierPortInsts(true, true).size();
+        ECOBatch eco = new ECOBatch(design);
+        List<EDIFHierPortInst> drivers = new ArrayList<>();
+        List<EDIFHierNet> originals = new ArrayList<>();
+        for (int i = 74; i <= 75; i++) {
+            EDIFHierNet ehn = netlist.getHierNetFromName(DATA_ADDR + i + "]");
+            List<EDIFHierPortInst> srcs = ehn.getLeafHierPortInsts(true, false);
+            Assertions.assertEquals(1, srcs.size());
+            EDIFHierPortInst driver = srcs.get(0);
+            drivers.add(driver);
+            originals.add(driver.getHierarchicalNet());
+            eco.disconnect(driver);
+        }
+        eco.connect(target, drivers);
+
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, eco::commit);
+        Assertions.assertTrue(e.getMessage().contains("would be driven by both pin"));
+        for (int i = 0; i < drivers.size(); i++) {
+            Assertions.assertEquals(originals.get(i), drivers.get(i).getHierarchicalNet());
+        }
+        Assertions.assertEquals(numTargetPins, target.getLeafHierPortInsts(true, true).size());
+    }
+}
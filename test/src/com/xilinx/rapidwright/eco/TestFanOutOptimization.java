@@ -23,7 +23,9 @@
 package com.xilinx.rapidwright.eco;
 
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,6 +34,8 @@ import org.junit.jupiter.api.io.TempDir;
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.NetTools;
+import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.edif.EDIFHierPortInst;
 import com.xilinx.rapidwright.rwroute.RWRoute;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
@@ -84,4 +88,79 @@ public class TestFanOutOptimization {
 
         VivadoToolsHelper.assertCanBeFullyRoutedByVivado(outputDCP, dir, false);
     }
+
+    @Test
+    public void testFanOutOptimizationPass() {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+
+        RWRoute.preprocess(design);
+
+        FanOutOptimizationPass pass = new FanOutOptimizationPass(design);
+        pass.setMinFanout(64);
+        pass.setTargetFanout(32);
+        pass.setMaxReplicas(4);
+        pass.setMaxNets(4);
+        List<FanOutOptimizationPass.Candidate> candidates = pass.selectCandidates();
+        Assertions.assertFalse(candidates.isEmpty());
+        Assertions.assertTrue(candidates.size() <= 4);
+
+        Map<Net, Integer> sinkCounts = new HashMap<>();
+        for (FanOutOptimizationPass.Candidate c : candidates) {
+            Assertions.assertTrue(c.getFanout() >= 64);
+            Assertions.assertTrue(c.getReplicas() >= 2 && c.getReplicas() <= 4);
+            sinkCounts.put(c.getNet(), c.getNet().getSinkPins().size());
+        }
+
+        pass.replicate(candidates);
+
+        for (FanOutOptimizationPass.Candidate c : candidates) {
+            Net net = c.getNet();
+            int afterSinkCount = net.getSinkPins().size();
+            for (int i = 1; i < c.getReplicas(); i++) {
+                String suffix = FanOutOptimization.UNIQUE_SUFFIX + i;
+                Net copy = design.getNet(net.getName() + suffix);
+                Assertions.assertNotNull(copy);
+                afterSinkCount += copy.getSinkPins().size();
+                Assertions.assertTrue(design.getCell(c.getDriver().getName() + suffix).isPlaced());
+            }
+            Assertions.assertEquals(sinkCounts.get(net), afterSinkCount);
+        }
+
+        Assertions.assertFalse(pass.getPinsToRoute().isEmpty());
+        for (SitePinInst spi : pass.getPinsToRoute()) {
+            Assertions.assertFalse(spi.isOutPin());
+            Assertions.assertNotNull(spi.getNet());
+        }
+    }
+
+    @Test
+    public void testFanOutOptimizationPassRouted() {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+
+        RWRoute.preprocess(design);
+
+        FanOutOptimizationPass pass = new FanOutOptimizationPass(design);
+        pass.setMinFanout(64);
+        pass.setTargetFanout(32);
+        pass.setMaxReplicas(4);
+        pass.setMaxNets(4);
+        List<FanOutOptimizationPass.Candidate> optimized = pass.run(true);
+        Assertions.assertFalse(optimized.isEmpty());
+
+        Assertions.assertFalse(pass.getPinsToRoute().isEmpty());
+        for (SitePinInst spi : pass.getPinsToRoute()) {
+            Assertions.assertTrue(spi.isRouted(), spi.toString());
+        }
+        for (FanOutOptimizationPass.Candidate c : optimized) {
+            Net net = c.getNet();
+            for (int i = 0; i < c.getReplicas(); i++) {
+                Net n = i == 0 ? net : design.getNet(net.getName() + FanOutOptimization.UNIQUE_SUFFIX + i);
+                Assertions.assertTrue(n.hasPIPs());
+                for (SitePinInst spi : n.getSinkPins()) {
+                    Assertions.assertTrue(spi.isRouted(), spi.toString());
+                }
+            }
+        }
+        Assertions.assertTrue(NetTools.getNetsWithOverlappingNodes(design).isEmpty());
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.eco;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.placer.blockplacer.Point;
+
+public class TestKMeans {
+
+    /** Three well separated blobs of points around (10,10), (100,10) and (55,100) */
+    private static final int[][] BLOB_CENTERS = {{10, 10}, {100, 10}, {55, 100}};
+
+    private static int[][] createBlobs(int pointsPerBlob, Random random) {
+        int n = BLOB_CENTERS.length * pointsPerBlob;
+        int[] x = new int[n];
+        int[] y = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] center = BLOB_CENTERS[i % BLOB_CENTERS.length];
+            x[i] = center[0] + random.nextInt(11) - 5;
+            y[i] = center[1] + random.nextInt(11) - 5;
+        }
+        return new int[][]{x, y};
+    }
+
+    @Test
+    public void testSeparatedBlobsAreRecovered() {
+        int[][] xy = createBlobs(5000, new Random(1));
+        KMeans.Clustering clustering = KMeans.kmeans(xy[0], xy[1], 3, 50);
+        Assertions.assertEquals(3, clustering.getK());
+
+        // Every blob must end up in its own cluster
+        Set<Integer> clustersSeen = new HashSet<>();
+        for (int blob = 0; blob < BLOB_CENTERS.length; blob++) {
+            int cluster = clustering.getCluster(blob);
+            Assertions.assertTrue(clustersSeen.add(cluster));
+            for (int i = blob; i < xy[0].length; i += BLOB_CENTERS.length) {
+                Assertions.assertEquals(cluster, clustering.getCluster(i));
+            }
+            Assertions.assertEquals(BLOB_CENTERS[blob][0], clustering.getCentroidX(cluster), 1);
+            Assertions.assertEquals(BLOB_CENTERS[blob][1], clustering.getCentroidY(cluster), 1);
+            Assertions.assertEquals(5000, clustering.getMembers(cluster).length);
+        }
+    }
+
+    @Test
+    public void testDeterministic() {
+        int[][] xy = createBlobs(1000, new Random(2));
+        KMeans.Clustering a = KMeans.kmeans(xy[0], xy[1], 7, 50);
+        KMeans.Clustering b = KMeans.kmeans(xy[0], xy[1], 7, 50);
+        for (int i = 0; i < xy[0].length; i++) {
+            Assertions.assertEquals(a.getCluster(i), b.getCluster(i));
+        }
+    }
+
+    @Test
+    public void testBalancedRespectsCapacity() {
+        // Unevenly sized blobs, all points of weight 1
+        Random random = new Random(3);
+        int n = 3000;
+        int[] x = new int[n];
+        int[] y = new int[n];
+        int[] weight = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] center = BLOB_CENTERS[i < 2000 ? 0 : (i < 2500 ? 1 : 2)];
+            x[i] = center[0] + random.nextInt(11) - 5;
+            y[i] = center[1] + random.nextInt(11) - 5;
+            weight[i] = 1;
+        }
+        KMeans.Clustering clustering = KMeans.kmeansBalanced(x, y, weight, 3, 50);
+        for (int c = 0; c < 3; c++) {
+            Assertions.assertEquals(1000, clustering.getMembers(c).length);
+        }
+    }
+
+    @Test
+    public void testKMeansClusteringReturnsAllClusters() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            points.add(new Point(i % 10, i / 10));
+        }
+        Map<Point, List<Point>> clusters = KMeans.kmeansClustering(points, 4, 50);
+        Assertions.assertEquals(4, clusters.size());
+        Assertions.assertEquals(100, clusters.values().stream().mapToInt(List::size).sum());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.eco;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.xilinx.rapidwright.design.Cell;
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.design.Unisim;
+import com.xilinx.rapidwright.design.tools.LUTTools;
+import com.xilinx.rapidwright.eco.LUTInputConeOpt.LUTCone;
+import com.xilinx.rapidwright.edif.EDIFCell;
+import com.xilinx.rapidwright.edif.EDIFCellInst;
+import com.xilinx.rapidwright.edif.EDIFHierNet;
+import com.xilinx.rapidwright.edif.EDIFHierPortInst;
+import com.xilinx.rapidwright.edif.EDIFNet;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.edif.EDIFTools;
+import com.xilinx.rapidwright.rwroute.PartialRouter;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.Pair;
+
+public class TestLUTInputConeOpt {
+
+    private static EDIFNet createNet(EDIFCell top, String name, EDIFCellInst src, String srcPin) {
+        EDIFNet net = top.createNet(name);
+        net.createPortInst(srcPin, src);
+        return net;
+    }
+
+    @Test
+    public void testGetInputConeDepthIsLongestPath() {
+        Design design = new Design("testLUTInputConeOpt", "xcvu3p");
+        EDIFNetlist netlist = design.getNetlist();
+        EDIFCell top = design.getTopEDIFCell();
+        EDIFCell fdre = netlist.getHDIPrimitive(Unisim.FDRE);
+        EDIFCell lut2 = netlist.getHDIPrimitive(Unisim.LUT2);
+        EDIFCellInst ff0 = top.createChildCellInst("ff0", fdre);
+        EDIFCellInst ff1 = top.createChildCellInst("ff1", fdre);
+        EDIFCellInst ff2 = top.createChildCellInst("ff2", fdre);
+        EDIFCellInst a = top.createChildCellInst("a", lut2);
+        EDIFCellInst b = top.createChildCellInst("b", lut2);
+        EDIFCellInst root = top.createChildCellInst("root", lut2);
+
+        // LUT b drives root directly and through LUT a, so the longest path has 3 LUT levels
+        createNet(top, "n0", ff0, "Q").createPortInst("I0", b);
+        top.getNet("n0").createPortInst("I1", a);
+        createNet(top, "n1", ff1, "Q").createPortInst("I1", b);
+        EDIFNet nb = createNet(top, "nb", b, "O");
+        nb.createPortInst("I0", a);
+        nb.createPortInst("I1", root);
+        createNet(top, "na", a, "O").createPortInst("I0", root);
+        createNet(top, "nr", root, "O").createPortInst("D", ff2);
+
+        LUTCone cone = LUTInputConeOpt.getInputCone(netlist.getHierPortInstFromName("ff2/D"));
+        Assertions.assertNotNull(cone);
+        Assertions.assertEquals(3, cone.getDepth());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("root", "a", "b")), cone.getLUTs());
+        Assertions.assertEquals(3, cone.getInputCount());
+        Assertions.assertTrue(cone.isCollapsible());
+    }
+
+    @Test
+    public void testOptimizeCriticalPaths(@TempDir Path dir) {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235_2022_1.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+
+        Pair<List<LUTCone>, ECOBatch.ChangeLog> result = LUTInputConeOpt.optimizeCriticalPaths(design,
+                LUTInputConeOpt.DEFAULT_MAX_PATHS);
+        List<LUTCone> cones = result.getFirst();
+        ECOBatch.ChangeLog log = result.getSecond();
+        Assertions.assertFalse(cones.isEmpty());
+
+        Set<String> disconnected = new HashSet<>();
+        for (EDIFHierPortInst ehpi : log.getDisconnectedPins()) {
+            disconnected.add(ehpi.toString());
+        }
+        Set<String> connected = new HashSet<>();
+        for (Map.Entry<EDIFHierNet, List<EDIFHierPortInst>> e : log.getConnectedPins().entrySet()) {
+            // Every net that was connected to must still have a single driver
+            Assertions.assertEquals(1, e.getKey().getLeafHierPortInsts(true, false).size(), e.getKey().toString());
+            for (EDIFHierPortInst ehpi : e.getValue()) {
+                connected.add(ehpi.toString());
+            }
+        }
+
+        Set<String> usedLuts = new HashSet<>();
+        for (LUTCone cone : cones) {
+            Assertions.assertTrue(cone.isCollapsible(), cone.toString());
+            Assertions.assertTrue(cone.getGain() > 0, cone.toString());
+            for (String lut : cone.getLUTs()) {
+                // Replaced cones must not overlap
+                Assertions.assertTrue(usedLuts.add(lut), lut);
+            }
+
+            String inputName = cone.getInput().toString();
+            Assertions.assertTrue(disconnected.contains(inputName), inputName);
+            Assertions.assertTrue(connected.contains(inputName), inputName);
+
+            // The input is now driven by a single, placed LUT with one input per cone source
+            EDIFHierPortInst input = netlist.getHierPortInstFromName(inputName);
+            List<EDIFHierPortInst> srcs = input.getHierarchicalNet().getLeafHierPortInsts(true, false);
+            Assertions.assertEquals(1, srcs.size());
+            EDIFCellInst newLut = srcs.get(0).getFullHierarchicalInst().getInst();
+            Assertions.assertEquals("LUT" + cone.getInputCount(), newLut.getCellType().getName());
+            Assertions.assertNotNull(newLut.getProperty(LUTTools.LUT_INIT));
+            Cell cell = srcs.get(0).getPhysicalCell(design);
+            Assertions.assertNotNull(cell);
+            Assertions.assertTrue(cell.isPlaced());
+            for (EDIFHierPortInst lutPin : srcs.get(0).getFullHierarchicalInst().getHierPortInsts()) {
+                if (lutPin.isInput()) {
+                    Assertions.assertEquals(1, lutPin.getHierarchicalNet().getLeafHierPortInsts(true, false).size(),
+                            lutPin.toString());
+                }
+            }
+        }
+
+        // The modified netlist must survive a round trip through EDIF
+        Path edf = dir.resolve("optimized.edf");
+        EDIFTools.writeEDIFFile(edf, netlist, design.getPartName());
+        EDIFNetlist reread = EDIFTools.readEdifFile(edf);
+        for (LUTCone cone : cones) {
+            EDIFHierPortInst input = reread.getHierPortInstFromName(cone.getInput().toString());
+            Assertions.assertNotNull(input);
+            List<EDIFHierPortInst> srcs = input.getHierarchicalNet().getLeafHierPortInsts(true, false);
+            Assertions.assertEquals(1, srcs.size());
+            Assertions.assertEquals("LUT" + cone.getInputCount(),
+                    srcs.get(0).getFullHierarchicalInst().getCellType().getName());
+        }
+
+        // All pins left unrouted by the change are routable
+        Assertions.assertFalse(log.getPinsToRoute().isEmpty());
+        PartialRouter.routeDesignPartialNonTimingDriven(design, log.getPinsToRoute());
+        for (SitePinInst spi : log.getPinsToRoute()) {
+            Assertions.assertTrue(spi.isRouted(), spi.toString());
+        }
+    }
+}
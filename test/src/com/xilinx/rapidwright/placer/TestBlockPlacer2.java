@@ -38,12 +38,22 @@ import org.junit.jupiter.api.Test;
 public class TestBlockPlacer2 {
 
     private void placeSomePicoBlazeArray(PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator) {
+        placeSomePicoBlazeArray(arrayCreator, 1);
+    }
+
+    private void placeSomePicoBlazeArray(PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator, int numReplicas) {
+        placeSomePicoBlazeArray(arrayCreator, numReplicas, false);
+    }
+
+    private void placeSomePicoBlazeArray(PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator, int numReplicas,
+                                         boolean analytical) {
         CodePerfTracker t = new CodePerfTracker("PicoBlazeArray Test");
         File srcDir = RapidWrightDCP.getPath("PicoBlazeArray").toFile();
         Design design = arrayCreator.createDesign(srcDir, "xcvu3p-ffvc1517-2-i", t);
 
         BlockPlacer2<?, ?, ?, ?> placer = arrayCreator.createPlacer(design, null);
-        double cost = placer.placeDesign(false);
+        placer.setAnalyticalGlobalPlacement(analytical);
+        double cost = placer.placeDesign(false, numReplicas);
 
         Assertions.assertTrue(cost < 400000);
 
@@ -63,4 +73,14 @@ public class TestBlockPlacer2 {
     public void placePicoBlazeArrayImpls() {
         placeSomePicoBlazeArray(PicoBlazeArray.makeImplsCreator());
     }
+
+    @Test
+    public void placePicoBlazeArrayImplsParallelTempering() {
+        placeSomePicoBlazeArray(PicoBlazeArray.makeImplsCreator(), 4);
+    }
+
+    @Test
+    public void placePicoBlazeArrayImplsAnalytical() {
+        placeSomePicoBlazeArray(PicoBlazeArray.makeImplsCreator(), 1, true);
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.placer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import com.xilinx.rapidwright.design.AbstractModuleInst;
+import com.xilinx.rapidwright.design.RelocatableTileRectangle;
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.placer.blockplacer.AbstractOverlapCache;
+import com.xilinx.rapidwright.placer.blockplacer.ExhaustiveOverlapCache;
+import com.xilinx.rapidwright.placer.blockplacer.IntervalTreeOverlapCache;
+import com.xilinx.rapidwright.placer.blockplacer.RegionBasedOverlapCache;
+import com.xilinx.rapidwright.support.LargeTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestOverlapCaches {
+
+    /** A rectangular instance of fixed size, placed by its lower left tile */
+    private static class Box extends AbstractModuleInst<Void, Tile, Box> {
+        private final int width;
+        private final int height;
+        private Tile placement;
+        private RelocatableTileRectangle boundingBox;
+
+        Box(String name, int width, int height) {
+            super(name);
+            this.width = width;
+            this.height = height;
+        }
+
+        void place(Device device, Tile tile) {
+            placement = tile;
+            Tile corner = device.getTile(tile.getRow() + height, tile.getColumn() + width);
+            boundingBox = RelocatableTileRectangle.of(tile, corner);
+        }
+
+        @Override
+        public void unplace() {
+            placement = null;
+            boundingBox = null;
+        }
+
+        @Override
+        public Void getModule() {
+            return null;
+        }
+
+        @Override
+        public RelocatableTileRectangle getBoundingBox() {
+            return boundingBox;
+        }
+
+        @Override
+        public Tile getPlacement() {
+            return placement;
+        }
+
+        @Override
+        public boolean overlaps(Box other) {
+            return getBoundingBox().overlaps(other.getBoundingBox());
+        }
+    }
+
+    private static List<Box> createBoxes(Random random, int count, int minSize, int maxSize) {
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boxes.add(new Box("box" + i, minSize + random.nextInt(maxSize - minSize + 1),
+                    minSize + random.nextInt(maxSize - minSize + 1)));
+        }
+        return boxes;
+    }
+
+    private static Tile randomTile(Device device, Random random, Box box, int clusterSize) {
+        int cols = Math.min(clusterSize, device.getColumns() - box.width);
+        int rows = Math.min(clusterSize, device.getRows() - box.height);
+        return device.getTile(random.nextInt(rows), random.nextInt(cols));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // count, minSize, maxSize, clusterSize
+            "200, 5, 15, 1000",
+            "200, 1, 150, 1000",
+            "200, 5, 15, 100",
+    })
+    public void testOverlapCachesAgree(int count, int minSize, int maxSize, int clusterSize) {
+        Device device = Device.getDevice("xcvu3p");
+        Random random = new Random(42);
+        List<Box> boxes = createBoxes(random, count, minSize, maxSize);
+        for (Box box : boxes) {
+            box.place(device, randomTile(device, random, box, clusterSize));
+        }
+        List<AbstractOverlapCache<Tile, Box>> caches = Arrays.asList(
+                new ExhaustiveOverlapCache<>(boxes),
+                new RegionBasedOverlapCache<>(device, boxes),
+                new IntervalTreeOverlapCache<>(boxes));
+
+        for (int move = 0; move < 2000; move++) {
+            Box box = boxes.get(random.nextInt(boxes.size()));
+            for (AbstractOverlapCache<Tile, Box> cache : caches) {
+                cache.unplace(box);
+            }
+            if (random.nextInt(10) == 0) {
+                box.unplace();
+            } else {
+                box.place(device, randomTile(device, random, box, clusterSize));
+                for (AbstractOverlapCache<Tile, Box> cache : caches) {
+                    cache.place(box);
+                }
+            }
+
+            Box query = boxes.get(random.nextInt(boxes.size()));
+            boolean expectedValid = caches.get(0).isValidPlacement(query);
+            for (AbstractOverlapCache<Tile, Box> cache : caches) {
+                Assertions.assertEquals(expectedValid, cache.isValidPlacement(query));
+            }
+            if (query.getPlacement() != null) {
+                HashSet<Box> expected = new HashSet<>(caches.get(0).getAllOverlaps(query));
+                for (AbstractOverlapCache<Tile, Box> cache : caches) {
+                    Assertions.assertEquals(expected, new HashSet<>(cache.getAllOverlaps(query)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCreateChoosesCache() {
+        Device device = Device.getDevice("xcvu3p");
+        Random random = new Random(0);
+
+        List<Box> few = createBoxes(random, 4, 5, 15);
+        Assertions.assertTrue(AbstractOverlapCache.create(device, few, b -> Math.max(b.width, b.height))
+                instanceof ExhaustiveOverlapCache);
+
+        List<Box> uniform = createBoxes(random, 100, 10, 12);
+        Assertions.assertTrue(AbstractOverlapCache.create(device, uniform, b -> Math.max(b.width, b.height))
+                instanceof RegionBasedOverlapCache);
+
+        List<Box> varied = createBoxes(random, 100, 1, 150);
+        Assertions.assertTrue(AbstractOverlapCache.create(device, varied, b -> Math.max(b.width, b.height))
+                instanceof IntervalTreeOverlapCache);
+    }
+
+    /**
+     * Microbenchmark of the overlap caches on a workload resembling simulated annealing: repeatedly move a random
+     * instance and check if its new placement is valid.
+     */
+    @ParameterizedTest
+    @LargeTest
+    @CsvSource({
+            // count, minSize, maxSize, clusterSize
+            "1000, 5, 15, 1000",
+            "1000, 1, 200, 1000",
+            "1000, 5, 15, 150",
+    })
+    public void benchmarkOverlapCaches(int count, int minSize, int maxSize, int clusterSize) {
+        Device device = Device.getDevice("xcvu3p");
+        final int moves = 100000;
+        for (String type : Arrays.asList("exhaustive", "region", "interval")) {
+            Random random = new Random(1);
+            List<Box> boxes = createBoxes(random, count, minSize, maxSize);
+            for (Box box : boxes) {
+                box.place(device, randomTile(device, random, box, clusterSize));
+            }
+            AbstractOverlapCache<Tile, Box> cache;
+            switch (type) {
+                case "exhaustive":
+                    cache = new ExhaustiveOverlapCache<>(boxes);
+                    break;
+                case "region":
+                    cache = new RegionBasedOverlapCache<>(device, boxes);
+                    break;
+                default:
+                    cache = new IntervalTreeOverlapCache<>(boxes);
+            }
+
+            long start = System.nanoTime();
+            int valid = 0;
+            for (int move = 0; move < moves; move++) {
+                Box box = boxes.get(random.nextInt(boxes.size()));
+                cache.unplace(box);
+                box.place(device, randomTile(device, random, box, clusterSize));
+                cache.place(box);
+                if (cache.isValidPlacement(box)) {
+                    valid++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-10s count=%d size=%d..%d cluster=%d: %.1f ns/move (%d valid)%n", type, count,
+                    minSize, maxSize, clusterSize, (double) elapsed / moves, valid);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.placer;
+
+import com.xilinx.rapidwright.placer.blockplacer.QuadraticPlacementSolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestQuadraticPlacementSolver {
+
+    @Test
+    public void testChainBetweenFixedPoints() {
+        // fixed(0,0) - m0 - m1 - fixed(30,60)
+        QuadraticPlacementSolver solver = new QuadraticPlacementSolver(2);
+        solver.addNet(new int[]{0}, new double[]{0}, new double[]{0}, 1.0);
+        solver.addNet(new int[]{0, 1}, new double[0], new double[0], 1.0);
+        solver.addNet(new int[]{1}, new double[]{30}, new double[]{60}, 1.0);
+
+        double[][] xy = solver.solve(new double[]{100, -100}, new double[]{5, 5}, 50, 50, 100);
+        Assertions.assertEquals(10.0, xy[0][0], 1e-3);
+        Assertions.assertEquals(20.0, xy[0][1], 1e-3);
+        Assertions.assertEquals(20.0, xy[1][0], 1e-3);
+        Assertions.assertEquals(40.0, xy[1][1], 1e-3);
+    }
+
+    @Test
+    public void testStarNetCentroid() {
+        // A single movable object on a large net with four fixed terminals settles on their centroid
+        QuadraticPlacementSolver solver = new QuadraticPlacementSolver(1);
+        solver.addNet(new int[]{0}, new double[]{0, 10, 0, 10}, new double[]{0, 0, 20, 20}, 1.0);
+
+        double[][] xy = solver.solve(new double[]{0}, new double[]{0}, 0, 0, 100);
+        Assertions.assertEquals(5.0, xy[0][0], 1e-3);
+        Assertions.assertEquals(10.0, xy[1][0], 1e-3);
+    }
+
+    @Test
+    public void testRepeatedConnectionsAccumulate() {
+        // Two nets between the same pair of objects must be equivalent to a single net of twice the weight
+        QuadraticPlacementSolver repeated = new QuadraticPlacementSolver(2);
+        QuadraticPlacementSolver single = new QuadraticPlacementSolver(2);
+        for (QuadraticPlacementSolver solver : new QuadraticPlacementSolver[]{repeated, single}) {
+            solver.addNet(new int[]{0}, new double[]{0}, new double[]{0}, 1.0);
+            solver.addNet(new int[]{1}, new double[]{40}, new double[]{80}, 1.0);
+        }
+        repeated.addNet(new int[]{0, 1}, new double[0], new double[0], 1.0);
+        repeated.addNet(new int[]{1, 0}, new double[0], new double[0], 1.0);
+        single.addNet(new int[]{0, 1}, new double[0], new double[0], 2.0);
+
+        double[][] a = repeated.solve(new double[]{0, 0}, new double[]{0, 0}, 0, 0, 100);
+        double[][] b = single.solve(new double[]{0, 0}, new double[]{0, 0}, 0, 0, 100);
+        for (int d = 0; d < 2; d++) {
+            Assertions.assertArrayEquals(b[d], a[d], 1e-6);
+        }
+        // fixed(0,0) - m0 =2= m1 - fixed(40,80): the stiffer middle spring pulls both objects together
+        Assertions.assertEquals(16.0, a[0][0], 1e-3);
+        Assertions.assertEquals(24.0, a[0][1], 1e-3);
+    }
+}
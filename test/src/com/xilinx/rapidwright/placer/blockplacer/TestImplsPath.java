@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.placer.blockplacer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Module;
+import com.xilinx.rapidwright.design.ModuleImpls;
+import com.xilinx.rapidwright.design.ModuleImplsInst;
+import com.xilinx.rapidwright.design.SimpleTileRectangle;
+import com.xilinx.rapidwright.design.TileRectangle;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+
+public class TestImplsPath {
+
+    private static final int NUM_INSTANCES = 6;
+
+    /** Current (column, row) of each instance, or null if unplaced */
+    private final int[][] locations = new int[NUM_INSTANCES][];
+
+    /**
+     * A port whose bounding box is a fixed rectangle relative to the location of its instance.
+     */
+    private class OffsetPort extends ImplsInstancePort.InstPort {
+        private final int index;
+        private final int dColumn;
+        private final int dRow;
+        private final int width;
+        private final int height;
+
+        OffsetPort(ModuleImplsInst instance, int index, Random rand) {
+            super(instance, "p");
+            this.index = index;
+            dColumn = rand.nextInt(5);
+            dRow = rand.nextInt(5);
+            width = rand.nextInt(3);
+            height = rand.nextInt(3);
+        }
+
+        @Override
+        public TileRectangle getBoundingBox() {
+            int[] location = locations[index];
+            if (location == null) {
+                return null;
+            }
+            int column = location[0] + dColumn;
+            int row = location[1] + dRow;
+            return new SimpleTileRectangle(column, column + width, row, row + height);
+        }
+    }
+
+    private void moveRandomly(int index, Random rand) {
+        // Occasionally unplace an instance, to cover ports without bounds
+        locations[index] = rand.nextInt(10) == 0 ? null : new int[]{rand.nextInt(50), rand.nextInt(50)};
+    }
+
+    @Test
+    public void testUpdateLengthMatchesCalculateLength() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        ModuleImpls impls = new ModuleImpls();
+        impls.add(new Module(design));
+        List<ModuleImplsInst> instances = new ArrayList<>();
+        for (int i = 0; i < NUM_INSTANCES; i++) {
+            instances.add(new ModuleImplsInst("inst" + i, impls));
+        }
+
+        Random rand = new Random(0);
+        ImplsPath path = new ImplsPath("path");
+        ImplsPath reference = new ImplsPath("reference");
+        for (int i = 0; i < 3 * NUM_INSTANCES; i++) {
+            // Several ports per instance, some instances not on the path at all
+            int index = rand.nextInt(NUM_INSTANCES - 1);
+            OffsetPort port = new OffsetPort(instances.get(index), index, rand);
+            path.addPort(port);
+            reference.addPort(port);
+        }
+        for (int i = 0; i < NUM_INSTANCES; i++) {
+            moveRandomly(i, rand);
+        }
+        path.calculateLength();
+
+        for (int iter = 0; iter < 2000; iter++) {
+            int[][] oldLocations = locations.clone();
+            path.saveUndo();
+            int oldLength = path.getLength();
+
+            // Move one or two instances, as done by swaps and push-away moves, updating the length either
+            // after each instance or once all have moved (as done by Move2)
+            int numMoved = 1 + rand.nextInt(2);
+            boolean updateOnce = rand.nextBoolean();
+            List<ModuleImplsInst> moved = new ArrayList<>();
+            for (int m = 0; m < numMoved; m++) {
+                int index = rand.nextInt(NUM_INSTANCES);
+                moveRandomly(index, rand);
+                if (updateOnce) {
+                    if (!moved.contains(instances.get(index))) {
+                        moved.add(instances.get(index));
+                    }
+                } else {
+                    path.updateLength(instances.get(index));
+                }
+            }
+            if (updateOnce) {
+                path.updateLength(moved);
+            }
+            reference.calculateLength();
+            Assertions.assertEquals(reference.getLength(), path.getLength(), "iteration " + iter);
+
+            if (rand.nextBoolean()) {
+                // Reject the move
+                System.arraycopy(oldLocations, 0, locations, 0, NUM_INSTANCES);
+                path.restoreUndo();
+                Assertions.assertEquals(oldLength, path.getLength(), "iteration " + iter);
+                reference.calculateLength();
+                Assertions.assertEquals(reference.getLength(), path.getLength(), "iteration " + iter);
+            }
+        }
+    }
+}
@@ -22,13 +22,19 @@
 
 package com.xilinx.rapidwright.router;
 
+import java.io.File;
+
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.device.Tile;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.FileTools;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class TestRouteThruHelper {
     @ParameterizedTest
@@ -103,4 +109,29 @@ public class TestRouteThruHelper {
 
         Assertions.assertEquals(expected, RouteThruHelper.isRouteThruPIPAvailable(design, pip.getStartNode(), pip.getEndNode()));
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"CLEL_R_X9Y235", "CLEM_X9Y238", "INT_X9Y235"})
+    public void testIsRouteThru(String tileName) {
+        Device device = Device.getDevice("xcvu3p");
+        RouteThruHelper rtHelper = new RouteThruHelper(device);
+        Tile tile = device.getTile(tileName);
+        for (PIP pip : tile.getPIPs()) {
+            Assertions.assertEquals(pip.isRouteThru(),
+                    rtHelper.isRouteThru(tile, pip.getStartWireIndex(), pip.getEndWireIndex()),
+                    pip.toString());
+        }
+    }
+
+    @Test
+    public void testSerializedFileNameIsVersioned() {
+        String fileName = RouteThruHelper.getSerializedFileName("xcvu3p");
+        Assertions.assertTrue(fileName.endsWith("xcvu3p.v" + RouteThruHelper.SERIALIZED_VERSION + ".rt"), fileName);
+
+        // Files written by releases using another format must not be picked up
+        Assertions.assertNotEquals(FileTools.getRapidWrightResourceFileName(FileTools.ROUTETHRU_FOLDER_NAME
+                + File.separator + "xcvu3p.rt"), fileName);
+        new RouteThruHelper(Device.getDevice("xcvu3p"));
+        Assertions.assertTrue(new File(fileName).exists());
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestExpansionStatistics {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0,0",
+            "1,1",
+            "2,2",
+            "3,2",
+            "4,3",
+            "1023,10",
+            "1024,11",
+            "2147483647,31"
+    })
+    public void testGetHistogramBucket(int nodesPopped, int expectedBucket) {
+        Assertions.assertEquals(expectedBucket, ExpansionStatistics.getHistogramBucket(nodesPopped));
+    }
+
+    @Test
+    public void testCountersAndReset() {
+        ExpansionStatistics stats = new ExpansionStatistics();
+        stats.incrementVisited(RouteNodeType.LOCAL_EAST);
+        stats.incrementVisited(RouteNodeType.LOCAL_EAST);
+        stats.incrementPrunedBoundingBox(RouteNodeType.LOCAL_EAST);
+        stats.incrementPushed(RouteNodeType.NON_LOCAL);
+        stats.incrementLookahead(RouteNodeType.SUPER_LONG_LINE);
+        stats.addConnectionNodesPopped(null, 5);
+        stats.addConnectionNodesPopped(null, 6);
+
+        Assertions.assertEquals(2, stats.getVisited(RouteNodeType.LOCAL_EAST));
+        Assertions.assertEquals(1, stats.getPrunedBoundingBox(RouteNodeType.LOCAL_EAST));
+        Assertions.assertEquals(0, stats.getPrunedVisited(RouteNodeType.LOCAL_EAST));
+        Assertions.assertEquals(1, stats.getPushed(RouteNodeType.NON_LOCAL));
+        Assertions.assertEquals(1, stats.getLookahead(RouteNodeType.SUPER_LONG_LINE));
+        Assertions.assertEquals(2, stats.getNodesPoppedHistogram()[3]);
+        Assertions.assertEquals(6, stats.getWorstConnections().get(0).getNodesPopped());
+
+        stats.reset();
+        Assertions.assertEquals(0, stats.getVisited(RouteNodeType.LOCAL_EAST));
+        Assertions.assertEquals(0, stats.getNodesPoppedHistogram()[3]);
+        Assertions.assertTrue(stats.getWorstConnections().isEmpty());
+    }
+
+    @Test
+    public void testWorstConnectionsBounded() {
+        ExpansionStatistics stats = new ExpansionStatistics();
+        for (int i = 0; i < 100; i++) {
+            stats.addConnectionNodesPopped(null, i);
+        }
+        Assertions.assertEquals(ExpansionStatistics.NUM_WORST_CONNECTIONS, stats.getWorstConnections().size());
+        Assertions.assertEquals(99, stats.getWorstConnections().get(0).getNodesPopped());
+        Assertions.assertEquals(100 - ExpansionStatistics.NUM_WORST_CONNECTIONS,
+                stats.getWorstConnections().get(ExpansionStatistics.NUM_WORST_CONNECTIONS - 1).getNodesPopped());
+    }
+}
@@ -493,4 +493,37 @@ public class TestGlobalSignalRouting {
 
         VivadoToolsHelper.assertFullyRouted(d);
     }
+
+    @Test
+    public void testPlanClockRoutingTracks() {
+        Design design = new Design("versal_clks", "xcv80-lsva4737-2MHP-e-S");
+        String[][] clkLocs = {
+                {"SLICE_X98Y8", "SLICE_X86Y96"},
+                {"SLICE_X98Y9", "SLICE_X86Y97"},
+                {"SLICE_X86Y284"},
+        };
+        List<Net> clks = new ArrayList<>();
+        for (int i = 0; i < clkLocs.length; i++) {
+            Net clk = design.createNet("clk" + i);
+            for (String loc : clkLocs[i]) {
+                Cell ff = design.createAndPlaceCell("ff_" + loc, Unisim.FDRE, loc + "/AFF");
+                clk.connect(ff, "C");
+            }
+            clks.add(clk);
+        }
+
+        Map<Net, Set<Integer>> reservedTracks = GlobalSignalRouting.planClockRoutingTracks(clks, design.getDevice());
+        Assertions.assertEquals(clks.size(), reservedTracks.size());
+        // Overlapping clocks must have each other's (different) tracks reserved
+        Set<Integer> reserved0 = reservedTracks.get(clks.get(0));
+        Set<Integer> reserved1 = reservedTracks.get(clks.get(1));
+        Assertions.assertEquals(1, reserved0.size());
+        Assertions.assertEquals(1, reserved1.size());
+        Assertions.assertNotEquals(reserved0, reserved1);
+        // Disjoint clock has nothing reserved
+        Assertions.assertTrue(reservedTracks.get(clks.get(2)).isEmpty());
+
+        // No routing tracks are planned for UltraScale+ devices
+        Assertions.assertTrue(GlobalSignalRouting.planClockRoutingTracks(clks, Device.getDevice("xcvu3p")).isEmpty());
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
+import com.xilinx.rapidwright.timing.delayestimator.InterconnectInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestNodeDelayCache {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "INT_X0Y0",
+            "INT_X36Y56",
+            "INT_X72Y299",
+    })
+    public void testDelayMatchesEstimator(String tileName) {
+        Device device = Device.getDevice("xcvu3p");
+        DelayEstimatorBase<InterconnectInfo> estimator = new DelayEstimatorBase<>(device, new InterconnectInfo(), false, 0);
+        NodeDelayCache cache = new NodeDelayCache(device, estimator);
+        Assertions.assertSame(estimator, cache.getEstimator());
+
+        Tile tile = device.getTile(tileName);
+        // Query twice so that the second pass is served from the cache
+        for (int pass = 0; pass < 2; pass++) {
+            for (int wireIndex = 0; wireIndex < tile.getWireCount(); wireIndex++) {
+                Node node = Node.getNode(tile, wireIndex);
+                if (node == null || node.isInvalidNode()) {
+                    continue;
+                }
+                Assertions.assertEquals(RouterHelper.computeNodeDelay(estimator, node), cache.getDelay(node),
+                        node.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.DesignTools;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+
+public class TestPartialRouterSession {
+
+    private static final String[] ARGS = {"--fixBoundingBox", "--useUTurnNodes", "--nonTimingDriven"};
+
+    /**
+     * Gets routed signal nets with more than one sink, in a deterministic order.
+     */
+    private static List<Net> getRoutedMultiSinkNets(Design design) {
+        List<Net> nets = new ArrayList<>();
+        for (Net net : design.getNets()) {
+            if (net.isStaticNet() || net.isClockNet() || !net.hasPIPs() || net.getSinkPins().size() < 2) {
+                continue;
+            }
+            nets.add(net);
+        }
+        nets.sort(Comparator.comparing(Net::getName));
+        return nets;
+    }
+
+    private static Set<Node> getRoutedNodes(Net net) {
+        Set<Node> nodes = new HashSet<>();
+        for (SitePinInst spi : net.getPins()) {
+            nodes.add(spi.getConnectedNode());
+        }
+        for (PIP pip : net.getPIPs()) {
+            nodes.add(pip.getStartNode());
+            nodes.add(pip.getEndNode());
+        }
+        return nodes;
+    }
+
+    @Test
+    public void testMultipleBatches() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        List<Net> nets = getRoutedMultiSinkNets(design);
+        Assertions.assertTrue(nets.size() > 6);
+
+        // Unroute one sink from each of the first six nets, to be routed in three batches
+        List<SitePinInst> unroutedPins = new ArrayList<>();
+        for (Net net : nets.subList(0, 6)) {
+            SitePinInst spi = net.getSinkPins().get(0);
+            DesignTools.unroutePins(net, Collections.singletonList(spi));
+            Assertions.assertFalse(spi.isRouted());
+            unroutedPins.add(spi);
+        }
+        Map<Net, Set<PIP>> untouchedPIPs = new HashMap<>();
+        for (Net net : nets.subList(6, nets.size())) {
+            untouchedPIPs.put(net, new HashSet<>(net.getPIPs()));
+        }
+
+        PartialRouter.preprocess(design);
+        PartialRouterSession session = new PartialRouterSession(design, new RWRouteConfig(ARGS));
+        Assertions.assertNull(session.getRoutingGraph());
+        session.route(unroutedPins.subList(0, 2));
+        RouteNodeGraph graph = session.getRoutingGraph();
+        session.route(unroutedPins.subList(2, 4));
+        session.route(unroutedPins.subList(4, 6));
+        Assertions.assertEquals(3, session.getNumBatchesRouted());
+        // The graph is built once and reused by every batch
+        Assertions.assertSame(graph, session.getRoutingGraph());
+
+        for (SitePinInst spi : unroutedPins) {
+            Assertions.assertTrue(spi.isRouted());
+        }
+        for (Map.Entry<Net, Set<PIP>> e : untouchedPIPs.entrySet()) {
+            Assertions.assertEquals(e.getValue(), new HashSet<>(e.getKey().getPIPs()));
+        }
+
+        // The routing of every batch must still be preserved, and owned by its net
+        for (Net net : nets.subList(0, 6)) {
+            for (Node node : getRoutedNodes(net)) {
+                Assertions.assertEquals(net, graph.getPreservedNet(node));
+            }
+        }
+    }
+
+    @Test
+    public void testUnpreserveAndRepreserve() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        List<Net> nets = getRoutedMultiSinkNets(design);
+        Net netA = nets.get(0);
+        Net netB = nets.get(1);
+
+        RouteNodeGraph graph = new RouteNodeGraph(design, new RWRouteConfig(ARGS));
+        graph.setTrackPreservedNodes(true);
+        graph.preserve(netA);
+        graph.preserve(netB);
+
+        Set<Node> nodesA = getRoutedNodes(netA);
+        Set<Node> nodesB = getRoutedNodes(netB);
+        Set<Net> unpreserveA = Collections.singleton(netA);
+        Assertions.assertEquals(nodesA.size(), graph.unpreserve(unpreserveA));
+        for (Node node : nodesA) {
+            Assertions.assertFalse(graph.isPreserved(node));
+        }
+        for (Node node : nodesB) {
+            Assertions.assertEquals(netB, graph.getPreservedNet(node));
+        }
+        // Nothing left to unpreserve
+        Assertions.assertEquals(0, graph.unpreserve(unpreserveA));
+
+        // A node individually unpreserved and claimed by another net must be left alone
+        graph.preserve(netA);
+        Node stolen = nodesA.iterator().next();
+        Assertions.assertTrue(graph.unpreserve(stolen));
+        graph.preserve(stolen, netB);
+        Assertions.assertEquals(nodesA.size() - 1, graph.unpreserve(unpreserveA));
+        Assertions.assertEquals(netB, graph.getPreservedNet(stolen));
+    }
+
+    @Test
+    public void testUnpreserveRequiresTracking() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        Net net = getRoutedMultiSinkNets(design).get(0);
+        RouteNodeGraph graph = new RouteNodeGraph(design, new RWRouteConfig(ARGS));
+        graph.preserve(net);
+        Assertions.assertThrows(RuntimeException.class, () -> graph.setTrackPreservedNodes(true));
+        Assertions.assertThrows(RuntimeException.class, () -> graph.unpreserve(Collections.singleton(net)));
+    }
+}
@@ -26,11 +26,13 @@ package com.xilinx.rapidwright.rwroute;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
@@ -186,6 +188,147 @@ public class TestRWRoute {
         VivadoToolsHelper.assertFullyRouted(design);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "bnn.dcp",
+            "optical-flow.dcp"
+    })
+    @LargeTest(max_memory_gb = 8)
+    public void testNonTimingDrivenFullRoutingWithLocalRepair(String path) {
+        Design design = RapidWrightDCP.loadDCP(path);
+        RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {"--nonTimingDriven",
+                "--localRepairThreshold", "200"});
+        assertAllSourcesRoutedFlagSet(design);
+        assertAllPinsRouted(design);
+        VivadoToolsHelper.assertFullyRouted(design);
+    }
+
+    /**
+     * Tests the local repair stage on a small design. A negligible initial present congestion factor
+     * lets connections pile onto the same nodes in the first iteration, and the threshold is high
+     * enough that local repair takes over from then on.
+     */
+    @Test
+    public void testLocalRepairOnSmallDesign() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        design.unrouteDesign();
+
+        RWRouteConfig config = new RWRouteConfig(new String[] {"--nonTimingDriven",
+                "--initialPresentCongestionFactor", "0.01", "--localRepairThreshold", "100000"});
+        AtomicInteger repairIterations = new AtomicInteger();
+        RWRoute router = new RWRoute(design, config) {
+            @Override
+            protected void routeIndirectConnectionsInRepairWindows(Collection<Connection> connections) {
+                repairIterations.incrementAndGet();
+                super.routeIndirectConnectionsInRepairWindows(connections);
+            }
+        };
+        RWRoute.routeDesign(router);
+
+        Assertions.assertTrue(repairIterations.get() > 0);
+        assertAllSourcesRoutedFlagSet(design);
+        assertAllPinsRouted(design);
+    }
+
+    private static Design routeWithoutConverging() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        design.unrouteDesign();
+        RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {"--nonTimingDriven",
+                "--initialPresentCongestionFactor", "0.01", "--maxIterations", "1"});
+        return design;
+    }
+
+    private static Map<String, List<String>> getSortedPIPs(Design design) {
+        Map<String, List<String>> pips = new HashMap<>();
+        for (Net net : design.getNets()) {
+            List<String> netPIPs = new ArrayList<>();
+            for (PIP pip : net.getPIPs()) {
+                netPIPs.add(pip.toString());
+            }
+            Collections.sort(netPIPs);
+            pips.put(net.getName(), netPIPs);
+        }
+        return pips;
+    }
+
+    /**
+     * Tests that fixing the routes of nets after routing stopped with overused (i.e. shared) nodes,
+     * which must not be done in parallel, gives a deterministic result.
+     */
+    @Test
+    public void testFixRoutesWithoutConverging() {
+        Design design = routeWithoutConverging();
+
+        // Routing must have stopped with nodes used by more than one net
+        Map<Node, Net> nodeToNet = new HashMap<>();
+        boolean shared = false;
+        for (Net net : design.getNets()) {
+            for (PIP pip : net.getPIPs()) {
+                Net other = nodeToNet.putIfAbsent(pip.getEndNode(), net);
+                shared |= other != null && other != net;
+            }
+        }
+        Assertions.assertTrue(shared);
+
+        Assertions.assertEquals(getSortedPIPs(design), getSortedPIPs(routeWithoutConverging()));
+    }
+
+    /**
+     * Checks that the HPWL, net centers and connection bounding boxes computed in parallel while
+     * determining routing targets are identical to computing them serially afterwards.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testNetWrapperBoundingBoxesMatchSerial(boolean partial) {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        RWRouteConfig config = new RWRouteConfig(new String[] {"--nonTimingDriven"});
+        RWRoute router;
+        if (partial) {
+            // Leave most of the routing in place, so that connections recover existing rnodes
+            List<SitePinInst> pinsToRoute = new ArrayList<>();
+            for (Net net : design.getNets()) {
+                if (!net.isStaticNet() && !net.isClockNet() && net.getSinkPins().size() > 1) {
+                    SitePinInst spi = net.getSinkPins().get(0);
+                    DesignTools.unroutePins(net, Collections.singletonList(spi));
+                    pinsToRoute.add(spi);
+                }
+            }
+            router = new PartialRouter(design, config, pinsToRoute, true);
+        } else {
+            design.unrouteDesign();
+            router = new RWRoute(design, config);
+        }
+        router.preprocess();
+        router.initialize();
+        Assertions.assertFalse(router.nets.isEmpty());
+
+        for (NetWrapper netWrapper : router.nets.values()) {
+            short doubleHpwl = netWrapper.getDoubleHpwl();
+            float xCenter = netWrapper.getXCenter();
+            float yCenter = netWrapper.getYCenter();
+            netWrapper.computeHPWLAndCenterCoordinates(router.routingGraph);
+            Assertions.assertEquals(netWrapper.getDoubleHpwl(), doubleHpwl);
+            Assertions.assertEquals(netWrapper.getXCenter(), xCenter);
+            Assertions.assertEquals(netWrapper.getYCenter(), yCenter);
+
+            for (Connection connection : netWrapper.getConnections()) {
+                if (connection.isDirect()) {
+                    continue;
+                }
+                short[] bb = {connection.getXMinBB(), connection.getXMaxBB(),
+                        connection.getYMinBB(), connection.getYMaxBB()};
+                connection.computeConnectionBoundingBox(config.getBoundingBoxExtensionX(),
+                        config.getBoundingBoxExtensionY(), router.routingGraph);
+                for (RouteNode rnode : connection.getRnodes()) {
+                    connection.expandBoundingBox(rnode);
+                }
+                Assertions.assertArrayEquals(new short[] {connection.getXMinBB(), connection.getXMaxBB(),
+                        connection.getYMinBB(), connection.getYMaxBB()}, bb);
+                Assertions.assertTrue(connection.getAltSinkRnodes().stream().noneMatch(RouteNode::isUsed));
+            }
+        }
+    }
+
     @ParameterizedTest
     @CsvSource({
             "bnn.dcp,false,false",
@@ -298,6 +441,27 @@ public class TestRWRoute {
         VivadoToolsHelper.assertFullyRouted(design);
     }
 
+    @Test
+    @LargeTest(max_memory_gb = 8)
+    public void testPartialRouterSessionMultipleBatches() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_partial.dcp");
+        PartialRouter.preprocess(design);
+        List<SitePinInst> unroutedPins = PartialRouter.getUnroutedPins(design);
+        Assertions.assertTrue(unroutedPins.size() > 1);
+
+        RWRouteConfig config = new RWRouteConfig(new String[] {"--fixBoundingBox", "--useUTurnNodes", "--nonTimingDriven"});
+        PartialRouterSession session = new PartialRouterSession(design, config);
+        int half = unroutedPins.size() / 2;
+        session.route(unroutedPins.subList(0, half));
+        session.route(unroutedPins.subList(half, unroutedPins.size()));
+        Assertions.assertEquals(2, session.getNumBatchesRouted());
+
+        for (SitePinInst spi : unroutedPins) {
+            Assertions.assertTrue(spi.isRouted());
+        }
+        VivadoToolsHelper.assertFullyRouted(design);
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {false, true})
     public void testNonTimingDrivenRoutingOnVersalDevice(boolean partial) {
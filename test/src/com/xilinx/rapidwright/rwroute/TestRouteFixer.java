@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+
+public class TestRouteFixer {
+
+    private RouteNodeGraph routingGraph;
+    private NetWrapper netWrapper;
+    /** Distinct nodes used to build synthetic routes */
+    private List<Node> nodes;
+
+    @BeforeEach
+    public void setUp() {
+        Design design = new Design("testRouteFixer", "xcvu3p");
+        routingGraph = new RouteNodeGraph(design, new RWRouteConfig(new String[]{"--nonTimingDriven"}));
+        netWrapper = new NetWrapper(0, design.createNet("net"));
+        nodes = new ArrayList<>();
+        Tile tile = design.getDevice().getTile("INT_X10Y10");
+        for (int wireIndex = 0; wireIndex < tile.getWireCount() && nodes.size() < 100; wireIndex++) {
+            Node node = Node.getNode(tile, wireIndex);
+            if (node == null || node.getTile() != tile || node.getWireIndex() != wireIndex) {
+                continue;
+            }
+            nodes.add(node);
+        }
+        Assertions.assertEquals(100, nodes.size());
+    }
+
+    /**
+     * Creates a connection whose route visits the given node indices, from source to sink.
+     */
+    private Connection createConnection(int... path) {
+        Connection connection = new Connection(netWrapper.getConnections().size(), null, null, netWrapper);
+        connection.setNodes(getNodes(path));
+        return connection;
+    }
+
+    /**
+     * Gets the nodes of the given node indices (from source to sink) in connection route order, i.e. from sink to source.
+     */
+    private List<Node> getNodes(int... path) {
+        List<Node> route = new ArrayList<>();
+        for (int i = path.length - 1; i >= 0; i--) {
+            route.add(nodes.get(path[i]));
+        }
+        return route;
+    }
+
+    /**
+     * Checks that the connections of the net form a legal tree: every route runs from its own sink to
+     * the given source without revisiting a node, and every node has a single driver across all routes.
+     */
+    private void assertLegalTree(Node source, List<Node> sinks) {
+        Map<Node, Node> driver = new HashMap<>();
+        List<Connection> connections = netWrapper.getConnections();
+        for (int c = 0; c < connections.size(); c++) {
+            List<Node> route = connections.get(c).getNodes();
+            Assertions.assertEquals(sinks.get(c), route.get(0));
+            Assertions.assertEquals(source, route.get(route.size() - 1));
+            Assertions.assertEquals(route.size(), new HashSet<>(route).size());
+            for (int i = 0; i < route.size() - 1; i++) {
+                Node prev = driver.putIfAbsent(route.get(i), route.get(i + 1));
+                Assertions.assertTrue(prev == null || prev.equals(route.get(i + 1)));
+            }
+        }
+    }
+
+    @Test
+    public void testFixCycle() {
+        // 0 -> 1 -> 2 -> 3 -> 2 -> 4, where 2 -> 3 -> 2 is a cycle
+        createConnection(0, 1, 2, 3, 2, 4);
+
+        new RouteFixer(netWrapper, routingGraph).finalizeRoutesOfConnections();
+
+        Assertions.assertEquals(getNodes(0, 1, 2, 4), netWrapper.getConnections().get(0).getNodes());
+        assertLegalTree(nodes.get(0), Arrays.asList(nodes.get(4)));
+    }
+
+    @Test
+    public void testFixMultiDriver() {
+        // Node 3 is driven by node 1 in the first connection, but by node 2 in the second
+        createConnection(0, 1, 3, 4);
+        createConnection(0, 2, 3, 5);
+        // Node 2 is shared by the third connection, which has no conflict with the others
+        createConnection(0, 2, 6);
+
+        new RouteFixer(netWrapper, routingGraph).finalizeRoutesOfConnections();
+
+        assertLegalTree(nodes.get(0), Arrays.asList(nodes.get(4), nodes.get(5), nodes.get(6)));
+        List<Node> route0 = netWrapper.getConnections().get(0).getNodes();
+        List<Node> route1 = netWrapper.getConnections().get(1).getNodes();
+        // Both connections through node 3 now share the same path to it
+        Assertions.assertEquals(route0.subList(1, route0.size()), route1.subList(1, route1.size()));
+        Assertions.assertEquals(getNodes(0, 2, 6), netWrapper.getConnections().get(2).getNodes());
+    }
+
+    @Test
+    public void testLegalRouteUnchanged() {
+        int[] path = new int[nodes.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = i;
+        }
+        // A long chain, and a second connection whose sink lies along it
+        createConnection(path);
+        createConnection(0, 1, 2);
+        List<Node> expected0 = new ArrayList<>(netWrapper.getConnections().get(0).getNodes());
+        List<Node> expected1 = new ArrayList<>(netWrapper.getConnections().get(1).getNodes());
+
+        new RouteFixer(netWrapper, routingGraph).finalizeRoutesOfConnections();
+
+        Assertions.assertEquals(expected0, netWrapper.getConnections().get(0).getNodes());
+        Assertions.assertEquals(expected1, netWrapper.getConnections().get(1).getNodes());
+    }
+}
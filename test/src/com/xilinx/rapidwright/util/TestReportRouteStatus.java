@@ -30,6 +30,11 @@ import com.xilinx.rapidwright.edif.EDIFTools;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class TestReportRouteStatus {
     @Test
@@ -81,4 +86,42 @@ public class TestReportRouteStatus {
             Assertions.assertEquals(0, rrs.netsWithRoutingErrors);
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testReportRouteStatusConflicts(boolean parallel) {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        DesignTools.updatePinsIsRouted(design);
+
+        boolean wasParallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(parallel);
+            ReportRouteStatusResult rrs = ReportRouteStatus.reportRouteStatus(design);
+            Assertions.assertTrue(rrs.isFullyRouted());
+            Assertions.assertEquals(0, rrs.netsWithResourceConflicts);
+
+            List<Net> routedNets = new ArrayList<>();
+            for (Net net : design.getNets()) {
+                if (!net.isStaticNet() && !net.isClockNet() && net.hasPIPs()) {
+                    routedNets.add(net);
+                }
+            }
+            Assertions.assertTrue(routedNets.size() >= 3);
+
+            // Duplicate one PIP of the first net onto two other nets; all three must now be in conflict
+            Net owner = routedNets.get(0);
+            routedNets.get(1).addPIP(owner.getPIPs().get(0));
+            routedNets.get(2).addPIP(owner.getPIPs().get(0));
+
+            ReportRouteStatusResult rrsConflicts = ReportRouteStatus.reportRouteStatus(design);
+            Assertions.assertEquals(rrs.logicalNets, rrsConflicts.logicalNets);
+            Assertions.assertEquals(rrs.routableNets, rrsConflicts.routableNets);
+            Assertions.assertEquals(3, rrsConflicts.netsWithResourceConflicts);
+            Assertions.assertEquals(3, rrsConflicts.netsWithRoutingErrors);
+            Assertions.assertEquals(rrs.fullyRoutedNets - 3, rrsConflicts.fullyRoutedNets);
+            Assertions.assertFalse(rrsConflicts.isFullyRouted());
+        } finally {
+            ParallelismTools.setParallel(wasParallel);
+        }
+    }
 }